@@ -4,7 +4,13 @@ import model.ReversiModel;
 import player.HumanPlayer;
 import player.ReversiAI;
 import player.ReversiPlayer;
+import strategy.AlphaBetaMinimax;
 import strategy.CaptureMaxPieces;
+import strategy.EndgameSolver;
+import strategy.IterativeDeepening;
+import strategy.LazySmp;
+import strategy.MonteCarloTreeSearch;
+import strategy.ParallelMonteCarloTreeSearch;
 import view.gui.ReversiFrame;
 import view.gui.ReversiView;
 
@@ -12,41 +18,38 @@ import view.gui.ReversiView;
  * Main class for Reversi.
  */
 public final class Reversi {
+  // the number of moves the alpha-beta player looks ahead
+  private static final int SEARCH_DEPTH = 8;
+  // the time the players that search against the clock may spend on each move, in milliseconds
+  private static final long MOVE_TIME_MILLIS = 1000;
+  // the number of empty tiles at which the Monte Carlo players switch to solving the game exactly
+  private static final int ENDGAME_EMPTY_TILES = 16;
 
   /**
-   * Main method for reversi.
+   * Main method for reversi. The first two arguments are the types of player one and player two.
+   * They can be followed by "--threads" and a number to choose how many threads the "lazy-smp" and
+   * "parallel-mcts" players search on, which is every available processor by default.
    * @param args Command line inputs.
    */
   public static void main(String[] args) {
-    if (args.length != 2) { // ensure there are 2 command line arguments
+    // ensure there are 2 players, optionally followed by the thread count option
+    if (args.length != 2 && !(args.length == 4 && args[2].equals("--threads"))) {
       throw new IllegalArgumentException("Two players must be specified.");
     }
-    // initialize the model and declare players
-    ReversiModel model = new HexagonalReversi();
-    ReversiPlayer player1;
-    ReversiPlayer player2;
-
-    switch (args[0]) {
-      case "human":
-        player1 = new HumanPlayer();
-        break;
-      case "capture-max":
-        player1 = new ReversiAI(model, new CaptureMaxPieces());
-        break;
-      default:
-        throw new IllegalArgumentException("Unsupported player type \"" + args[0] + "\"");
+    int threads = Runtime.getRuntime().availableProcessors();
+    if (args.length == 4) { // if the thread count option was given, read it
+      try {
+        threads = Integer.parseInt(args[3]);
+      }
+      catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid thread count \"" + args[3] + "\"");
+      }
     }
 
-    switch (args[1]) {
-      case "human":
-        player2 = new HumanPlayer();
-        break;
-      case "capture-max":
-        player2 = new ReversiAI(model, new CaptureMaxPieces());
-        break;
-      default:
-        throw new IllegalArgumentException("Unsupported player type \"" + args[0] + "\"");
-    }
+    // initialize the model and players
+    ReversiModel model = new HexagonalReversi();
+    ReversiPlayer player1 = makePlayer(args[0], model, threads);
+    ReversiPlayer player2 = makePlayer(args[1], model, threads);
 
     // initialize views and controllers using given player types
     ReversiView viewPlayer1 = new ReversiFrame(model, "Player 1");
@@ -59,4 +62,29 @@ public final class Reversi {
     // start the game
     model.startGame();
   }
-}
\ No newline at end of file
+
+  // creates a player of the given type for the given model, where AI players that search in
+  // parallel use the given number of threads
+  private static ReversiPlayer makePlayer(String type, ReversiModel model, int threads) {
+    switch (type) {
+      case "human":
+        return new HumanPlayer();
+      case "capture-max":
+        return new ReversiAI(model, new CaptureMaxPieces());
+      case "alpha-beta":
+        return new ReversiAI(model, new AlphaBetaMinimax(SEARCH_DEPTH));
+      case "iterative-deepening":
+        return new ReversiAI(model, new IterativeDeepening(MOVE_TIME_MILLIS));
+      case "lazy-smp":
+        return new ReversiAI(model, new LazySmp(MOVE_TIME_MILLIS, threads));
+      case "mcts":
+        return new ReversiAI(model, new EndgameSolver(
+                new MonteCarloTreeSearch(MOVE_TIME_MILLIS), ENDGAME_EMPTY_TILES));
+      case "parallel-mcts":
+        return new ReversiAI(model, new EndgameSolver(
+                new ParallelMonteCarloTreeSearch(MOVE_TIME_MILLIS, threads), ENDGAME_EMPTY_TILES));
+      default:
+        throw new IllegalArgumentException("Unsupported player type \"" + type + "\"");
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package arena;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A table of the results of games between a fixed set of players, from which it estimates an Elo
+ * rating for every player with a 95% confidence interval. Results can be added while games are
+ * still being played, from any number of threads, and the ratings read at any time.
+ * The ratings are fit the way BayesElo fits them: every pair of players is assumed to score
+ * against each other as the logistic Elo curve predicts from the difference of their ratings, a
+ * draw counting as half a win, and the ratings are the ones that make the results most likely.
+ * Before the real games, every player is given {@link #PRIOR_DRAWS} draws against an imaginary
+ * player rated 0, which keeps the rating of a player who won or lost every game finite, and pulls
+ * players with few games towards the middle. The fit only depends on the totals of the results, so
+ * the ratings do not depend on the order the games finished in. The ratings are shifted so that
+ * their average is 0, and the confidence intervals are found from the curvature of the likelihood
+ * at the fit.
+ */
+public final class EloTable {
+  /**
+   * The number of draws every player is given against an imaginary player rated 0.
+   */
+  public static final double PRIOR_DRAWS = 2;
+  // the z-score of a two-sided 95% confidence interval
+  private static final double Z_95 = 1.959964;
+  // the number of Elo points in one unit of the natural logistic scale
+  private static final double ELO_PER_UNIT = 400 / Math.log(10);
+  // the most iterations of the fit, which converges well before this for any real table
+  private static final int MAX_ITERATIONS = 10_000;
+
+  private final String[] names; // the name of each player
+  private final int[][] games; // the number of games between each pair of players
+  private final int[][] halfPoints; // twice the points each player scored against each other one
+
+  /**
+   * Creates a table with no results for the given players.
+   * @param names The name of each player, which are numbered in the order they are given.
+   * @throws IllegalArgumentException if there are fewer than two names, or any name is null.
+   */
+  public EloTable(String... names) {
+    if (names == null || names.length < 2) { // a table needs someone to play against
+      throw new IllegalArgumentException("There must be at least two players.");
+    }
+    for (String name : names) {
+      if (name == null) { // check if any name is null and throw exception if it is
+        throw new IllegalArgumentException("Names cannot be null.");
+      }
+    }
+    this.names = Arrays.copyOf(names, names.length);
+    this.games = new int[names.length][names.length];
+    this.halfPoints = new int[names.length][names.length];
+  }
+
+  /**
+   * Adds the result of a game between two players.
+   * @param first One of the players, by number.
+   * @param second The other player, by number.
+   * @param winner 1 if the first player won, -1 if the second player won, and 0 for a draw, as
+   *               given by {@link GameRecord#winner}.
+   * @throws IllegalArgumentException if either player is not in the table, both are the same
+   *                                  player, or the winner is not 1, 0 or -1.
+   */
+  public synchronized void addResult(int first, int second, int winner) {
+    if (first < 0 || first >= this.names.length || second < 0 || second >= this.names.length
+            || first == second) { // check that the game was between two players of the table
+      throw new IllegalArgumentException("The game must be between two different players.");
+    }
+    if (winner < -1 || winner > 1) { // check that the result is a win, loss or draw
+      throw new IllegalArgumentException("The winner must be 1, 0 or -1.");
+    }
+    this.games[first][second]++;
+    this.games[second][first]++;
+    this.halfPoints[first][second] += winner + 1;
+    this.halfPoints[second][first] += 1 - winner;
+  }
+
+  /**
+   * Returns the number of players in the table.
+   * @return The number of players.
+   */
+  public int size() {
+    return this.names.length;
+  }
+
+  /**
+   * Returns the name of a player.
+   * @param player The player, by number.
+   * @return The player's name.
+   * @throws IndexOutOfBoundsException if the player is not in the table.
+   */
+  public String name(int player) {
+    return this.names[player];
+  }
+
+  /**
+   * Returns the number of games a player has played.
+   * @param player The player, by number.
+   * @return The number of games.
+   * @throws IndexOutOfBoundsException if the player is not in the table.
+   */
+  public synchronized int games(int player) {
+    int total = 0;
+    for (int count : this.games[player]) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * Returns the points a player has scored, 1 for each win and 1/2 for each draw.
+   * @param player The player, by number.
+   * @return The player's points.
+   * @throws IndexOutOfBoundsException if the player is not in the table.
+   */
+  public synchronized double points(int player) {
+    int total = 0;
+    for (int count : this.halfPoints[player]) {
+      total += count;
+    }
+    return total / 2.0;
+  }
+
+  /**
+   * Returns the estimated rating of every player from the results so far.
+   * @return The rating of each player in Elo points, in the order of the players, averaging 0.
+   */
+  public synchronized double[] ratings() {
+    double[] strength = this.fit();
+    double[] ratings = new double[strength.length];
+    double mean = 0;
+    for (int i = 0; i < strength.length; i++) {
+      ratings[i] = ELO_PER_UNIT * Math.log(strength[i]);
+      mean += ratings[i] / strength.length;
+    }
+    for (int i = 0; i < ratings.length; i++) {
+      ratings[i] -= mean;
+    }
+    return ratings;
+  }
+
+  /**
+   * Returns how far the rating of every player could be from their true rating, as the half-width
+   * of a 95% confidence interval around the rating from {@link #ratings}.
+   * @return The half-width of each player's interval in Elo points, in the order of the players.
+   */
+  public synchronized double[] intervals() {
+    double[] strength = this.fit();
+    double[] intervals = new double[strength.length];
+    for (int i = 0; i < strength.length; i++) {
+      // the second derivative of the log-likelihood with respect to the player's rating
+      double information = PRIOR_DRAWS * strength[i] / ((strength[i] + 1) * (strength[i] + 1));
+      for (int j = 0; j < strength.length; j++) {
+        double sum = strength[i] + strength[j];
+        information += this.games[i][j] * strength[i] * strength[j] / (sum * sum);
+      }
+      intervals[i] = Z_95 * ELO_PER_UNIT / Math.sqrt(information);
+    }
+    return intervals;
+  }
+
+  /**
+   * Returns the table as text, one line per player from the highest rating to the lowest, with
+   * each player's rating, confidence interval, points and games.
+   * @return The table as text.
+   */
+  @Override
+  public synchronized String toString() {
+    double[] ratings = this.ratings();
+    double[] intervals = this.intervals();
+    Integer[] order = new Integer[this.names.length];
+    int width = 4;
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+      width = Math.max(width, this.names[i].length());
+    }
+    Arrays.sort(order, Comparator.comparingDouble(player -> -ratings[player]));
+    StringBuilder table = new StringBuilder(String.format("%-" + width + "s %6s %6s %8s %6s%n",
+            "Name", "Elo", "+/-", "Points", "Games"));
+    for (int player : order) {
+      table.append(String.format("%-" + width + "s %6.0f %6.0f %8.1f %6d%n", this.names[player],
+              ratings[player], intervals[player], this.points(player), this.games(player)));
+    }
+    return table.toString();
+  }
+
+  // returns the strength of every player, which is e to the power of their rating on the natural
+  // logistic scale, fit to the results by the minorization-maximization algorithm for the
+  // Bradley-Terry model, with the imaginary player's strength fixed at 1
+  private double[] fit() {
+    int count = this.names.length;
+    double[] strength = new double[count];
+    Arrays.fill(strength, 1);
+    double[] next = new double[count];
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double change = 0;
+      for (int i = 0; i < count; i++) {
+        double wins = PRIOR_DRAWS / 2;
+        double expected = PRIOR_DRAWS / (strength[i] + 1);
+        for (int j = 0; j < count; j++) {
+          wins += this.halfPoints[i][j] / 2.0;
+          expected += this.games[i][j] / (strength[i] + strength[j]);
+        }
+        next[i] = wins / expected;
+        change = Math.max(change, Math.abs(Math.log(next[i] / strength[i])));
+      }
+      System.arraycopy(next, 0, strength, 0, count);
+      if (change < 1e-10) { // stop once the ratings have settled
+        break;
+      }
+    }
+    return strength;
+  }
+}
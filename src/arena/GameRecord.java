@@ -0,0 +1,90 @@
+package arena;
+
+import java.util.Arrays;
+
+/**
+ * The record of a finished game of Reversi played by {@link arena.HeadlessGame}: every move in
+ * the order it was played, and the final number of disks of each player. Records are immutable.
+ */
+public final class GameRecord {
+  /**
+   * The move recorded when a player passed.
+   */
+  public static final int PASS = -1;
+
+  private final int sideLength; // the side length of the board the game was played on
+  private final int[] moves; // the tile index of each move, or PASS
+  private final int firstScore; // the final number of disks of the player who moved first
+  private final int secondScore; // the final number of disks of the other player
+
+  /**
+   * Creates a record of a game. The moves are copied.
+   * @param sideLength The side length of the board the game was played on.
+   * @param moves The index of the tile of each move, as numbered by
+   *              {@link model.HexBoardGeometry}, or {@link #PASS}.
+   * @param moveCount The number of moves to take from the start of the array.
+   * @param firstScore The final number of disks of the player who moved first.
+   * @param secondScore The final number of disks of the other player.
+   */
+  GameRecord(int sideLength, int[] moves, int moveCount, int firstScore, int secondScore) {
+    this.sideLength = sideLength;
+    this.moves = Arrays.copyOf(moves, moveCount);
+    this.firstScore = firstScore;
+    this.secondScore = secondScore;
+  }
+
+  /**
+   * Returns the side length of the board the game was played on.
+   * @return The side length, in tiles.
+   */
+  public int sideLength() {
+    return this.sideLength;
+  }
+
+  /**
+   * Returns the moves of the game, in the order they were played.
+   * @return A copy of the moves, each the index of a tile as numbered by
+   *     {@link model.HexBoardGeometry}, or {@link #PASS}.
+   */
+  public int[] moves() {
+    return Arrays.copyOf(this.moves, this.moves.length);
+  }
+
+  /**
+   * Returns the number of moves and passes in the game.
+   * @return The number of moves.
+   */
+  public int moveCount() {
+    return this.moves.length;
+  }
+
+  /**
+   * Returns the final number of disks of the player who moved first.
+   * @return The first player's score.
+   */
+  public int firstScore() {
+    return this.firstScore;
+  }
+
+  /**
+   * Returns the final number of disks of the player who moved second.
+   * @return The second player's score.
+   */
+  public int secondScore() {
+    return this.secondScore;
+  }
+
+  /**
+   * Returns who won the game.
+   * @return 1 if the first player won, -1 if the second player won, and 0 for a draw.
+   */
+  public int winner() {
+    return Integer.signum(this.firstScore - this.secondScore);
+  }
+
+  @Override
+  public String toString() {
+    return "GameRecord{" + this.firstScore + "-" + this.secondScore + ", "
+            + this.moves.length + " moves}";
+  }
+}
@@ -0,0 +1,210 @@
+package arena;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.SearchableReversiModel;
+import strategy.CaptureMaxPieces;
+import strategy.ReversiStrategy;
+
+/**
+ * Plays whole games of Reversi between two strategies without any views, controllers or
+ * players. The game is played in a loop on a {@link model.BitboardReversi}: each strategy is
+ * asked for its move in turn, and the move is made with
+ * {@link SearchableReversiModel#applyMove}, which notifies no listeners. Every move the strategies
+ * choose is checked before it is made, so the only exceptions are for strategies that break the
+ * rules, never to control the flow of the game.
+ * The board is kept between games and put back to the start by undoing every move, so playing a
+ * game only creates the objects that the strategies do and the record of the game. A runner
+ * must only be used by one thread at a time, so code that plays games on several threads should
+ * give each thread its own runner.
+ */
+public final class HeadlessGame {
+  private final SearchableReversiModel model; // the board the games are played on
+  private final int[] moves; // the moves of the game being played
+
+  /**
+   * Creates a runner for games on a board with the given side length.
+   * @param sideLength The side length of the board, in tiles.
+   * @throws IllegalArgumentException if the side length is less than 3.
+   */
+  public HeadlessGame(int sideLength) {
+    if (sideLength < 3) { // check that the board is big enough to play on
+      throw new IllegalArgumentException("The board side length must be at least 3.");
+    }
+    this.model = new BitboardReversi(sideLength);
+    this.model.startGame();
+    // a game lasts at most one move per tile plus one pass before each move, and a final pass
+    this.moves = new int[2 * this.model.getBoardView().cellCount() + 1];
+  }
+
+  /**
+   * Plays a game from the start to the end.
+   * @param first The strategy of the player who moves first.
+   * @param second The strategy of the player who moves second.
+   * @return The record of the game.
+   * @throws IllegalArgumentException if either strategy is null.
+   * @throws IllegalStateException if a strategy chooses a move that is not legal, or passes when
+   *                               it has a legal move.
+   */
+  public GameRecord play(ReversiStrategy first, ReversiStrategy second) {
+    return this.play(first, second, new int[0]);
+  }
+
+  /**
+   * Plays a game to the end that starts with the given moves, so that games between the same
+   * strategies can start from different positions.
+   * @param first The strategy of the player who moves first.
+   * @param second The strategy of the player who moves second.
+   * @param opening The moves to play before the strategies take over, as tile indices numbered by
+   *                {@link model.HexBoardGeometry}, or {@link GameRecord#PASS}. They are part of
+   *                the record of the game.
+   * @return The record of the game.
+   * @throws IllegalArgumentException if either strategy or the opening is null, or a move of the
+   *                                  opening is not legal or comes after the game is over.
+   * @throws IllegalStateException if a strategy chooses a move that is not legal, or passes when
+   *                               it has a legal move.
+   */
+  public GameRecord play(ReversiStrategy first, ReversiStrategy second, int[] opening) {
+    if (first == null || second == null) { // check if either strategy is null
+      throw new IllegalArgumentException("Strategies cannot be null.");
+    }
+    if (opening == null) { // check if the opening is null and throw exception if it is
+      throw new IllegalArgumentException("Opening cannot be null.");
+    }
+    BoardView board = this.model.getBoardView();
+    int plies = 0;
+    try {
+      for (int move : opening) {
+        // the opening must be a real game, which has no moves after it ends, not even passes
+        if (this.model.isGameOver() || !this.isLegal(board, move)) {
+          throw new IllegalArgumentException("Move " + plies + " of the opening is not legal.");
+        }
+        this.makeMove(board, move);
+        this.moves[plies++] = move;
+      }
+      while (true) {
+        int move;
+        if (this.model.nextLegalMove(0) < 0) { // a player with no moves passes without being asked
+          if (this.model.isGameOver()) { // only look at the other player's moves when passing
+            break;
+          }
+          move = GameRecord.PASS;
+        }
+        else {
+          ReversiStrategy player = plies % 2 == 0 ? first : second;
+          move = this.chosenMove(player, board);
+          if (!this.isLegal(board, move)) {
+            throw new IllegalStateException("The " + (plies % 2 == 0 ? "first" : "second")
+                    + " player's strategy chose an illegal move at ply " + plies + ".");
+          }
+        }
+        this.makeMove(board, move);
+        this.moves[plies++] = move;
+      }
+
+      // the player to move at the end is the first player after an even number of moves
+      int moverScore = this.model.getCurrentPlayerScore();
+      int otherScore = this.model.getOtherPlayerScore();
+      return plies % 2 == 0
+              ? new GameRecord(board.sideLength(), this.moves, plies, moverScore, otherScore)
+              : new GameRecord(board.sideLength(), this.moves, plies, otherScore, moverScore);
+    }
+    finally {
+      for (int i = 0; i < plies; i++) { // put the board back to the start for the next game
+        this.model.undoMove();
+      }
+    }
+  }
+
+  /**
+   * Measures how many games per second {@link strategy.CaptureMaxPieces} plays against itself from
+   * the command line. The arguments are the side length of the board and the number of games,
+   * for example "6 100000".
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) { // check that every argument was given
+      throw new IllegalArgumentException("Usage: HeadlessGame <side length> <games>");
+    }
+    HeadlessGame game = new HeadlessGame(Integer.parseInt(args[0]));
+    int games = Integer.parseInt(args[1]);
+    ReversiStrategy strategy = new CaptureMaxPieces();
+    long start = System.nanoTime();
+    for (int i = 0; i < games; i++) {
+      game.play(strategy, strategy);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println("Played " + games + " games in " + seconds + " s, "
+            + Math.round(games / seconds) + " games per second");
+  }
+
+  /**
+   * Makes an opening of random legal moves from the start of a game, for games between the same
+   * strategies to start from. A player with no legal moves passes.
+   * @param sideLength The side length of the board.
+   * @param moves The number of moves of the opening, which is shorter if the game ends first.
+   * @param random Chooses the moves.
+   * @return The moves of the opening, as tile indices numbered by {@link model.HexBoardGeometry},
+   *     or {@link GameRecord#PASS}.
+   */
+  static int[] randomOpening(int sideLength, int moves, Random random) {
+    SearchableReversiModel model = new BitboardReversi(sideLength);
+    model.startGame();
+    BoardView board = model.getBoardView();
+    int[] opening = new int[moves];
+    int plies = 0;
+    while (plies < moves && !model.isGameOver()) {
+      int count = 0;
+      for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+        count++;
+      }
+      if (count == 0) { // a player with no moves passes
+        model.applyPass();
+        opening[plies++] = GameRecord.PASS;
+        continue;
+      }
+      int move = model.nextLegalMove(0);
+      for (int skip = random.nextInt(count); skip > 0; skip--) {
+        move = model.nextLegalMove(move + 1);
+      }
+      model.applyMove(board.qAt(move), board.rAt(move));
+      opening[plies++] = move;
+    }
+    return plies == moves ? opening : Arrays.copyOf(opening, plies);
+  }
+
+  // asks the given strategy for its move, as a tile index or a pass
+  private int chosenMove(ReversiStrategy player, BoardView board) {
+    Optional<Point> choice = player.chooseMove(this.model);
+    if (choice.isEmpty()) {
+      return GameRecord.PASS;
+    }
+    int move = board.indexOf(choice.get().x, choice.get().y);
+    // a tile off the board is reported as an illegal move rather than passed on as a pass
+    return move < 0 ? Integer.MIN_VALUE : move;
+  }
+
+  // returns true if the given move, which may be a pass, is legal for the current player
+  private boolean isLegal(BoardView board, int move) {
+    if (move == GameRecord.PASS) { // a player may only pass if they have no moves
+      return this.model.nextLegalMove(0) < 0;
+    }
+    return move >= 0 && move < board.cellCount()
+            && this.model.isMovePossible(board.qAt(move), board.rAt(move));
+  }
+
+  // makes the given legal move, which may be a pass
+  private void makeMove(BoardView board, int move) {
+    if (move == GameRecord.PASS) {
+      this.model.applyPass();
+    }
+    else {
+      this.model.applyMove(board.qAt(move), board.rAt(move));
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package arena;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import strategy.ReversiStrategy;
+
+/**
+ * A match between two strategies, A and B, that stops as soon as a sequential probability ratio
+ * test (SPRT) decides whether A is stronger than B, instead of playing a fixed number of games.
+ * The test weighs H0, that A is elo0 Elo better than B, against H1, that A is elo1 Elo better, and
+ * stops when the log-likelihood ratio of H1 against H0 leaves the bounds set by the chances alpha
+ * of accepting H1 when H0 is true and beta of accepting H0 when H1 is true. A clearly stronger or
+ * weaker strategy is found in far fewer games than a fixed match would need.
+ * The games are played in pairs from the same random opening, one with each color, as in a
+ * {@link arena.Tournament}, and the test is applied to the score of each pair rather than of each
+ * game, since the two games of a pair are not independent. The log-likelihood ratio is the
+ * normal approximation used by Fishtest's GSPRT, found from the mean and variance of the pair
+ * scores. Half a pair of every score is added to the real pairs before the ratio is found, so the
+ * test cannot stop after only a few pairs that happen to score the same.
+ * The pairs are played on several threads, each with its own strategies made by the factories,
+ * but the test counts them in the order they were numbered, not the order they finished in, so a
+ * match between deterministic strategies with the same seed stops after the same pair on any
+ * number of threads. Pairs that finish after the test has stopped are not counted. Strategies
+ * that are {@link AutoCloseable} are closed once their thread has played its last pair.
+ */
+public final class SprtMatch {
+  // the number of pairs of each score added before the real pairs, which keeps the variance above
+  // 0 and stops a few lucky pairs from ending the test
+  private static final double PRIOR_COUNT = 0.5;
+
+  private final int sideLength; // the side length of the board
+  private final int openingMoves; // the number of random moves that start each opening
+  private final long seed; // the seed that every opening is made from
+  private final double score0; // the expected score of A under H0
+  private final double score1; // the expected score of A under H1
+  private final double lowerBound; // the ratio at or below which H0 is accepted
+  private final double upperBound; // the ratio at or above which H1 is accepted
+
+  /**
+   * Creates a match that tests whether A is elo1 rather than elo0 Elo stronger than B.
+   * @param sideLength The side length of the board, in tiles.
+   * @param openingMoves The number of random legal moves played from the start of the game to
+   *                     make each opening.
+   * @param seed The seed that every opening is made from.
+   * @param elo0 How much stronger A is under H0, in Elo.
+   * @param elo1 How much stronger A is under H1, in Elo, which must be more than elo0.
+   * @param alpha The chance of accepting H1 when H0 is true, such as 0.05.
+   * @param beta The chance of accepting H0 when H1 is true, such as 0.05.
+   * @throws IllegalArgumentException if the side length is less than 3, the number of opening
+   *                                  moves is negative, elo1 is not more than elo0, or alpha or
+   *                                  beta is not between 0 and 1.
+   */
+  public SprtMatch(int sideLength, int openingMoves, long seed, double elo0, double elo1,
+                   double alpha, double beta) {
+    if (sideLength < 3) { // check that the board is big enough to play on
+      throw new IllegalArgumentException("The board side length must be at least 3.");
+    }
+    if (openingMoves < 0) { // check that the number of opening moves is not negative
+      throw new IllegalArgumentException("Opening moves cannot be negative.");
+    }
+    if (!(elo0 < elo1)) { // check that the hypotheses are different
+      throw new IllegalArgumentException("elo1 must be more than elo0.");
+    }
+    if (!(alpha > 0 && alpha < 1 && beta > 0 && beta < 1)) { // check the chances of errors
+      throw new IllegalArgumentException("alpha and beta must be between 0 and 1.");
+    }
+    this.sideLength = sideLength;
+    this.openingMoves = openingMoves;
+    this.seed = seed;
+    this.score0 = expectedScore(elo0);
+    this.score1 = expectedScore(elo1);
+    this.lowerBound = Math.log(beta / (1 - alpha));
+    this.upperBound = Math.log((1 - beta) / alpha);
+  }
+
+  /**
+   * Plays pairs of games between A and B until the test accepts a hypothesis or the most pairs
+   * have been played, and waits for the games being played to finish.
+   * @param strategyA Makes A's strategy, once on every thread.
+   * @param strategyB Makes B's strategy, once on every thread.
+   * @param maxPairs The most pairs of games to play.
+   * @param threads The number of threads to play games on at once.
+   * @return The result of the test.
+   * @throws IllegalArgumentException if either factory is null, or the most pairs or the number of
+   *                                  threads is not positive.
+   * @throws IllegalStateException if a strategy breaks the rules of the game, or the threads are
+   *                               interrupted.
+   */
+  public SprtResult run(Supplier<? extends ReversiStrategy> strategyA,
+                        Supplier<? extends ReversiStrategy> strategyB, int maxPairs,
+                        int threads) {
+    if (strategyA == null || strategyB == null) { // check if either factory is null
+      throw new IllegalArgumentException("Factories cannot be null.");
+    }
+    if (maxPairs < 1) { // check that there is a pair to play
+      throw new IllegalArgumentException("There must be at least one pair.");
+    }
+    if (threads < 1) { // check that there is a thread to play on
+      throw new IllegalArgumentException("There must be at least one thread.");
+    }
+    long start = System.nanoTime();
+    Test test = new Test(maxPairs);
+    AtomicInteger nextPair = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "sprt-player");
+      thread.setDaemon(true); // do not keep the program running if the match fails
+      return thread;
+    });
+    try {
+      List<Future<?>> players = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        players.add(pool.submit(() -> this.playPairs(strategyA, strategyB, maxPairs, nextPair,
+                test)));
+      }
+      for (Future<?> player : players) {
+        waitFor(player);
+      }
+    }
+    finally {
+      pool.shutdownNow(); // stop the other threads if one of them failed
+    }
+    return test.result(System.nanoTime() - start);
+  }
+
+  /**
+   * Returns the log-likelihood ratio of H1 against H0 for the given counts of pair scores.
+   * @param counts The number of pairs in which A scored 0, 1/2, 1, 3/2 and 2 points.
+   * @return The log-likelihood ratio.
+   */
+  double llr(int[] counts) {
+    double pairs = 0;
+    double total = 0;
+    for (int points = 0; points < counts.length; points++) {
+      double count = counts[points] + PRIOR_COUNT;
+      pairs += count;
+      total += count * points / 4.0; // the score of a pair, from 0 to 1
+    }
+    double mean = total / pairs;
+    double variance = 0;
+    for (int points = 0; points < counts.length; points++) {
+      double deviation = points / 4.0 - mean;
+      variance += (counts[points] + PRIOR_COUNT) * deviation * deviation;
+    }
+    variance /= pairs;
+    return pairs * (this.score1 - this.score0) * (2 * mean - this.score0 - this.score1)
+            / (2 * variance);
+  }
+
+  // plays pairs until the test has stopped or every pair has been taken by a thread
+  private void playPairs(Supplier<? extends ReversiStrategy> factoryA,
+                         Supplier<? extends ReversiStrategy> factoryB, int maxPairs,
+                         AtomicInteger nextPair, Test test) {
+    HeadlessGame runner = new HeadlessGame(this.sideLength);
+    ReversiStrategy strategyA = null;
+    ReversiStrategy strategyB = null;
+    try {
+      strategyA = factoryA.get(); // this thread's own strategies
+      strategyB = factoryB.get();
+      while (!test.isDone()) {
+        int pair = nextPair.getAndIncrement();
+        if (pair >= maxPairs) {
+          return;
+        }
+        int[] opening = HeadlessGame.randomOpening(this.sideLength, this.openingMoves,
+                new Random(this.seed + pair * Tournament.SEED_STEP));
+        int first = runner.play(strategyA, strategyB, opening).winner();
+        int second = -runner.play(strategyB, strategyA, opening).winner();
+        test.add(pair, first, second);
+      }
+    }
+    catch (RuntimeException e) {
+      nextPair.set(maxPairs); // stop the other threads from starting any more pairs
+      throw e;
+    }
+    finally {
+      try { // let go of any threads the strategies hold
+        Tournament.close(strategyA);
+      }
+      finally {
+        Tournament.close(strategyB);
+      }
+    }
+  }
+
+  // returns the expected score of a player who is the given number of Elo stronger
+  private static double expectedScore(double elo) {
+    return 1 / (1 + Math.pow(10, -elo / 400));
+  }
+
+  // waits for the given thread's games to end, rethrowing anything it threw
+  private static void waitFor(Future<?> player) {
+    try {
+      player.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // keep the interrupt for the caller to see
+      throw new IllegalStateException("Interrupted while waiting for a game.", e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) { // let a strategy's mistake through as is
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("A game failed.", e.getCause());
+    }
+  }
+
+  // the state of the test, shared by every thread, which counts the pairs in order
+  private final class Test {
+    private final byte[] finished; // the result of each pair that has finished, or -1
+    private final int[] counts; // the number of pairs counted with each score, in half points
+    private int counted; // the number of pairs counted, which are the first pairs
+    private int wins; // the games A won in the pairs counted
+    private int draws; // the games drawn in the pairs counted
+    private int losses; // the games A lost in the pairs counted
+    private double llr; // the log-likelihood ratio after the pairs counted
+    private SprtResult.Decision decision; // the hypothesis accepted, or null if none yet
+
+    Test(int maxPairs) {
+      this.finished = new byte[maxPairs];
+      Arrays.fill(this.finished, (byte) -1);
+      this.counts = new int[5];
+    }
+
+    // returns true once the test has accepted a hypothesis
+    synchronized boolean isDone() {
+      return this.decision != null;
+    }
+
+    // records the results of a pair, from A's side, and counts every pair that is next in order
+    synchronized void add(int pair, int first, int second) {
+      this.finished[pair] = (byte) ((first + 1) * 3 + second + 1);
+      while (this.decision == null && this.counted < this.finished.length
+              && this.finished[this.counted] >= 0) {
+        int results = this.finished[this.counted++];
+        this.count(results / 3 - 1);
+        this.count(results % 3 - 1);
+        this.counts[results / 3 + results % 3]++; // the half points A scored in the pair
+        this.llr = SprtMatch.this.llr(this.counts);
+        if (this.llr >= SprtMatch.this.upperBound) {
+          this.decision = SprtResult.Decision.ACCEPT_H1;
+        }
+        else if (this.llr <= SprtMatch.this.lowerBound) {
+          this.decision = SprtResult.Decision.ACCEPT_H0;
+        }
+      }
+    }
+
+    // returns the result of the test after the given time
+    synchronized SprtResult result(long nanos) {
+      SprtResult.Decision result = this.decision == null
+              ? SprtResult.Decision.INCONCLUSIVE : this.decision;
+      return new SprtResult(result, this.llr, SprtMatch.this.lowerBound,
+              SprtMatch.this.upperBound, this.counted, this.wins, this.draws, this.losses, nanos);
+    }
+
+    // counts the result of one game, from A's side
+    private void count(int winner) {
+      if (winner > 0) {
+        this.wins++;
+      }
+      else if (winner < 0) {
+        this.losses++;
+      }
+      else {
+        this.draws++;
+      }
+    }
+  }
+}
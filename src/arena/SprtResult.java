@@ -0,0 +1,140 @@
+package arena;
+
+/**
+ * The result of a {@link arena.SprtMatch} between two strategies, A and B: which hypothesis the
+ * sequential probability ratio test accepted, the log-likelihood ratio it stopped at, and the
+ * games that were counted, from A's side. Results are immutable.
+ */
+public final class SprtResult {
+  /**
+   * What the test decided.
+   */
+  public enum Decision {
+    /**
+     * A is no better than the lower bound of the test.
+     */
+    ACCEPT_H0,
+    /**
+     * A is at least as good as the upper bound of the test.
+     */
+    ACCEPT_H1,
+    /**
+     * The match reached its most game pairs before either hypothesis was accepted.
+     */
+    INCONCLUSIVE
+  }
+
+  private final Decision decision; // the hypothesis the test accepted, if any
+  private final double llr; // the log-likelihood ratio after the last pair counted
+  private final double lowerBound; // the ratio at or below which H0 is accepted
+  private final double upperBound; // the ratio at or above which H1 is accepted
+  private final int pairs; // the number of game pairs counted
+  private final int wins; // the games A won
+  private final int draws; // the games that were drawn
+  private final int losses; // the games A lost
+  private final long nanos; // how long the match took
+
+  /**
+   * Creates the result of a match.
+   * @param decision The hypothesis the test accepted, if any.
+   * @param llr The log-likelihood ratio after the last pair counted.
+   * @param lowerBound The ratio at or below which H0 is accepted.
+   * @param upperBound The ratio at or above which H1 is accepted.
+   * @param pairs The number of game pairs counted.
+   * @param wins The games A won.
+   * @param draws The games that were drawn.
+   * @param losses The games A lost.
+   * @param nanos How long the match took, in nanoseconds.
+   */
+  SprtResult(Decision decision, double llr, double lowerBound, double upperBound, int pairs,
+             int wins, int draws, int losses, long nanos) {
+    this.decision = decision;
+    this.llr = llr;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    this.pairs = pairs;
+    this.wins = wins;
+    this.draws = draws;
+    this.losses = losses;
+    this.nanos = nanos;
+  }
+
+  /**
+   * Returns which hypothesis the test accepted.
+   * @return The decision.
+   */
+  public Decision decision() {
+    return this.decision;
+  }
+
+  /**
+   * Returns the log-likelihood ratio of H1 against H0 after the last pair counted.
+   * @return The log-likelihood ratio.
+   */
+  public double llr() {
+    return this.llr;
+  }
+
+  /**
+   * Returns the log-likelihood ratio at or below which the test accepts H0.
+   * @return The lower bound.
+   */
+  public double lowerBound() {
+    return this.lowerBound;
+  }
+
+  /**
+   * Returns the log-likelihood ratio at or above which the test accepts H1.
+   * @return The upper bound.
+   */
+  public double upperBound() {
+    return this.upperBound;
+  }
+
+  /**
+   * Returns the number of games counted, two for every pair.
+   * @return The number of games.
+   */
+  public int games() {
+    return 2 * this.pairs;
+  }
+
+  /**
+   * Returns the number of games A won.
+   * @return The wins.
+   */
+  public int wins() {
+    return this.wins;
+  }
+
+  /**
+   * Returns the number of games that were drawn.
+   * @return The draws.
+   */
+  public int draws() {
+    return this.draws;
+  }
+
+  /**
+   * Returns the number of games A lost.
+   * @return The losses.
+   */
+  public int losses() {
+    return this.losses;
+  }
+
+  /**
+   * Returns how many of the counted games were played per second over the whole match.
+   * @return The games per second, or 0 if the match took no time.
+   */
+  public double gamesPerSecond() {
+    return this.nanos == 0 ? 0 : this.games() * 1e9 / this.nanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s after %d games (+%d =%d -%d), LLR %.2f [%.2f, %.2f], %.0f games/s",
+            this.decision, this.games(), this.wins, this.draws, this.losses, this.llr,
+            this.lowerBound, this.upperBound, this.gamesPerSecond());
+  }
+}
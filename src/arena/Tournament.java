@@ -0,0 +1,222 @@
+package arena;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import strategy.ReversiStrategy;
+
+/**
+ * A round-robin tournament between any number of strategies, played headlessly on several
+ * threads at once, whose results are added to an {@link arena.EloTable} as each game finishes.
+ * In every round, each pair of entrants plays two games from the same opening, a few random
+ * legal moves from the start, taking each color once, so that neither the opening nor moving
+ * first favors either of them. The openings are made from the seed of the tournament and the
+ * number of the game, so a tournament with the same seed plays the same openings no matter how
+ * many threads play it or which thread plays which game, and if the strategies are deterministic
+ * its results are the same every time.
+ * Strategies are not expected to be safe to use from several threads, so every entrant is given as
+ * a factory, and each thread makes its own strategy for every entrant and its own
+ * {@link arena.HeadlessGame}. The threads share nothing but the number of the next game and the
+ * table, so the tournament plays faster with every thread up to one per processor. Strategies that
+ * are {@link AutoCloseable}, such as those with their own helper threads, are closed once their
+ * thread has played its last game.
+ */
+public final class Tournament {
+  // the step between the seeds of consecutive openings, which spreads them over every long
+  static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+  private final int sideLength; // the side length of the board
+  private final int openingMoves; // the number of random moves that start each opening
+  private final long seed; // the seed that every opening is made from
+  private final List<String> names; // the name of each entrant
+  private final List<Supplier<? extends ReversiStrategy>> factories; // makes each entrant
+
+  /**
+   * Creates a tournament with no entrants.
+   * @param sideLength The side length of the board, in tiles.
+   * @param openingMoves The number of random legal moves played from the start of the game to
+   *                     make each opening, where 0 plays every game from the start.
+   * @param seed The seed that every opening is made from.
+   * @throws IllegalArgumentException if the side length is less than 3 or the number of opening
+   *                                  moves is negative.
+   */
+  public Tournament(int sideLength, int openingMoves, long seed) {
+    if (sideLength < 3) { // check that the board is big enough to play on
+      throw new IllegalArgumentException("The board side length must be at least 3.");
+    }
+    if (openingMoves < 0) { // check that the number of opening moves is not negative
+      throw new IllegalArgumentException("Opening moves cannot be negative.");
+    }
+    this.sideLength = sideLength;
+    this.openingMoves = openingMoves;
+    this.seed = seed;
+    this.names = new ArrayList<>();
+    this.factories = new ArrayList<>();
+  }
+
+  /**
+   * Adds an entrant to the tournament, who is numbered in the order they were added.
+   * @param name The name of the entrant in the table of results.
+   * @param factory Makes the entrant's strategy, which is called once on every thread that plays
+   *                the tournament.
+   * @throws IllegalArgumentException if the name or factory is null.
+   */
+  public void addEntrant(String name, Supplier<? extends ReversiStrategy> factory) {
+    if (name == null || factory == null) { // check if the name or factory is null
+      throw new IllegalArgumentException("Name and factory cannot be null.");
+    }
+    this.names.add(name);
+    this.factories.add(factory);
+  }
+
+  /**
+   * Returns the number of games a tournament of the given number of rounds plays, which is two
+   * games for every pair of entrants in every round.
+   * @param rounds The number of rounds.
+   * @return The number of games.
+   */
+  public int gameCount(int rounds) {
+    int entrants = this.names.size();
+    return rounds * entrants * (entrants - 1);
+  }
+
+  /**
+   * Plays the tournament on the given number of threads, and waits for every game to finish.
+   * @param rounds The number of rounds, in each of which every pair of entrants plays two games.
+   * @param threads The number of threads to play games on at once.
+   * @return The table of results of every game.
+   * @throws IllegalArgumentException if the number of rounds is negative or the number of threads
+   *                                  is not positive.
+   * @throws IllegalStateException if there are fewer than two entrants, a strategy breaks the rules
+   *                               of the game, or the threads are interrupted.
+   */
+  public EloTable play(int rounds, int threads) {
+    if (rounds < 0) { // check that the number of rounds is not negative
+      throw new IllegalArgumentException("Rounds cannot be negative.");
+    }
+    if (threads < 1) { // check that there is a thread to play on
+      throw new IllegalArgumentException("There must be at least one thread.");
+    }
+    if (this.names.size() < 2) { // a tournament needs someone to play against
+      throw new IllegalStateException("There must be at least two entrants.");
+    }
+    EloTable table = new EloTable(this.names.toArray(new String[0]));
+    int games = this.gameCount(rounds);
+    AtomicInteger nextGame = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "tournament-player");
+      thread.setDaemon(true); // do not keep the program running if the tournament fails
+      return thread;
+    });
+    try {
+      List<Future<?>> players = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        players.add(pool.submit(() -> this.playGames(games, nextGame, table)));
+      }
+      for (Future<?> player : players) {
+        waitFor(player);
+      }
+    }
+    finally {
+      pool.shutdownNow(); // stop the other threads if one of them failed
+    }
+    return table;
+  }
+
+  /**
+   * Returns the opening of the given game of a tournament: the random legal moves played before
+   * the strategies take over, which are the same for both games of a pair.
+   * @param game The number of the game, from 0.
+   * @return The moves of the opening, as tile indices numbered by {@link model.HexBoardGeometry},
+   *     or {@link GameRecord#PASS}.
+   */
+  int[] opening(int game) {
+    return HeadlessGame.randomOpening(this.sideLength, this.openingMoves,
+            new Random(this.seed + (game / 2) * SEED_STEP));
+  }
+
+  // plays games until every game has been taken by a thread, adding each result to the table
+  private void playGames(int games, AtomicInteger nextGame, EloTable table) {
+    HeadlessGame runner = new HeadlessGame(this.sideLength);
+    ReversiStrategy[] strategies = new ReversiStrategy[this.factories.size()];
+    int entrants = strategies.length;
+    int pairs = entrants * (entrants - 1) / 2;
+    try {
+      for (int i = 0; i < strategies.length; i++) { // this thread's own strategy for each entrant
+        strategies[i] = this.factories.get(i).get();
+      }
+      for (int game = nextGame.getAndIncrement(); game < games;
+           game = nextGame.getAndIncrement()) {
+        // find the pair that plays this game, and which of them moves first
+        int pair = (game / 2) % pairs;
+        int first = 0;
+        while (pair >= entrants - 1 - first) {
+          pair -= entrants - 1 - first;
+          first++;
+        }
+        int second = first + 1 + pair;
+        if (game % 2 == 1) { // the second game of the pair swaps the colors
+          int swap = first;
+          first = second;
+          second = swap;
+        }
+        GameRecord record = runner.play(strategies[first], strategies[second], this.opening(game));
+        table.addResult(first, second, record.winner());
+      }
+    }
+    catch (RuntimeException e) {
+      nextGame.set(games); // stop the other threads from starting any more games
+      throw e;
+    }
+    finally {
+      for (ReversiStrategy strategy : strategies) { // let go of any threads the strategies hold
+        close(strategy);
+      }
+    }
+  }
+
+  /**
+   * Closes the given strategy if it is {@link AutoCloseable}, once it has played all of its games,
+   * so that any threads it holds are shut down.
+   * @param strategy The strategy to close, or null if it was never made.
+   * @throws IllegalStateException if closing the strategy fails.
+   */
+  static void close(ReversiStrategy strategy) {
+    if (!(strategy instanceof AutoCloseable)) { // most strategies hold nothing to let go of
+      return;
+    }
+    try {
+      ((AutoCloseable) strategy).close();
+    }
+    catch (RuntimeException e) {
+      throw e;
+    }
+    catch (Exception e) {
+      throw new IllegalStateException("A strategy could not be closed.", e);
+    }
+  }
+
+  // waits for the given thread's games to end, rethrowing anything it threw
+  private static void waitFor(Future<?> player) {
+    try {
+      player.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // keep the interrupt for the caller to see
+      throw new IllegalStateException("Interrupted while waiting for a game.", e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) { // let a strategy's mistake through as is
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("A game failed.", e.getCause());
+    }
+  }
+}
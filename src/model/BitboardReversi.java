@@ -0,0 +1,585 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.tile.CellState;
+import model.tile.PointyTopHexagon;
+import model.tile.ReversiTile;
+
+/**
+ * A version of hexagonal Reversi that plays by exactly the same rules as
+ * {@link model.HexagonalReversi}, but stores the board as two bitsets (one per player) instead of
+ * a map of tile objects. Each tile on the board is given a dense index, starting at the
+ * upper-left-most tile and moving left to right along each row, and the bit at that index is set
+ * in a player's bitset if that player has a disk on the tile. Moves are checked and applied using
+ * only bit operations and the precomputed rays of {@link model.HexBoardGeometry}, so playing the
+ * game does not allocate any objects.
+ */
+public class BitboardReversi implements SearchableReversiModel {
+  //          FIELDS
+  //////////////////////////////////////////
+  // a map of a player listener and a boolean representing if they listen to player one or two
+  // (true for player one, false for player two)
+  private final Map<ModelListener, Boolean> playerListeners;
+  private final List<ModelListener> readOnlyListeners; // a list of read-only model listeners
+  private boolean gameStarted; // true if the game has started, false if it has not
+  protected final Color PLAYER_1_COLOR; // The disk color of player one
+  protected final Color PLAYER_2_COLOR; // The disk color of player two
+
+  // the shape of the board, which is shared with every other board of the same size
+  private final HexBoardGeometry geometry;
+  private final int cellCount; // the total number of tiles on the board
+
+  private final long[] player1Disks; // a bitset of the tiles that have player one's disk face up
+  private final long[] player2Disks; // a bitset of the tiles that have player two's disk face up
+  private final long[] flipScratch; // reusable bitset of the disks flipped by the current move
+  private final long[] candidateScratch; // reusable bitset of the tiles next to the opponent
+  private boolean player1Turn; // true if it is player one's turn, false if it is player two's
+  private final UndoStack undoStack; // the moves that have been applied and can be undone
+  private final ZobristKeys zobristKeys; // the keys used to hash positions on this board
+  // the XOR of the keys of every disk on the board, updated every time a disk is placed or flipped
+  private long diskHash;
+  // the legal moves of each player in the current position, cleared whenever the board changes
+  private final LegalMoveCache legalMoveCache;
+  private final BoardView boardView; // a read-only view of the board backed by the bitsets
+
+
+
+  //          CONSTRUCTORS
+  //////////////////////////////////////////
+  /**
+   * A constructor that takes in no arguments and initializes the board with a default
+   * side length of 6.
+   */
+  public BitboardReversi() {
+    this(6);
+  }
+
+  /**
+   * A constructor that specifies the side length of the board, in tiles.
+   * The side length must be at least 3.
+   * @param sideLength The side length, in hexagons, of each edge of the board.
+   * @throws IllegalArgumentException if the side length is less than 3.
+   */
+  public BitboardReversi(int sideLength) {
+    this(sideLength, Color.BLACK, Color.WHITE);
+
+    // place the starting disks around the center of the board, alternating colors
+    this.setDisk(this.indexOf(0, -1), true);
+    this.setDisk(this.indexOf(1, -1), false);
+    this.setDisk(this.indexOf(1, 0), true);
+    this.setDisk(this.indexOf(0, 1), false);
+    this.setDisk(this.indexOf(-1, 1), true);
+    this.setDisk(this.indexOf(-1, 0), false);
+  }
+
+  /**
+   * A constructor that initializes this model to be a copy of the given model. The given model
+   * must have a hexagonal board, but it does not have to be a BitboardReversi. This model starts
+   * on player one, whose color is the color of the player that the given model is currently on.
+   * @param modelToCopy The model to create a copy of.
+   * @throws IllegalArgumentException if the given model is null.
+   */
+  public BitboardReversi(ReadOnlyReversiModel modelToCopy) {
+    this(sideLengthOf(modelToCopy),
+            modelToCopy.currentPlayerColor(), modelToCopy.otherPlayerColor());
+
+    if (modelToCopy instanceof BitboardReversi) { // if the model uses the same representation
+      BitboardReversi other = (BitboardReversi) modelToCopy;
+      // copy the bitsets directly, making the player whose turn it is into player one
+      long[] currentDisks = other.player1Turn ? other.player1Disks : other.player2Disks;
+      long[] otherDisks = other.player1Turn ? other.player2Disks : other.player1Disks;
+      System.arraycopy(currentDisks, 0, this.player1Disks, 0, currentDisks.length);
+      System.arraycopy(otherDisks, 0, this.player2Disks, 0, otherDisks.length);
+      this.diskHash = this.hashBoard();
+      return;
+    }
+
+    // otherwise, copy the disks tile by tile using the other model's board view
+    BoardView otherBoard = modelToCopy.getBoardView();
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (otherBoard.hasDiskAt(cell)) {
+        this.setDisk(cell, otherBoard.colorAt(cell).equals(this.PLAYER_1_COLOR));
+      }
+    }
+  }
+
+  // initializes the fields of an empty board with the given side length and player colors
+  private BitboardReversi(int sideLength, Color player1Color, Color player2Color) {
+    if (sideLength < 3) { // check if the side length is at least three
+      throw new IllegalArgumentException("The board side length must be at least 3.");
+    }
+    this.playerListeners = new HashMap<>(); // initialize empty map of player listeners
+    this.readOnlyListeners = new ArrayList<>(); // initialize empty list of read-only listeners
+    this.gameStarted = false; // initialize game started to false
+    this.PLAYER_1_COLOR = player1Color;
+    this.PLAYER_2_COLOR = player2Color;
+    this.player1Turn = true; // player one moves first
+
+    this.geometry = HexBoardGeometry.forSideLength(sideLength);
+    this.cellCount = this.geometry.cellCount();
+
+    int words = (this.cellCount + 63) / 64; // the number of longs needed to hold one bit per tile
+    this.player1Disks = new long[words];
+    this.player2Disks = new long[words];
+    this.flipScratch = new long[words];
+    this.candidateScratch = new long[words];
+    this.undoStack = new UndoStack();
+    this.zobristKeys = ZobristKeys.forSideLength(sideLength);
+    this.legalMoveCache = new LegalMoveCache(this.cellCount);
+    this.boardView = new BitsetBoardView();
+  }
+
+
+
+  //          INTERFACE METHODS
+  ///////////////////////////////////////////////
+  @Override
+  public void moveAt(int q, int r) throws IllegalArgumentException, IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
+
+    this.playDisk(cell, false); // place the disk and flip the captured disks
+    this.passTurn(); // change the turn to the other player
+  }
+
+  @Override
+  public void passTurn() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    this.player1Turn = !this.player1Turn; // switch the turn to the other player
+    this.undoStack.clear(); // moves made before a real turn change can no longer be undone
+
+    this.notifyTurnStarted(); // notify player listeners that their turn started
+    this.notifyModelChanged(); // notify read-only listeners that the model changed
+  }
+
+  @Override
+  public void applyMove(int q, int r) throws IllegalArgumentException, IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
+
+    this.playDisk(cell, true); // place the disk and flip the captured disks, recording them
+    this.player1Turn = !this.player1Turn; // switch the turn without notifying listeners
+  }
+
+  @Override
+  public void applyPass() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    this.undoStack.pushMove(-1); // record the pass
+    this.player1Turn = !this.player1Turn; // switch the turn without notifying listeners
+  }
+
+  @Override
+  public void undoMove() throws IllegalStateException {
+    if (this.undoStack.size() == 0) { // check if there is a move to undo
+      throw new IllegalStateException("There are no moves to undo.");
+    }
+    this.player1Turn = !this.player1Turn; // give the turn back to the player who moved
+
+    int cell = this.undoStack.lastPlaced();
+    if (cell >= 0) { // if the move was not a pass
+      long[] own = this.currentDisks();
+      long[] opp = this.otherDisks();
+      own[cell >>> 6] &= ~(1L << cell); // remove the placed disk
+      this.legalMoveCache.invalidate(); // the board is changing, so the legal moves are too
+      this.diskHash ^= this.zobristKeys.diskKey(cell, this.player1Turn);
+      // flip every captured disk back to the other player
+      for (int i = this.undoStack.lastFlipStart(); i < this.undoStack.flipCount(); i++) {
+        int flipped = this.undoStack.flippedAt(i);
+        own[flipped >>> 6] &= ~(1L << flipped);
+        opp[flipped >>> 6] |= 1L << flipped;
+        this.diskHash ^= this.zobristKeys.flipKey(flipped);
+      }
+    }
+    this.undoStack.pop();
+  }
+
+  @Override
+  public int nextLegalMove(int fromIndex) throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return LegalMoveCache.next(this.legalMovesOf(this.player1Turn), fromIndex);
+  }
+
+  @Override
+  public int undoableMoves() {
+    return this.undoStack.size();
+  }
+
+  @Override
+  public boolean isMovePossible(int q, int r) throws IllegalArgumentException,
+          IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
+    return LegalMoveCache.contains(this.legalMovesOf(this.player1Turn), cell);
+  }
+
+  @Override
+  public BitSet legalMoves() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return BitSet.valueOf(this.legalMovesOf(this.player1Turn)); // return a copy of the cached moves
+  }
+
+  @Override
+  public boolean anyMoves() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return !LegalMoveCache.isEmpty(this.legalMovesOf(this.player1Turn));
+  }
+
+  @Override
+  public boolean isGameOver() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+
+    // check both players' cached moves without changing whose turn it is
+    return LegalMoveCache.isEmpty(this.legalMovesOf(true))
+            && LegalMoveCache.isEmpty(this.legalMovesOf(false));
+  }
+
+  @Override
+  public int getCurrentPlayerScore() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return bitCount(this.currentDisks());
+  }
+
+  @Override
+  public int getOtherPlayerScore() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return bitCount(this.otherDisks());
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return this.player1Turn ? this.diskHash : this.diskHash ^ this.zobristKeys.player2ToMoveKey();
+  }
+
+  @Override
+  public Color currentPlayerColor() {
+    return this.player1Turn ? this.PLAYER_1_COLOR : this.PLAYER_2_COLOR;
+  }
+
+  @Override
+  public Color otherPlayerColor() {
+    return this.player1Turn ? this.PLAYER_2_COLOR : this.PLAYER_1_COLOR;
+  }
+
+  @Override
+  public ReversiTile getTileAt(int q, int r) throws IllegalArgumentException {
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
+
+    if (testBit(this.player1Disks, cell)) { // if player one's disk is on the tile
+      return new PointyTopHexagon(this.PLAYER_1_COLOR, this.PLAYER_2_COLOR);
+    }
+    if (testBit(this.player2Disks, cell)) { // if player two's disk is on the tile
+      return new PointyTopHexagon(this.PLAYER_2_COLOR, this.PLAYER_1_COLOR);
+    }
+    return new PointyTopHexagon(); // if the tile does not have a disk, return an empty tile
+  }
+
+  @Override
+  public Map<Point, ReversiTile> getTiles() {
+    Map<Point, ReversiTile> tiles = new HashMap<>(); // create a new map of every tile
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      int q = this.geometry.qOf(cell);
+      int r = this.geometry.rOf(cell);
+      tiles.put(new Point(q, r), this.getTileAt(q, r));
+    }
+    return tiles;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public ReversiModel copyModel() {
+    return new BitboardReversi(this);
+  }
+
+  @Override
+  public void addReadOnlyListener(ModelListener listener) throws IllegalArgumentException {
+    if (listener == null) { // check if the listener is null and throw exception if it is
+      throw new IllegalArgumentException("Cannot register a null listener.");
+    }
+    // only add the listener once to avoid notifying it more than once for the same event
+    if (!this.readOnlyListeners.contains(listener)) {
+      this.readOnlyListeners.add(listener);
+    }
+  }
+
+  @Override
+  public void addListener(ModelListener listener, boolean firstPlayer)
+          throws IllegalArgumentException, IllegalStateException {
+    if (this.gameStarted) { // check if the game has already started and throw error
+      throw new IllegalStateException("Cannot add a listener once the game has started.");
+    }
+    if (listener == null) { // check if the listener is null and throw exception if it is
+      throw new IllegalArgumentException("Cannot register a null listener.");
+    }
+    if (!this.playerListeners.containsKey(listener)) {
+      this.playerListeners.put(listener, firstPlayer);
+    }
+  }
+
+  @Override
+  public void startGame() throws IllegalStateException {
+    if (this.gameStarted) { // check if the game has already started and throw error
+      throw new IllegalStateException("The game has already started.");
+    }
+
+    this.gameStarted = true; // set gameStarted to true
+    this.notifyTurnStarted(); // notify listeners that their turn started
+  }
+
+
+
+  //          HELPER METHODS
+  ////////////////////////////////////////////
+
+  // throws an exception if the game has not started
+  final void checkGameStarted() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("Game has not started.");
+    }
+  }
+
+  // notifies the listeners of the current player that their turn has started
+  final void notifyTurnStarted() {
+    for (Map.Entry<ModelListener, Boolean> entry : this.playerListeners.entrySet()) {
+      if (entry.getValue() == this.player1Turn) { // if they listen to the current player
+        entry.getKey().yourTurn(); // notify them it's their turn
+      }
+    }
+  }
+
+  // notifies all read-only listeners that the model has changed
+  final void notifyModelChanged() {
+    for (ModelListener listener : this.readOnlyListeners) {
+      listener.modelChanged();
+    }
+  }
+
+  // get the side length of the given model's board, checking that the model is not null
+  private static int sideLengthOf(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null
+      throw new IllegalArgumentException("Given model cannot be null");
+    }
+    return model.getBoardView().sideLength();
+  }
+
+  // returns the index of the tile at the given axial coordinates, or -1 if it is off the board
+  int indexOf(int q, int r) {
+    return this.geometry.indexOf(q, r);
+  }
+
+  // returns the index of the tile at the given axial coordinates, throwing an exception if
+  // the tile is not on the board
+  private int checkedIndexOf(int q, int r) {
+    int cell = this.indexOf(q, r);
+    if (cell < 0) { // if the board does not contain the given coordinate
+      throw new IllegalArgumentException("Invalid coordinates"); // throw an exception
+    }
+    return cell;
+  }
+
+  // places a disk on the tile at the given index for player one (true) or player two (false)
+  private void setDisk(int cell, boolean player1) {
+    long[] disks = player1 ? this.player1Disks : this.player2Disks;
+    disks[cell >>> 6] |= 1L << cell;
+    this.diskHash ^= this.zobristKeys.diskKey(cell, player1); // include the disk in the hash
+  }
+
+  // returns the bitset of the player whose turn it is
+  private long[] currentDisks() {
+    return this.player1Turn ? this.player1Disks : this.player2Disks;
+  }
+
+  // returns the bitset of the player whose turn it is not
+  private long[] otherDisks() {
+    return this.player1Turn ? this.player2Disks : this.player1Disks;
+  }
+
+  // places the current player's disk at the given tile and flips every captured disk, without
+  // changing the turn. If record is true, the move is pushed onto the undo stack.
+  private void playDisk(int cell, boolean record) {
+    long[] own = this.currentDisks();
+    long[] opp = this.otherDisks();
+    if (!this.collectFlips(cell, own, opp, this.flipScratch)) { // find the disks to flip
+      throw new IllegalStateException("This move is not possible.");
+    }
+    this.legalMoveCache.invalidate(); // the board is changing, so the legal moves are too
+
+    // place the new disk and flip the captured disks in a single pass over the bitsets
+    own[cell >>> 6] |= 1L << cell;
+    this.diskHash ^= this.zobristKeys.diskKey(cell, this.player1Turn);
+    if (record) {
+      this.undoStack.pushMove(cell);
+    }
+    for (int word = 0; word < own.length; word++) {
+      long flips = this.flipScratch[word];
+      own[word] |= flips;
+      opp[word] &= ~flips;
+      // visit every flipped disk, lowest bit first, to update the hash and record the flip
+      for (long bits = flips; bits != 0; bits &= bits - 1) {
+        int flipped = word * 64 + Long.numberOfTrailingZeros(bits);
+        this.diskHash ^= this.zobristKeys.flipKey(flipped);
+        if (record) {
+          this.undoStack.pushFlip(flipped);
+        }
+      }
+    }
+  }
+
+  // returns true if the player with the given disks can move at the given tile
+  private boolean isLegal(int cell, long[] own, long[] opp) {
+    if (testBit(own, cell) || testBit(opp, cell)) { // if the tile already has a disk
+      return false;
+    }
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // look in each direction
+      if (BitboardReversi.capturedRun(this.geometry.ray(cell, dir), own, opp) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // returns the number of the opponent's disks at the start of the given ray that are capped by
+  // one of our disks, or 0 if the run reaches an empty tile or the edge of the board first
+  private static int capturedRun(int[] ray, long[] own, long[] opp) {
+    for (int step = 0; step < ray.length; step++) {
+      int next = ray[step];
+      if (!testBit(opp, next)) { // if we've reached the end of the opponent's disks
+        return testBit(own, next) ? step : 0;
+      }
+    }
+    return 0; // the run reached the edge of the board
+  }
+
+  // returns the legal moves of player one (true) or player two (false) as a bitset of tile
+  // indices, computing them if the board has changed since they were last computed
+  private long[] legalMovesOf(boolean player1) {
+    if (this.legalMoveCache.isValid(player1)) { // if the moves are up to date, reuse them
+      return this.legalMoveCache.moves(player1);
+    }
+    long[] moves = this.legalMoveCache.startFilling(player1);
+    long[] own = player1 ? this.player1Disks : this.player2Disks;
+    long[] opp = player1 ? this.player2Disks : this.player1Disks;
+    // a move must capture a disk next to it, so only the tiles next to the opponent's disks can
+    // be moves, which is far fewer tiles to check than every empty tile for most of the game
+    long[] candidates = this.candidateScratch;
+    Arrays.fill(candidates, 0L);
+    for (int word = 0; word < opp.length; word++) {
+      for (long bits = opp[word]; bits != 0; bits &= bits - 1) {
+        this.geometry.addNeighbors(word * 64 + Long.numberOfTrailingZeros(bits), candidates);
+      }
+    }
+    for (int word = 0; word < moves.length; word++) {
+      // only the empty tiles of this word can be moves, and neighbors are always on the board
+      long empty = candidates[word] & ~(own[word] | opp[word]);
+      for (long bits = empty; bits != 0; bits &= bits - 1) {
+        int cell = word * 64 + Long.numberOfTrailingZeros(bits);
+        if (this.isLegal(cell, own, opp)) {
+          moves[word] |= 1L << cell;
+        }
+      }
+    }
+    return moves;
+  }
+
+  // fills the given bitset with the disks that would be flipped by a move at the given tile,
+  // returning true if the move is legal (it is empty and flips at least one disk)
+  private boolean collectFlips(int cell, long[] own, long[] opp, long[] flips) {
+    Arrays.fill(flips, 0L); // clear the disks found by the previous move
+    if (testBit(own, cell) || testBit(opp, cell)) { // if the tile already has a disk
+      return false;
+    }
+
+    boolean anyFlips = false;
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // look in each direction
+      int[] ray = this.geometry.ray(cell, dir);
+      int runLength = capturedRun(ray, own, opp);
+      for (int step = 0; step < runLength; step++) { // mark each captured disk to be flipped
+        flips[ray[step] >>> 6] |= 1L << ray[step];
+      }
+      anyFlips |= runLength > 0;
+    }
+    return anyFlips;
+  }
+
+  // returns the XOR of the keys of every disk on the board, found by scanning the whole board
+  long hashBoard() {
+    long hash = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (testBit(this.player1Disks, cell)) {
+        hash ^= this.zobristKeys.diskKey(cell, true);
+      }
+      else if (testBit(this.player2Disks, cell)) {
+        hash ^= this.zobristKeys.diskKey(cell, false);
+      }
+    }
+    return hash;
+  }
+
+  // returns true if the bit at the given index is set in the given bitset
+  private static boolean testBit(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  // returns the number of bits set in the given bitset
+  private static int bitCount(long[] bits) {
+    int count = 0;
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  // a view of the board that reads directly from the bitsets of this model
+  private final class BitsetBoardView extends GeometryBoardView {
+    private BitsetBoardView() {
+      super(BitboardReversi.this.geometry);
+    }
+
+    @Override
+    public boolean hasDiskAt(int index) {
+      if (index < 0 || index >= BitboardReversi.this.cellCount) { // check the index is on the board
+        throw new IndexOutOfBoundsException("Invalid tile index " + index);
+      }
+      return testBit(player1Disks, index) || testBit(player2Disks, index);
+    }
+
+    @Override
+    public CellState stateAt(int index) {
+      if (!this.hasDiskAt(index)) { // if the tile has no disk
+        return CellState.EMPTY;
+      }
+      return testBit(player1Disks, index) ? CellState.PLAYER_ONE : CellState.PLAYER_TWO;
+    }
+
+    @Override
+    public Color colorAt(int index) throws IllegalStateException {
+      if (!this.hasDiskAt(index)) { // if the tile has no disk
+        throw new IllegalStateException("This tile has no disk.");
+      }
+      return testBit(player1Disks, index) ? PLAYER_1_COLOR : PLAYER_2_COLOR;
+    }
+
+    @Override
+    public CellState stateOf(Color color) throws IllegalArgumentException {
+      if (PLAYER_1_COLOR.equals(color)) {
+        return CellState.PLAYER_ONE;
+      }
+      if (PLAYER_2_COLOR.equals(color)) {
+        return CellState.PLAYER_TWO;
+      }
+      throw new IllegalArgumentException("The color is not one of the player colors.");
+    }
+  }
+}
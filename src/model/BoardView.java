@@ -0,0 +1,106 @@
+package model;
+
+import java.awt.Color;
+
+import model.tile.CellState;
+
+/**
+ * A read-only view of the board of a Reversi model that is backed directly by the model's state.
+ * The view always shows the current state of the model, and reading from it does not allocate
+ * any objects, so views and strategies can read the whole board as often as they like. Tiles are
+ * identified by their index, as numbered by {@link model.HexBoardGeometry}, which can be converted
+ * to and from the axial coordinates used by the model.
+ */
+public interface BoardView {
+
+  /**
+   * A function that is called once for each tile on the board by {@link #forEachCell}.
+   */
+  interface CellVisitor {
+    /**
+     * Visit the tile with the given index and axial coordinates.
+     * @param index The index of the tile.
+     * @param q The q position of the tile.
+     * @param r The r position of the tile.
+     */
+    void visit(int index, int q, int r);
+  }
+
+  /**
+   * Returns the side length, in tiles, of the board.
+   * @return The side length.
+   */
+  int sideLength();
+
+  /**
+   * Returns the number of tiles on the board. Tile indices range from 0 to this number - 1.
+   * @return The number of tiles.
+   */
+  int cellCount();
+
+  /**
+   * Returns the index of the tile at the given axial coordinates.
+   * @param q The q position of the tile.
+   * @param r The r position of the tile.
+   * @return The index of the tile, or -1 if the coordinates are not on the board.
+   */
+  int indexOf(int q, int r);
+
+  /**
+   * Returns the q position of the tile with the given index.
+   * @param index The index of the tile.
+   * @return The q position.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  int qAt(int index);
+
+  /**
+   * Returns the r position of the tile with the given index.
+   * @param index The index of the tile.
+   * @return The r position.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  int rAt(int index);
+
+  /**
+   * Returns if the tile with the given index has a disk on it.
+   * @param index The index of the tile.
+   * @return True if the tile has a disk, false if it does not.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  boolean hasDiskAt(int index);
+
+  /**
+   * Returns the state of the tile with the given index: empty, or which player's disk is face up.
+   * @param index The index of the tile.
+   * @return The state of the tile.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  CellState stateAt(int index);
+
+  /**
+   * Returns the color of the disk that is face up on the tile with the given index. The color is
+   * always one of the model's two player colors.
+   * @param index The index of the tile.
+   * @return The color of the disk.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   * @throws IllegalStateException if the tile does not have a disk on it.
+   */
+  Color colorAt(int index) throws IllegalStateException;
+
+  /**
+   * Returns the state of the tiles that have a disk of the given player color face up, so that a
+   * player's color can be matched against {@link #stateAt} without looking for one of their disks.
+   * @param color One of the model's two player colors.
+   * @return The state of that player's tiles.
+   * @throws IllegalArgumentException if the color is not one of the model's player colors.
+   */
+  CellState stateOf(Color color) throws IllegalArgumentException;
+
+  /**
+   * Calls the given visitor once for every tile on the board, in order of index.
+   * @param visitor The function to call for each tile.
+   * @throws IllegalArgumentException if the given visitor is null.
+   */
+  void forEachCell(CellVisitor visitor) throws IllegalArgumentException;
+}
@@ -0,0 +1,53 @@
+package model;
+
+/**
+ * A partial implementation of {@link model.BoardView} for models whose board is described by a
+ * {@link model.HexBoardGeometry}. The shape of the board comes from the geometry, so models only
+ * need to say what is on each tile.
+ */
+abstract class GeometryBoardView implements BoardView {
+  private final HexBoardGeometry geometry; // the shape of the board
+
+  /**
+   * Creates a view of a board with the given shape.
+   * @param geometry The geometry of the board.
+   */
+  GeometryBoardView(HexBoardGeometry geometry) {
+    this.geometry = geometry;
+  }
+
+  @Override
+  public int sideLength() {
+    return this.geometry.sideLength();
+  }
+
+  @Override
+  public int cellCount() {
+    return this.geometry.cellCount();
+  }
+
+  @Override
+  public int indexOf(int q, int r) {
+    return this.geometry.indexOf(q, r);
+  }
+
+  @Override
+  public int qAt(int index) {
+    return this.geometry.qOf(index);
+  }
+
+  @Override
+  public int rAt(int index) {
+    return this.geometry.rOf(index);
+  }
+
+  @Override
+  public void forEachCell(CellVisitor visitor) throws IllegalArgumentException {
+    if (visitor == null) { // check if the visitor is null and throw exception if it is
+      throw new IllegalArgumentException("Visitor cannot be null.");
+    }
+    for (int cell = 0; cell < this.geometry.cellCount(); cell++) {
+      visitor.visit(cell, this.geometry.qOf(cell), this.geometry.rOf(cell));
+    }
+  }
+}
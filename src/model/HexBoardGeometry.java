@@ -0,0 +1,194 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The shape of a hexagonal board with a given side length, shared by every model with a board of
+ * that size. Each tile on the board is given a dense index, starting at 0 for the
+ * upper-left-most tile and moving left to right along each row, from the top row to the bottom
+ * row. For every tile, the geometry precomputes the ordered indices of the tiles along each of the
+ * six directions that a line of disks can be captured in, so that models can check and apply
+ * moves by walking arrays of indices instead of translating points and probing a map.
+ * Geometries are immutable and are created once per side length.
+ */
+public final class HexBoardGeometry {
+  /**
+   * The number of directions that you can move in from a tile.
+   */
+  public static final int DIRECTIONS = 6;
+
+  // the change in q and change in r for a step in each direction, in the same order as the
+  // directions of HexagonalReversi: left, up and left, up and right, right, down and right,
+  // down and left
+  private static final int[] DIRECTION_Q = {-1, 0, 1, 1, 0, -1};
+  private static final int[] DIRECTION_R = {0, -1, -1, 0, 1, 1};
+
+  // the geometry for every side length that has been requested so far
+  private static final Map<Integer, HexBoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+  private final int sideLength; // the side length of the board, in tiles
+  private final int cellCount; // the total number of tiles on the board
+  private final int[] rowStart; // the index of the first tile in each row, indexed by r + n
+  private final int[] rowMinQ; // the q value of the first tile in each row, indexed by r + n
+  private final int[] cellQ; // the q value of each tile, indexed by the tile's index
+  private final int[] cellR; // the r value of each tile, indexed by the tile's index
+  // the indices of the tiles along each ray, in order of distance from the starting tile.
+  // The ray from tile i in direction d is at position i * DIRECTIONS + d
+  private final int[][] rays;
+  private final int words; // the number of longs in a bitset with one bit per tile
+  // a bitset of the neighbors of each tile, one after another, words longs per tile
+  private final long[] neighborMasks;
+
+  // creates the geometry of a board with the given side length
+  private HexBoardGeometry(int sideLength) {
+    this.sideLength = sideLength;
+    int n = sideLength - 1;
+    this.cellCount = 3 * sideLength * (sideLength - 1) + 1; // number of tiles in a hexagon
+    this.rowStart = new int[2 * n + 1];
+    this.rowMinQ = new int[2 * n + 1];
+    this.cellQ = new int[this.cellCount];
+    this.cellR = new int[this.cellCount];
+
+    // number the tiles row by row, from the top row to the bottom row and left to right
+    int index = 0;
+    for (int r = -n; r <= n; r++) {
+      this.rowStart[r + n] = index;
+      this.rowMinQ[r + n] = Math.max(-n, -r - n);
+      for (int q = this.rowMinQ[r + n]; q <= Math.min(n, -r + n); q++) {
+        this.cellQ[index] = q;
+        this.cellR[index] = r;
+        index++;
+      }
+    }
+
+    // walk from every tile in every direction until the edge of the board, recording each tile
+    this.rays = new int[this.cellCount * DIRECTIONS][];
+    int[] buffer = new int[2 * n]; // a ray can never be longer than the width of the board
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      for (int dir = 0; dir < DIRECTIONS; dir++) {
+        int length = 0;
+        int q = this.cellQ[cell] + DIRECTION_Q[dir];
+        int r = this.cellR[cell] + DIRECTION_R[dir];
+        for (int next = this.indexOf(q, r); next >= 0; next = this.indexOf(q, r)) {
+          buffer[length++] = next;
+          q += DIRECTION_Q[dir];
+          r += DIRECTION_R[dir];
+        }
+        int[] ray = new int[length];
+        System.arraycopy(buffer, 0, ray, 0, length);
+        this.rays[cell * DIRECTIONS + dir] = ray;
+      }
+    }
+
+    // collect the first tile of every ray from each tile, which are the tile's neighbors
+    this.words = (this.cellCount + 63) / 64;
+    this.neighborMasks = new long[this.cellCount * this.words];
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      for (int dir = 0; dir < DIRECTIONS; dir++) {
+        int[] ray = this.rays[cell * DIRECTIONS + dir];
+        if (ray.length > 0) {
+          this.neighborMasks[cell * this.words + (ray[0] >>> 6)] |= 1L << ray[0];
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the geometry of a hexagonal board with the given side length. The same geometry is
+   * returned every time for the same side length.
+   * @param sideLength The side length, in tiles, of each edge of the board.
+   * @return The geometry of the board.
+   * @throws IllegalArgumentException if the side length is not positive.
+   */
+  public static HexBoardGeometry forSideLength(int sideLength) {
+    if (sideLength < 1) { // check that the side length is positive
+      throw new IllegalArgumentException("The board side length must be positive.");
+    }
+    return GEOMETRIES.computeIfAbsent(sideLength, HexBoardGeometry::new);
+  }
+
+  /**
+   * Returns the side length, in tiles, of the board.
+   * @return The side length.
+   */
+  public int sideLength() {
+    return this.sideLength;
+  }
+
+  /**
+   * Returns the number of tiles on the board. Tile indices range from 0 to this number - 1.
+   * @return The number of tiles.
+   */
+  public int cellCount() {
+    return this.cellCount;
+  }
+
+  /**
+   * Returns the index of the tile at the given axial coordinates.
+   * @param q The q position of the tile.
+   * @param r The r position of the tile.
+   * @return The index of the tile, or -1 if the coordinates are not on the board.
+   */
+  public int indexOf(int q, int r) {
+    int n = this.sideLength - 1;
+    if (r < -n || r > n) { // if the row is off the board
+      return -1;
+    }
+    int minQ = this.rowMinQ[r + n];
+    if (q < minQ || q > Math.min(n, -r + n)) { // if the column is off the board for this row
+      return -1;
+    }
+    return this.rowStart[r + n] + q - minQ;
+  }
+
+  /**
+   * Returns the q position of the tile with the given index.
+   * @param index The index of the tile.
+   * @return The q position.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public int qOf(int index) {
+    return this.cellQ[index];
+  }
+
+  /**
+   * Returns the r position of the tile with the given index.
+   * @param index The index of the tile.
+   * @return The r position.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public int rOf(int index) {
+    return this.cellR[index];
+  }
+
+  /**
+   * Returns the index of the tile next to the given tile in the given direction.
+   * @param index The index of the tile.
+   * @param direction The direction to look in, from 0 to {@link #DIRECTIONS} - 1.
+   * @return The index of the neighboring tile, or -1 if it is off the board.
+   * @throws IndexOutOfBoundsException if the index or direction is out of range.
+   */
+  public int neighbor(int index, int direction) {
+    int[] ray = this.ray(index, direction);
+    return ray.length == 0 ? -1 : ray[0];
+  }
+
+  // returns the indices of the tiles along the ray from the given tile in the given direction,
+  // in order of distance from the tile. The array is shared and must not be modified.
+  int[] ray(int index, int direction) {
+    if (direction < 0 || direction >= DIRECTIONS) {
+      throw new IndexOutOfBoundsException("Invalid direction " + direction);
+    }
+    return this.rays[index * DIRECTIONS + direction];
+  }
+
+  // sets the bit of every neighbor of the given tile in the given bitset, which has one bit per
+  // tile of the board
+  void addNeighbors(int index, long[] bits) {
+    int offset = index * this.words;
+    for (int word = 0; word < this.words; word++) {
+      bits[word] |= this.neighborMasks[offset + word];
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package model;
+
+import java.awt.Color;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The symmetries of a hexagonal board with a given side length, shared by every model with a
+ * board of that size. A hexagon looks the same after any of its 6 rotations by a multiple of 60
+ * degrees, and after any of those rotations following a reflection, so every position has up to
+ * 12 versions that are the same position seen from a different side of the board. They have the
+ * same score and their best moves are the same moves, moved by the same symmetry.
+ * Transforms are numbered from 0 to {@link #TRANSFORMS} - 1. Transform t rotates the board by
+ * t * 60 degrees if t is less than 6, and otherwise reflects the board across the line through
+ * the center along which q equals r, then rotates it by (t - 6) * 60 degrees. Transform 0 leaves
+ * the board as it is.
+ * The key of a position under a transform is the Zobrist hash of the transformed position from
+ * the point of view of the player to move: the disks of the player to move are hashed as player
+ * one's and the other player's disks as player two's. The canonical key of a position is the
+ * smallest of its 12 keys, so every version of a position has the same canonical key, and a table
+ * of positions keyed by it needs to hold each position only once instead of up to 12 times.
+ * Symmetries are immutable and are created once per side length.
+ */
+public final class HexSymmetry {
+  /**
+   * The number of symmetries of a hexagonal board.
+   */
+  public static final int TRANSFORMS = 12;
+  // the number of transforms that are only rotations
+  private static final int ROTATIONS = 6;
+
+  // the symmetries for every side length that has been requested so far
+  private static final Map<Integer, HexSymmetry> SYMMETRIES = new ConcurrentHashMap<>();
+
+  private final int cellCount; // the total number of tiles on the board
+  // the index each tile is moved to by each transform. Tile i is moved by transform t to the
+  // tile at position t * cellCount + i
+  private final int[] images;
+  private final ZobristKeys keys; // the keys used to hash positions on this board
+
+  // creates the symmetries of a board with the given side length
+  private HexSymmetry(int sideLength) {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(sideLength);
+    this.cellCount = geometry.cellCount();
+    this.images = new int[TRANSFORMS * this.cellCount];
+    this.keys = ZobristKeys.forSideLength(sideLength);
+    for (int transform = 0; transform < TRANSFORMS; transform++) {
+      for (int cell = 0; cell < this.cellCount; cell++) {
+        int q = geometry.qOf(cell);
+        int r = geometry.rOf(cell);
+        if (transform >= ROTATIONS) { // reflect across the line where q equals r
+          int swap = q;
+          q = r;
+          r = swap;
+        }
+        for (int turn = 0; turn < transform % ROTATIONS; turn++) { // rotate 60 degrees at a time
+          int rotated = -r;
+          r = q + r;
+          q = rotated;
+        }
+        this.images[transform * this.cellCount + cell] = geometry.indexOf(q, r);
+      }
+    }
+  }
+
+  /**
+   * Returns the symmetries of a hexagonal board with the given side length. The same symmetries
+   * are returned every time for the same side length.
+   * @param sideLength The side length, in tiles, of each edge of the board.
+   * @return The symmetries of the board.
+   * @throws IllegalArgumentException if the side length is not positive.
+   */
+  public static HexSymmetry forSideLength(int sideLength) {
+    HexBoardGeometry.forSideLength(sideLength); // check the side length
+    return SYMMETRIES.computeIfAbsent(sideLength, HexSymmetry::new);
+  }
+
+  /**
+   * Returns the index of the tile that the given tile is moved to by the given transform.
+   * @param transform The transform, from 0 to {@link #TRANSFORMS} - 1.
+   * @param index The index of the tile, as numbered by {@link model.HexBoardGeometry}.
+   * @return The index of the tile after the transform.
+   * @throws IndexOutOfBoundsException if the transform or the index is out of range.
+   */
+  public int transform(int transform, int index) {
+    checkTransform(transform);
+    if (index < 0 || index >= this.cellCount) { // check that the tile is on the board
+      throw new IndexOutOfBoundsException("Invalid tile index " + index);
+    }
+    return this.images[transform * this.cellCount + index];
+  }
+
+  /**
+   * Returns the transform that undoes the given transform, which moves every tile back to where
+   * it was.
+   * @param transform The transform, from 0 to {@link #TRANSFORMS} - 1.
+   * @return The inverse of the transform.
+   * @throws IndexOutOfBoundsException if the transform is out of range.
+   */
+  public static int inverse(int transform) {
+    checkTransform(transform);
+    // a reflection followed by a rotation is its own inverse
+    return transform >= ROTATIONS ? transform : (ROTATIONS - transform) % ROTATIONS;
+  }
+
+  /**
+   * Returns the key of the position of the given model after the given transform, from the point
+   * of view of the player to move. The key under transform 0 is the same as the
+   * {@link ReadOnlyReversiModel#positionHash} of a model in the same position whose player one is
+   * the player to move.
+   * @param model The model, which must be started and have a board of this side length.
+   * @param transform The transform, from 0 to {@link #TRANSFORMS} - 1.
+   * @return The key of the transformed position.
+   * @throws IllegalArgumentException if the model is null or its board is a different size.
+   * @throws IndexOutOfBoundsException if the transform is out of range.
+   */
+  public long key(ReadOnlyReversiModel model, int transform) {
+    checkTransform(transform);
+    BoardView board = this.boardOf(model);
+    Color mover = model.currentPlayerColor();
+    int offset = transform * this.cellCount;
+    long hash = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (board.hasDiskAt(cell)) {
+        boolean mine = board.colorAt(cell).equals(mover);
+        hash ^= this.keys.diskKey(this.images[offset + cell], mine);
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the canonical key of the position of the given model: the smallest of its keys under
+   * every transform. Every symmetric version of a position has the same canonical key.
+   * @param model The model, which must be started and have a board of this side length.
+   * @return The canonical key of the position.
+   * @throws IllegalArgumentException if the model is null or its board is a different size.
+   */
+  public long canonicalKey(ReadOnlyReversiModel model) {
+    return this.key(model, this.canonicalTransform(model));
+  }
+
+  /**
+   * Returns the transform that moves the position of the given model to its canonical version,
+   * whose key is its {@link #canonicalKey}. If more than one transform does, which happens when
+   * the position is symmetric, the smallest of them is returned. A move in the canonical version
+   * is moved back to the model's board by the {@link #inverse} of this transform.
+   * @param model The model, which must be started and have a board of this side length.
+   * @return The transform to the canonical version of the position.
+   * @throws IllegalArgumentException if the model is null or its board is a different size.
+   */
+  public int canonicalTransform(ReadOnlyReversiModel model) {
+    BoardView board = this.boardOf(model);
+    Color mover = model.currentPlayerColor();
+    // hash the position under every transform in one pass over the board
+    long[] hashes = new long[TRANSFORMS];
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (board.hasDiskAt(cell)) {
+        boolean mine = board.colorAt(cell).equals(mover);
+        for (int transform = 0; transform < TRANSFORMS; transform++) {
+          hashes[transform] ^= this.keys.diskKey(this.images[transform * this.cellCount + cell],
+                  mine);
+        }
+      }
+    }
+    int best = 0;
+    for (int transform = 1; transform < TRANSFORMS; transform++) {
+      if (hashes[transform] < hashes[best]) {
+        best = transform;
+      }
+    }
+    return best;
+  }
+
+  // returns the board of the given model, checking that it is the size of these symmetries
+  private BoardView boardOf(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    BoardView board = model.getBoardView();
+    if (board.cellCount() != this.cellCount) { // check that the board is the same size
+      throw new IllegalArgumentException("The board is a different size.");
+    }
+    return board;
+  }
+
+  // checks that the given transform is in range
+  private static void checkTransform(int transform) {
+    if (transform < 0 || transform >= TRANSFORMS) {
+      throw new IndexOutOfBoundsException("Invalid transform " + transform);
+    }
+  }
+}
@@ -4,11 +4,14 @@ import java.awt.Point;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import model.tile.CellState;
+import model.tile.CellStateBoard;
 import model.tile.PointyTopHexagon;
 import model.tile.ReversiTile;
 
@@ -20,7 +23,7 @@ import model.tile.ReversiTile;
  * using axial coordinates (q and r in place of x and y respectively) where the center of the
  * board is at the point (0, 0).
  */
-public class HexagonalReversi implements ReversiModel {
+public class HexagonalReversi implements SearchableReversiModel {
   //          FIELDS
   //////////////////////////////////////////
   // a map of a player listener and a boolean representing if they listen to player one or two
@@ -38,6 +41,26 @@ public class HexagonalReversi implements ReversiModel {
 
   // A map that represents the board using each hexagon's axial coordinates
   private final Map<Point, ReversiTile> tiles;
+  // the shape of the board, which is shared with every other board of the same size
+  private final HexBoardGeometry geometry;
+  // the state of every tile as one byte per tile, indexed by the tile's index in the geometry so
+  // that moves can be checked and applied by walking the geometry's precomputed rays. The tiles in
+  // the tiles map read and write these same bytes
+  private final CellStateBoard states;
+  // the same tiles as the tiles map, indexed by their index in the geometry. A tile is null if a
+  // subclass made a board that does not have it
+  private final ReversiTile[] cells;
+  // the number of disks of each player's color that are face up on the board. These are updated
+  // every time a disk is placed or flipped so that the scores never need a scan of the board
+  private int player1Disks;
+  private int player2Disks;
+  private final UndoStack undoStack; // the moves that have been applied and can be undone
+  private final ZobristKeys zobristKeys; // the keys used to hash positions on this board
+  // the XOR of the keys of every disk on the board, updated every time a disk is placed or flipped
+  private long diskHash;
+  // the legal moves of each player in the current position, cleared whenever the board changes
+  private final LegalMoveCache legalMoveCache;
+  private final BoardView boardView; // a read-only view of the board backed by the tile states
   protected Color currentPlayer; // The disk color of the current player
 
   // INVARIANT: currentPlayer equals PLAYER_1_COLOR or PLAYER_2_COLOR
@@ -82,6 +105,16 @@ public class HexagonalReversi implements ReversiModel {
     // initialized as player 1 color.
     this.currentPlayer = this.PLAYER_1_COLOR; // set the current player to player 1 (they go first)
     this.tiles = this.makeBoard(sideLength); // initialize the state of the board
+    this.geometry = HexBoardGeometry.forSideLength(sideLength);
+    this.states = new CellStateBoard(this.geometry.cellCount(), this.PLAYER_1_COLOR,
+            this.PLAYER_2_COLOR);
+    this.cells = this.indexTiles(); // index the tiles of the board and store them as states
+    this.countDisks(); // count the disks that start on the board
+    this.zobristKeys = ZobristKeys.forSideLength(this.geometry.sideLength());
+    this.diskHash = this.hashBoard(); // hash the disks that start on the board
+    this.legalMoveCache = new LegalMoveCache(this.cells.length);
+    this.boardView = new TileBoardView();
+    this.undoStack = new UndoStack(); // no moves have been applied yet
   }
 
   /**
@@ -111,6 +144,16 @@ public class HexagonalReversi implements ReversiModel {
     this.currentPlayer = this.PLAYER_1_COLOR; // set current player to player 1
 
     this.tiles = modelToCopy.getTiles();
+    this.geometry = HexBoardGeometry.forSideLength(modelToCopy.getBoardView().sideLength());
+    this.states = new CellStateBoard(this.geometry.cellCount(), this.PLAYER_1_COLOR,
+            this.PLAYER_2_COLOR);
+    this.cells = this.indexTiles(); // index the tiles of the board and store them as states
+    this.countDisks(); // count the disks that start on the board
+    this.zobristKeys = ZobristKeys.forSideLength(this.geometry.sideLength());
+    this.diskHash = this.hashBoard(); // hash the disks that start on the board
+    this.legalMoveCache = new LegalMoveCache(this.cells.length);
+    this.boardView = new TileBoardView();
+    this.undoStack = new UndoStack(); // no moves have been applied yet
   }
 
   //          INTERFACE METHODS
@@ -118,26 +161,13 @@ public class HexagonalReversi implements ReversiModel {
   @Override
   public void moveAt(int q, int r) throws IllegalArgumentException, IllegalStateException {
     this.checkGameStarted(); // check if the game has started
-
-    // if the board does not contain the given coordinate
-    if (!this.tiles.containsKey(new Point(q, r))) {
-      throw new IllegalArgumentException("Invalid coordinates"); // throw an exception
-    }
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
 
     if (!this.isMovePossible(q, r)) { // if the move is not possible
       throw new IllegalStateException("This move is not possible.");
     }
 
-    // place a disk on the tile that was moved at with the current player's color face up
-    this.tiles.get(new Point(q, r)).placeDisk(this.currentPlayer, this.otherPlayerColor());
-
-    for (Point direction : this.getDirections()) {
-      List<ReversiTile> tilesToChange = this.tilesToFlip(new Point(q, r),
-              direction.x, direction.y); // get the tiles that we need to change
-      for (ReversiTile tile : tilesToChange) { // iterate over all tiles to change
-        tile.flipDisk(); // flip the disk on the tile to the current player's color
-      }
-    }
+    this.playDisk(cell, false); // place the disk and flip the captured disks
     this.passTurn(); // change the turn to the other player;
   }
 
@@ -149,83 +179,126 @@ public class HexagonalReversi implements ReversiModel {
     // the invariant is enforced because the otherPlayerColor helper can only return
     // either player 1's color or player 2's color.
     this.currentPlayer = this.otherPlayerColor(); // set the current player to the other player
+    this.undoStack.clear(); // moves made before a real turn change can no longer be undone
 
     this.notifyTurnStarted(); // notify player listeners that their turn started
     this.notifyModelChanged(); // notify read-only listeners that the model changed
   }
 
   @Override
-  public boolean isMovePossible(int q, int r) throws IllegalArgumentException,
-          IllegalStateException {
+  public void applyMove(int q, int r) throws IllegalArgumentException, IllegalStateException {
     this.checkGameStarted(); // check if the game has started
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
 
-    // if the board does not contain the given coordinate
-    if (!this.tiles.containsKey(new Point(q, r))) {
-      throw new IllegalArgumentException("Invalid coordinates"); // throw an exception
+    if (!LegalMoveCache.contains(this.currentLegalMoves(), cell)) { // if the move is not possible
+      throw new IllegalStateException("This move is not possible.");
     }
 
-    if (this.tiles.get(new Point(q, r)).hasDisk()) { // if the tile already has a disk
-      return false; // then the move is not possible, so return false
-    }
+    this.playDisk(cell, true); // place the disk and flip the captured disks, recording them
+    this.currentPlayer = this.otherPlayerColor(); // change the turn without notifying listeners
+  }
+
+  @Override
+  public void applyPass() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    this.undoStack.pushMove(-1); // record the pass
+    this.currentPlayer = this.otherPlayerColor(); // change the turn without notifying listeners
+  }
 
-    for (Point delPoint : this.getDirections()) { // iterate over all directions to move in
-      // find the tiles to flip in all directions starting at the given point
-      List<ReversiTile> otherTiles = this.tilesToFlip(new Point(q, r), delPoint.x, delPoint.y);
-      if (!otherTiles.isEmpty()) { // if the list of tiles to flip IS NOT empty
-        return true; // then the move is possible, so return true
+  @Override
+  public void undoMove() throws IllegalStateException {
+    if (this.undoStack.size() == 0) { // check if there is a move to undo
+      throw new IllegalStateException("There are no moves to undo.");
+    }
+    this.currentPlayer = this.otherPlayerColor(); // give the turn back to the player who moved
+
+    int cell = this.undoStack.lastPlaced();
+    if (cell >= 0) { // if the move was not a pass
+      boolean player1Moved = this.currentPlayer == this.PLAYER_1_COLOR;
+      this.states.removeDisk(cell); // take the placed disk off the board
+      this.legalMoveCache.invalidate(); // the board is changing, so the legal moves are too
+      this.diskHash ^= this.zobristKeys.diskKey(cell, player1Moved);
+      int start = this.undoStack.lastFlipStart();
+      for (int i = start; i < this.undoStack.flipCount(); i++) { // flip captured disks back
+        int flippedCell = this.undoStack.flippedAt(i);
+        this.states.flipDisk(flippedCell);
+        this.diskHash ^= this.zobristKeys.flipKey(flippedCell);
       }
+      int flipped = this.undoStack.flipCount() - start;
+      this.updateScores(player1Moved, -flipped - 1, flipped);
     }
-    // if there are no tiles to flip in all directions
-    return false; // the move is not possible, return false
+    this.undoStack.pop();
   }
 
   @Override
-  public boolean anyMoves() throws IllegalStateException {
+  public int nextLegalMove(int fromIndex) throws IllegalStateException {
     this.checkGameStarted(); // check if the game has started
+    return LegalMoveCache.next(this.currentLegalMoves(), fromIndex);
+  }
 
-    for (Point tilePoint : this.tiles.keySet()) { // iterate over all tile locations
-      if (!this.tiles.get(tilePoint).hasDisk()) { // if the tile does not have a disk
-        // check if a move is possible at that tile
-        if (this.isMovePossible(tilePoint.x, tilePoint.y)) { // if the move is possible
-          return true; // return true
-        }
-        // if a move is not possible, continue on trying moves
-      }
-      // if the tile has a disk then you can't move there, so keep trying
-    }
-    return false; // if all the moves are not possible, there are no moves so return false
+  @Override
+  public int undoableMoves() {
+    return this.undoStack.size();
   }
 
   @Override
-  public boolean isGameOver() throws IllegalStateException {
+  public boolean isMovePossible(int q, int r) throws IllegalArgumentException,
+          IllegalStateException {
     this.checkGameStarted(); // check if the game has started
+    int cell = this.checkedIndexOf(q, r); // get the index of the tile, checking that it exists
+
+    // look the tile up in the current player's legal moves, which are only computed once per
+    // position no matter how many tiles are checked
+    return LegalMoveCache.contains(this.currentLegalMoves(), cell);
+  }
 
-    boolean curPlayerHasMoves = this.anyMoves(); // check if the current player has any moves
-    // manually change the turn to the next player to avoid sending model changed event
-    this.currentPlayer = this.otherPlayerColor();
+  @Override
+  public BitSet legalMoves() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+    return BitSet.valueOf(this.currentLegalMoves()); // return a copy of the cached moves
+  }
 
-    boolean nextPlayerHasMoves = this.anyMoves(); // check if the other player has any moves
-    // change the turn back to the first player to avoid messing up turns
-    this.currentPlayer = this.otherPlayerColor();
+  @Override
+  public boolean anyMoves() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+
+    // there are moves if any bit is set in the current player's legal moves
+    return !LegalMoveCache.isEmpty(this.currentLegalMoves());
+  }
+
+  @Override
+  public boolean isGameOver() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
 
-    // if neither player has any moves, return true
-    return !curPlayerHasMoves && !nextPlayerHasMoves;
+    // if neither player has any moves, return true. Both players' moves are cached, so this does
+    // not need to change whose turn it is
+    return LegalMoveCache.isEmpty(this.legalMovesOf(true))
+            && LegalMoveCache.isEmpty(this.legalMovesOf(false));
   }
 
   @Override
   public int getCurrentPlayerScore() throws IllegalStateException {
     this.checkGameStarted(); // check if the game has started
 
-    // use a helper to find tiles with player one's disk color
-    return this.tilesWithColor(this.currentPlayer);
+    // the disk counts are kept up to date by every move, so just look up the current player's
+    return this.currentPlayer == this.PLAYER_1_COLOR ? this.player1Disks : this.player2Disks;
   }
 
   @Override
   public int getOtherPlayerScore() throws IllegalStateException {
     this.checkGameStarted(); // check if the game has started
 
-    // use a helper to find tiles with player two's disk color
-    return this.tilesWithColor(this.otherPlayerColor());
+    // the disk counts are kept up to date by every move, so just look up the other player's
+    return this.currentPlayer == this.PLAYER_1_COLOR ? this.player2Disks : this.player1Disks;
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    this.checkGameStarted(); // check if the game has started
+
+    // the disk part of the hash is kept up to date by every move, so just add the player to move
+    return this.currentPlayer == this.PLAYER_1_COLOR
+            ? this.diskHash : this.diskHash ^ this.zobristKeys.player2ToMoveKey();
   }
 
   @Override
@@ -251,20 +324,13 @@ public class HexagonalReversi implements ReversiModel {
 
   @Override
   public ReversiTile getTileAt(int q, int r) throws IllegalArgumentException {
-    // if the board does not contain the given coordinate
-    if (!this.tiles.containsKey(new Point(q, r))) {
-      throw new IllegalArgumentException("Invalid coordinates"); // throw an exception
-    }
-
-    ReversiTile tileToCopy = this.tiles.get(new Point(q, r)); // get the tile from the board
+    // get the tile from the board, checking that the board contains the given coordinate
+    CellState state = this.states.stateAt(this.checkedIndexOf(q, r));
 
-    if (tileToCopy.hasDisk()) { // if the tile has a disk
-      Color topColor = tileToCopy.getTopColor(); // get the top color of the tile
-      tileToCopy.flipDisk(); // flip it so we see the bottom color
-      Color bottomColor = tileToCopy.getTopColor(); // get the bottom color
-      tileToCopy.flipDisk(); // flip the disk back over to its original state
+    if (state.hasDisk()) { // if the tile has a disk
       // return a new tile that has a copy of the disk
-      return new PointyTopHexagon(topColor, bottomColor);
+      return new PointyTopHexagon(this.states.colorOf(state),
+              this.states.colorOf(state.flipped()));
     }
 
     // if the tile does not have a disk
@@ -288,6 +354,11 @@ public class HexagonalReversi implements ReversiModel {
     return clone; // return the copy of tiles
   }
 
+  @Override
+  public BoardView getBoardView() {
+    return this.boardView;
+  }
+
   @Override
   public ReversiModel copyModel() {
     return new HexagonalReversi(this);
@@ -363,6 +434,128 @@ public class HexagonalReversi implements ReversiModel {
   }
 
 
+  // returns the index of the tile at the given axial coordinates, throwing an exception if
+  // the tile is not on the board
+  private int checkedIndexOf(int q, int r) {
+    int cell = this.geometry.indexOf(q, r);
+    if (cell < 0 || this.cells[cell] == null) { // if the board does not contain the coordinate
+      throw new IllegalArgumentException("Invalid coordinates"); // throw an exception
+    }
+    return cell;
+  }
+
+  // copies the disk on every tile in the tiles map into the tile states and replaces the tile
+  // in the map with one that is backed by its state, returning the new tiles indexed by their
+  // index in the geometry. If a subclass makes a board with a different shape, tiles outside of
+  // the hexagon are not supported and any missing tiles are left null
+  private ReversiTile[] indexTiles() {
+    ReversiTile[] indexed = new ReversiTile[this.geometry.cellCount()];
+    for (int cell = 0; cell < indexed.length; cell++) { // iterate over every tile index
+      Point point = new Point(this.geometry.qOf(cell), this.geometry.rOf(cell));
+      ReversiTile tile = this.tiles.get(point);
+      if (tile == null) { // if the board does not have this tile, leave it empty
+        continue;
+      }
+      if (tile.hasDisk()) { // copy the disk on the tile
+        this.states.placeDisk(cell, this.states.stateOf(tile.getTopColor()));
+      }
+      indexed[cell] = this.states.tileAt(cell);
+      this.tiles.put(point, indexed[cell]);
+    }
+    return indexed;
+  }
+
+  // returns the state of a tile with the given player's disk face up
+  private static CellState stateOf(boolean player1) {
+    return player1 ? CellState.PLAYER_ONE : CellState.PLAYER_TWO;
+  }
+
+  // places the current player's disk at the given tile and flips every captured disk, without
+  // changing the turn. If record is true, the move is pushed onto the undo stack.
+  private void playDisk(int cell, boolean record) {
+    // place a disk on the tile that was moved at with the current player's color face up
+    boolean player1Turn = this.currentPlayer == this.PLAYER_1_COLOR;
+    CellState ownState = stateOf(player1Turn);
+    this.states.placeDisk(cell, ownState);
+    this.legalMoveCache.invalidate(); // the board is changing, so the legal moves are too
+    this.diskHash ^= this.zobristKeys.diskKey(cell, player1Turn);
+    if (record) {
+      this.undoStack.pushMove(cell);
+    }
+    int flipped = 0; // the number of disks flipped by this move
+
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // iterate over all directions
+      int[] ray = this.geometry.ray(cell, dir);
+      // get the number of tiles we need to change
+      int runLength = this.capturedRun(ray, ownState);
+      for (int step = 0; step < runLength; step++) { // iterate over all tiles to change
+        this.states.flipDisk(ray[step]); // flip the disk on the tile to the current player's color
+        this.diskHash ^= this.zobristKeys.flipKey(ray[step]); // and flip its key in the hash
+        if (record) {
+          this.undoStack.pushFlip(ray[step]);
+        }
+      }
+      flipped += runLength;
+    }
+    // the current player gains the placed disk and every flipped disk, which the other player loses
+    this.updateScores(player1Turn, flipped + 1, -flipped);
+  }
+
+  // returns the legal moves of the current player as a bitset of tile indices
+  private long[] currentLegalMoves() {
+    return this.legalMovesOf(this.currentPlayer == this.PLAYER_1_COLOR);
+  }
+
+  // returns the legal moves of player one (true) or player two (false) as a bitset of tile
+  // indices, computing them by walking the rays from every empty tile if the board has changed
+  // since they were last computed
+  private long[] legalMovesOf(boolean player1) {
+    if (this.legalMoveCache.isValid(player1)) { // if the moves are up to date, reuse them
+      return this.legalMoveCache.moves(player1);
+    }
+    long[] moves = this.legalMoveCache.startFilling(player1);
+    CellState ownState = stateOf(player1);
+    for (int cell = 0; cell < this.cells.length; cell++) { // iterate over all tile indices
+      if (this.cells[cell] != null && this.isLegal(cell, ownState)) {
+        moves[cell >>> 6] |= 1L << cell; // record the move if it is possible
+      }
+    }
+    return moves;
+  }
+
+  // returns true if the player whose disks have the given state can move at the tile with the
+  // given index
+  private boolean isLegal(int cell, CellState ownState) {
+    if (this.states.hasDisk(cell)) { // if the tile already has a disk
+      return false; // then the move is not possible, so return false
+    }
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // iterate over all directions
+      // if there are tiles to flip, then the move is possible, so return true
+      if (this.capturedRun(this.geometry.ray(cell, dir), ownState) > 0) {
+        return true;
+      }
+    }
+    // if there are no tiles to flip in all directions
+    return false; // the move is not possible, return false
+  }
+
+  // walk along the given ray of tile indices and return the number of tiles at its start that
+  // have the other player's disk face up and are followed by a tile with the own state. If the
+  // walk reaches an empty tile or the edge of the board first, return 0.
+  // this is the index-based version of tilesToFlip, and does not allocate anything
+  private int capturedRun(int[] ray, CellState ownState) {
+    for (int step = 0; step < ray.length; step++) { // walk along the ray
+      CellState state = this.states.stateAt(ray[step]);
+      if (state == CellState.EMPTY) { // if the tile is missing or does not have a disk
+        return 0; // nothing can be captured
+      }
+      if (state == ownState) { // if the run of the other player's disks has ended
+        return step; // every tile before this one is captured
+      }
+    }
+    return 0; // if we reached the edge of the board, nothing can be captured
+  }
+
   // initializes the state of the board using the given side length of the hexagon
   // this method has the protected modifier in case a subclass wants to use a different
   // board shape
@@ -394,6 +587,47 @@ public class HexagonalReversi implements ReversiModel {
   }
 
 
+  // sets the disk count of each player by scanning the whole board, used when the board is created
+  private void countDisks() {
+    this.player1Disks = this.tilesWithColor(this.PLAYER_1_COLOR);
+    this.player2Disks = this.tilesWithColor(this.PLAYER_2_COLOR);
+  }
+
+  // adds the given amounts to the disk counts of the current and other player, where player1Turn
+  // says which of the two is the current player. When assertions are enabled (-ea), the new counts
+  // and the position hash are checked against a full scan of the board to catch any move that
+  // forgets to update them.
+  private void updateScores(boolean player1Turn, int currentAmount, int otherAmount) {
+    if (player1Turn) {
+      this.player1Disks += currentAmount;
+      this.player2Disks += otherAmount;
+    }
+    else {
+      this.player2Disks += currentAmount;
+      this.player1Disks += otherAmount;
+    }
+    assert this.scoresMatchBoard() : "Disk counts do not match the board.";
+    assert this.diskHash == this.hashBoard() : "Position hash does not match the board.";
+  }
+
+  // returns true if the incrementally updated disk counts match a full scan of the board
+  boolean scoresMatchBoard() {
+    return this.player1Disks == this.tilesWithColor(this.PLAYER_1_COLOR)
+            && this.player2Disks == this.tilesWithColor(this.PLAYER_2_COLOR);
+  }
+
+  // returns the XOR of the keys of every disk on the board, found by scanning the whole board
+  long hashBoard() {
+    long hash = 0;
+    for (int cell = 0; cell < this.cells.length; cell++) { // iterate over every tile
+      CellState state = this.states.stateAt(cell);
+      if (state.hasDisk()) { // if the tile has a disk, include the key of the disk
+        hash ^= this.zobristKeys.diskKey(cell, state == CellState.PLAYER_ONE);
+      }
+    }
+    return hash;
+  }
+
   // returns the total number of tiles with the given disk color
   int tilesWithColor(Color color) {
     Objects.requireNonNull(color);
@@ -444,7 +678,7 @@ public class HexagonalReversi implements ReversiModel {
 
   // get a list representing all 6 directions that you can move in on the board
   // a direction is represented by a point holding the change in q and change in r
-  // for a step in that direction
+  // for a step in that direction. HexBoardGeometry precomputes rays in these same directions
   List<Point> getDirections() {
     return new ArrayList<>(Arrays.asList(
             new Point(-1, 0), // left
@@ -455,4 +689,35 @@ public class HexagonalReversi implements ReversiModel {
             new Point(-1, 1) // down and left
     ));
   }
+
+  // a view of the board that reads directly from the tile states of this model
+  private final class TileBoardView extends GeometryBoardView {
+    private TileBoardView() {
+      super(HexagonalReversi.this.geometry);
+    }
+
+    @Override
+    public boolean hasDiskAt(int index) {
+      return HexagonalReversi.this.states.hasDisk(index);
+    }
+
+    @Override
+    public CellState stateAt(int index) {
+      return HexagonalReversi.this.states.stateAt(index);
+    }
+
+    @Override
+    public Color colorAt(int index) throws IllegalStateException {
+      CellState state = HexagonalReversi.this.states.stateAt(index);
+      if (!state.hasDisk()) { // if the tile has no disk
+        throw new IllegalStateException("This tile has no disk.");
+      }
+      return HexagonalReversi.this.states.colorOf(state); // the model's own color object
+    }
+
+    @Override
+    public CellState stateOf(Color color) throws IllegalArgumentException {
+      return HexagonalReversi.this.states.stateOf(color);
+    }
+  }
 }
@@ -0,0 +1,94 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A cache of the tiles that each player can legally move at in the current position, stored as
+ * one bitset per player where bit i is set if the player can move at the tile with index i. A
+ * model fills in a player's bitset the first time it is needed and then reuses it until the
+ * board changes, so checking for moves or the end of the game after every turn does not repeat
+ * the work. Passing does not change the board, so it does not invalidate the cache.
+ */
+final class LegalMoveCache {
+  private final long[] player1Moves; // the legal moves of player one, if valid
+  private final long[] player2Moves; // the legal moves of player two, if valid
+  private boolean player1Valid; // true if player one's moves are up to date with the board
+  private boolean player2Valid; // true if player two's moves are up to date with the board
+
+  /**
+   * Creates an empty cache for a board with the given number of tiles.
+   * @param cellCount The number of tiles on the board.
+   */
+  LegalMoveCache(int cellCount) {
+    int words = (cellCount + 63) / 64; // the number of longs needed to hold one bit per tile
+    this.player1Moves = new long[words];
+    this.player2Moves = new long[words];
+    this.player1Valid = false;
+    this.player2Valid = false;
+  }
+
+  // marks both players' moves as out of date, called whenever a disk is placed, flipped or removed
+  void invalidate() {
+    this.player1Valid = false;
+    this.player2Valid = false;
+  }
+
+  // returns true if the given player's moves are up to date with the board
+  boolean isValid(boolean player1) {
+    return player1 ? this.player1Valid : this.player2Valid;
+  }
+
+  // clears the given player's bitset and returns it so that the model can fill it in, marking it
+  // as up to date
+  long[] startFilling(boolean player1) {
+    long[] moves = player1 ? this.player1Moves : this.player2Moves;
+    Arrays.fill(moves, 0L);
+    if (player1) {
+      this.player1Valid = true;
+    }
+    else {
+      this.player2Valid = true;
+    }
+    return moves;
+  }
+
+  // returns the given player's bitset, which is only meaningful if it is valid
+  long[] moves(boolean player1) {
+    return player1 ? this.player1Moves : this.player2Moves;
+  }
+
+  // returns true if the bit at the given index is set in the given bitset
+  static boolean contains(long[] moves, int index) {
+    return (moves[index >>> 6] & (1L << index)) != 0;
+  }
+
+  // returns the index of the first bit at or after the given index that is set in the given
+  // bitset, or -1 if there is none
+  static int next(long[] moves, int fromIndex) {
+    if (fromIndex < 0) { // check that the index is not negative
+      throw new IndexOutOfBoundsException("Invalid tile index " + fromIndex);
+    }
+    int word = fromIndex >>> 6;
+    if (word >= moves.length) { // if the index is past the end of the board
+      return -1;
+    }
+    long bits = moves[word] & (-1L << fromIndex); // ignore the bits before the index
+    while (bits == 0) { // move on to the next word until a bit is found
+      if (++word == moves.length) {
+        return -1;
+      }
+      bits = moves[word];
+    }
+    return word * 64 + Long.numberOfTrailingZeros(bits);
+  }
+
+  // returns true if no bits are set in the given bitset
+  static boolean isEmpty(long[] moves) {
+    for (long word : moves) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
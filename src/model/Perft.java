@@ -0,0 +1,213 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the positions reached by playing every sequence of legal moves from a position to a
+ * given depth, which is known as perft. The counts only depend on the rules of the game, so they
+ * check a model's move generation without any strategy: every model must give the same count
+ * from the same position, and a model that is being made faster can be checked against
+ * {@link model.HexagonalReversi}, the reference model, at any depth. Timing the count measures
+ * how fast a model generates and makes moves.
+ * A player with no legal moves who is not at the end of the game passes, and the pass counts as
+ * a move, so the position after it is one level deeper. A finished game is counted as one
+ * position at whatever depth it ends, since there are no more moves to make. The last level is
+ * counted in bulk: the positions one move from the end are counted by their number of legal moves,
+ * without making them.
+ * Models that implement {@link model.SearchableReversiModel} are counted by applying and undoing
+ * moves on the model itself, and any other model is counted by making each move on a copy. Either
+ * way the given model is left as it was.
+ */
+public final class Perft {
+  /**
+   * The key of the count of a pass in the result of {@link #divide}.
+   */
+  public static final int PASS = -1;
+
+  // this class only has static methods and cannot be created
+  private Perft() {
+  }
+
+  /**
+   * Counts the positions that are the given number of moves from the given position.
+   * @param model The started model whose current position to count from.
+   * @param depth The number of moves to play, where 0 counts only the given position.
+   * @return The number of positions.
+   * @throws IllegalArgumentException if the model is null or the depth is negative.
+   * @throws IllegalStateException if the game has not started.
+   */
+  public static long count(ReversiModel model, int depth) {
+    checkArguments(model, depth);
+    if (model instanceof SearchableReversiModel) {
+      return countApplied((SearchableReversiModel) model, depth);
+    }
+    return countCopies(model, depth);
+  }
+
+  /**
+   * Counts the positions that are the given number of moves from the given position, separately
+   * for each move from the position, which shows which move two models disagree about.
+   * @param model The started model whose current position to count from.
+   * @param depth The number of moves to play, which must be at least 1.
+   * @return The number of positions after each legal move, in order of the index of its tile as
+   *     numbered by {@link model.HexBoardGeometry}, or after a pass, under the key {@link #PASS}.
+   *     The map is empty if the game is over.
+   * @throws IllegalArgumentException if the model is null or the depth is less than 1.
+   * @throws IllegalStateException if the game has not started.
+   */
+  public static Map<Integer, Long> divide(ReversiModel model, int depth) {
+    checkArguments(model, depth - 1);
+    Map<Integer, Long> counts = new LinkedHashMap<>();
+    if (model.isGameOver()) { // there are no moves to divide the count by
+      return counts;
+    }
+    BoardView board = model.getBoardView();
+    boolean searchable = model instanceof SearchableReversiModel;
+    if (!model.anyMoves()) { // the only move is a pass
+      counts.put(PASS, countAfter(model, PASS, depth - 1, searchable));
+      return counts;
+    }
+    for (int move = 0; move < board.cellCount(); move++) {
+      if (model.isMovePossible(board.qAt(move), board.rAt(move))) {
+        counts.put(move, countAfter(model, move, depth - 1, searchable));
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Counts the positions from the start of a game to a given depth from the command line, on
+   * {@link model.HexagonalReversi} and {@link model.BitboardReversi}, printing the count after
+   * each move from the start, the total, and how many positions per second each model counted.
+   * The arguments are the side length of the board and the depth, for example "6 7".
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) { // check that every argument was given
+      throw new IllegalArgumentException("Usage: Perft <side length> <depth>");
+    }
+    int sideLength = Integer.parseInt(args[0]);
+    int depth = Integer.parseInt(args[1]);
+    ReversiModel[] models = {new HexagonalReversi(sideLength), new BitboardReversi(sideLength)};
+    long reference = -1;
+    for (ReversiModel model : models) {
+      model.startGame();
+      BoardView board = model.getBoardView();
+      long start = System.nanoTime();
+      long total = 0;
+      System.out.println(model.getClass().getSimpleName() + ":");
+      for (Map.Entry<Integer, Long> entry : divide(model, depth).entrySet()) {
+        int move = entry.getKey();
+        System.out.println("  " + (move == PASS ? "pass"
+                : "(" + board.qAt(move) + ", " + board.rAt(move) + ")") + ": " + entry.getValue());
+        total += entry.getValue();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.println("  total: " + total + " in " + seconds + " s, "
+              + Math.round(total / seconds) + " positions per second");
+      if (reference >= 0 && total != reference) { // every model must agree with the first
+        System.out.println("  MISMATCH: the reference count is " + reference);
+      }
+      reference = reference < 0 ? total : reference;
+    }
+  }
+
+  /**
+   * Counts the positions that are the given number of moves from the given position by making
+   * each move on a copy of the model, which works for every model.
+   * @param model The started model whose current position to count from.
+   * @param depth The number of moves to play.
+   * @return The number of positions.
+   */
+  static long countCopies(ReversiModel model, int depth) {
+    if (depth == 0) { // a leaf is one position
+      return 1;
+    }
+    if (!model.anyMoves()) { // the only move is a pass, unless the game is over
+      // a finished game is one position
+      return depth == 1 || model.isGameOver() ? 1 : countAfter(model, PASS, depth - 1, false);
+    }
+    if (depth == 1) { // count the last level without making its moves
+      return model.legalMoves().cardinality();
+    }
+    BoardView board = model.getBoardView();
+    long count = 0;
+    for (int move = 0; move < board.cellCount(); move++) {
+      if (model.isMovePossible(board.qAt(move), board.rAt(move))) {
+        count += countAfter(model, move, depth - 1, false);
+      }
+    }
+    return count;
+  }
+
+  // counts the positions that are the given number of moves from the given position by applying
+  // and undoing each move on the model
+  private static long countApplied(SearchableReversiModel model, int depth) {
+    if (depth == 0) { // a leaf is one position
+      return 1;
+    }
+    int move = model.nextLegalMove(0);
+    if (move < 0) { // the only move is a pass, unless the game is over
+      if (depth == 1 || model.isGameOver()) { // a finished game is one position
+        return 1;
+      }
+      model.applyPass();
+      long count = countApplied(model, depth - 1);
+      model.undoMove();
+      return count;
+    }
+    if (depth == 1) { // count the last level without making its moves
+      long count = 0;
+      for (; move >= 0; move = model.nextLegalMove(move + 1)) {
+        count++;
+      }
+      return count;
+    }
+    BoardView board = model.getBoardView();
+    long count = 0;
+    for (; move >= 0; move = model.nextLegalMove(move + 1)) {
+      model.applyMove(board.qAt(move), board.rAt(move));
+      count += countApplied(model, depth - 1);
+      model.undoMove();
+    }
+    return count;
+  }
+
+  // counts the positions that are the given number of moves after making the given move, which
+  // may be a pass, on the given model
+  private static long countAfter(ReversiModel model, int move, int depth, boolean searchable) {
+    BoardView board = model.getBoardView();
+    if (searchable) {
+      SearchableReversiModel searchableModel = (SearchableReversiModel) model;
+      if (move == PASS) {
+        searchableModel.applyPass();
+      }
+      else {
+        searchableModel.applyMove(board.qAt(move), board.rAt(move));
+      }
+      long count = countApplied(searchableModel, depth);
+      searchableModel.undoMove();
+      return count;
+    }
+    ReversiModel copy = model.copyModel(); // the copy starts on the given model's current player
+    copy.startGame();
+    if (move == PASS) {
+      copy.passTurn();
+    }
+    else {
+      copy.moveAt(board.qAt(move), board.rAt(move));
+    }
+    return countCopies(copy, depth);
+  }
+
+  // checks that the model is not null and the depth is not negative
+  private static void checkArguments(ReversiModel model, int depth) {
+    if (model == null) { // check if the model is null and throw exception if it is
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (depth < 0) { // check that the depth is not negative
+      throw new IllegalArgumentException("Depth is out of range.");
+    }
+  }
+}
@@ -2,6 +2,7 @@ package model;
 
 import java.awt.Point;
 import java.awt.Color;
+import java.util.BitSet;
 import java.util.Map;
 
 import model.tile.ReversiTile;
@@ -24,6 +25,16 @@ public interface ReadOnlyReversiModel {
    */
   boolean isMovePossible(int x, int y) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Returns the tiles that the current player can legally move at. The bit at index i of the
+   * returned set is set if the player can move at the tile with index i, where tiles are numbered
+   * by {@link model.HexBoardGeometry} for this model's board. The legal moves are computed at most
+   * once per position, so calling this method repeatedly is cheap.
+   * @return A new BitSet of the legal moves of the current player.
+   * @throws IllegalStateException if the game has not started.
+   */
+  BitSet legalMoves() throws IllegalStateException;
+
   /**
    * Determines if the current player has any legal moves to play.
    * @return True if there are moves left, false if there aren't.
@@ -54,6 +65,17 @@ public interface ReadOnlyReversiModel {
    */
   int getOtherPlayerScore() throws IllegalStateException;
 
+  /**
+   * Returns a 64-bit hash of the current position, which is the disks on the board and the player
+   * whose turn it is. Any two positions with the same disks for player one (the player that moved
+   * first in this model) and player two and the same player to move have the same hash, no matter
+   * which implementation of the model they come from. The hash can be used as a key for caches
+   * of positions, but different positions may rarely share the same hash.
+   * @return The hash of the current position.
+   * @throws IllegalStateException if the game has not started.
+   */
+  long positionHash() throws IllegalStateException;
+
   /**
    * Returns the color of the player whose turn it currently is.
    * @return The color of the current player.
@@ -82,6 +104,14 @@ public interface ReadOnlyReversiModel {
    */
   Map<Point, ReversiTile> getTiles();
 
+  /**
+   * Returns a read-only view of the board that is backed directly by this model, so it always
+   * shows the current state of the board. Unlike {@link #getTiles()}, reading the board through
+   * the view does not copy any tiles. The same view is returned every time.
+   * @return A view of the board.
+   */
+  BoardView getBoardView();
+
   /**
    * Creates and returns a mutable copy of this model.
    * @return A mutable copy of the model where the game has not yet started.
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * An extension of {@link model.ReversiModel} for strategies that need to look ahead by trying
+ * many moves on the same model. Moves made through this interface are recorded on an undo stack
+ * that only holds the tiles that changed, so they can be taken back in reverse order without
+ * copying the model. Applying and undoing moves does not notify any listeners, because the
+ * positions being explored are not part of the real game.
+ */
+public interface SearchableReversiModel extends ReversiModel {
+  /**
+   * Make the current player move at the tile given by its x and y position, move the turn to
+   * the other player, and record the move so that it can be undone. Listeners are not notified.
+   * @param x The x position to move at.
+   * @param y The y position to move at.
+   * @throws IllegalArgumentException if the given x or y position are outside
+   *                                  the bounds of the board.
+   * @throws IllegalStateException if the game has not started or if the current player cannot
+   *                               make a move on that tile.
+   */
+  void applyMove(int x, int y) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Pass the current player's turn to the other player and record the pass so that it can be
+   * undone. Listeners are not notified.
+   * @throws IllegalStateException if the game has not started.
+   */
+  void applyPass() throws IllegalStateException;
+
+  /**
+   * Take back the most recent move or pass made with {@link #applyMove} or {@link #applyPass},
+   * restoring the board and the turn to what they were before it. Calling
+   * {@link model.ReversiModel#moveAt} or {@link model.ReversiModel#passTurn} clears the record of
+   * applied moves, so they cannot be undone after that.
+   * @throws IllegalStateException if there are no applied moves to undo.
+   */
+  void undoMove() throws IllegalStateException;
+
+  /**
+   * Returns the index of the first tile at or after the given index that the current player can
+   * legally move at, using the tile numbering of {@link model.HexBoardGeometry}. This lets a
+   * strategy walk every legal move without creating any objects, in the same way as
+   * {@link java.util.BitSet#nextSetBit}.
+   * @param fromIndex The index to start looking from.
+   * @return The index of the next legal move, or -1 if there are no more legal moves.
+   * @throws IndexOutOfBoundsException if the given index is negative.
+   * @throws IllegalStateException if the game has not started.
+   */
+  int nextLegalMove(int fromIndex) throws IllegalStateException;
+
+  /**
+   * Returns how many applied moves and passes can currently be undone.
+   * @return The number of moves on the undo stack.
+   */
+  int undoableMoves();
+}
@@ -0,0 +1,88 @@
+package model;
+
+/**
+ * A stack of the moves applied to a {@link model.SearchableReversiModel}, stored in growable
+ * primitive arrays so that applying and undoing moves does not create garbage. Each entry records
+ * the index of the tile that a disk was placed on (or -1 for a pass) and the indices of the tiles
+ * that were flipped by the move. Once the arrays have grown to the deepest line that is searched,
+ * no more memory is allocated.
+ */
+final class UndoStack {
+  private int[] placed; // the tile that a disk was placed on by each move, or -1 for a pass
+  private int[] flipStart; // the position in the flipped array where each move's flips begin
+  private int moveCount; // the number of moves on the stack
+  private int[] flipped; // the tiles that were flipped by every move, in order
+  private int flipCount; // the number of flipped tiles on the stack
+
+  /**
+   * Creates an empty undo stack.
+   */
+  UndoStack() {
+    this.placed = new int[16];
+    this.flipStart = new int[16];
+    this.flipped = new int[64];
+  }
+
+  // records a new move that placed a disk at the given tile, or a pass if the tile is -1
+  void pushMove(int cell) {
+    if (this.moveCount == this.placed.length) { // grow the move arrays if they are full
+      this.placed = grow(this.placed);
+      this.flipStart = grow(this.flipStart);
+    }
+    this.placed[this.moveCount] = cell;
+    this.flipStart[this.moveCount] = this.flipCount;
+    this.moveCount++;
+  }
+
+  // records that the given tile was flipped by the most recently pushed move
+  void pushFlip(int cell) {
+    if (this.flipCount == this.flipped.length) { // grow the flip array if it is full
+      this.flipped = grow(this.flipped);
+    }
+    this.flipped[this.flipCount++] = cell;
+  }
+
+  // returns the tile that the most recent move placed a disk on, or -1 if it was a pass
+  int lastPlaced() {
+    return this.placed[this.moveCount - 1];
+  }
+
+  // returns the position of the first tile flipped by the most recent move
+  int lastFlipStart() {
+    return this.flipStart[this.moveCount - 1];
+  }
+
+  // returns the total number of flipped tiles on the stack
+  int flipCount() {
+    return this.flipCount;
+  }
+
+  // returns the flipped tile at the given position of the stack
+  int flippedAt(int position) {
+    return this.flipped[position];
+  }
+
+  // removes the most recent move and the tiles it flipped
+  void pop() {
+    this.flipCount = this.lastFlipStart();
+    this.moveCount--;
+  }
+
+  // returns the number of moves on the stack
+  int size() {
+    return this.moveCount;
+  }
+
+  // removes every move from the stack
+  void clear() {
+    this.moveCount = 0;
+    this.flipCount = 0;
+  }
+
+  // returns a copy of the given array that is twice as long
+  private static int[] grow(int[] array) {
+    int[] bigger = new int[array.length * 2];
+    System.arraycopy(array, 0, bigger, 0, array.length);
+    return bigger;
+  }
+}
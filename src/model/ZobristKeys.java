@@ -0,0 +1,83 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The random keys used to hash positions on a hexagonal board with a given side length, using
+ * Zobrist hashing. There is one key for each player's disk on each tile and one key for player
+ * two being the player to move. The hash of a position is the XOR of the keys of every disk on
+ * the board, plus the player-two key if it is player two's turn, so a model can keep the hash up
+ * to date by XORing keys in and out as disks are placed and flipped. The keys are generated from
+ * a fixed seed, so every model and every JVM computes the same hash for the same position.
+ */
+public final class ZobristKeys {
+  // the keys for every side length that has been requested so far
+  private static final Map<Integer, ZobristKeys> KEYS = new ConcurrentHashMap<>();
+
+  // the key of each player's disk on each tile. The key for player one's disk on tile i is at
+  // position 2 * i and the key for player two's disk is at position 2 * i + 1
+  private final long[] diskKeys;
+  private final long player2ToMoveKey; // the key that is included when it is player two's turn
+
+  // generates the keys for a board with the given number of tiles
+  private ZobristKeys(int cellCount) {
+    long seed = 0x5DEECE66DL; // a fixed seed so that hashes are the same in every JVM
+    this.diskKeys = new long[cellCount * 2];
+    for (int i = 0; i < this.diskKeys.length; i++) {
+      seed += 0x9E3779B97F4A7C15L;
+      this.diskKeys[i] = mix(seed);
+    }
+    seed += 0x9E3779B97F4A7C15L;
+    this.player2ToMoveKey = mix(seed);
+  }
+
+  /**
+   * Returns the keys for a hexagonal board with the given side length. The same keys are
+   * returned every time for the same side length.
+   * @param sideLength The side length, in tiles, of each edge of the board.
+   * @return The keys for the board.
+   * @throws IllegalArgumentException if the side length is not positive.
+   */
+  public static ZobristKeys forSideLength(int sideLength) {
+    int cellCount = HexBoardGeometry.forSideLength(sideLength).cellCount();
+    return KEYS.computeIfAbsent(sideLength, side -> new ZobristKeys(cellCount));
+  }
+
+  /**
+   * Returns the key of a disk on the tile with the given index.
+   * @param index The index of the tile, as numbered by {@link model.HexBoardGeometry}.
+   * @param player1 True for a disk with player one's color face up, false for player two's.
+   * @return The key of the disk.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public long diskKey(int index, boolean player1) {
+    return this.diskKeys[index * 2 + (player1 ? 0 : 1)];
+  }
+
+  /**
+   * Returns the key to XOR into the hash when a disk on the given tile is flipped. This is the
+   * same as XORing out the key of one player's disk and XORing in the key of the other's.
+   * @param index The index of the tile, as numbered by {@link model.HexBoardGeometry}.
+   * @return The key of the flip.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public long flipKey(int index) {
+    return this.diskKeys[index * 2] ^ this.diskKeys[index * 2 + 1];
+  }
+
+  /**
+   * Returns the key that is included in the hash when it is player two's turn.
+   * @return The player-two-to-move key.
+   */
+  public long player2ToMoveKey() {
+    return this.player2ToMoveKey;
+  }
+
+  // scrambles the bits of the given value using the SplitMix64 finalizer
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
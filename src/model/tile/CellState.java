@@ -0,0 +1,34 @@
+package model.tile;
+
+/**
+ * The state of a single tile on a Reversi board: either empty, or holding a disk with player
+ * one's or player two's color face up. This is the primitive form of a {@link ReversiTile},
+ * used by boards that store their tiles as an array of states rather than as tile objects.
+ */
+public enum CellState {
+  EMPTY, PLAYER_ONE, PLAYER_TWO;
+
+  /**
+   * Returns if this state has a disk on the tile.
+   * @return True if the state is not empty, false if it is.
+   */
+  public boolean hasDisk() {
+    return this != EMPTY;
+  }
+
+  /**
+   * Returns the state of the tile after its disk is flipped.
+   * @return The state with the other player's color face up.
+   * @throws IllegalStateException if this state is empty.
+   */
+  public CellState flipped() throws IllegalStateException {
+    switch (this) {
+      case PLAYER_ONE:
+        return PLAYER_TWO;
+      case PLAYER_TWO:
+        return PLAYER_ONE;
+      default: // if the tile is empty
+        throw new IllegalStateException("An empty tile has no disk to flip.");
+    }
+  }
+}
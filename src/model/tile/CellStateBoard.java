@@ -0,0 +1,217 @@
+package model.tile;
+
+import java.awt.Color;
+
+/**
+ * The tiles of a Reversi board stored as one byte per tile. Each byte holds the
+ * {@link CellState} of a tile, so placing, removing or flipping a disk is a single byte write and
+ * does not create any objects. The two player colors are shared by every tile rather than copied,
+ * because colors are immutable.
+ * For code that works with {@link ReversiTile} objects, the board can also hand out a tile for
+ * each index that reads and writes that tile's byte.
+ */
+public final class CellStateBoard {
+  // the byte stored for each state. Flipping a disk swaps PLAYER_ONE and PLAYER_TWO, which is
+  // done by XORing the byte with FLIP_MASK
+  private static final byte EMPTY = 0;
+  private static final byte PLAYER_ONE = 1;
+  private static final byte PLAYER_TWO = 2;
+  private static final byte FLIP_MASK = PLAYER_ONE ^ PLAYER_TWO;
+  // the state of each byte value, indexed by the byte
+  private static final CellState[] STATES = {
+    CellState.EMPTY, CellState.PLAYER_ONE, CellState.PLAYER_TWO};
+
+  private final byte[] states; // the state of each tile, indexed by the tile's index
+  private final Color playerOneColor; // the color of a disk with player one's side face up
+  private final Color playerTwoColor; // the color of a disk with player two's side face up
+  private final ReversiTile[] tiles; // the tile objects handed out so far, indexed by index
+
+  /**
+   * Creates a board of empty tiles.
+   * @param cellCount The number of tiles on the board.
+   * @param playerOneColor The color of player one's side of the disks.
+   * @param playerTwoColor The color of player two's side of the disks.
+   * @throws IllegalArgumentException if the number of tiles is negative, if either color is null,
+   *     or if the two colors are the same.
+   */
+  public CellStateBoard(int cellCount, Color playerOneColor, Color playerTwoColor)
+          throws IllegalArgumentException {
+    if (cellCount < 0) { // check that the number of tiles is not negative
+      throw new IllegalArgumentException("The number of tiles cannot be negative.");
+    }
+    if (playerOneColor == null || playerTwoColor == null) { // check if either color is null
+      throw new IllegalArgumentException("A disk cannot have null colors.");
+    }
+    if (playerOneColor.equals(playerTwoColor)) { // check the two sides can be told apart
+      throw new IllegalArgumentException("The two sides of a disk must have different colors.");
+    }
+    this.states = new byte[cellCount]; // every tile starts empty
+    this.playerOneColor = playerOneColor;
+    this.playerTwoColor = playerTwoColor;
+    this.tiles = new ReversiTile[cellCount];
+  }
+
+  /**
+   * Returns the number of tiles on the board.
+   * @return The number of tiles.
+   */
+  public int size() {
+    return this.states.length;
+  }
+
+  /**
+   * Returns the state of the tile with the given index.
+   * @param index The index of the tile.
+   * @return The state of the tile.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public CellState stateAt(int index) {
+    return STATES[this.states[index]];
+  }
+
+  /**
+   * Returns if the tile with the given index has a disk on it.
+   * @param index The index of the tile.
+   * @return True if the tile has a disk, false if it does not.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public boolean hasDisk(int index) {
+    return this.states[index] != EMPTY;
+  }
+
+  /**
+   * Places a disk on the tile with the given index.
+   * @param index The index of the tile.
+   * @param state The side of the disk that is face up.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   * @throws IllegalArgumentException if the given state is null or empty.
+   * @throws IllegalStateException if the tile already has a disk.
+   */
+  public void placeDisk(int index, CellState state) throws IllegalArgumentException,
+          IllegalStateException {
+    if (state == null || !state.hasDisk()) { // check the state is a disk
+      throw new IllegalArgumentException("A placed disk must have a side face up.");
+    }
+    if (this.states[index] != EMPTY) { // if this tile already has a disk
+      throw new IllegalStateException("This tile already has a disk.");
+    }
+    this.states[index] = state == CellState.PLAYER_ONE ? PLAYER_ONE : PLAYER_TWO;
+  }
+
+  /**
+   * Removes the disk from the tile with the given index, leaving it empty.
+   * @param index The index of the tile.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   * @throws IllegalStateException if the tile does not have a disk.
+   */
+  public void removeDisk(int index) throws IllegalStateException {
+    if (this.states[index] == EMPTY) { // if this tile has no disk
+      throw new IllegalStateException("This tile has no disk to remove.");
+    }
+    this.states[index] = EMPTY;
+  }
+
+  /**
+   * Flips the disk on the tile with the given index.
+   * @param index The index of the tile.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   * @throws IllegalStateException if the tile does not have a disk.
+   */
+  public void flipDisk(int index) throws IllegalStateException {
+    if (this.states[index] == EMPTY) { // if this tile has no disk
+      throw new IllegalStateException("This tile has no disk to flip.");
+    }
+    this.states[index] ^= FLIP_MASK;
+  }
+
+  /**
+   * Returns the color that is face up for the given state. The same color object is returned
+   * every time.
+   * @param state The state of a tile with a disk.
+   * @return The color of the face up side of the disk.
+   * @throws IllegalArgumentException if the state is null or empty.
+   */
+  public Color colorOf(CellState state) throws IllegalArgumentException {
+    if (state == null || !state.hasDisk()) { // check the state is a disk
+      throw new IllegalArgumentException("Only a disk has a color.");
+    }
+    return state == CellState.PLAYER_ONE ? this.playerOneColor : this.playerTwoColor;
+  }
+
+  /**
+   * Returns the state of a tile whose disk has the given color face up.
+   * @param color One of the two player colors.
+   * @return The state of the tile.
+   * @throws IllegalArgumentException if the color is not one of the two player colors.
+   */
+  public CellState stateOf(Color color) throws IllegalArgumentException {
+    if (this.playerOneColor.equals(color)) {
+      return CellState.PLAYER_ONE;
+    }
+    if (this.playerTwoColor.equals(color)) {
+      return CellState.PLAYER_TWO;
+    }
+    throw new IllegalArgumentException("A disk on this board must use the two player colors.");
+  }
+
+  /**
+   * Returns a tile that reads and writes the state of the tile with the given index, so that
+   * changes made through the tile are seen by the board and the other way around. The same tile
+   * object is returned every time for the same index.
+   * @param index The index of the tile.
+   * @return The tile.
+   * @throws IndexOutOfBoundsException if the index is not on the board.
+   */
+  public ReversiTile tileAt(int index) {
+    if (this.tiles[index] == null) { // if this tile has not been handed out yet, create it
+      this.tiles[index] = new BoardTile(index);
+    }
+    return this.tiles[index];
+  }
+
+  // a tile that is backed by one byte of this board
+  private final class BoardTile implements ReversiTile {
+    private final int index; // the index of the tile on the board
+
+    private BoardTile(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean hasDisk() {
+      return CellStateBoard.this.hasDisk(this.index);
+    }
+
+    @Override
+    public void placeDisk(Color topColor, Color bottomColor) throws IllegalArgumentException,
+            IllegalStateException {
+      if (topColor == null || bottomColor == null) { // if either color is null
+        throw new IllegalArgumentException("A disk cannot have null colors.");
+      }
+      CellState state = CellStateBoard.this.stateOf(topColor);
+      if (!bottomColor.equals(CellStateBoard.this.colorOf(state.flipped()))) {
+        // the bottom of the disk must be the other player's color
+        throw new IllegalArgumentException("A disk on this board must use the two player colors.");
+      }
+      CellStateBoard.this.placeDisk(this.index, state);
+    }
+
+    @Override
+    public void removeDisk() throws IllegalStateException {
+      CellStateBoard.this.removeDisk(this.index);
+    }
+
+    @Override
+    public void flipDisk() throws IllegalStateException {
+      CellStateBoard.this.flipDisk(this.index);
+    }
+
+    @Override
+    public Color getTopColor() throws IllegalStateException {
+      if (!this.hasDisk()) { // if this tile has no disk
+        throw new IllegalStateException("This tile has no disk.");
+      }
+      return CellStateBoard.this.colorOf(CellStateBoard.this.stateAt(this.index));
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.awt.Color;
 /**
  * A class that represents a pointy-top shaped hexagonal tile for the
  * game Reversi. The tile can have a disk placed on it with one color on each side.
+ * Colors are immutable, so the tile shares the color objects it is given instead of copying them.
  */
 public class PointyTopHexagon implements ReversiTile {
   private boolean hasDisk;
@@ -32,8 +33,8 @@ public class PointyTopHexagon implements ReversiTile {
       throw new IllegalArgumentException("Cannot create a tile with a null color disk.");
     }
     this.hasDisk = true; // set hasDisk to true
-    this.topColor = new Color(topColor.getRGB()); // copy the top color
-    this.bottomColor = new Color(bottomColor.getRGB()); // copy the bottom color
+    this.topColor = topColor; // set the top color
+    this.bottomColor = bottomColor; // set the bottom color
   }
 
   @Override
@@ -50,20 +51,29 @@ public class PointyTopHexagon implements ReversiTile {
     if (this.hasDisk) { // if this tile already has a disk
       throw new IllegalStateException("This tile already has a disk."); // throw exception
     }
-    this.topColor = new Color(topColor.getRGB()); // copy and set the top color
-    this.bottomColor = new Color(bottomColor.getRGB()); // copy and set the bottom color
+    this.topColor = topColor; // set the top color
+    this.bottomColor = bottomColor; // set the bottom color
     this.hasDisk = true; // set has disk field to true
   }
 
+  @Override
+  public void removeDisk() throws IllegalStateException {
+    if (!this.hasDisk) { // if this tile has no disk
+      throw new IllegalStateException("This tile has no disk to remove."); // throw exception
+    }
+    this.topColor = null; // clear the colors of the removed disk
+    this.bottomColor = null;
+    this.hasDisk = false; // set has disk field to false
+  }
+
   @Override
   public void flipDisk() throws IllegalStateException {
     if (!this.hasDisk) { // if this tile has no disk
       throw new IllegalStateException("This tile has no disk to flip."); // throw exception
     }
-    Color topColorCopy = new Color(this.topColor.getRGB()); // copy the top color
-    this.topColor = new Color(bottomColor.getRGB()); // set top color to copy of bottom color
-    // this avoids an aliasing bug
-    this.bottomColor = topColorCopy; // set the bottom color to the copy of the top color
+    Color oldTopColor = this.topColor; // swap the top and bottom colors
+    this.topColor = this.bottomColor;
+    this.bottomColor = oldTopColor;
   }
 
   @Override
@@ -71,6 +81,6 @@ public class PointyTopHexagon implements ReversiTile {
     if (!this.hasDisk) { // if this tile has no disk
       throw new IllegalStateException("This tile has no disk to flip."); // throw exception
     }
-    return new Color(this.topColor.getRGB()); // return a copy of the top color
+    return this.topColor; // return the top color, which is immutable so it can be shared
   }
 }
@@ -24,6 +24,12 @@ public interface ReversiTile {
   void placeDisk(Color topColor, Color bottomColor) throws IllegalArgumentException,
           IllegalStateException;
 
+  /**
+   * Removes the disk from this tile, leaving it empty. This is used to take back a move.
+   * @throws IllegalStateException if the tile does not have a disk on it.
+   */
+  void removeDisk() throws IllegalStateException;
+
   /**
    * Flips the disk that is on this tile.
    * @throws IllegalStateException if the tile does not have a disk on it.
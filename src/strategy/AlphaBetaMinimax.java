@@ -0,0 +1,116 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi.
+ * Searches every sequence of moves up to a fixed depth using the negamax form of minimax with
+ * alpha-beta pruning, scoring the positions at the end of each sequence with an
+ * {@link strategy.Evaluator}, and chooses the move that leads to the best score assuming the other
+ * player also plays their best. Positions where the game is over are scored as a win or loss
+ * instead of being evaluated. Without a transposition table, ties are broken by selecting the
+ * uppermost-leftmost tile.
+ * The search is done on a single copy of the model, making and taking back moves on it, so it
+ * does not copy the board for every position it looks at.
+ */
+public class AlphaBetaMinimax implements ReversiStrategy {
+  private final int depth; // the number of moves to search ahead
+  private final NegamaxSearch search; // the search, which keeps its buffers between moves
+  private long searchNanos; // the time taken by the last search, in nanoseconds
+
+  /**
+   * A constructor for a strategy that searches the given number of moves ahead and scores
+   * positions by the difference in the number of disks.
+   * @param depth The number of moves to search ahead.
+   * @throws IllegalArgumentException if the depth is not positive.
+   */
+  public AlphaBetaMinimax(int depth) {
+    this(depth, new DiskDifference());
+  }
+
+  /**
+   * A constructor for a strategy that searches the given number of moves ahead and scores
+   * positions with the given evaluator.
+   * @param depth The number of moves to search ahead.
+   * @param evaluator The function used to score positions.
+   * @throws IllegalArgumentException if the depth is not positive or the evaluator is null.
+   */
+  public AlphaBetaMinimax(int depth, Evaluator evaluator) {
+    this(depth, evaluator, null);
+  }
+
+  /**
+   * A constructor for a strategy that searches the given number of moves ahead, scores
+   * positions with the given evaluator, and reuses search results through the given
+   * transposition table. Trying the table's best move first changes the order moves are
+   * searched in, so ties between moves are no longer always broken by the uppermost-leftmost tile.
+   * @param depth The number of moves to search ahead.
+   * @param evaluator The function used to score positions.
+   * @param table The table to store search results in, or null to not use one.
+   * @throws IllegalArgumentException if the depth is not positive or the evaluator is null.
+   */
+  public AlphaBetaMinimax(int depth, Evaluator evaluator, TranspositionTable table) {
+    if (depth < 1) { // check that the depth is positive and throw exception if it is not
+      throw new IllegalArgumentException("Search depth must be positive.");
+    }
+    if (evaluator == null) { // check if the evaluator is null and throw exception if it is
+      throw new IllegalArgumentException("Evaluator cannot be null.");
+    }
+    this.depth = depth;
+    this.search = new NegamaxSearch(evaluator, table);
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    long start = System.nanoTime();
+    this.search.resetNodes();
+
+    // search on a copy of the model, which starts on the given model's current player
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    if (copy.nextLegalMove(0) < 0) { // if there are no legal moves, pass the turn
+      this.searchNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+
+    // moves are tried from the upper-left, and only a strictly better score replaces the best
+    // move, which breaks ties by the uppermost-leftmost tile
+    this.search.clearPrincipalVariation();
+    this.search.search(copy, this.depth, 0, false);
+    int bestMove = this.search.bestMove();
+
+    this.searchNanos = System.nanoTime() - start;
+    BoardView board = copy.getBoardView();
+    return Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
+  }
+
+  /**
+   * Returns the number of positions that were visited by the most recent call to
+   * {@link #chooseMove}.
+   * @return The number of positions searched.
+   */
+  public long nodesSearched() {
+    return this.search.nodes();
+  }
+
+  /**
+   * Returns the number of positions visited per second by the most recent call to
+   * {@link #chooseMove}, which can be used to track the speed of the search.
+   * @return The number of positions searched per second, or 0 if no search has been done.
+   */
+  public double nodesPerSecond() {
+    if (this.searchNanos == 0) { // if there has not been a search yet
+      return 0;
+    }
+    return this.search.nodes() * 1e9 / this.searchNanos;
+  }
+}
@@ -0,0 +1,266 @@
+package strategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.BoardView;
+import model.HexBoardGeometry;
+import model.ReadOnlyReversiModel;
+import model.tile.CellState;
+
+/**
+ * The tables and board scans shared by the feature evaluators, for a hexagonal board with a given
+ * side length. The neighbors of every tile, the six corners, the edge tiles, and which lines
+ * through each tile end at the edge of the board are found once per side length, so the
+ * evaluators only read arrays and the model's {@link BoardView} and never create objects. The
+ * tables are immutable, so the evaluators can be used by any number of threads at once.
+ */
+final class BoardFeatures {
+  // the number of lines through a tile, each made of a direction and the opposite direction
+  private static final int AXES = HexBoardGeometry.DIRECTIONS / 2;
+
+  // the tables for every side length that has been requested so far
+  private static final Map<Integer, BoardFeatures> FEATURES = new ConcurrentHashMap<>();
+
+  private final int cellCount; // the total number of tiles on the board
+  // the neighbor of each tile in each direction, or -1 if it is off the board. The neighbor of
+  // tile i in direction d is at position i * DIRECTIONS + d
+  private final int[] neighbors;
+  private final int[] corners; // the indices of the six corner tiles
+  private final int[] edges; // the indices of the tiles on the edge of the board, but not corners
+  private final boolean[] onEdge; // true for each tile that is on the edge, including corners
+  // true for each line through each tile that has the edge of the board right next to the tile
+  // on one side, so the tile can never be captured along it. Line a of tile i is at i * AXES + a
+  private final boolean[] endsAtTile;
+
+  // creates the tables of a board with the given side length
+  private BoardFeatures(int sideLength) {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(sideLength);
+    int n = sideLength - 1;
+    this.cellCount = geometry.cellCount();
+    this.neighbors = new int[this.cellCount * HexBoardGeometry.DIRECTIONS];
+    this.onEdge = new boolean[this.cellCount];
+    this.endsAtTile = new boolean[this.cellCount * AXES];
+    int edgeCount = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+        int neighbor = geometry.neighbor(cell, dir);
+        this.neighbors[cell * HexBoardGeometry.DIRECTIONS + dir] = neighbor;
+        if (neighbor < 0) { // a tile with a neighbor off the board is on the edge
+          this.onEdge[cell] = true;
+          this.endsAtTile[cell * AXES + dir % AXES] = true;
+        }
+      }
+      if (this.onEdge[cell]) {
+        edgeCount++;
+      }
+    }
+
+    // the corners are the six tiles n steps from the center in each direction
+    this.corners = new int[] {geometry.indexOf(-n, 0), geometry.indexOf(0, -n),
+        geometry.indexOf(n, -n), geometry.indexOf(n, 0), geometry.indexOf(0, n),
+        geometry.indexOf(-n, n)};
+    this.edges = new int[Math.max(edgeCount - this.corners.length, 0)];
+    int edge = 0;
+    for (int cell = 0; cell < this.cellCount && sideLength > 1; cell++) {
+      if (this.onEdge[cell] && !this.isCorner(cell)) {
+        this.edges[edge++] = cell;
+      }
+    }
+  }
+
+  /**
+   * Returns the tables of a hexagonal board with the given side length. The same tables are
+   * returned every time for the same side length.
+   * @param sideLength The side length, in tiles, of each edge of the board.
+   * @return The tables of the board.
+   */
+  static BoardFeatures forSideLength(int sideLength) {
+    return FEATURES.computeIfAbsent(sideLength, BoardFeatures::new);
+  }
+
+  /**
+   * Returns the tables of the board of the given model.
+   * @param model The model.
+   * @return The tables of the model's board.
+   */
+  static BoardFeatures of(ReadOnlyReversiModel model) {
+    return forSideLength(model.getBoardView().sideLength());
+  }
+
+  /**
+   * Returns the state of a tile that holds a disk of the player to move in the given model.
+   * @param model The started model.
+   * @return The state of the tiles of the player to move, which is never empty.
+   */
+  CellState moverState(ReadOnlyReversiModel model) {
+    // ask the board which state the current player's color is, which needs no disk on the board
+    return model.getBoardView().stateOf(model.currentPlayerColor());
+  }
+
+  /**
+   * Counts the legal moves of both players, in one pass over the empty tiles.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @return The legal moves of the player to move minus the legal moves of the other player.
+   */
+  int mobility(BoardView board, CellState mover) {
+    int difference = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (board.hasDiskAt(cell)) {
+        continue;
+      }
+      boolean moverCan = false;
+      boolean otherCan = false;
+      for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS && !(moverCan && otherCan); dir++) {
+        int next = this.neighbors[cell * HexBoardGeometry.DIRECTIONS + dir];
+        if (next < 0 || !board.hasDiskAt(next)) {
+          continue;
+        }
+        // a line of disks of one player ended by a disk of the other can be captured by the other
+        CellState captured = board.stateAt(next);
+        while (next >= 0 && board.stateAt(next) == captured) {
+          next = this.neighbors[next * HexBoardGeometry.DIRECTIONS + dir];
+        }
+        if (next >= 0 && board.hasDiskAt(next)) {
+          if (captured == mover) {
+            otherCan = true;
+          }
+          else {
+            moverCan = true;
+          }
+        }
+      }
+      difference += (moverCan ? 1 : 0) - (otherCan ? 1 : 0);
+    }
+    return difference;
+  }
+
+  /**
+   * Counts the frontier disks of both players, which are the disks next to an empty tile.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @return The frontier disks of the player to move minus those of the other player.
+   */
+  int frontier(BoardView board, CellState mover) {
+    int difference = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (!board.hasDiskAt(cell)) {
+        continue;
+      }
+      for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+        int next = this.neighbors[cell * HexBoardGeometry.DIRECTIONS + dir];
+        if (next >= 0 && !board.hasDiskAt(next)) { // the disk is next to an empty tile
+          difference += board.stateAt(cell) == mover ? 1 : -1;
+          break;
+        }
+      }
+    }
+    return difference;
+  }
+
+  /**
+   * Counts the disks of both players on the six corners.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @return The corners of the player to move minus the corners of the other player.
+   */
+  int corners(BoardView board, CellState mover) {
+    return this.occupancy(board, mover, this.corners);
+  }
+
+  /**
+   * Counts the disks of both players on the edge of the board, not counting the corners.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @return The edge disks of the player to move minus the edge disks of the other player.
+   */
+  int edges(BoardView board, CellState mover) {
+    return this.occupancy(board, mover, this.edges);
+  }
+
+  /**
+   * Counts the disks of both players that can never be flipped. A disk can only be flipped along
+   * a line through it that has tiles on both sides of it, so a disk is counted if every line
+   * through it has the edge of the board right next to it, is full, or, for a disk on the edge,
+   * is a line of disks of its color that runs along the edge to a corner. This finds every
+   * corner and the stable disks along the edges and in full lines, but not every stable disk.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @return The stable disks of the player to move minus those of the other player.
+   */
+  int stability(BoardView board, CellState mover) {
+    int difference = 0;
+    for (int cell = 0; cell < this.cellCount; cell++) {
+      if (board.hasDiskAt(cell) && this.isStable(board, cell)) {
+        difference += board.stateAt(cell) == mover ? 1 : -1;
+      }
+    }
+    return difference;
+  }
+
+  /**
+   * Returns the number of tiles on the board.
+   * @return The number of tiles.
+   */
+  int cellCount() {
+    return this.cellCount;
+  }
+
+  /**
+   * Returns true if the disk on the given tile is counted as stable by {@link #stability}.
+   * @param board The board.
+   * @param cell The index of a tile with a disk.
+   * @return True if the disk can never be flipped.
+   */
+  boolean isStable(BoardView board, int cell) {
+    CellState color = board.stateAt(cell);
+    for (int axis = 0; axis < AXES; axis++) {
+      if (this.endsAtTile[cell * AXES + axis]) { // there is nothing to capture it from
+        continue;
+      }
+      boolean full = this.filledToEdge(board, cell, axis, null)
+              && this.filledToEdge(board, cell, axis + AXES, null);
+      boolean runToCorner = this.onEdge[cell] && (this.filledToEdge(board, cell, axis, color)
+              || this.filledToEdge(board, cell, axis + AXES, color));
+      if (!full && !runToCorner) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // returns true if every tile from the given tile to the edge of the board in the given
+  // direction has a disk, of the given color if it is not null
+  private boolean filledToEdge(BoardView board, int cell, int dir, CellState color) {
+    for (int next = this.neighbors[cell * HexBoardGeometry.DIRECTIONS + dir]; next >= 0;
+         next = this.neighbors[next * HexBoardGeometry.DIRECTIONS + dir]) {
+      if (color == null ? !board.hasDiskAt(next) : board.stateAt(next) != color) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // returns the disks of the player to move minus the disks of the other player on the given
+  // tiles
+  private int occupancy(BoardView board, CellState mover, int[] cells) {
+    int difference = 0;
+    for (int cell : cells) {
+      if (board.hasDiskAt(cell)) {
+        difference += board.stateAt(cell) == mover ? 1 : -1;
+      }
+    }
+    return difference;
+  }
+
+  // returns true if the given tile is one of the six corners
+  private boolean isCorner(int cell) {
+    for (int corner : this.corners) {
+      if (corner == cell) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
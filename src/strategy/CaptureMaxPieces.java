@@ -3,8 +3,10 @@ package strategy;
 import java.awt.Point;
 import java.util.Optional;
 
+import model.BoardView;
+import model.HexBoardGeometry;
 import model.ReadOnlyReversiModel;
-import model.ReversiModel;
+import model.tile.CellState;
 
 /**
  * A strategy for determining the next move to play in a game of Reversi.
@@ -18,29 +20,33 @@ public class CaptureMaxPieces implements ReversiStrategy {
     if (model == null) { // check if the given model is null and throw exception if it is.
       throw new IllegalArgumentException("Model cannot be null.");
     }
+    if (!model.anyMoves()) { // there is nothing to choose from, so the player has to pass
+      return Optional.empty();
+    }
 
     int maxCaptured = -1; // initialize a var to hold the maximum number of captured pieces
-    Optional<Point> bestMove = Optional.empty(); // initialize the best move
-
-    for (Point point : model.getTiles().keySet()) { // iterate over all tile points on the board
-      if (model.isMovePossible(point.x, point.y)) { // if this point is a valid tile to move at
+    int bestMove = -1; // initialize the index of the best move
+
+    // read the board without copying its tiles, and look up what every move needs only once
+    BoardView board = model.getBoardView();
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(board.sideLength());
+    CellState mover = board.stateOf(model.currentPlayerColor());
+    for (int index = 0; index < board.cellCount(); index++) { // iterate over all tiles on the board
+      if (model.isMovePossible(board.qAt(index), board.rAt(index))) { // if this is a valid move
         // get the number of pieces that would be captured for this move
-        int capturedPieces = this.numCapturedPieces(point, model);
+        int capturedPieces = capturedAt(board, geometry, mover, index);
+        // the tiles are numbered from the upper-left to the lower-right, so when the captured
+        // pieces are equal to the max, the best move is already the uppermost-leftmost tile
         if (capturedPieces > maxCaptured) { // if the captured pieces is greater than the max
           maxCaptured = capturedPieces; // update the maximum captured pieces
-          bestMove = Optional.of(point); // set the bestMove to this point;
-        }
-        else if (capturedPieces == maxCaptured) { // if the captured pieces is equal to the max
-          if (bestMove.isEmpty()) { // if there is no best move currently
-            bestMove = Optional.of(point); // set it to be the current point
-          }
-          // if there is a best move, we must break the tie by choosing the uppermost-leftmost tile
-          bestMove = Optional.of(this.upperLeftMost(bestMove.get(), point));
+          bestMove = index; // set the bestMove to this tile
         }
       }
     }
 
-    return bestMove; // return the optional best move
+    // return the optional best move
+    return bestMove < 0 ? Optional.empty()
+            : Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
   }
 
 
@@ -55,20 +61,31 @@ public class CaptureMaxPieces implements ReversiStrategy {
       throw new IllegalStateException("A move is not possible at the point.");
     }
 
-    // make a copy of the model so that we can make the move and let the model handle the logic
-    // of how many pieces were captured
-    ReversiModel modelCopy = model.copyModel();
-    modelCopy.startGame();
-
-    int scoreBefore = modelCopy.getCurrentPlayerScore(); // get the current player's score before
-    modelCopy.moveAt(tilePoint.x, tilePoint.y); // make the move
-    int scoreAfter = modelCopy.getOtherPlayerScore(); // get the score after making the move
-
-    // return the difference in score - 1, which is equal to the number of
-    // pieces captured during that turn
-    return scoreAfter - scoreBefore - 1;
-
+    BoardView board = model.getBoardView();
+    return capturedAt(board, HexBoardGeometry.forSideLength(board.sideLength()),
+            board.stateOf(model.currentPlayerColor()), board.indexOf(tilePoint.x, tilePoint.y));
+  }
 
+  // return the number of pieces that a move by the given player at the given tile would capture,
+  // found by walking out from the tile in every direction and counting the other player's disks
+  // that end at one of the player's disks, which is much faster than copying the model to make
+  // the move
+  private static int capturedAt(BoardView board, HexBoardGeometry geometry, CellState mover,
+                                int cell) {
+    CellState other = mover.flipped();
+    int captured = 0;
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+      int run = 0;
+      int next = geometry.neighbor(cell, dir);
+      while (next >= 0 && board.stateAt(next) == other) { // skip the other player's disks
+        run++;
+        next = geometry.neighbor(next, dir);
+      }
+      if (next >= 0 && board.stateAt(next) == mover) { // the run is capped, so it is captured
+        captured += run;
+      }
+    }
+    return captured;
   }
 
   // decide which of the two given points is more
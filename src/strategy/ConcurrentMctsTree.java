@@ -0,0 +1,277 @@
+package strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import model.SearchableReversiModel;
+
+/**
+ * The tree of a Monte Carlo tree search that several threads grow at the same time without
+ * locking. Like {@link strategy.MctsTree}, it stores its nodes in arrays that are allocated once,
+ * with the root at index 0 and the children of a node stored next to each other.
+ * The visits and wins of a node are packed into one long, the visits in the upper 32 bits and the
+ * wins, counted in halves so that a draw is 1, in the lower 32 bits, so both are read and changed
+ * together with a single atomic operation. A thread counts its visit to a node on the way down,
+ * before its playout has a result, which makes the node look like a loss to the other threads
+ * until the result is added on the way back up. This virtual loss steers the other threads to
+ * different moves instead of all of them exploring the same line.
+ * A node is expanded by the first thread that claims it. Its children are written before the
+ * node's child count is published, so a thread that sees the child count also sees the children.
+ */
+final class ConcurrentMctsTree {
+  // the child count of a node whose children have not been added yet
+  private static final int UNEXPANDED = -1;
+  // the child count of a node whose children are being added by another thread
+  private static final int EXPANDING = -2;
+  // the amount added to a packed node to count one visit
+  private static final long ONE_VISIT = 1L << 32;
+  // the lower 32 bits of a packed node, which hold the wins
+  private static final long WINS_MASK = 0xFFFFFFFFL;
+
+  private final int[] moves; // the move that led to each node, as a tile index or PASS
+  private final int[] firstChild; // the index of the first child of each node
+  // the number of children of each node, UNEXPANDED or EXPANDING
+  private final AtomicIntegerArray childCount;
+  private final AtomicLongArray stats; // the packed visits and half-wins of each node
+  private final AtomicInteger size; // the number of nodes in use
+
+  /**
+   * Creates a tree that can hold the given number of nodes, containing only the root.
+   * @param capacity The most nodes the tree can hold.
+   */
+  ConcurrentMctsTree(int capacity) {
+    this.moves = new int[capacity];
+    this.firstChild = new int[capacity];
+    this.childCount = new AtomicIntegerArray(capacity);
+    this.stats = new AtomicLongArray(capacity);
+    this.size = new AtomicInteger();
+    this.reset();
+  }
+
+  /**
+   * Removes every node but the root, and clears the root, without freeing any memory. This must
+   * not be called while another thread uses the tree.
+   */
+  void reset() {
+    this.size.set(1);
+    this.moves[0] = MctsTree.PASS;
+    this.stats.set(0, 0);
+    this.childCount.set(0, UNEXPANDED);
+  }
+
+  /**
+   * Expands the given node if no other thread has, adding a child for every legal move of the
+   * given model, a single child that passes if the current player has no moves but the game is
+   * not over, and no children if the game is over.
+   * @param node The node to expand.
+   * @param model The model in the node's position.
+   * @return True if this thread expanded the node, false if another thread is expanding it or
+   *     already has, or the tree does not have room for its children.
+   */
+  boolean expand(int node, SearchableReversiModel model) {
+    if (!this.childCount.compareAndSet(node, UNEXPANDED, EXPANDING)) { // claim the node
+      return false;
+    }
+
+    int count = 0;
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      count++;
+    }
+    boolean pass = count == 0 && !model.isGameOver(); // if the player must pass
+    if (pass) {
+      count = 1;
+    }
+    int first = this.allocate(count);
+    if (first < 0) { // if the children do not fit, leave the node for playouts to start from
+      this.childCount.set(node, UNEXPANDED);
+      return false;
+    }
+
+    if (pass) {
+      this.initializeNode(first, MctsTree.PASS);
+    }
+    else {
+      int child = first;
+      for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+        this.initializeNode(child, move);
+        child++;
+      }
+    }
+    this.firstChild[node] = first;
+    this.childCount.set(node, count); // publish the children to the other threads
+    return true;
+  }
+
+  /**
+   * Chooses which child of the given node to explore using the UCT formula, as
+   * {@link MctsTree#selectChild} does, and counts a visit to it straight away as a virtual loss.
+   * @param node The node to choose a child of, which must have children.
+   * @param exploration How strongly rarely tried children are favored.
+   * @return The index of the chosen child.
+   */
+  int selectChild(int node, double exploration) {
+    int first = this.firstChild[node];
+    int end = first + this.childCount.get(node);
+    double logVisits = Math.log(Math.max(visitsOf(this.stats.get(node)), 1));
+    int best = first;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int child = first; child < end; child++) {
+      long packed = this.stats.get(child); // read the visits and wins together
+      int childVisits = visitsOf(packed);
+      if (childVisits == 0) { // if the child has never been tried, try it now
+        best = child;
+        break;
+      }
+      double value = halfWinsOf(packed) / (2.0 * childVisits)
+              + exploration * Math.sqrt(logVisits / childVisits);
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    this.addVisit(best);
+    return best;
+  }
+
+  /**
+   * Counts a visit to the given node, as a loss until its result is added with
+   * {@link #addReward}.
+   * @param node The node.
+   */
+  void addVisit(int node) {
+    this.stats.getAndAdd(node, ONE_VISIT);
+  }
+
+  /**
+   * Adds the result of a playout to a node whose visit was already counted.
+   * @param node The node.
+   * @param reward 1 if the player who made the node's move won, 0.5 for a draw and 0 for a loss.
+   */
+  void addReward(int node, double reward) {
+    this.stats.getAndAdd(node, (long) (reward * 2));
+  }
+
+  /**
+   * Returns the child of the given node that the most playouts went through. Ties are broken by
+   * the earlier child.
+   * @param node The node to choose a child of, which must have children.
+   * @return The index of the most visited child.
+   */
+  int mostVisitedChild(int node) {
+    int first = this.firstChild[node];
+    int end = first + this.childCount.get(node);
+    int best = first;
+    for (int child = first + 1; child < end; child++) {
+      if (this.visits(child) > this.visits(best)) {
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns true if the given node's children have been added or are being added.
+   * @param node The node.
+   * @return True if the node has been claimed for expansion.
+   */
+  boolean isExpanded(int node) {
+    return this.childCount.get(node) != UNEXPANDED;
+  }
+
+  /**
+   * Returns the number of children of the given node.
+   * @param node The node.
+   * @return The number of children, which is 0 if the node has not been expanded yet, is being
+   *     expanded, or the game is over in its position.
+   */
+  int childCount(int node) {
+    return Math.max(this.childCount.get(node), 0);
+  }
+
+  /**
+   * Returns the index of the first child of the given node.
+   * @param node The node, which must have children.
+   * @return The index of the first child.
+   */
+  int firstChild(int node) {
+    return this.firstChild[node];
+  }
+
+  /**
+   * Returns the move that led to the given node.
+   * @param node The node.
+   * @return The move as a tile index, or {@link MctsTree#PASS}.
+   */
+  int move(int node) {
+    return this.moves[node];
+  }
+
+  /**
+   * Returns the number of visits to the given node, including the visits of playouts that have
+   * not finished yet.
+   * @param node The node.
+   * @return The number of visits.
+   */
+  int visits(int node) {
+    return visitsOf(this.stats.get(node));
+  }
+
+  /**
+   * Returns the number of playouts through the given node that were won by the player who made
+   * the node's move, counting a draw as half a win.
+   * @param node The node.
+   * @return The number of wins.
+   */
+  double wins(int node) {
+    return halfWinsOf(this.stats.get(node)) / 2.0;
+  }
+
+  /**
+   * Returns the number of nodes in use.
+   * @return The size of the tree.
+   */
+  int size() {
+    return this.size.get();
+  }
+
+  /**
+   * Returns the most nodes the tree can hold.
+   * @return The capacity of the tree.
+   */
+  int capacity() {
+    return this.moves.length;
+  }
+
+  // reserves the given number of nodes, returning the index of the first one or -1 if they do
+  // not fit in the tree
+  private int allocate(int count) {
+    while (true) {
+      int first = this.size.get();
+      if (first + count > this.moves.length) {
+        return -1;
+      }
+      if (this.size.compareAndSet(first, first + count)) {
+        return first;
+      }
+    }
+  }
+
+  // clears the node at the given index and gives it the given move
+  private void initializeNode(int node, int move) {
+    this.moves[node] = move;
+    this.firstChild[node] = 0;
+    this.stats.set(node, 0);
+    this.childCount.set(node, UNEXPANDED);
+  }
+
+  // returns the visits of a packed node
+  private static int visitsOf(long packed) {
+    return (int) (packed >>> 32);
+  }
+
+  // returns the wins of a packed node, counted in halves
+  private static long halfWinsOf(long packed) {
+    return packed & WINS_MASK;
+  }
+}
@@ -0,0 +1,16 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many more of the six corners of the hexagonal board
+ * the current player holds than the other player. A disk on a corner can never be flipped.
+ */
+public class Corners implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardFeatures features = BoardFeatures.of(model);
+    return features.corners(model.getBoardView(), features.moverState(model));
+  }
+}
@@ -0,0 +1,15 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many more disks the current player has than the
+ * other player.
+ */
+public class DiskDifference implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    return model.getCurrentPlayerScore() - model.getOtherPlayerScore();
+  }
+}
@@ -0,0 +1,17 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many more disks the current player has on the edge
+ * of the board than the other player, not counting the corners, which {@link strategy.Corners}
+ * scores. A disk on an edge can only be flipped along the edge.
+ */
+public class Edges implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardFeatures features = BoardFeatures.of(model);
+    return features.edges(model.getBoardView(), features.moverState(model));
+  }
+}
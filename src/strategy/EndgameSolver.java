@@ -0,0 +1,424 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import model.BoardView;
+import model.HexBoardGeometry;
+import model.ReadOnlyReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi that plays perfectly
+ * once few tiles are left empty. It searches every sequence of moves to the end of the game and
+ * plays the move that ends the game with the largest difference between the current player's
+ * disks and the other player's disks, assuming the other player also plays perfectly. Ties are
+ * broken by selecting the uppermost-leftmost tile.
+ * The search is exponential in the number of empty tiles, so it is meant for the end of the game.
+ * A solver made with a fallback strategy and a threshold only solves positions with at most that
+ * many empty tiles and asks the fallback for every other move, which lets any strategy switch to
+ * perfect play at the end of the game. A solver made without a fallback solves every position.
+ * The search runs on its own compact copy of the board: one byte per tile, a linked list of the
+ * empty tiles so that a position only looks at the tiles that can still be played, and a stack
+ * of flipped disks so that moves are taken back without copying. Moves that leave the opponent
+ * the fewest replies are searched first, which finds the best line quickly, and when few tiles
+ * are left, moves in the parts of the board with an odd number of empty tiles are tried first,
+ * since the player who moves last in a region usually gains the most there.
+ */
+public class EndgameSolver implements ReversiStrategy {
+  // the number of empty tiles at which moves are ordered by the opponent's replies. With fewer
+  // empty tiles, counting the replies costs more than it saves
+  private static final int FASTEST_FIRST_EMPTIES = 7;
+  // the number of parts the board is split into for the parity of the empty tiles
+  private static final int REGIONS = 6;
+  // the tile states of the board, from the point of view of the searching player
+  private static final byte EMPTY = 0;
+  private static final byte BLACK = 1; // the player to move at the root
+  private static final byte WHITE = 2;
+
+  private final ReversiStrategy fallback; // the strategy for positions not solved, or null
+  private final int emptyThreshold; // the most empty tiles a position can have to be solved
+  private long nodes; // the number of positions visited since the last search started
+
+  // the board being searched, rebuilt when the side length changes
+  private HexBoardGeometry geometry;
+  private int[][] rays; // the tiles along each direction from each tile, at tile * 6 + direction
+  private int[] region; // the part of the board each tile is in
+  private byte[] cells; // the state of each tile
+  private int[] nextEmpty; // the next tile in the list of empty tiles, the head at cellCount
+  private int[] previousEmpty; // the previous tile in the list of empty tiles
+  private int[] flipStack; // the disks flipped by every move being searched, in order
+  private int flipTop; // the number of disks on the flip stack
+  private int[][] moveBuffers; // the ordered moves of the position at each ply
+  private int[][] keyBuffers; // the sort keys of the moves at each ply
+  private int emptyCount; // the number of empty tiles
+  private int blackCount; // the number of disks of the player to move at the root
+  private int whiteCount; // the number of disks of the other player
+  private int regionParity; // bit i is set if region i has an odd number of empty tiles
+
+  /**
+   * A constructor for a solver that solves every position it is given. The time it takes grows
+   * exponentially with the number of empty tiles, so it should only be given positions near the
+   * end of the game.
+   */
+  public EndgameSolver() {
+    this.fallback = null;
+    this.emptyThreshold = Integer.MAX_VALUE;
+  }
+
+  /**
+   * A constructor for a solver that solves positions with at most the given number of empty
+   * tiles and uses the given strategy to choose the moves of every other position.
+   * @param fallback The strategy for positions with more empty tiles.
+   * @param emptyThreshold The most empty tiles a position can have to be solved.
+   * @throws IllegalArgumentException if the fallback is null or the threshold is not positive.
+   */
+  public EndgameSolver(ReversiStrategy fallback, int emptyThreshold) {
+    if (fallback == null) { // check if the fallback is null and throw exception if it is
+      throw new IllegalArgumentException("Fallback strategy cannot be null.");
+    }
+    if (emptyThreshold < 1) { // check that the threshold is positive
+      throw new IllegalArgumentException("Empty tile threshold must be positive.");
+    }
+    this.fallback = fallback;
+    this.emptyThreshold = emptyThreshold;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (this.fallback != null && emptyTiles(model.getBoardView()) > this.emptyThreshold) {
+      this.nodes = 0;
+      return this.fallback.chooseMove(model); // too many empty tiles to solve
+    }
+
+    this.load(model);
+    int bestMove = this.solveRoot(new int[1]);
+    if (bestMove < 0) { // if there are no legal moves, pass the turn
+      return Optional.empty();
+    }
+    return Optional.of(new Point(this.geometry.qOf(bestMove), this.geometry.rOf(bestMove)));
+  }
+
+  /**
+   * Returns the difference between the current player's disks and the other player's disks at
+   * the end of the game, if both players play perfectly from the given position.
+   * @param model The position to solve, which must be started.
+   * @return The final disk difference for the current player.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  public int solve(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    this.load(model);
+    int[] score = new int[1];
+    this.solveRoot(score);
+    return score[0];
+  }
+
+  /**
+   * Returns the number of positions that were visited by the most recent solve, which can be
+   * used to track the cost of the search.
+   * @return The number of positions searched, or 0 if the last move was chosen by the fallback.
+   */
+  public long nodesSearched() {
+    return this.nodes;
+  }
+
+  // returns the number of empty tiles on the given board
+  private static int emptyTiles(BoardView board) {
+    int empty = 0;
+    for (int index = 0; index < board.cellCount(); index++) {
+      if (!board.hasDiskAt(index)) {
+        empty++;
+      }
+    }
+    return empty;
+  }
+
+  // copies the given model's board into the solver's board, with the current player as black,
+  // building the rays and buffers first if the board is a new size
+  private void load(ReadOnlyReversiModel model) {
+    BoardView board = model.getBoardView();
+    if (this.geometry == null || this.geometry.sideLength() != board.sideLength()) {
+      this.prepare(HexBoardGeometry.forSideLength(board.sideLength()));
+    }
+    this.nodes = 0;
+    int cellCount = this.cells.length;
+
+    // rebuild the list of empty tiles in order of index, with the head at cellCount
+    int last = cellCount;
+    this.emptyCount = 0;
+    this.blackCount = 0;
+    this.whiteCount = 0;
+    this.regionParity = 0;
+    this.flipTop = 0;
+    for (int index = 0; index < cellCount; index++) {
+      if (!board.hasDiskAt(index)) {
+        this.cells[index] = EMPTY;
+        this.nextEmpty[last] = index;
+        this.previousEmpty[index] = last;
+        last = index;
+        this.emptyCount++;
+        this.regionParity ^= 1 << this.region[index];
+      }
+      else if (board.colorAt(index).equals(model.currentPlayerColor())) {
+        this.cells[index] = BLACK;
+        this.blackCount++;
+      }
+      else {
+        this.cells[index] = WHITE;
+        this.whiteCount++;
+      }
+    }
+    this.nextEmpty[last] = cellCount;
+    this.previousEmpty[cellCount] = last;
+
+    // a game has at most one move per empty tile and one pass before each move, and a position
+    // has at most one legal move per empty tile
+    int plies = 2 * this.emptyCount + 2;
+    if (this.moveBuffers.length < plies || this.moveBuffers[0].length < this.emptyCount) {
+      this.moveBuffers = new int[plies][this.emptyCount];
+      this.keyBuffers = new int[plies][this.emptyCount];
+    }
+  }
+
+  // builds the rays, regions and buffers of a board with the given geometry
+  private void prepare(HexBoardGeometry geometry) {
+    int cellCount = geometry.cellCount();
+    this.geometry = geometry;
+    this.rays = new int[cellCount * HexBoardGeometry.DIRECTIONS][];
+    this.region = new int[cellCount];
+    int[] buffer = new int[2 * geometry.sideLength()];
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // walk to the edge
+        int length = 0;
+        for (int next = geometry.neighbor(cell, dir); next >= 0;
+             next = geometry.neighbor(next, dir)) {
+          buffer[length++] = next;
+        }
+        int[] ray = new int[length];
+        System.arraycopy(buffer, 0, ray, 0, length);
+        this.rays[cell * HexBoardGeometry.DIRECTIONS + dir] = ray;
+      }
+      // split the board into six wedges around the center by the angle of each tile, where the
+      // center tile is in the first wedge
+      double x = Math.sqrt(3) * (geometry.qOf(cell) + geometry.rOf(cell) / 2.0);
+      double y = 1.5 * geometry.rOf(cell);
+      double angle = Math.atan2(y, x) + Math.PI + 1e-9; // from 0 to 2 pi, off the wedge edges
+      this.region[cell] = (int) (angle / (2 * Math.PI / REGIONS)) % REGIONS;
+    }
+    this.cells = new byte[cellCount];
+    this.nextEmpty = new int[cellCount + 1];
+    this.previousEmpty = new int[cellCount + 1];
+    // each move flips fewer disks than there are tiles, and a game has at most one move per tile
+    this.flipStack = new int[cellCount * cellCount];
+    this.moveBuffers = new int[0][0]; // sized by the number of empty tiles when loading
+    this.keyBuffers = new int[0][0];
+  }
+
+  // finds the best move of the loaded position for black, writing its final disk difference into
+  // score[0], and returns the move, or -1 if black must pass
+  private int solveRoot(int[] score) {
+    this.nodes++;
+    int count = this.orderMoves(0, BLACK);
+    if (count == 0) { // if black must pass, the score is what white can do after the pass
+      score[0] = -this.search(1, WHITE, -Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+      return -1;
+    }
+
+    int[] moves = this.moveBuffers[0];
+    int bestMove = -1;
+    int best = -Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      // a move above and to the left of the best move only needs to tie it to replace it, so its
+      // window starts one below the best score
+      int alpha = bestMove >= 0 && move < bestMove ? best - 1 : best;
+      int flips = this.play(move, BLACK);
+      int value = -this.search(1, WHITE, -Integer.MAX_VALUE, -alpha, false);
+      this.undo(move, flips);
+      if (value > best || (value == best && move < bestMove)) {
+        best = value;
+        bestMove = move;
+      }
+    }
+    score[0] = best;
+    return bestMove;
+  }
+
+  // returns the final disk difference for the given player with perfect play from the current
+  // position, searching at the given ply with alpha-beta bounds. passed is true if the other
+  // player passed to reach this position
+  private int search(int ply, byte player, int alpha, int beta, boolean passed) {
+    this.nodes++;
+    byte opponent = (byte) (BLACK + WHITE - player);
+    if (this.emptyCount == 0) { // the board is full
+      return this.difference(player);
+    }
+
+    int count = this.orderMoves(ply, player);
+    if (count == 0) {
+      if (passed) { // neither player can move, so the game is over
+        return this.difference(player);
+      }
+      return -this.search(ply + 1, opponent, -beta, -alpha, true);
+    }
+
+    int[] moves = this.moveBuffers[ply];
+    int best = -Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      int flips = this.play(move, player);
+      int value = -this.search(ply + 1, opponent, -beta, -alpha, false);
+      this.undo(move, flips);
+      if (value > best) {
+        best = value;
+        if (value > alpha) {
+          alpha = value;
+          if (alpha >= beta) { // the other player would never allow this position
+            break;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  // fills the move buffer of the given ply with the legal moves of the given player, in the order
+  // they should be searched, and returns how many there are
+  private int orderMoves(int ply, byte player) {
+    int[] moves = this.moveBuffers[ply];
+    int[] keys = this.keyBuffers[ply];
+    byte opponent = (byte) (BLACK + WHITE - player);
+    boolean fastestFirst = this.emptyCount >= FASTEST_FIRST_EMPTIES;
+    int count = 0;
+    int head = this.cells.length;
+    for (int cell = this.nextEmpty[head]; cell != head; cell = this.nextEmpty[cell]) {
+      if (!this.isLegal(cell, player)) {
+        continue;
+      }
+      // moves in a region with an odd number of empty tiles come first
+      int key = (this.regionParity >>> this.region[cell] & 1) == 1 ? 0 : 1;
+      if (fastestFirst) { // moves that leave the opponent fewer replies come before both
+        int flips = this.play(cell, player);
+        key += 2 * this.countMoves(opponent);
+        this.undo(cell, flips);
+      }
+      // insert the move in order of its key, keeping the order of the tiles between equal keys
+      int i = count++;
+      while (i > 0 && keys[i - 1] > key) {
+        moves[i] = moves[i - 1];
+        keys[i] = keys[i - 1];
+        i--;
+      }
+      moves[i] = cell;
+      keys[i] = key;
+    }
+    return count;
+  }
+
+  // returns the number of legal moves of the given player
+  private int countMoves(byte player) {
+    int count = 0;
+    int head = this.cells.length;
+    for (int cell = this.nextEmpty[head]; cell != head; cell = this.nextEmpty[cell]) {
+      if (this.isLegal(cell, player)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  // returns true if the given player can move at the given empty tile
+  private boolean isLegal(int cell, byte player) {
+    byte opponent = (byte) (BLACK + WHITE - player);
+    int base = cell * HexBoardGeometry.DIRECTIONS;
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+      int[] ray = this.rays[base + dir];
+      if (ray.length < 2 || this.cells[ray[0]] != opponent) { // nothing to capture this way
+        continue;
+      }
+      for (int step = 1; step < ray.length; step++) {
+        byte state = this.cells[ray[step]];
+        if (state != opponent) {
+          if (state == player) {
+            return true;
+          }
+          break;
+        }
+      }
+    }
+    return false;
+  }
+
+  // places the given player's disk on the given empty tile and flips the captured disks, pushing
+  // them onto the flip stack, and returns the number flipped. The move must be legal
+  private int play(int cell, byte player) {
+    byte opponent = (byte) (BLACK + WHITE - player);
+    int base = cell * HexBoardGeometry.DIRECTIONS;
+    int flips = 0;
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+      int[] ray = this.rays[base + dir];
+      int run = 0;
+      while (run < ray.length && this.cells[ray[run]] == opponent) {
+        run++;
+      }
+      if (run == 0 || run == ray.length || this.cells[ray[run]] != player) {
+        continue; // the run of opponent disks is not closed by one of the player's disks
+      }
+      for (int step = 0; step < run; step++) {
+        this.cells[ray[step]] = player;
+        this.flipStack[this.flipTop++] = ray[step];
+      }
+      flips += run;
+    }
+
+    this.cells[cell] = player;
+    if (player == BLACK) {
+      this.blackCount += flips + 1;
+      this.whiteCount -= flips;
+    }
+    else {
+      this.whiteCount += flips + 1;
+      this.blackCount -= flips;
+    }
+    // take the tile out of the list of empty tiles
+    this.nextEmpty[this.previousEmpty[cell]] = this.nextEmpty[cell];
+    this.previousEmpty[this.nextEmpty[cell]] = this.previousEmpty[cell];
+    this.emptyCount--;
+    this.regionParity ^= 1 << this.region[cell];
+    return flips;
+  }
+
+  // takes back the move at the given tile, which flipped the given number of disks
+  private void undo(int cell, int flips) {
+    byte player = this.cells[cell];
+    byte opponent = (byte) (BLACK + WHITE - player);
+    for (int i = 0; i < flips; i++) {
+      this.cells[this.flipStack[--this.flipTop]] = opponent;
+    }
+    this.cells[cell] = EMPTY;
+    if (player == BLACK) {
+      this.blackCount -= flips + 1;
+      this.whiteCount += flips;
+    }
+    else {
+      this.whiteCount -= flips + 1;
+      this.blackCount += flips;
+    }
+    // put the tile back where it was in the list, which still points to its neighbors because
+    // moves are always taken back in the reverse order they were made
+    this.nextEmpty[this.previousEmpty[cell]] = cell;
+    this.previousEmpty[this.nextEmpty[cell]] = cell;
+    this.emptyCount++;
+    this.regionParity ^= 1 << this.region[cell];
+  }
+
+  // returns the difference between the given player's disks and the other player's disks
+  private int difference(byte player) {
+    return player == BLACK ? this.blackCount - this.whiteCount : this.whiteCount - this.blackCount;
+  }
+}
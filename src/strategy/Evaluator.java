@@ -0,0 +1,20 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * A function that scores a position in a game of Reversi for strategies that search ahead.
+ * The score is always from the point of view of the current player of the model: the higher the
+ * score, the better the position is for the player whose turn it is. Searching strategies rely on
+ * this, because they negate the score of a position to get its score for the other player.
+ */
+public interface Evaluator {
+
+  /**
+   * Scores the current position of the given model for its current player. This must not
+   * change the model.
+   * @param model The started model to score.
+   * @return The score of the position, where higher is better for the current player.
+   */
+  int evaluate(ReadOnlyReversiModel model);
+}
@@ -0,0 +1,17 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many fewer frontier disks the current player has
+ * than the other player. A frontier disk is next to an empty tile, so it can be flipped and it
+ * gives the other player somewhere to move, which makes having few of them better.
+ */
+public class Frontier implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardFeatures features = BoardFeatures.of(model);
+    return -features.frontier(model.getBoardView(), features.moverState(model));
+  }
+}
@@ -0,0 +1,143 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi within a fixed amount
+ * of time. It runs the same alpha-beta search as {@link strategy.AlphaBetaMinimax} to a depth of
+ * 1, then 2, then 3 and so on until the time limit runs out, and plays the best move of the
+ * deepest search that finished. Each search tries the line of best moves found by the search
+ * before it first, which lets alpha-beta pruning skip most of the other moves, so the shallower
+ * searches cost little compared to the deepest one. The search to a depth of 1 always finishes,
+ * so there is always a move to play even if the time limit is very short. Deepening stops early
+ * once the search reaches the end of the game in every line.
+ * The searches share a {@link strategy.TranspositionTable}, so each one also reuses the results
+ * of the searches before it, and of the moves before this one.
+ */
+public class IterativeDeepening implements ReversiStrategy {
+  // the number of entries in the transposition table made by the constructors that do not take
+  // one, which uses 16 megabytes
+  private static final int DEFAULT_TABLE_CAPACITY = 1 << 20;
+
+  private final long timeLimitNanos; // how long each move may take, in nanoseconds
+  private final int maxDepth; // the deepest search to try
+  private final NegamaxSearch search; // the search, which keeps its buffers between moves
+  private long searchNanos; // the time taken by the last call to chooseMove, in nanoseconds
+  private int completedDepth; // the depth of the deepest search that finished last move
+
+  /**
+   * A constructor for a strategy that searches for as long as the given time limit allows and
+   * scores positions by the difference in the number of disks.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @throws IllegalArgumentException if the time limit is not positive.
+   */
+  public IterativeDeepening(long timeLimitMillis) {
+    this(timeLimitMillis, Integer.MAX_VALUE, new DiskDifference());
+  }
+
+  /**
+   * A constructor for a strategy that searches for as long as the given time limit allows, up to
+   * the given depth, and scores positions with the given evaluator.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param maxDepth The deepest search to try, even if there is time left.
+   * @param evaluator The function used to score positions.
+   * @throws IllegalArgumentException if the time limit or depth is not positive or the
+   *                                  evaluator is null.
+   */
+  public IterativeDeepening(long timeLimitMillis, int maxDepth, Evaluator evaluator) {
+    this(timeLimitMillis, maxDepth, evaluator, new TranspositionTable(DEFAULT_TABLE_CAPACITY));
+  }
+
+  /**
+   * A constructor for a strategy that searches for as long as the given time limit allows, up to
+   * the given depth, scores positions with the given evaluator, and stores search results in the
+   * given transposition table.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param maxDepth The deepest search to try, even if there is time left.
+   * @param evaluator The function used to score positions.
+   * @param table The table to store search results in.
+   * @throws IllegalArgumentException if the time limit or depth is not positive or the
+   *                                  evaluator or table is null.
+   */
+  public IterativeDeepening(long timeLimitMillis, int maxDepth, Evaluator evaluator,
+                            TranspositionTable table) {
+    if (timeLimitMillis < 1) { // check that the time limit is positive
+      throw new IllegalArgumentException("Time limit must be positive.");
+    }
+    if (maxDepth < 1) { // check that the depth is positive
+      throw new IllegalArgumentException("Search depth must be positive.");
+    }
+    if (evaluator == null) { // check if the evaluator is null and throw exception if it is
+      throw new IllegalArgumentException("Evaluator cannot be null.");
+    }
+    if (table == null) { // check if the table is null and throw exception if it is
+      throw new IllegalArgumentException("Transposition table cannot be null.");
+    }
+    this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+    this.maxDepth = maxDepth;
+    this.search = new NegamaxSearch(evaluator, table);
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    long start = System.nanoTime();
+    long deadline = start + this.timeLimitNanos;
+    this.search.resetNodes();
+    this.completedDepth = 0;
+
+    // search on a copy of the model, which starts on the given model's current player
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    if (copy.nextLegalMove(0) < 0) { // if there are no legal moves, pass the turn
+      this.searchNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+
+    // the first search ignores the deadline so that there is always a move to play
+    this.completedDepth = this.search.deepen(copy, 1, this.maxDepth, deadline, true);
+    int bestMove = this.search.bestMove();
+
+    this.searchNanos = System.nanoTime() - start;
+    BoardView board = copy.getBoardView();
+    return Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
+  }
+
+  /**
+   * Returns the depth of the deepest search that finished during the most recent call to
+   * {@link #chooseMove}, which is the depth of the search that chose the move.
+   * @return The depth, or 0 if no search has been done or there was no move to search.
+   */
+  public int completedDepth() {
+    return this.completedDepth;
+  }
+
+  /**
+   * Returns the number of positions that were visited by the most recent call to
+   * {@link #chooseMove}, including the searches that ran out of time.
+   * @return The number of positions searched.
+   */
+  public long nodesSearched() {
+    return this.search.nodes();
+  }
+
+  /**
+   * Returns the number of positions visited per second by the most recent call to
+   * {@link #chooseMove}, which can be used to track the speed of the search.
+   * @return The number of positions searched per second, or 0 if no search has been done.
+   */
+  public double nodesPerSecond() {
+    if (this.searchNanos == 0) { // if there has not been a search yet
+      return 0;
+    }
+    return this.search.nodes() * 1e9 / this.searchNanos;
+  }
+}
@@ -0,0 +1,220 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi within a fixed amount
+ * of time, using several threads. The thread that calls {@link #chooseMove} runs the same
+ * iterative deepening search as {@link strategy.IterativeDeepening}, while helper threads search
+ * the same position at the same time, each on its own copy of the model. Every thread shares one
+ * {@link strategy.TranspositionTable}, so the helpers fill it with results that the main search
+ * then finds instead of searching those positions itself. Half of the helpers start one move
+ * deeper than the main search, so the threads drift apart and explore different parts of the
+ * game instead of all doing the same work. This is known as Lazy SMP. The main search decides the
+ * move, and the helpers are told to stop as soon as it is done.
+ * The helper threads are daemon threads that are created once and reused for every move, until
+ * the strategy is closed.
+ */
+public class LazySmp implements ReversiStrategy, AutoCloseable {
+  // the number of entries in the transposition table made by the constructors that do not take
+  // one, which uses 64 megabytes
+  private static final int DEFAULT_TABLE_CAPACITY = 1 << 22;
+
+  private final long timeLimitNanos; // how long each move may take, in nanoseconds
+  private final int maxDepth; // the deepest search to try
+  private final NegamaxSearch[] searches; // the search of each thread, the main thread's first
+  private final ExecutorService helpers; // the helper threads, or null if there are none
+  private final AtomicBoolean stopSignal; // set when the main search is done to stop the helpers
+  private boolean closed; // true once the helper threads have been shut down
+  private long searchNanos; // the time taken by the last call to chooseMove, in nanoseconds
+  private int completedDepth; // the depth of the deepest main search that finished last move
+
+  /**
+   * A constructor for a strategy that searches on the given number of threads for as long as the
+   * given time limit allows and scores positions by the difference in the number of disks.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param threads The number of threads to search on, including the calling thread.
+   * @throws IllegalArgumentException if the time limit or number of threads is not positive.
+   */
+  public LazySmp(long timeLimitMillis, int threads) {
+    this(timeLimitMillis, Integer.MAX_VALUE, threads, new DiskDifference(),
+            new TranspositionTable(DEFAULT_TABLE_CAPACITY));
+  }
+
+  /**
+   * A constructor for a strategy that searches on the given number of threads for as long as the
+   * given time limit allows, up to the given depth, scores positions with the given evaluator, and
+   * shares search results between the threads through the given transposition table.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param maxDepth The deepest search to try, even if there is time left.
+   * @param threads The number of threads to search on, including the calling thread.
+   * @param evaluator The function used to score positions, which must be safe to call from
+   *                  several threads at once.
+   * @param table The table to share search results through.
+   * @throws IllegalArgumentException if the time limit, depth or number of threads is not
+   *                                  positive or the evaluator or table is null.
+   */
+  public LazySmp(long timeLimitMillis, int maxDepth, int threads, Evaluator evaluator,
+                 TranspositionTable table) {
+    if (timeLimitMillis < 1) { // check that the time limit is positive
+      throw new IllegalArgumentException("Time limit must be positive.");
+    }
+    if (maxDepth < 1) { // check that the depth is positive
+      throw new IllegalArgumentException("Search depth must be positive.");
+    }
+    if (threads < 1) { // check that there is at least one thread
+      throw new IllegalArgumentException("There must be at least one thread.");
+    }
+    if (evaluator == null) { // check if the evaluator is null and throw exception if it is
+      throw new IllegalArgumentException("Evaluator cannot be null.");
+    }
+    if (table == null) { // check if the table is null and throw exception if it is
+      throw new IllegalArgumentException("Transposition table cannot be null.");
+    }
+    this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+    this.maxDepth = maxDepth;
+    this.stopSignal = new AtomicBoolean(false);
+    this.searches = new NegamaxSearch[threads];
+    for (int i = 0; i < threads; i++) { // every thread gets its own search sharing the table
+      this.searches[i] = new NegamaxSearch(evaluator, table);
+      this.searches[i].setStopSignal(this.stopSignal);
+    }
+    this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, task -> {
+      Thread thread = new Thread(task, "lazy-smp-helper");
+      thread.setDaemon(true); // do not keep the program running after the game is closed
+      return thread;
+    });
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (this.closed) { // the helper threads are gone
+      throw new IllegalStateException("The strategy has been closed.");
+    }
+    long start = System.nanoTime();
+    long deadline = start + this.timeLimitNanos;
+    for (NegamaxSearch search : this.searches) {
+      search.resetNodes();
+    }
+    this.completedDepth = 0;
+
+    // search on a copy of the model, which starts on the given model's current player
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    if (copy.nextLegalMove(0) < 0) { // if there are no legal moves, pass the turn
+      this.searchNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+
+    // start the helpers, each on its own copy of the model
+    this.stopSignal.set(false);
+    List<Future<?>> running = new ArrayList<>();
+    for (int i = 1; i < this.searches.length; i++) {
+      NegamaxSearch helper = this.searches[i];
+      SearchableReversiModel helperCopy = new BitboardReversi(copy);
+      helperCopy.startGame();
+      int firstDepth = 1 + i % 2; // every other helper starts one move deeper
+      running.add(this.helpers.submit(() ->
+              helper.deepen(helperCopy, firstDepth, this.maxDepth, deadline, false)));
+    }
+
+    // the main search always finishes its first search so that there is always a move to play
+    this.completedDepth = this.searches[0].deepen(copy, 1, this.maxDepth, deadline, true);
+    int bestMove = this.searches[0].bestMove();
+
+    // stop the helpers and wait for them, so their searches are free for the next move
+    this.stopSignal.set(true);
+    for (Future<?> helper : running) {
+      waitFor(helper);
+    }
+
+    this.searchNanos = System.nanoTime() - start;
+    BoardView board = copy.getBoardView();
+    return Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
+  }
+
+  /**
+   * Shuts down the helper threads, so that a strategy that is no longer needed does not keep them
+   * waiting for work. The strategy cannot choose moves after it is closed, and closing it again
+   * does nothing.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    if (this.helpers != null) { // a strategy on one thread has no helpers to shut down
+      this.helpers.shutdown();
+    }
+  }
+
+  /**
+   * Returns the number of threads this strategy searches on, including the calling thread.
+   * @return The number of threads.
+   */
+  public int threads() {
+    return this.searches.length;
+  }
+
+  /**
+   * Returns the depth of the deepest search of the main thread that finished during the most
+   * recent call to {@link #chooseMove}, which is the depth of the search that chose the move.
+   * @return The depth, or 0 if no search has been done or there was no move to search.
+   */
+  public int completedDepth() {
+    return this.completedDepth;
+  }
+
+  /**
+   * Returns the number of positions that were visited by every thread during the most recent
+   * call to {@link #chooseMove}.
+   * @return The number of positions searched.
+   */
+  public long nodesSearched() {
+    long nodes = 0;
+    for (NegamaxSearch search : this.searches) {
+      nodes += search.nodes();
+    }
+    return nodes;
+  }
+
+  /**
+   * Returns the number of positions visited per second by every thread together during the most
+   * recent call to {@link #chooseMove}, which can be used to track the speed of the search.
+   * @return The number of positions searched per second, or 0 if no search has been done.
+   */
+  public double nodesPerSecond() {
+    if (this.searchNanos == 0) { // if there has not been a search yet
+      return 0;
+    }
+    return this.nodesSearched() * 1e9 / this.searchNanos;
+  }
+
+  // waits for the given helper search to end, rethrowing anything it threw
+  private static void waitFor(Future<?> helper) {
+    try {
+      helper.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // keep the interrupt for the caller to see
+      throw new IllegalStateException("Interrupted while waiting for a helper search.", e);
+    }
+    catch (ExecutionException e) {
+      throw new IllegalStateException("A helper search failed.", e.getCause());
+    }
+  }
+}
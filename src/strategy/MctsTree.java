@@ -0,0 +1,228 @@
+package strategy;
+
+import model.SearchableReversiModel;
+
+/**
+ * The tree of a Monte Carlo tree search, stored in arrays of primitives that are allocated once
+ * and reused for every search, so that a tree of millions of positions creates no objects and
+ * gives the garbage collector nothing to do. Each node is a position, identified by its index in
+ * the arrays, with the root at index 0. The children of a node are stored next to each other, in
+ * the order of their moves from the upper-left tile to the lower-right tile, so a node only
+ * records where its children start and how many there are.
+ * A node records the move that led to it, how many playouts went through it, and how many of
+ * them were won by the player who made that move, counting a draw as half a win.
+ * A tree must not be used by two threads at the same time.
+ */
+final class MctsTree {
+  // the move of a node reached by passing the turn
+  static final int PASS = -1;
+  // the child count of a node whose children have not been added yet
+  private static final int UNEXPANDED = -1;
+
+  private final int[] moves; // the move that led to each node, as a tile index or PASS
+  private final int[] firstChild; // the index of the first child of each node
+  private final int[] childCount; // the number of children of each node, or UNEXPANDED
+  private final int[] visits; // the number of playouts that went through each node
+  private final double[] wins; // the wins of the player who made each node's move
+  private int size; // the number of nodes in use
+
+  /**
+   * Creates a tree that can hold the given number of nodes, containing only the root.
+   * @param capacity The most nodes the tree can hold.
+   */
+  MctsTree(int capacity) {
+    this.moves = new int[capacity];
+    this.firstChild = new int[capacity];
+    this.childCount = new int[capacity];
+    this.visits = new int[capacity];
+    this.wins = new double[capacity];
+    this.reset();
+  }
+
+  /**
+   * Removes every node but the root, and clears the root, without freeing any memory.
+   */
+  void reset() {
+    this.size = 1;
+    this.moves[0] = PASS;
+    this.childCount[0] = UNEXPANDED;
+    this.visits[0] = 0;
+    this.wins[0] = 0;
+  }
+
+  /**
+   * Adds a child to the given node for every legal move of the given model, which must be in the
+   * node's position. If the current player has no moves but the game is not over, the node gets
+   * a single child that passes the turn. If the game is over, the node gets no children.
+   * @param node The node to expand, which must not have been expanded already.
+   * @param model The model in the node's position.
+   * @return True if the node was expanded, false if the tree does not have room for its
+   *     children, in which case the node is left unexpanded.
+   */
+  boolean expand(int node, SearchableReversiModel model) {
+    int count = 0;
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      count++;
+    }
+    if (count == 0 && !model.isGameOver()) { // if the player must pass, the pass is the only child
+      count = 1;
+    }
+    if (this.size + count > this.moves.length) { // if the children do not fit in the tree
+      return false;
+    }
+
+    int first = this.size;
+    if (count == 1 && model.nextLegalMove(0) < 0) { // if the only child is a pass
+      this.initializeNode(first, PASS);
+    }
+    else {
+      int child = first;
+      for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+        this.initializeNode(child, move);
+        child++;
+      }
+    }
+    this.size += count;
+    this.firstChild[node] = first;
+    this.childCount[node] = count;
+    return true;
+  }
+
+  /**
+   * Chooses which child of the given node to explore using the UCT formula, which favors the
+   * children with the highest rate of wins but also children that have been tried rarely.
+   * Children that have never been tried are chosen first, in order. Ties are broken by the
+   * earlier child.
+   * @param node The node to choose a child of, which must have children.
+   * @param exploration How strongly rarely tried children are favored.
+   * @return The index of the chosen child.
+   */
+  int selectChild(int node, double exploration) {
+    int first = this.firstChild[node];
+    int end = first + this.childCount[node];
+    double logVisits = Math.log(this.visits[node]);
+    int best = first;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int child = first; child < end; child++) {
+      int childVisits = this.visits[child];
+      if (childVisits == 0) { // if the child has never been tried, try it now
+        return child;
+      }
+      double value = this.wins[child] / childVisits
+              + exploration * Math.sqrt(logVisits / childVisits);
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the child of the given node that the most playouts went through, which is the move
+   * the search trusts the most. Ties are broken by the earlier child.
+   * @param node The node to choose a child of, which must have children.
+   * @return The index of the most visited child.
+   */
+  int mostVisitedChild(int node) {
+    int first = this.firstChild[node];
+    int end = first + this.childCount[node];
+    int best = first;
+    for (int child = first + 1; child < end; child++) {
+      if (this.visits[child] > this.visits[best]) {
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Records the result of a playout that went through the given node.
+   * @param node The node.
+   * @param reward 1 if the player who made the node's move won, 0.5 for a draw and 0 for a loss.
+   */
+  void update(int node, double reward) {
+    this.visits[node]++;
+    this.wins[node] += reward;
+  }
+
+  /**
+   * Returns true if the given node's children have been added.
+   * @param node The node.
+   * @return True if the node has been expanded.
+   */
+  boolean isExpanded(int node) {
+    return this.childCount[node] != UNEXPANDED;
+  }
+
+  /**
+   * Returns the number of children of the given node.
+   * @param node The node.
+   * @return The number of children, which is 0 if the node has not been expanded or the game is
+   *     over in its position.
+   */
+  int childCount(int node) {
+    return Math.max(this.childCount[node], 0);
+  }
+
+  /**
+   * Returns the index of the first child of the given node.
+   * @param node The node, which must have children.
+   * @return The index of the first child.
+   */
+  int firstChild(int node) {
+    return this.firstChild[node];
+  }
+
+  /**
+   * Returns the move that led to the given node.
+   * @param node The node.
+   * @return The move as a tile index, or {@link #PASS}.
+   */
+  int move(int node) {
+    return this.moves[node];
+  }
+
+  /**
+   * Returns the number of playouts that went through the given node.
+   * @param node The node.
+   * @return The number of visits.
+   */
+  int visits(int node) {
+    return this.visits[node];
+  }
+
+  /**
+   * Returns the number of playouts through the given node that were won by the player who made
+   * the node's move, counting a draw as half a win.
+   * @param node The node.
+   * @return The number of wins.
+   */
+  double wins(int node) {
+    return this.wins[node];
+  }
+
+  /**
+   * Returns the number of nodes in use.
+   * @return The size of the tree.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the most nodes the tree can hold.
+   * @return The capacity of the tree.
+   */
+  int capacity() {
+    return this.moves.length;
+  }
+
+  // clears the node at the given index and gives it the given move
+  private void initializeNode(int node, int move) {
+    this.moves[node] = move;
+    this.childCount[node] = UNEXPANDED;
+    this.visits[node] = 0;
+    this.wins[node] = 0;
+  }
+}
@@ -0,0 +1,17 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many more legal moves the current player has than
+ * the other player. Having more moves to choose from, and leaving the other player fewer, matters
+ * more than the number of disks for most of the game.
+ */
+public class Mobility implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardFeatures features = BoardFeatures.of(model);
+    return features.mobility(model.getBoardView(), features.moverState(model));
+  }
+}
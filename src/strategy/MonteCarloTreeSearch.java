@@ -0,0 +1,194 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi using Monte Carlo tree
+ * search. Instead of scoring positions, it plays many games to the end with random moves, called
+ * playouts, and grows a tree of the positions they start from. Each playout walks down the tree
+ * choosing moves with the UCT formula, which balances the moves that have won the most against
+ * the moves that have been tried the least, adds the children of the position it reaches, and
+ * then plays randomly to the end of the game. The result is counted in every position on the way.
+ * The move that the most playouts went through is played. Unlike alpha-beta search, the work
+ * does not grow with the number of moves there are, so it plays well on large boards.
+ * The search stops when either the playout budget or the time limit runs out. The tree is stored
+ * in arrays that are allocated once, and the playouts make and take back moves on a single
+ * {@link model.BitboardReversi} copy of the model, so a search creates almost no objects. Once
+ * the tree is full, it stops growing and the remaining playouts start from its leaves.
+ */
+public class MonteCarloTreeSearch implements ReversiStrategy {
+  // the number of nodes in the tree made by the constructor that does not take a capacity, which
+  // uses about 24 megabytes
+  private static final int DEFAULT_TREE_CAPACITY = 1 << 20;
+  // how strongly the UCT formula favors moves that have been tried rarely
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final long timeLimitNanos; // how long each move may take, in nanoseconds
+  private final int maxPlayouts; // the most playouts to run for each move
+  private final MctsTree tree; // the tree, which keeps its arrays between moves
+  private final Random random; // chooses the moves of the playouts
+  private int[] path; // the nodes the current playout walked through, from the root
+  private int playouts; // the number of playouts run by the last call to chooseMove
+  private long searchNanos; // the time taken by the last call to chooseMove, in nanoseconds
+
+  /**
+   * A constructor for a strategy that runs as many playouts as the given time limit allows.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @throws IllegalArgumentException if the time limit is not positive.
+   */
+  public MonteCarloTreeSearch(long timeLimitMillis) {
+    this(timeLimitMillis, Integer.MAX_VALUE, DEFAULT_TREE_CAPACITY, new Random());
+  }
+
+  /**
+   * A constructor for a strategy that runs playouts until either the time limit or the playout
+   * budget runs out, in a tree that can hold the given number of positions, choosing the moves
+   * of the playouts with the given random number generator.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param maxPlayouts The most playouts to run for each move.
+   * @param treeCapacity The most positions the tree can hold.
+   * @param random The random number generator, which can be seeded to repeat a search exactly.
+   * @throws IllegalArgumentException if the time limit or playout budget is not positive, the
+   *                                  capacity is less than 2, or the random number generator is
+   *                                  null.
+   */
+  public MonteCarloTreeSearch(long timeLimitMillis, int maxPlayouts, int treeCapacity,
+                              Random random) {
+    if (timeLimitMillis < 1) { // check that the time limit is positive
+      throw new IllegalArgumentException("Time limit must be positive.");
+    }
+    if (maxPlayouts < 1) { // check that the playout budget is positive
+      throw new IllegalArgumentException("Playout budget must be positive.");
+    }
+    if (treeCapacity < 2) { // check that the tree can hold the root and a move
+      throw new IllegalArgumentException("Tree capacity must be at least 2.");
+    }
+    if (random == null) { // check if the random number generator is null
+      throw new IllegalArgumentException("Random cannot be null.");
+    }
+    // a time limit too long to count in nanoseconds is the same as no time limit
+    this.timeLimitNanos = timeLimitMillis > Long.MAX_VALUE / 1_000_000
+            ? Long.MAX_VALUE : timeLimitMillis * 1_000_000;
+    this.maxPlayouts = maxPlayouts;
+    this.tree = new MctsTree(treeCapacity);
+    this.random = random;
+    this.path = new int[0];
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    long start = System.nanoTime();
+    this.playouts = 0;
+
+    // search on a copy of the model, which starts on the given model's current player
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    if (copy.nextLegalMove(0) < 0) { // if there are no legal moves, pass the turn
+      this.tree.reset();
+      this.searchNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+
+    this.tree.reset();
+    if (!this.tree.expand(0, copy)) { // the root must have a child for every move
+      throw new IllegalStateException("The tree is too small to hold every move.");
+    }
+    // a game lasts at most one move per tile plus one pass before each move
+    int cellCount = copy.getBoardView().cellCount();
+    if (this.path.length < 2 * cellCount + 1) {
+      this.path = new int[2 * cellCount + 1];
+    }
+
+    // there is nothing to compare if there is only one move
+    if (this.tree.childCount(0) > 1) {
+      do {
+        this.playout(copy);
+        this.playouts++;
+      }
+      while (this.playouts < this.maxPlayouts && System.nanoTime() - start < this.timeLimitNanos);
+    }
+
+    int bestMove = this.tree.move(this.tree.mostVisitedChild(0));
+    this.searchNanos = System.nanoTime() - start;
+    BoardView board = copy.getBoardView();
+    return Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
+  }
+
+  /**
+   * Returns the number of playouts run by the most recent call to {@link #chooseMove}.
+   * @return The number of playouts.
+   */
+  public int playouts() {
+    return this.playouts;
+  }
+
+  /**
+   * Returns the number of positions in the tree grown by the most recent call to
+   * {@link #chooseMove}.
+   * @return The number of positions in the tree.
+   */
+  public int treeSize() {
+    return this.tree.size();
+  }
+
+  /**
+   * Returns the number of playouts run per second by the most recent call to
+   * {@link #chooseMove}, which can be used to track the speed of the search.
+   * @return The number of playouts per second, or 0 if no search has been done.
+   */
+  public double playoutsPerSecond() {
+    if (this.searchNanos == 0) { // if there has not been a search yet
+      return 0;
+    }
+    return this.playouts * 1e9 / this.searchNanos;
+  }
+
+  // runs one playout from the root on the given model, which is in the root position, grows the
+  // tree, and counts the result in every node on the way. The model is left as it was
+  private void playout(SearchableReversiModel model) {
+    BoardView board = model.getBoardView();
+
+    // walk down the tree to a node whose children have not been added
+    int node = 0;
+    int depth = 0;
+    this.path[0] = 0;
+    while (this.tree.childCount(node) > 0) {
+      node = this.tree.selectChild(node, EXPLORATION);
+      RandomPlayout.play(model, board, this.tree.move(node));
+      this.path[++depth] = node;
+    }
+
+    // add the children of a node the second time it is reached, so that nodes that are only
+    // reached once do not fill the tree, and continue from the first child
+    if (this.tree.visits(node) > 0 && !this.tree.isExpanded(node)
+            && this.tree.expand(node, model) && this.tree.childCount(node) > 0) {
+      node = this.tree.firstChild(node);
+      RandomPlayout.play(model, board, this.tree.move(node));
+      this.path[++depth] = node;
+    }
+
+    // play random moves to the end of the game, score it for the player whose turn it is at the
+    // root, then take back every move
+    int plies = depth + RandomPlayout.playToEnd(model, this.random);
+    double rootReward = RandomPlayout.reward(model, plies);
+    for (int i = 0; i < plies; i++) {
+      model.undoMove();
+    }
+
+    // each node's move was made by the player whose turn it was at its parent
+    this.tree.update(0, rootReward);
+    for (int i = 1; i <= depth; i++) {
+      this.tree.update(this.path[i], (i - 1) % 2 == 0 ? rootReward : 1 - rootReward);
+    }
+  }
+}
@@ -0,0 +1,390 @@
+package strategy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.BoardView;
+import model.SearchableReversiModel;
+
+/**
+ * The search shared by the strategies that look ahead with minimax. It searches a
+ * {@link model.SearchableReversiModel} to a given depth using the negamax form of minimax with
+ * alpha-beta pruning, making and taking back moves on the model, and records the principal
+ * variation: the sequence of moves that both players are expected to play. A search can be given
+ * a deadline, in which case it gives up once the deadline has passed. The principal variation of
+ * one search is tried first by the next search, which is what makes iterative deepening cheap.
+ * A search object reuses its buffers between searches, so it must not be used by two threads at
+ * the same time, but several searches on different threads can share a transposition table and a
+ * stop signal that ends all of their searches at once.
+ * If the search is given a {@link strategy.TranspositionTable}, it stores the result of every
+ * position it finishes and looks positions up before searching them, which lets it skip a
+ * position it has already searched deeply enough and try the best move it found there first.
+ */
+final class NegamaxSearch {
+  // the score of a position where the current player has won, before adding the disk difference.
+  // This is larger than any evaluation, so a won game is always preferred to an unfinished one
+  static final int WIN_SCORE = 1_000_000;
+  // the move recorded in a principal variation when a player must pass
+  static final int PASS = -1;
+  // a score larger than any position can have, used as the starting bounds of the search
+  private static final int INFINITY = Integer.MAX_VALUE;
+  // how many positions are visited between checks of the clock
+  private static final int NODES_PER_CLOCK_CHECK = 1024;
+
+  private final Evaluator evaluator; // the function used to score positions
+  private final TranspositionTable table; // the results of searched positions, or null if none
+  private long nodes; // the number of positions visited since the last reset
+  private int[][] moveLists; // the legal moves of the position at each ply
+  // the best line found from each ply: pvTable[ply] holds the moves from ply to pvLength[ply]
+  private int[][] pvTable;
+  private int[] pvLength;
+  private int[] previousPv; // the principal variation of the previous search, tried first
+  private int previousPvLength;
+  private int previousScore; // the score of the root in the last search that finished
+  private boolean hasDeadline; // true if the current search must stop at the deadline
+  private long deadlineNanos; // the value of System.nanoTime at which to stop
+  private boolean aborted; // true if the current search ran out of time
+  // set by another thread to end every search that has a deadline early, or null if none
+  private AtomicBoolean stopSignal;
+  // true if the current search scored any position with the evaluator instead of playing the
+  // game to its end, meaning a deeper search could give a different result
+  private boolean hitDepthLimit;
+
+  /**
+   * Creates a search that scores positions with the given evaluator.
+   * @param evaluator The function used to score positions.
+   * @param table The table to store and look up search results in, or null to not use one.
+   */
+  NegamaxSearch(Evaluator evaluator, TranspositionTable table) {
+    this.evaluator = evaluator;
+    this.table = table;
+    this.nodes = 0;
+    this.moveLists = new int[0][];
+    this.pvTable = new int[0][];
+    this.pvLength = new int[0];
+    this.previousPv = new int[0];
+    this.previousPvLength = 0;
+  }
+
+  /**
+   * Searches the current position of the given model to the given depth. The model must be
+   * started and is left as it was. If the search finishes, the principal variation is updated
+   * and will be tried first by the next search.
+   * @param model The model to search.
+   * @param depth The number of moves to search ahead, at least 1.
+   * @param deadlineNanos The value of {@link System#nanoTime} at which to give up.
+   * @param useDeadline False to ignore the deadline and always finish the search.
+   * @return True if the search finished, false if it gave up because of the deadline.
+   */
+  boolean search(SearchableReversiModel model, int depth, long deadlineNanos,
+                 boolean useDeadline) {
+    this.prepareBuffers(model.getBoardView().cellCount(), depth);
+    this.hasDeadline = useDeadline;
+    this.deadlineNanos = deadlineNanos;
+    this.aborted = false;
+    this.hitDepthLimit = false;
+
+    int score = this.negamax(model, model.getBoardView(), 0, depth, -INFINITY, INFINITY, true);
+    if (this.aborted) { // if the search did not finish, keep the old principal variation
+      return false;
+    }
+    this.previousScore = score;
+    // remember the principal variation so the next search tries it first
+    this.previousPvLength = this.pvLength[0];
+    System.arraycopy(this.pvTable[0], 0, this.previousPv, 0, this.previousPvLength);
+    return true;
+  }
+
+  /**
+   * Searches the current position of the given model to the given first depth, then one move
+   * deeper each time, until the maximum depth is finished, the deadline passes, the stop signal
+   * is set, or a search reaches the end of the game in every line. Each search tries the
+   * principal variation of the one before it first.
+   * @param model The model to search.
+   * @param firstDepth The depth of the first search, at least 1.
+   * @param maxDepth The depth of the deepest search to try.
+   * @param deadlineNanos The value of {@link System#nanoTime} at which to give up.
+   * @param finishFirst True if the first search must finish no matter how long it takes, so that
+   *                    there is always a best move.
+   * @return The depth of the deepest search that finished, or 0 if none did.
+   */
+  int deepen(SearchableReversiModel model, int firstDepth, int maxDepth, long deadlineNanos,
+             boolean finishFirst) {
+    this.clearPrincipalVariation(); // a line found in another position would only mislead us
+    int completedDepth = 0;
+    for (int depth = firstDepth; depth <= maxDepth; depth++) {
+      boolean useDeadline = !finishFirst || depth > firstDepth;
+      if (!this.search(model, depth, deadlineNanos, useDeadline)) {
+        break; // out of time, so the result of the last search that finished stands
+      }
+      completedDepth = depth;
+      if (!this.hitDepthLimit || System.nanoTime() - deadlineNanos >= 0 || this.stopped()) {
+        break; // every line reached the end of the game, or there is no time for another search
+      }
+    }
+    return completedDepth;
+  }
+
+  /**
+   * Sets the flag that another thread can set to end this object's searches early. Only
+   * searches that are allowed to give up at a deadline are ended by the signal.
+   * @param stopSignal The shared flag, or null for none.
+   */
+  void setStopSignal(AtomicBoolean stopSignal) {
+    this.stopSignal = stopSignal;
+  }
+
+  /**
+   * Returns the best move found by the last finished search, as a tile index.
+   * @return The index of the best move, or {@link #PASS} if the player must pass.
+   */
+  int bestMove() {
+    return this.previousPvLength == 0 ? PASS : this.previousPv[0];
+  }
+
+  /**
+   * Returns the score of the position searched by the last finished search, for the player whose
+   * turn it was.
+   * @return The score of the best move.
+   */
+  int bestScore() {
+    return this.previousScore;
+  }
+
+  /**
+   * Returns the principal variation of the last finished search, as tile indices in the order
+   * they are played, with {@link #PASS} for passes.
+   * @return A copy of the principal variation.
+   */
+  int[] principalVariation() {
+    int[] pv = new int[this.previousPvLength];
+    System.arraycopy(this.previousPv, 0, pv, 0, this.previousPvLength);
+    return pv;
+  }
+
+  /**
+   * Forgets the principal variation, so that the next search tries moves in order of index.
+   */
+  void clearPrincipalVariation() {
+    this.previousPvLength = 0;
+  }
+
+  /**
+   * Returns true if the last search scored any position with the evaluator, so a deeper search
+   * could change its result. If it is false, every line was played to the end of the game.
+   * @return True if the search was limited by its depth.
+   */
+  boolean hitDepthLimit() {
+    return this.hitDepthLimit;
+  }
+
+  /**
+   * Returns the number of positions visited since the count was last reset.
+   * @return The number of positions.
+   */
+  long nodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Sets the number of positions visited back to 0.
+   */
+  void resetNodes() {
+    this.nodes = 0;
+  }
+
+  // returns the score of the current position of the model for its current player, searching
+  // the given number of moves ahead and recording the best line in the pv table. Scores at or
+  // below alpha or at or above beta are only bounds on the real score, since the moves that lead
+  // to them will not be chosen. ply is the number of moves made since the root of the search,
+  // and onPv is true if every move so far is the one the previous principal variation predicted.
+  // If the search runs out of time, the returned score is meaningless.
+  private int negamax(SearchableReversiModel model, BoardView board, int ply, int depth,
+                      int alpha, int beta, boolean onPv) {
+    this.pvLength[ply] = ply; // the line from here starts empty
+    if (this.outOfTime()) {
+      return 0;
+    }
+    if (depth == 0) { // if we've searched far enough, score the position
+      this.hitDepthLimit = true;
+      return this.evaluator.evaluate(model);
+    }
+
+    // look the position up in the table, and skip searching it if it was already searched deep
+    // enough to decide this node. The root is always searched so that it has a best move
+    long key = 0;
+    int tableMove = TranspositionTable.NO_MOVE;
+    if (this.table != null) {
+      key = model.positionHash();
+      long entry = this.table.probe(key);
+      if (entry != 0) {
+        tableMove = TranspositionTable.moveOf(entry);
+        if (ply > 0 && TranspositionTable.depthOf(entry) >= depth
+                && this.decidedByEntry(entry, alpha, beta)) {
+          return TranspositionTable.scoreOf(entry);
+        }
+      }
+    }
+    int originalAlpha = alpha;
+
+    int moveCount = this.fillMoves(model, ply);
+    boolean followPv = onPv && ply < this.previousPvLength;
+    if (moveCount == 0) { // if the current player cannot move
+      if (model.isGameOver()) { // and neither can the other player, the game is over
+        return finalScore(model);
+      }
+      // otherwise the current player must pass, which counts as one of the moves searched
+      model.applyPass();
+      int score = -this.negamax(model, board, ply + 1, depth - 1, -beta, -alpha, followPv);
+      model.undoMove();
+      this.recordPv(ply, PASS);
+      this.store(key, depth, score, originalAlpha, beta, PASS);
+      return score;
+    }
+    // try the move from the previous principal variation first and the best move from the
+    // table second
+    if (tableMove >= 0) {
+      this.moveToFront(ply, moveCount, tableMove);
+    }
+    if (followPv) {
+      this.moveToFront(ply, moveCount, this.previousPv[ply]);
+    }
+
+    int best = -INFINITY;
+    int bestMove = TranspositionTable.NO_MOVE;
+    for (int i = 0; i < moveCount; i++) { // try every legal move
+      int move = this.moveLists[ply][i];
+      model.applyMove(board.qAt(move), board.rAt(move));
+      boolean childOnPv = followPv && i == 0 && move == this.previousPv[ply];
+      int score = -this.negamax(model, board, ply + 1, depth - 1, -beta, -alpha, childOnPv);
+      model.undoMove();
+      if (this.aborted) { // if the search ran out of time, stop without using the score
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = move;
+        if (score > alpha) { // this move is the best line so far
+          alpha = score;
+          this.recordPv(ply, move);
+        }
+        if (alpha >= beta) { // the other player will never allow this position, so stop looking
+          break;
+        }
+      }
+    }
+    this.store(key, depth, best, originalAlpha, beta, bestMove);
+    return best;
+  }
+
+  // returns true if the score in the given table entry is enough to decide the score of a node
+  // searched with the given bounds: an exact score, or a bound that is outside the bounds
+  private boolean decidedByEntry(long entry, int alpha, int beta) {
+    int score = TranspositionTable.scoreOf(entry);
+    int bound = TranspositionTable.boundOf(entry);
+    boolean decided = bound == TranspositionTable.EXACT
+            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha);
+    if (decided && Math.abs(score) < WIN_SCORE) {
+      // the stored search may have stopped at its depth limit, so a deeper one could differ
+      this.hitDepthLimit = true;
+    }
+    return decided;
+  }
+
+  // stores the result of a finished node in the table, if there is one. A score at or below the
+  // original alpha is an upper bound and a score at or above beta is a lower bound, because
+  // alpha-beta stopped looking for better moves once the score left the bounds
+  private void store(long key, int depth, int score, int alpha, int beta, int move) {
+    if (this.table == null || this.aborted) {
+      return;
+    }
+    int bound = TranspositionTable.EXACT;
+    if (score <= alpha) {
+      bound = TranspositionTable.UPPER_BOUND;
+    }
+    else if (score >= beta) {
+      bound = TranspositionTable.LOWER_BOUND;
+    }
+    this.table.store(key, depth, bound, score, move);
+  }
+
+  // counts a visited position and returns true if the search has run out of time or been told
+  // to stop. The clock and the stop signal are only checked every so many positions because
+  // reading them is slow compared to a position
+  private boolean outOfTime() {
+    this.nodes++;
+    if (this.hasDeadline && this.nodes % NODES_PER_CLOCK_CHECK == 0
+            && (System.nanoTime() - this.deadlineNanos >= 0 || this.stopped())) {
+      this.aborted = true;
+    }
+    return this.aborted;
+  }
+
+  // returns true if another thread has told this search to stop
+  private boolean stopped() {
+    return this.stopSignal != null && this.stopSignal.get();
+  }
+
+  // returns the score of a finished game for the current player: a win or a loss by the
+  // difference in disks, or 0 for a tie
+  private static int finalScore(SearchableReversiModel model) {
+    int difference = model.getCurrentPlayerScore() - model.getOtherPlayerScore();
+    if (difference > 0) {
+      return WIN_SCORE + difference;
+    }
+    else if (difference < 0) {
+      return -WIN_SCORE + difference;
+    }
+    return 0;
+  }
+
+  // sets the best line from the given ply to the given move followed by the best line found
+  // after it
+  private void recordPv(int ply, int move) {
+    int[] line = this.pvTable[ply];
+    line[ply] = move;
+    int childLength = this.pvLength[ply + 1];
+    System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - ply - 1);
+    this.pvLength[ply] = Math.max(childLength, ply + 1);
+  }
+
+  // moves the given move to the front of the move list of the given ply, keeping the other moves
+  // in order of index. Does nothing if the move is not in the list
+  private void moveToFront(int ply, int moveCount, int move) {
+    int[] moves = this.moveLists[ply];
+    for (int i = 0; i < moveCount; i++) {
+      if (moves[i] == move) {
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+  // copies the legal moves of the current position into the move list of the given ply and
+  // returns how many there are, so that making and taking back moves does not disturb them
+  private int fillMoves(SearchableReversiModel model, int ply) {
+    int[] moves = this.moveLists[ply];
+    int count = 0;
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      moves[count++] = move;
+    }
+    return count;
+  }
+
+  // makes sure the move lists and pv table are big enough for a search of the given depth on a
+  // board with the given number of tiles, keeping the previous principal variation
+  private void prepareBuffers(int cellCount, int depth) {
+    if (this.moveLists.length <= depth
+            || (this.moveLists.length > 0 && this.moveLists[0].length != cellCount)) {
+      this.moveLists = new int[depth + 1][cellCount];
+    }
+    if (this.pvTable.length <= depth + 1) {
+      this.pvTable = new int[depth + 2][depth + 2];
+      this.pvLength = new int[depth + 2];
+      int[] previous = new int[depth + 2];
+      System.arraycopy(this.previousPv, 0, previous, 0, this.previousPvLength);
+      this.previousPv = previous;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package strategy;
+
+import java.awt.Point;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import model.HexBoardGeometry;
+import model.HexSymmetry;
+import model.ReadOnlyReversiModel;
+
+/**
+ * A book of the best moves of positions near the start of the game, read from a file that was
+ * made ahead of time by {@link strategy.OpeningBookBuilder}. Every game starts from the same
+ * position, so the moves of the first few turns can be searched deeply once and then looked up
+ * instead of searched again in every game.
+ * The file is mapped into memory with {@link FileChannel#map}, so opening a book does not read
+ * it, looking a position up reads only the records the lookup touches, straight from the file,
+ * and every program on the same computer that opens the same book shares one copy of it in
+ * memory. A book is never changed after it is opened, so it can be used by any number of threads
+ * at once.
+ * The file starts with a header of four ints: {@link #MAGIC}, the format version, the side
+ * length of the board, and the number of records. The records follow, sorted by key, each made
+ * of a long key, the int index of the best move's tile, and the int score of the move. The key of
+ * a position is its {@link HexSymmetry#canonicalKey}, which is from the point of view of the
+ * player to move, so a position has the same key no matter which color moves first, and is the
+ * same for every rotation and reflection of the position, so the book holds each position once
+ * instead of up to 12 times. The move is stored for the canonical version of the position and
+ * moved back onto the board of the position looked up. The score is for the player to move.
+ * Numbers are stored big-endian.
+ */
+public final class OpeningBook {
+  /**
+   * The first int of every book file.
+   */
+  public static final int MAGIC = 0x48524F42;
+  // the version of the file format written by this class
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 16; // the size of the header
+  private static final int RECORD_BYTES = 16; // the size of each record
+
+  private final ByteBuffer records; // the mapped file, which is only read at absolute positions
+  private final int sideLength; // the side length of the board the book is for
+  private final HexBoardGeometry geometry; // the shape of the board the book is for
+  private final HexSymmetry symmetry; // the symmetries of the board the book is for
+  private final int size; // the number of records
+
+  /**
+   * Opens the book in the given file, mapping it into memory.
+   * @param file The file of the book.
+   * @throws IOException if the file cannot be read or is not a valid book.
+   * @throws IllegalArgumentException if the file is null.
+   */
+  public OpeningBook(Path file) throws IOException {
+    if (file == null) { // check if the file is null and throw exception if it is
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    MappedByteBuffer mapped;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      // the mapping stays valid after the channel is closed
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+    }
+
+    if (mapped.getInt(0) != MAGIC) { // check the header
+      throw new IOException("Not an opening book: " + file);
+    }
+    if (mapped.getInt(4) != VERSION) {
+      throw new IOException("Unsupported opening book version " + mapped.getInt(4));
+    }
+    this.sideLength = mapped.getInt(8);
+    this.size = mapped.getInt(12);
+    if (this.sideLength < 3 || this.size < 0
+            || mapped.capacity() != HEADER_BYTES + (long) this.size * RECORD_BYTES) {
+      throw new IOException("Corrupt opening book: " + file);
+    }
+    this.geometry = HexBoardGeometry.forSideLength(this.sideLength);
+    this.symmetry = HexSymmetry.forSideLength(this.sideLength);
+    this.records = mapped;
+  }
+
+  /**
+   * Returns the side length of the board that this book is for.
+   * @return The side length, in tiles.
+   */
+  public int sideLength() {
+    return this.sideLength;
+  }
+
+  /**
+   * Returns the number of positions in this book.
+   * @return The number of positions.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the best move of the given position, if the position is in the book.
+   * @param model The position to look up, which must be started.
+   * @return The best move, or an empty optional if the position is not in the book or the board
+   *     is a different size than the book's.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  public Optional<Point> move(ReadOnlyReversiModel model) {
+    if (!this.covers(model)) { // a book is for one board size
+      return Optional.empty();
+    }
+    int transform = this.symmetry.canonicalTransform(model);
+    int record = this.find(this.symmetry.key(model, transform));
+    if (record < 0) { // if the position is not in the book
+      return Optional.empty();
+    }
+    // move the canonical version's move back onto the model's board
+    int move = this.symmetry.transform(HexSymmetry.inverse(transform),
+            this.records.getInt(HEADER_BYTES + record * RECORD_BYTES + 8));
+    return Optional.of(new Point(this.geometry.qOf(move), this.geometry.rOf(move)));
+  }
+
+  /**
+   * Returns the score of the best move of the given position for the player to move, if the
+   * position is in the book.
+   * @param model The position to look up, which must be started.
+   * @return The score, or an empty optional if the position is not in the book or the board is a
+   *     different size than the book's.
+   * @throws IllegalArgumentException if the model is null.
+   */
+  public OptionalInt score(ReadOnlyReversiModel model) {
+    if (!this.covers(model)) { // a book is for one board size
+      return OptionalInt.empty();
+    }
+    int record = this.find(this.symmetry.canonicalKey(model));
+    if (record < 0) { // if the position is not in the book
+      return OptionalInt.empty();
+    }
+    return OptionalInt.of(this.records.getInt(HEADER_BYTES + record * RECORD_BYTES + 12));
+  }
+
+  /**
+   * Returns the key of the given position in a book: its canonical key, which is the same for
+   * every model, either color moving first, and every rotation and reflection of the position.
+   * @param model The position, which must be started.
+   * @return The key.
+   */
+  static long keyOf(ReadOnlyReversiModel model) {
+    return HexSymmetry.forSideLength(model.getBoardView().sideLength()).canonicalKey(model);
+  }
+
+  /**
+   * Writes a book file with the given records, which must be sorted by key without duplicates.
+   * @param file The file to write, which is replaced if it exists.
+   * @param sideLength The side length of the board the book is for.
+   * @param keys The key of each record.
+   * @param moves The tile index of the best move of each record, in the canonical version of its
+   *              position.
+   * @param scores The score of the best move of each record.
+   * @param count The number of records.
+   * @throws IOException if the file cannot be written.
+   */
+  static void write(Path file, int sideLength, long[] keys, int[] moves, int[] scores, int count)
+          throws IOException {
+    try (OutputStream stream = Files.newOutputStream(file);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(sideLength);
+      out.writeInt(count);
+      for (int i = 0; i < count; i++) {
+        out.writeLong(keys[i]);
+        out.writeInt(moves[i]);
+        out.writeInt(scores[i]);
+      }
+    }
+  }
+
+  // returns true if the given model's board is the size of this book's board
+  private boolean covers(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    return model.getBoardView().sideLength() == this.sideLength;
+  }
+
+  // returns the record with the given key found by binary search, or -1 if it is not there
+  private int find(long key) {
+    int low = 0;
+    int high = this.size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long middleKey = this.records.getLong(HEADER_BYTES + middle * RECORD_BYTES);
+      if (middleKey < key) {
+        low = middle + 1;
+      }
+      else if (middleKey > key) {
+        high = middle - 1;
+      }
+      else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+}
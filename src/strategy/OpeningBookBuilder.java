@@ -0,0 +1,181 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.HexSymmetry;
+import model.SearchableReversiModel;
+
+/**
+ * Makes the file of an {@link strategy.OpeningBook} by searching the positions near the start of
+ * the game ahead of time. Starting from the first position of the game, it visits every position
+ * that can be reached in the given number of moves, whatever either player plays, searches each
+ * one to the given depth with the same alpha-beta search as {@link strategy.AlphaBetaMinimax},
+ * and records the best move and its score. A position reached by more than one order of moves, or
+ * that is a rotation or reflection of a position already searched, is only searched once. The
+ * searches share a transposition table, so each one reuses the work of the searches of the
+ * positions around it.
+ * Building a deep book takes a long time, which is why it is done once, offline, with
+ * {@link #main}, rather than while a game is played.
+ */
+public final class OpeningBookBuilder {
+  // the number of entries in the transposition table, which uses 64 megabytes
+  private static final int TABLE_CAPACITY = 1 << 22;
+
+  private final int sideLength; // the side length of the board
+  private final int bookPlies; // the number of moves from the start that the book covers
+  private final int searchDepth; // how deep each position is searched
+  private final HexSymmetry symmetry; // the symmetries of the board
+  private final NegamaxSearch search; // the search, which keeps its table between positions
+  private final Set<Long> visited; // the keys of the positions already searched
+  private long[] keys; // the key of each record found so far
+  private int[] moves; // the best move of each record
+  private int[] scores; // the score of each record
+  private int count; // the number of records found so far
+
+  /**
+   * Creates a builder for a book that covers the given number of moves from the start of a game
+   * on a board with the given side length, searching each position to the given depth.
+   * @param sideLength The side length of the board, in tiles.
+   * @param bookPlies The number of moves and passes from the start of the game that the book
+   *                  covers. Positions after that many moves are not in the book.
+   * @param searchDepth The number of moves to search ahead in each position.
+   * @param evaluator The function used to score positions.
+   * @throws IllegalArgumentException if the side length is less than 3, the number of moves is
+   *                                  negative, the depth is not positive, or the evaluator is
+   *                                  null.
+   */
+  public OpeningBookBuilder(int sideLength, int bookPlies, int searchDepth, Evaluator evaluator) {
+    if (sideLength < 3) { // check that the board is big enough to play on
+      throw new IllegalArgumentException("The board side length must be at least 3.");
+    }
+    if (bookPlies < 0) { // check that the number of moves is not negative
+      throw new IllegalArgumentException("Book plies cannot be negative.");
+    }
+    if (searchDepth < 1) { // check that the depth is positive
+      throw new IllegalArgumentException("Search depth must be positive.");
+    }
+    if (evaluator == null) { // check if the evaluator is null and throw exception if it is
+      throw new IllegalArgumentException("Evaluator cannot be null.");
+    }
+    this.sideLength = sideLength;
+    this.bookPlies = bookPlies;
+    this.searchDepth = searchDepth;
+    this.symmetry = HexSymmetry.forSideLength(sideLength);
+    this.search = new NegamaxSearch(evaluator, new TranspositionTable(TABLE_CAPACITY));
+    this.visited = new HashSet<>();
+  }
+
+  /**
+   * Searches every position the book covers and writes the book to the given file.
+   * @param file The file to write, which is replaced if it exists.
+   * @return The number of positions in the book.
+   * @throws IOException if the file cannot be written.
+   * @throws IllegalArgumentException if the file is null.
+   */
+  public int build(Path file) throws IOException {
+    if (file == null) { // check if the file is null and throw exception if it is
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    this.visited.clear();
+    this.keys = new long[1024];
+    this.moves = new int[1024];
+    this.scores = new int[1024];
+    this.count = 0;
+
+    SearchableReversiModel model = new BitboardReversi(this.sideLength);
+    model.startGame();
+    this.visit(model, 0);
+
+    // sort the records by key, which the book looks them up by
+    Integer[] order = new Integer[this.count];
+    for (int i = 0; i < this.count; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (first, second) -> Long.compare(this.keys[first], this.keys[second]));
+    long[] sortedKeys = new long[this.count];
+    int[] sortedMoves = new int[this.count];
+    int[] sortedScores = new int[this.count];
+    for (int i = 0; i < this.count; i++) {
+      sortedKeys[i] = this.keys[order[i]];
+      sortedMoves[i] = this.moves[order[i]];
+      sortedScores[i] = this.scores[order[i]];
+    }
+    OpeningBook.write(file, this.sideLength, sortedKeys, sortedMoves, sortedScores, this.count);
+    return this.count;
+  }
+
+  /**
+   * Builds a book from the command line. The arguments are the file to write, the side length of
+   * the board, the number of moves the book covers, and the depth to search each position to,
+   * for example "book.bin 6 4 10". Positions are scored by the difference in the number of disks.
+   * @param args The command line arguments.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 4) { // check that every argument was given
+      throw new IllegalArgumentException(
+              "Usage: OpeningBookBuilder <file> <side length> <book plies> <search depth>");
+    }
+    OpeningBookBuilder builder = new OpeningBookBuilder(Integer.parseInt(args[1]),
+            Integer.parseInt(args[2]), Integer.parseInt(args[3]), new DiskDifference());
+    long start = System.nanoTime();
+    int positions = builder.build(Paths.get(args[0]));
+    System.out.println("Wrote " + positions + " positions to " + args[0] + " in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+  }
+
+  // searches the current position of the model, which is the given number of moves from the
+  // start, and every position after it that the book covers. The model is left as it was
+  private void visit(SearchableReversiModel model, int ply) {
+    if (ply >= this.bookPlies || model.isGameOver()) { // past the book or the end of the game
+      return;
+    }
+    if (model.nextLegalMove(0) < 0) { // a player who must pass has no move to record
+      model.applyPass();
+      this.visit(model, ply + 1);
+      model.undoMove();
+      return;
+    }
+    int transform = this.symmetry.canonicalTransform(model);
+    long key = this.symmetry.key(model, transform);
+    if (!this.visited.add(key)) { // already searched by another order or as a symmetric position
+      return;
+    }
+
+    // search this position with a copy, so the search starts on the player to move
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    this.search.clearPrincipalVariation();
+    this.search.search(copy, this.searchDepth, 0, false);
+    // the book stores the move of the canonical version of the position
+    this.record(key, this.symmetry.transform(transform, this.search.bestMove()),
+            this.search.bestScore());
+
+    BoardView board = model.getBoardView();
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      model.applyMove(board.qAt(move), board.rAt(move));
+      this.visit(model, ply + 1);
+      model.undoMove();
+    }
+  }
+
+  // adds a record, growing the arrays if they are full
+  private void record(long key, int move, int score) {
+    if (this.count == this.keys.length) {
+      this.keys = Arrays.copyOf(this.keys, this.count * 2);
+      this.moves = Arrays.copyOf(this.moves, this.count * 2);
+      this.scores = Arrays.copyOf(this.scores, this.count * 2);
+    }
+    this.keys[this.count] = key;
+    this.moves[this.count] = move;
+    this.scores[this.count] = score;
+    this.count++;
+  }
+}
@@ -0,0 +1,44 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi that plays the move of
+ * an {@link strategy.OpeningBook} while the game is still in the book, and asks another strategy
+ * for every move after that. Looking a move up takes a few microseconds, so the moves at the
+ * start of the game are played instantly and with the strength of a deep offline search.
+ */
+public class OpeningBookStrategy implements ReversiStrategy {
+  private final OpeningBook book; // the book to play from
+  private final ReversiStrategy fallback; // the strategy for positions not in the book
+
+  /**
+   * A constructor for a strategy that plays from the given book and uses the given strategy once
+   * the game leaves the book.
+   * @param book The book to play from.
+   * @param fallback The strategy used for positions that are not in the book.
+   * @throws IllegalArgumentException if the book or the fallback is null.
+   */
+  public OpeningBookStrategy(OpeningBook book, ReversiStrategy fallback) {
+    if (book == null) { // check if the book is null and throw exception if it is
+      throw new IllegalArgumentException("Book cannot be null.");
+    }
+    if (fallback == null) { // check if the fallback is null and throw exception if it is
+      throw new IllegalArgumentException("Fallback strategy cannot be null.");
+    }
+    this.book = book;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    Optional<Point> move = this.book.move(model);
+    return move.isPresent() ? move : this.fallback.chooseMove(model);
+  }
+}
@@ -0,0 +1,284 @@
+package strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A strategy for determining the next move to play in a game of Reversi using Monte Carlo tree
+ * search on several threads at once. It runs the same search as
+ * {@link strategy.MonteCarloTreeSearch}, but every thread runs playouts into one shared
+ * {@link strategy.ConcurrentMctsTree}, each on its own copy of the model. The tree is updated
+ * with atomic operations instead of locks, and each thread counts its visits on the way down as a
+ * virtual loss, so the threads spread out over different moves instead of all exploring the same
+ * one. Because the threads share one tree, the playouts of every thread improve the choices of
+ * the others, and the number of playouts per second grows with the number of threads.
+ * The search stops when either the playout budget or the time limit runs out. The thread that
+ * calls {@link #chooseMove} runs playouts too, and the other threads are daemon threads that are
+ * created once and reused for every move, until the strategy is closed. The order the threads
+ * finish their playouts in changes from run to run, so unlike the single-threaded search, a
+ * seeded search is not exactly repeatable.
+ */
+public class ParallelMonteCarloTreeSearch implements ReversiStrategy, AutoCloseable {
+  // the number of nodes in the tree made by the constructor that does not take a capacity, which
+  // uses about 24 megabytes
+  private static final int DEFAULT_TREE_CAPACITY = 1 << 20;
+  // how strongly the UCT formula favors moves that have been tried rarely
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final long timeLimitNanos; // how long each move may take, in nanoseconds
+  private final int maxPlayouts; // the most playouts to run for each move
+  private final ConcurrentMctsTree tree; // the shared tree, which keeps its arrays between moves
+  private final Random[] randoms; // the random number generator of each thread
+  private final int[][] paths; // the nodes the current playout of each thread walked through
+  private final ExecutorService helpers; // the helper threads, or null if there are none
+  private final AtomicInteger startedPlayouts; // the playouts started so far this move
+  private final AtomicInteger finishedPlayouts; // the playouts finished so far this move
+  private boolean closed; // true once the helper threads have been shut down
+  private long searchNanos; // the time taken by the last call to chooseMove, in nanoseconds
+
+  /**
+   * A constructor for a strategy that runs as many playouts as the given time limit allows on
+   * the given number of threads.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param threads The number of threads to run playouts on, including the calling thread.
+   * @throws IllegalArgumentException if the time limit or number of threads is not positive.
+   */
+  public ParallelMonteCarloTreeSearch(long timeLimitMillis, int threads) {
+    this(timeLimitMillis, Integer.MAX_VALUE, threads, DEFAULT_TREE_CAPACITY, new Random());
+  }
+
+  /**
+   * A constructor for a strategy that runs playouts on the given number of threads until either
+   * the time limit or the playout budget runs out, in a tree that can hold the given number of
+   * positions.
+   * @param timeLimitMillis The most time to spend choosing each move, in milliseconds.
+   * @param maxPlayouts The most playouts to run for each move, over every thread.
+   * @param threads The number of threads to run playouts on, including the calling thread.
+   * @param treeCapacity The most positions the tree can hold.
+   * @param random The random number generator that seeds the generator of each thread.
+   * @throws IllegalArgumentException if the time limit, playout budget or number of threads is
+   *                                  not positive, the capacity is less than 2, or the random
+   *                                  number generator is null.
+   */
+  public ParallelMonteCarloTreeSearch(long timeLimitMillis, int maxPlayouts, int threads,
+                                      int treeCapacity, Random random) {
+    if (timeLimitMillis < 1) { // check that the time limit is positive
+      throw new IllegalArgumentException("Time limit must be positive.");
+    }
+    if (maxPlayouts < 1) { // check that the playout budget is positive
+      throw new IllegalArgumentException("Playout budget must be positive.");
+    }
+    if (threads < 1) { // check that there is at least one thread
+      throw new IllegalArgumentException("There must be at least one thread.");
+    }
+    if (treeCapacity < 2) { // check that the tree can hold the root and a move
+      throw new IllegalArgumentException("Tree capacity must be at least 2.");
+    }
+    if (random == null) { // check if the random number generator is null
+      throw new IllegalArgumentException("Random cannot be null.");
+    }
+    // a time limit too long to count in nanoseconds is the same as no time limit
+    this.timeLimitNanos = timeLimitMillis > Long.MAX_VALUE / 1_000_000
+            ? Long.MAX_VALUE : timeLimitMillis * 1_000_000;
+    this.maxPlayouts = maxPlayouts;
+    this.tree = new ConcurrentMctsTree(treeCapacity);
+    this.randoms = new Random[threads];
+    for (int i = 0; i < threads; i++) { // every thread gets its own generator
+      this.randoms[i] = new Random(random.nextLong());
+    }
+    this.paths = new int[threads][0];
+    this.startedPlayouts = new AtomicInteger();
+    this.finishedPlayouts = new AtomicInteger();
+    this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, task -> {
+      Thread thread = new Thread(task, "mcts-helper");
+      thread.setDaemon(true); // do not keep the program running after the game is closed
+      return thread;
+    });
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadOnlyReversiModel model) {
+    if (model == null) { // check if the given model is null and throw exception if it is.
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (this.closed) { // the helper threads are gone
+      throw new IllegalStateException("The strategy has been closed.");
+    }
+    long start = System.nanoTime();
+    this.startedPlayouts.set(0);
+    this.finishedPlayouts.set(0);
+
+    // search on a copy of the model, which starts on the given model's current player
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    this.tree.reset();
+    if (copy.nextLegalMove(0) < 0) { // if there are no legal moves, pass the turn
+      this.searchNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+    if (!this.tree.expand(0, copy)) { // the root must have a child for every move
+      throw new IllegalStateException("The tree is too small to hold every move.");
+    }
+    // a game lasts at most one move per tile plus one pass before each move
+    int cellCount = copy.getBoardView().cellCount();
+    for (int i = 0; i < this.paths.length; i++) {
+      if (this.paths[i].length < 2 * cellCount + 1) {
+        this.paths[i] = new int[2 * cellCount + 1];
+      }
+    }
+
+    // there is nothing to compare if there is only one move
+    if (this.tree.childCount(0) > 1) {
+      // start the helpers, each on its own copy of the model
+      List<Future<?>> running = new ArrayList<>();
+      for (int i = 1; i < this.paths.length; i++) {
+        int worker = i;
+        SearchableReversiModel workerCopy = new BitboardReversi(copy);
+        workerCopy.startGame();
+        running.add(this.helpers.submit(() -> this.runPlayouts(workerCopy, worker, start)));
+      }
+      this.runPlayouts(copy, 0, start);
+      for (Future<?> helper : running) {
+        waitFor(helper);
+      }
+    }
+
+    int bestMove = this.tree.move(this.tree.mostVisitedChild(0));
+    this.searchNanos = System.nanoTime() - start;
+    BoardView board = copy.getBoardView();
+    return Optional.of(new Point(board.qAt(bestMove), board.rAt(bestMove)));
+  }
+
+  /**
+   * Shuts down the helper threads, so that a strategy that is no longer needed does not keep them
+   * waiting for work. The strategy cannot choose moves after it is closed, and closing it again
+   * does nothing.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    if (this.helpers != null) { // a strategy on one thread has no helpers to shut down
+      this.helpers.shutdown();
+    }
+  }
+
+  /**
+   * Returns the number of threads this strategy runs playouts on, including the calling thread.
+   * @return The number of threads.
+   */
+  public int threads() {
+    return this.paths.length;
+  }
+
+  /**
+   * Returns the number of playouts run by every thread during the most recent call to
+   * {@link #chooseMove}.
+   * @return The number of playouts.
+   */
+  public int playouts() {
+    return this.finishedPlayouts.get();
+  }
+
+  /**
+   * Returns the number of positions in the tree grown by the most recent call to
+   * {@link #chooseMove}.
+   * @return The number of positions in the tree.
+   */
+  public int treeSize() {
+    return this.tree.size();
+  }
+
+  /**
+   * Returns the number of playouts run per second by every thread together during the most
+   * recent call to {@link #chooseMove}, which can be used to track the speed of the search.
+   * @return The number of playouts per second, or 0 if no search has been done.
+   */
+  public double playoutsPerSecond() {
+    if (this.searchNanos == 0) { // if there has not been a search yet
+      return 0;
+    }
+    return this.playouts() * 1e9 / this.searchNanos;
+  }
+
+  // runs playouts on the given model as the given thread until the playout budget or the time
+  // runs out. The time is checked after each playout, so the search always has a result
+  private void runPlayouts(SearchableReversiModel model, int worker, long start) {
+    while (this.startedPlayouts.getAndIncrement() < this.maxPlayouts) {
+      this.playout(model, worker);
+      this.finishedPlayouts.incrementAndGet();
+      if (System.nanoTime() - start >= this.timeLimitNanos) {
+        return;
+      }
+    }
+  }
+
+  // runs one playout from the root on the given model as the given thread, grows the tree, and
+  // counts the result in every node on the way. The model is left as it was
+  private void playout(SearchableReversiModel model, int worker) {
+    BoardView board = model.getBoardView();
+    int[] path = this.paths[worker];
+
+    // walk down the tree to a node whose children have not been added, counting each visit as a
+    // loss until the result is known
+    int node = 0;
+    int depth = 0;
+    path[0] = 0;
+    this.tree.addVisit(0);
+    while (this.tree.childCount(node) > 0) {
+      node = this.tree.selectChild(node, EXPLORATION);
+      RandomPlayout.play(model, board, this.tree.move(node));
+      path[++depth] = node;
+    }
+
+    // add the children of a node the second time it is reached, and continue from the first
+    // child. The visit of this playout has already been counted, so it is reached the second time
+    // once it has two visits
+    if (this.tree.visits(node) > 1 && !this.tree.isExpanded(node)
+            && this.tree.expand(node, model) && this.tree.childCount(node) > 0) {
+      node = this.tree.selectChild(node, EXPLORATION);
+      RandomPlayout.play(model, board, this.tree.move(node));
+      path[++depth] = node;
+    }
+
+    // play random moves to the end of the game, score it for the player whose turn it is at the
+    // root, then take back every move
+    int plies = depth + RandomPlayout.playToEnd(model, this.randoms[worker]);
+    double rootReward = RandomPlayout.reward(model, plies);
+    for (int i = 0; i < plies; i++) {
+      model.undoMove();
+    }
+
+    // each node's move was made by the player whose turn it was at its parent
+    this.tree.addReward(0, rootReward);
+    for (int i = 1; i <= depth; i++) {
+      this.tree.addReward(path[i], (i - 1) % 2 == 0 ? rootReward : 1 - rootReward);
+    }
+  }
+
+  // waits for the given helper to end, rethrowing anything it threw
+  private static void waitFor(Future<?> helper) {
+    try {
+      helper.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // keep the interrupt for the caller to see
+      throw new IllegalStateException("Interrupted while waiting for a helper thread.", e);
+    }
+    catch (ExecutionException e) {
+      throw new IllegalStateException("A helper thread failed.", e.getCause());
+    }
+  }
+}
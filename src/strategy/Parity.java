@@ -0,0 +1,19 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by who gets the last move if neither player passes: 1 if
+ * the number of empty tiles is odd, so the current player moves last, and -1 if it is even. The
+ * last move of the game flips disks that can never be flipped back. The number of empty tiles is
+ * found from the disk counts that the model keeps up to date, without reading the board.
+ */
+public class Parity implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    int empty = model.getBoardView().cellCount() - model.getCurrentPlayerScore()
+            - model.getOtherPlayerScore();
+    return empty % 2 == 1 ? 1 : -1;
+  }
+}
@@ -0,0 +1,171 @@
+package strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import model.BoardView;
+import model.ReadOnlyReversiModel;
+import model.tile.CellState;
+
+/**
+ * An evaluator that scores a position by looking up a weight for the contents of every straight
+ * line of tiles on the board, along all three axes, and adding them up. Each line is read as a
+ * base-3 number, as described by {@link strategy.PatternLines}, which is the index of its weight
+ * in a flat table of shorts, so scoring a position reads each tile three times and does one table
+ * lookup per line, without any branches on the pattern and without creating objects. Lines that
+ * are rotations of each other share a table, so a position has the same score after any rotation
+ * of the board.
+ * The weights are learned from games by {@link strategy.PatternTrainer}, and are in units of
+ * 1/{@link #SCALE} of a disk of the final disk difference, so a score of {@link #SCALE} means the
+ * player to move is expected to win by one disk. They can be saved to a file and loaded again.
+ * Patterns are supported for side lengths from 3 to 7, because the tables of longer lines would
+ * not fit in memory.
+ */
+public class PatternEvaluator implements Evaluator {
+  /**
+   * The number of units of a score that make up one disk.
+   */
+  public static final int SCALE = 16;
+  /**
+   * The first int of every file of weights.
+   */
+  public static final int MAGIC = 0x48525057;
+
+  private final int sideLength; // the side length of the board the weights are for
+  private final PatternLines lines; // the lines read on the board
+  private final short[] weights; // the weight of every pattern of every line, in one table
+
+  /**
+   * Creates an evaluator for the given board size whose weights are all 0, which scores every
+   * position as even.
+   * @param sideLength The side length of the board, from 3 to 7.
+   * @throws IllegalArgumentException if the side length is not supported.
+   */
+  public PatternEvaluator(int sideLength) {
+    this(sideLength, new short[PatternLines.forSideLength(sideLength).weightCount()]);
+  }
+
+  /**
+   * Creates an evaluator for the given board size with the given weights.
+   * @param sideLength The side length of the board, from 3 to 7.
+   * @param weights The weights of every pattern, laid out as by {@link strategy.PatternLines},
+   *                which are copied.
+   * @throws IllegalArgumentException if the side length is not supported, the weights are null,
+   *                                  or there are not the right number of weights for the board.
+   */
+  public PatternEvaluator(int sideLength, short[] weights) {
+    this.lines = PatternLines.forSideLength(sideLength);
+    if (weights == null) { // check if the weights are null and throw exception if they are
+      throw new IllegalArgumentException("Weights cannot be null.");
+    }
+    if (weights.length != this.lines.weightCount()) { // check the size of the table
+      throw new IllegalArgumentException("A board with side length " + sideLength + " needs "
+              + this.lines.weightCount() + " weights.");
+    }
+    this.sideLength = sideLength;
+    this.weights = Arrays.copyOf(weights, weights.length);
+  }
+
+  /**
+   * Loads an evaluator from a file written by {@link #save}.
+   * @param file The file to read.
+   * @return The evaluator with the weights in the file.
+   * @throws IOException if the file cannot be read or is not a file of weights.
+   * @throws IllegalArgumentException if the file is null.
+   */
+  public static PatternEvaluator load(Path file) throws IOException {
+    if (file == null) { // check if the file is null and throw exception if it is
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    try (InputStream stream = Files.newInputStream(file);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+      if (in.readInt() != MAGIC) { // check the header
+        throw new IOException("Not a file of pattern weights: " + file);
+      }
+      int sideLength = in.readInt();
+      int count = in.readInt();
+      if (sideLength < 3 || 2 * sideLength - 1 > PatternLines.MAX_LINE_LENGTH
+              || count != PatternLines.forSideLength(sideLength).weightCount()) {
+        throw new IOException("Corrupt file of pattern weights: " + file);
+      }
+      short[] weights = new short[count];
+      for (int i = 0; i < count; i++) {
+        weights[i] = in.readShort();
+      }
+      if (in.read() != -1) { // there must be nothing after the weights
+        throw new IOException("Corrupt file of pattern weights: " + file);
+      }
+      return new PatternEvaluator(sideLength, weights);
+    }
+    catch (EOFException e) {
+      throw new IOException("Truncated file of pattern weights: " + file, e);
+    }
+  }
+
+  /**
+   * Saves the weights of this evaluator to the given file: {@link #MAGIC}, the side length and
+   * the number of weights as ints, then every weight as a short, big-endian.
+   * @param file The file to write, which is replaced if it exists.
+   * @throws IOException if the file cannot be written.
+   * @throws IllegalArgumentException if the file is null.
+   */
+  public void save(Path file) throws IOException {
+    if (file == null) { // check if the file is null and throw exception if it is
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    try (OutputStream stream = Files.newOutputStream(file);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+      out.writeInt(MAGIC);
+      out.writeInt(this.sideLength);
+      out.writeInt(this.weights.length);
+      for (short weight : this.weights) {
+        out.writeShort(weight);
+      }
+    }
+  }
+
+  /**
+   * Scores the current position of the given model for its current player.
+   * @param model The started model to score, whose board must be the size of this evaluator's.
+   * @return The sum of the weights of every line, in units of 1/{@link #SCALE} of a disk.
+   * @throws IllegalArgumentException if the board is a different size than this evaluator's.
+   */
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardView board = model.getBoardView();
+    if (board.sideLength() != this.sideLength) { // the tables only fit one board size
+      throw new IllegalArgumentException("The board is a different size than the patterns.");
+    }
+    CellState mover = board.stateOf(model.currentPlayerColor());
+    int score = 0;
+    for (int line = 0; line < this.lines.lineCount(); line++) {
+      score += this.weights[this.lines.weightIndex(board, mover, line)];
+    }
+    return score;
+  }
+
+  /**
+   * Returns the side length of the board this evaluator is for.
+   * @return The side length, in tiles.
+   */
+  public int sideLength() {
+    return this.sideLength;
+  }
+
+  /**
+   * Returns the weights of this evaluator.
+   * @return A copy of the weights of every pattern.
+   */
+  public short[] weights() {
+    return Arrays.copyOf(this.weights, this.weights.length);
+  }
+}
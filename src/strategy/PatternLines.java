@@ -0,0 +1,128 @@
+package strategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.BoardView;
+import model.HexBoardGeometry;
+import model.HexSymmetry;
+import model.tile.CellState;
+
+/**
+ * The lines of tiles read by a {@link strategy.PatternEvaluator} on a hexagonal board with a given
+ * side length, and where the weights of each line are stored in its flat table.
+ * Every straight line of tiles across the board, along each of its three axes, is a pattern. The
+ * contents of a line are read as a base-3 number, with a digit for each tile in order: 0 for an
+ * empty tile, 1 for a disk of the player to move and 2 for a disk of the other player, the first
+ * tile being the lowest digit. The number is the index of the line's weight in its table.
+ * The lines are grouped by their distance from the center of the board. The six lines at each
+ * distance, two along each axis, are the same line turned by each of the six rotations of the
+ * board, and they are read in the order the rotation gives them, so they share one table and a
+ * position is scored the same after any rotation. The three lines through the center are each
+ * read in both directions, once for each rotation. The tables of every distance are stored one
+ * after another in a single array.
+ * Lines are immutable and are created once per side length.
+ */
+final class PatternLines {
+  /**
+   * The longest line that can be read, which limits the side length to 7. A line this long has a
+   * table of 3 to this power, 1594323 weights.
+   */
+  static final int MAX_LINE_LENGTH = 13;
+  // the number of rotations of the board, which is the number of lines at each distance
+  private static final int ROTATIONS = 6;
+
+  // the lines for every side length that has been requested so far
+  private static final Map<Integer, PatternLines> LINES = new ConcurrentHashMap<>();
+
+  private final int[][] cells; // the indices of the tiles of each line, in the order read
+  private final int[] tableStart; // the index of the first weight of each line's table
+  private final int weightCount; // the total number of weights in every table
+
+  // creates the lines of a board with the given side length
+  private PatternLines(int sideLength) {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(sideLength);
+    HexSymmetry symmetry = HexSymmetry.forSideLength(sideLength);
+    int n = sideLength - 1;
+    this.cells = new int[ROTATIONS * sideLength][];
+    this.tableStart = new int[ROTATIONS * sideLength];
+    int start = 0;
+    for (int distance = 0; distance <= n; distance++) {
+      // the row at this distance above the center, from left to right
+      int length = 2 * n + 1 - distance;
+      int[] row = new int[length];
+      for (int i = 0; i < length; i++) {
+        row[i] = geometry.indexOf(-n + distance + i, -distance);
+      }
+      for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+        int line = distance * ROTATIONS + rotation;
+        this.cells[line] = new int[length];
+        for (int i = 0; i < length; i++) {
+          this.cells[line][i] = symmetry.transform(rotation, row[i]);
+        }
+        this.tableStart[line] = start;
+      }
+      start += power3(length);
+    }
+    this.weightCount = start;
+  }
+
+  /**
+   * Returns the lines of a hexagonal board with the given side length. The same lines are
+   * returned every time for the same side length.
+   * @param sideLength The side length, in tiles, of each edge of the board.
+   * @return The lines of the board.
+   * @throws IllegalArgumentException if the side length is less than 3, or so large that the
+   *                                  lines through the center are longer than
+   *                                  {@link #MAX_LINE_LENGTH}.
+   */
+  static PatternLines forSideLength(int sideLength) {
+    if (sideLength < 3 || 2 * sideLength - 1 > MAX_LINE_LENGTH) { // check the tables fit
+      throw new IllegalArgumentException("Patterns need a side length from 3 to "
+              + (MAX_LINE_LENGTH + 1) / 2 + ".");
+    }
+    return LINES.computeIfAbsent(sideLength, PatternLines::new);
+  }
+
+  /**
+   * Returns the number of lines read in every position.
+   * @return The number of lines.
+   */
+  int lineCount() {
+    return this.cells.length;
+  }
+
+  /**
+   * Returns the total number of weights in the tables of every line.
+   * @return The number of weights.
+   */
+  int weightCount() {
+    return this.weightCount;
+  }
+
+  /**
+   * Returns the index in the flat table of the weight of the given line in the given position.
+   * @param board The board.
+   * @param mover The state of the tiles of the player to move.
+   * @param line The line, from 0 to {@link #lineCount} - 1.
+   * @return The index of the line's weight.
+   */
+  int weightIndex(BoardView board, CellState mover, int line) {
+    int[] lineCells = this.cells[line];
+    int pattern = 0;
+    for (int i = lineCells.length - 1; i >= 0; i--) { // the first tile is the lowest digit
+      CellState state = board.stateAt(lineCells[i]);
+      pattern = pattern * 3 + (state == CellState.EMPTY ? 0 : state == mover ? 1 : 2);
+    }
+    return this.tableStart[line] + pattern;
+  }
+
+  // returns 3 to the given power
+  private static int power3(int exponent) {
+    int result = 1;
+    for (int i = 0; i < exponent; i++) {
+      result *= 3;
+    }
+    return result;
+  }
+}
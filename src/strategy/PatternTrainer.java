@@ -0,0 +1,272 @@
+package strategy;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import model.BitboardReversi;
+import model.BoardView;
+import model.SearchableReversiModel;
+import model.tile.CellState;
+
+/**
+ * Learns the weights of a {@link strategy.PatternEvaluator} from records of finished games, ahead
+ * of time. Every position of every game is a sample, whose patterns should add up to the final
+ * disk difference of the game for the player to move in that position. The weights are fit by
+ * least squares, minimizing the sum of the squared differences between the score of each sample
+ * and its final disk difference. There is one weight for every pattern of every line, far too
+ * many to solve for directly, so the fit is found by gradient descent: each pass over the samples
+ * moves every weight against the average error of the samples that use it. The samples are
+ * stored as the table indices of their lines in one int array, so a pass only reads arrays.
+ * Training on many games takes a long time, which is why it is done offline with {@link #main},
+ * which plays the games itself and saves the weights to a file.
+ */
+public final class PatternTrainer {
+  private final int sideLength; // the side length of the board
+  private final PatternLines lines; // the lines read on the board
+  private int[] samples; // the weight index of every line of every position, one after another
+  private int[] results; // the final disk difference for the player to move in each position
+  private int positions; // the number of positions added
+
+  /**
+   * Creates a trainer with no games for a board with the given side length.
+   * @param sideLength The side length of the board, from 3 to 7.
+   * @throws IllegalArgumentException if the side length is not supported by patterns.
+   */
+  public PatternTrainer(int sideLength) {
+    this.lines = PatternLines.forSideLength(sideLength);
+    this.sideLength = sideLength;
+    this.samples = new int[1024 * this.lines.lineCount()];
+    this.results = new int[1024];
+  }
+
+  /**
+   * Adds every position of a game, given as the moves played from the start of the game until
+   * it ended, as samples.
+   * @param moves The index of the tile of each move, as numbered by
+   *              {@link model.HexBoardGeometry}, or -1 for a pass.
+   * @throws IllegalArgumentException if the moves are null, any move is not legal, or the game
+   *                                  is not over after the last move.
+   */
+  public void addGame(int[] moves) {
+    if (moves == null) { // check if the moves are null and throw exception if they are
+      throw new IllegalArgumentException("Moves cannot be null.");
+    }
+    SearchableReversiModel model = new BitboardReversi(this.sideLength);
+    model.startGame();
+    BoardView board = model.getBoardView();
+    int first = this.positions;
+    boolean[] player1ToMove = new boolean[moves.length];
+    boolean player1Turn = true;
+    for (int ply = 0; ply < moves.length; ply++) {
+      this.addPosition(model, board);
+      player1ToMove[ply] = player1Turn;
+      if (moves[ply] < 0) {
+        model.applyPass();
+      }
+      else {
+        if (moves[ply] >= board.cellCount()
+                || !model.isMovePossible(board.qAt(moves[ply]), board.rAt(moves[ply]))) {
+          this.positions = first; // take back the positions of this game
+          throw new IllegalArgumentException("Move " + ply + " of the game is not legal.");
+        }
+        model.applyMove(board.qAt(moves[ply]), board.rAt(moves[ply]));
+      }
+      player1Turn = !player1Turn;
+    }
+    if (!model.isGameOver()) { // the result is only known at the end of the game
+      this.positions = first;
+      throw new IllegalArgumentException("The game is not over after its last move.");
+    }
+
+    // the model's current player after the last move is player one if the turn is back to them
+    int moverDifference = model.getCurrentPlayerScore() - model.getOtherPlayerScore();
+    int player1Difference = player1Turn ? moverDifference : -moverDifference;
+    for (int ply = 0; ply < moves.length; ply++) {
+      this.results[first + ply] = player1ToMove[ply] ? player1Difference : -player1Difference;
+    }
+  }
+
+  /**
+   * Returns the number of positions added as samples.
+   * @return The number of positions.
+   */
+  public int positions() {
+    return this.positions;
+  }
+
+  /**
+   * Fits the weights of an evaluator to every position added so far.
+   * @param passes The number of passes of gradient descent over the positions.
+   * @param learningRate How far each pass moves the weights towards the fit, where 1 corrects
+   *                     every line of a position by the whole error, and smaller values are
+   *                     slower but steadier. About 1 over the number of lines works well.
+   * @return An evaluator with the fitted weights.
+   * @throws IllegalArgumentException if the number of passes is negative or the learning rate is
+   *                                  not positive.
+   * @throws IllegalStateException if no games have been added.
+   */
+  public PatternEvaluator train(int passes, double learningRate) {
+    if (passes < 0) { // check that the number of passes is not negative
+      throw new IllegalArgumentException("Passes cannot be negative.");
+    }
+    if (!(learningRate > 0)) { // check that the learning rate is positive
+      throw new IllegalArgumentException("Learning rate must be positive.");
+    }
+    if (this.positions == 0) { // there is nothing to fit
+      throw new IllegalStateException("There are no games to train on.");
+    }
+    int lineCount = this.lines.lineCount();
+    double[] weights = new double[this.lines.weightCount()];
+    double[] gradient = new double[weights.length];
+    // the number of samples that use each weight, which scales its step so that rare patterns
+    // move as fast as common ones
+    int[] uses = new int[weights.length];
+    for (int i = 0; i < this.positions * lineCount; i++) {
+      uses[this.samples[i]]++;
+    }
+
+    for (int pass = 0; pass < passes; pass++) {
+      Arrays.fill(gradient, 0);
+      for (int position = 0; position < this.positions; position++) {
+        int offset = position * lineCount;
+        double error = this.results[position] * (double) PatternEvaluator.SCALE;
+        for (int line = 0; line < lineCount; line++) {
+          error -= weights[this.samples[offset + line]];
+        }
+        for (int line = 0; line < lineCount; line++) {
+          gradient[this.samples[offset + line]] += error;
+        }
+      }
+      for (int weight = 0; weight < weights.length; weight++) {
+        if (uses[weight] > 0) {
+          weights[weight] += learningRate * gradient[weight] / uses[weight];
+        }
+      }
+    }
+
+    short[] rounded = new short[weights.length];
+    for (int weight = 0; weight < weights.length; weight++) {
+      rounded[weight] = (short) Math.max(Short.MIN_VALUE,
+              Math.min(Short.MAX_VALUE, Math.round(weights[weight])));
+    }
+    return new PatternEvaluator(this.sideLength, rounded);
+  }
+
+  /**
+   * Returns the root mean squared difference, in disks, between the score the given evaluator
+   * gives each position added so far and the final disk difference of its game.
+   * @param evaluator The evaluator to measure.
+   * @return The root mean squared error, in disks.
+   * @throws IllegalArgumentException if the evaluator is null or for a different board size.
+   * @throws IllegalStateException if no games have been added.
+   */
+  public double error(PatternEvaluator evaluator) {
+    if (evaluator == null || evaluator.sideLength() != this.sideLength) { // check the evaluator
+      throw new IllegalArgumentException("The evaluator must be for the same board size.");
+    }
+    if (this.positions == 0) { // there is nothing to measure
+      throw new IllegalStateException("There are no games to measure.");
+    }
+    short[] weights = evaluator.weights();
+    int lineCount = this.lines.lineCount();
+    double squares = 0;
+    for (int position = 0; position < this.positions; position++) {
+      double error = this.results[position] * (double) PatternEvaluator.SCALE;
+      for (int line = 0; line < lineCount; line++) {
+        error -= weights[this.samples[position * lineCount + line]];
+      }
+      squares += error * error;
+    }
+    return Math.sqrt(squares / this.positions) / PatternEvaluator.SCALE;
+  }
+
+  /**
+   * Plays games against itself and trains an evaluator on them from the command line. The
+   * arguments are the file to save the weights to, the side length of the board, the number of
+   * games to play, and optionally the number of passes of gradient descent, which is 100 if it
+   * is not given, for example "patterns.bin 6 20000". The games are played by a two-move
+   * alpha-beta search with {@link WeightedEvaluator#standard}, which plays a random move a tenth
+   * of the time so that the games are varied.
+   * @param args The command line arguments.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3 && args.length != 4) { // check that every argument was given
+      throw new IllegalArgumentException(
+              "Usage: PatternTrainer <file> <side length> <games> [passes]");
+    }
+    int sideLength = Integer.parseInt(args[1]);
+    int games = Integer.parseInt(args[2]);
+    int passes = args.length == 4 ? Integer.parseInt(args[3]) : 100;
+    PatternTrainer trainer = new PatternTrainer(sideLength);
+    Random random = new Random();
+    ReversiStrategy player = new AlphaBetaMinimax(2, WeightedEvaluator.standard());
+    long start = System.nanoTime();
+    for (int game = 0; game < games; game++) {
+      trainer.addGame(playGame(sideLength, player, 0.1, random));
+    }
+    System.out.println("Played " + games + " games with " + trainer.positions()
+            + " positions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    start = System.nanoTime();
+    PatternEvaluator evaluator = trainer.train(passes, 1.0 / trainer.lines.lineCount());
+    System.out.println("Trained in " + (System.nanoTime() - start) / 1_000_000
+            + " ms, error " + trainer.error(evaluator) + " disks");
+    evaluator.save(Paths.get(args[0]));
+  }
+
+  /**
+   * Plays one game from the start with the given strategy playing both sides, making a random
+   * legal move instead with the given probability.
+   * @param sideLength The side length of the board.
+   * @param strategy The strategy that chooses the moves.
+   * @param randomness The probability of each move being random instead.
+   * @param random The source of randomness.
+   * @return The moves of the game, as tile indices, with -1 for a pass.
+   */
+  static int[] playGame(int sideLength, ReversiStrategy strategy, double randomness,
+                        Random random) {
+    SearchableReversiModel model = new BitboardReversi(sideLength);
+    model.startGame();
+    BoardView board = model.getBoardView();
+    int[] moves = new int[2 * board.cellCount()];
+    int plies = 0;
+    while (!model.isGameOver()) {
+      int move = -1;
+      if (model.nextLegalMove(0) >= 0) {
+        if (random.nextDouble() < randomness) {
+          move = RandomPlayout.randomMove(model, random);
+        }
+        else {
+          Optional<Point> choice = strategy.chooseMove(model);
+          move = choice.isPresent() ? board.indexOf(choice.get().x, choice.get().y) : -1;
+        }
+      }
+      if (move < 0) {
+        model.applyPass();
+      }
+      else {
+        model.applyMove(board.qAt(move), board.rAt(move));
+      }
+      moves[plies++] = move;
+    }
+    return Arrays.copyOf(moves, plies);
+  }
+
+  // adds the current position of the given model as a sample, without its result
+  private void addPosition(SearchableReversiModel model, BoardView board) {
+    int lineCount = this.lines.lineCount();
+    if (this.positions == this.results.length) { // grow the arrays if they are full
+      this.results = Arrays.copyOf(this.results, this.positions * 2);
+      this.samples = Arrays.copyOf(this.samples, this.positions * 2 * lineCount);
+    }
+    CellState mover = board.stateOf(model.currentPlayerColor());
+    for (int line = 0; line < lineCount; line++) {
+      this.samples[this.positions * lineCount + line] = this.lines.weightIndex(board, mover, line);
+    }
+    this.positions++;
+  }
+}
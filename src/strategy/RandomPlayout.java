@@ -0,0 +1,90 @@
+package strategy;
+
+import java.util.Random;
+
+import model.BoardView;
+import model.SearchableReversiModel;
+
+/**
+ * The playouts shared by the Monte Carlo tree search strategies: games played from a position to
+ * their end with moves chosen uniformly at random. The moves are made on the given
+ * {@link model.SearchableReversiModel} so that they can be taken back, which lets one copy of the
+ * model be reused for every playout instead of copying it each time.
+ */
+final class RandomPlayout {
+  private RandomPlayout() {
+    // only static helpers, never instantiated
+  }
+
+  /**
+   * Plays random moves on the given model until the game is over, passing whenever the current
+   * player has no move. The moves are left on the model to be taken back with
+   * {@link SearchableReversiModel#undoMove}.
+   * @param model The model to play on, which must be started.
+   * @param random Chooses the moves.
+   * @return The number of moves and passes made.
+   */
+  static int playToEnd(SearchableReversiModel model, Random random) {
+    BoardView board = model.getBoardView();
+    int plies = 0;
+    while (true) {
+      int move = randomMove(model, random);
+      if (move < 0 && model.isGameOver()) {
+        return plies;
+      }
+      play(model, board, move < 0 ? MctsTree.PASS : move);
+      plies++;
+    }
+  }
+
+  /**
+   * Scores a finished game for one of the players.
+   * @param model The model, whose game must be over.
+   * @param plies The number of moves and passes made since the position of the player to score
+   *              for, which decides whether it is that player's turn.
+   * @return 1 if that player won, 0.5 for a draw and 0 if they lost.
+   */
+  static double reward(SearchableReversiModel model, int plies) {
+    int difference = model.getCurrentPlayerScore() - model.getOtherPlayerScore();
+    if (plies % 2 == 1) { // if it is the other player's turn, their lead is this player's loss
+      difference = -difference;
+    }
+    return difference > 0 ? 1 : difference < 0 ? 0 : 0.5;
+  }
+
+  /**
+   * Returns a legal move of the given model chosen uniformly at random.
+   * @param model The model, which must be started.
+   * @param random Chooses the move.
+   * @return The index of the tile of the move, or -1 if there is no legal move.
+   */
+  static int randomMove(SearchableReversiModel model, Random random) {
+    int count = 0;
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      count++;
+    }
+    if (count == 0) {
+      return -1;
+    }
+    int move = model.nextLegalMove(0);
+    for (int skip = random.nextInt(count); skip > 0; skip--) {
+      move = model.nextLegalMove(move + 1);
+    }
+    return move;
+  }
+
+  /**
+   * Makes the given move on the given model, so that it can be taken back.
+   * @param model The model, which must be started.
+   * @param board The board view of the model.
+   * @param move The index of the tile to move at, or {@link MctsTree#PASS}.
+   */
+  static void play(SearchableReversiModel model, BoardView board, int move) {
+    if (move == MctsTree.PASS) {
+      model.applyPass();
+    }
+    else {
+      model.applyMove(board.qAt(move), board.rAt(move));
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package strategy;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position by how many more stable disks, which can never be flipped
+ * again, the current player has than the other player. It counts the corners, the disks on an
+ * edge that are joined to a corner by disks of their color, and the disks whose lines are all
+ * full, which is fewer than the real number of stable disks but cheap to find.
+ */
+public class Stability implements Evaluator {
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    BoardFeatures features = BoardFeatures.of(model);
+    return features.stability(model.getBoardView(), features.moverState(model));
+  }
+}
@@ -0,0 +1,226 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of search results, keyed by the position hash of the model, so that a
+ * search that reaches the same position through a different order of moves can reuse what it
+ * already found instead of searching the position again. For each position it stores the depth
+ * the position was searched to, the score, whether the score is exact or only a bound, and the
+ * best move.
+ * The table is split into buckets of two entries. The first entry of a bucket keeps the result
+ * that was searched the deepest, because it saved the most work, and the second entry always
+ * holds the most recent result that did not replace the first, so that new positions are never
+ * locked out. Entries are packed into two arrays of longs rather than stored as objects, so the
+ * table never creates objects after it is made and its memory use is fixed.
+ * The table can be shared by searches on several threads without locking. Each key is stored
+ * XORed with its entry, so if two threads write the same entry at once and the key of one ends up
+ * next to the entry of the other, the pair no longer matches any key and is treated as empty
+ * instead of giving a wrong result. The counters are not synchronized, so they are only
+ * approximate while several threads use the table.
+ */
+public final class TranspositionTable {
+  /**
+   * The bound type of a score that is the exact score of the position.
+   */
+  public static final int EXACT = 1;
+  /**
+   * The bound type of a score that the real score is at least, because the search was cut off.
+   */
+  public static final int LOWER_BOUND = 2;
+  /**
+   * The bound type of a score that the real score is at most, because no move was good enough.
+   */
+  public static final int UPPER_BOUND = 3;
+  /**
+   * The move stored in an entry that has no best move.
+   */
+  public static final int NO_MOVE = -2;
+
+  // an entry is packed into a long as: bits 0-1 the bound type (0 if the entry is empty),
+  // bits 2-9 the depth, bits 10-25 the best move + 2, and bits 32-63 the score
+  private static final int BOUND_BITS = 2;
+  private static final int DEPTH_BITS = 8;
+  private static final int MOVE_BITS = 16;
+  private static final int DEPTH_SHIFT = BOUND_BITS;
+  private static final int MOVE_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+  private static final int SCORE_SHIFT = 32;
+  private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+
+  // the position hash of each entry XORed with the entry, two entries per bucket
+  private final long[] keys;
+  private final long[] entries; // the packed result of each entry, two entries per bucket
+  private final int bucketMask; // the number of buckets - 1, used to find a key's bucket
+  private long probes; // the number of times the table was looked in
+  private long hits; // the number of looks that found the position
+  private long collisions; // the number of stores that replaced a different position
+
+  /**
+   * Creates an empty table that can hold the given number of entries.
+   * @param capacity The number of entries, which must be a power of two and at least 2.
+   * @throws IllegalArgumentException if the capacity is not a power of two of at least 2.
+   */
+  public TranspositionTable(int capacity) throws IllegalArgumentException {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) { // check the capacity is a power of 2
+      throw new IllegalArgumentException("Capacity must be a power of two of at least 2.");
+    }
+    this.keys = new long[capacity];
+    this.entries = new long[capacity];
+    this.bucketMask = capacity / 2 - 1;
+  }
+
+  /**
+   * Returns the number of entries the table can hold.
+   * @return The capacity of the table.
+   */
+  public int capacity() {
+    return this.entries.length;
+  }
+
+  /**
+   * Looks for the result of the position with the given hash.
+   * @param key The position hash.
+   * @return The packed entry, to be read with {@link #scoreOf}, {@link #depthOf},
+   *     {@link #boundOf} and {@link #moveOf}, or 0 if the position is not in the table.
+   */
+  public long probe(long key) {
+    this.probes++;
+    int slot = this.bucketOf(key);
+    for (int i = slot; i < slot + 2; i++) { // check both entries of the bucket
+      long entry = this.entries[i]; // read the entry once, since another thread may change it
+      if (entry != 0 && (this.keys[i] ^ entry) == key) {
+        this.hits++;
+        return entry;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Stores the result of searching the position with the given hash. The result replaces the
+   * first entry of the position's bucket if that entry holds the same position, is empty, or was
+   * searched no deeper than this result. Otherwise it replaces the second entry.
+   * @param key The position hash.
+   * @param depth The number of moves the position was searched ahead. Depths above 255 are
+   *              stored as 255.
+   * @param bound The bound type of the score: {@link #EXACT}, {@link #LOWER_BOUND} or
+   *              {@link #UPPER_BOUND}.
+   * @param score The score of the position.
+   * @param move The best move, as a tile index, -1 for a pass, or {@link #NO_MOVE}.
+   * @throws IllegalArgumentException if the depth is negative, the bound type is not one of the
+   *                                  three types, or the move is out of range.
+   */
+  public void store(long key, int depth, int bound, int score, int move)
+          throws IllegalArgumentException {
+    if (depth < 0) { // check the depth is not negative
+      throw new IllegalArgumentException("Depth cannot be negative.");
+    }
+    if (bound < EXACT || bound > UPPER_BOUND) { // check the bound type
+      throw new IllegalArgumentException("Invalid bound type " + bound);
+    }
+    if (move < NO_MOVE || move + 2 >= 1 << MOVE_BITS) { // check the move fits in the entry
+      throw new IllegalArgumentException("Invalid move " + move);
+    }
+    long entry = ((long) score << SCORE_SHIFT)
+            | ((long) (move + 2) << MOVE_SHIFT)
+            | ((long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT)
+            | bound;
+
+    int slot = this.bucketOf(key);
+    long deepest = this.entries[slot];
+    if (deepest == 0 || (this.keys[slot] ^ deepest) == key || depthOf(deepest) <= depth) {
+      this.write(slot, key, entry); // replace the depth-preferred entry
+    }
+    else {
+      this.write(slot + 1, key, entry); // otherwise replace the always-replace entry
+    }
+  }
+
+  /**
+   * Removes every entry from the table and sets the counters back to 0.
+   */
+  public void clear() {
+    Arrays.fill(this.keys, 0L);
+    Arrays.fill(this.entries, 0L);
+    this.probes = 0;
+    this.hits = 0;
+    this.collisions = 0;
+  }
+
+  /**
+   * Returns the number of times the table has been looked in since it was made or cleared.
+   * @return The number of probes.
+   */
+  public long probes() {
+    return this.probes;
+  }
+
+  /**
+   * Returns the number of looks that found their position since the table was made or cleared.
+   * @return The number of hits.
+   */
+  public long hits() {
+    return this.hits;
+  }
+
+  /**
+   * Returns the number of stores that replaced the result of a different position since the
+   * table was made or cleared, which grows quickly when the table is too small.
+   * @return The number of collisions.
+   */
+  public long collisions() {
+    return this.collisions;
+  }
+
+  /**
+   * Returns the score of a packed entry.
+   * @param entry An entry returned by {@link #probe}.
+   * @return The score.
+   */
+  public static int scoreOf(long entry) {
+    return (int) (entry >> SCORE_SHIFT);
+  }
+
+  /**
+   * Returns the depth of a packed entry.
+   * @param entry An entry returned by {@link #probe}.
+   * @return The number of moves the position was searched ahead.
+   */
+  public static int depthOf(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+  }
+
+  /**
+   * Returns the bound type of a packed entry.
+   * @param entry An entry returned by {@link #probe}.
+   * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+   */
+  public static int boundOf(long entry) {
+    return (int) entry & ((1 << BOUND_BITS) - 1);
+  }
+
+  /**
+   * Returns the best move of a packed entry.
+   * @param entry An entry returned by {@link #probe}.
+   * @return The best move as a tile index, -1 for a pass, or {@link #NO_MOVE}.
+   */
+  public static int moveOf(long entry) {
+    return ((int) (entry >>> MOVE_SHIFT) & ((1 << MOVE_BITS) - 1)) - 2;
+  }
+
+  // returns the index of the first entry of the bucket of the given key
+  private int bucketOf(long key) {
+    // mix the high bits into the low bits, since the low bits alone pick the bucket
+    return (int) ((key ^ (key >>> 32)) & this.bucketMask) * 2;
+  }
+
+  // writes the given entry into the given slot, counting it if it replaces another position
+  private void write(int slot, long key, long entry) {
+    long old = this.entries[slot];
+    if (old != 0 && (this.keys[slot] ^ old) != key) {
+      this.collisions++;
+    }
+    this.keys[slot] = key ^ entry;
+    this.entries[slot] = entry;
+  }
+}
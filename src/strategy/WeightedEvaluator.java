@@ -0,0 +1,85 @@
+package strategy;
+
+import java.util.Arrays;
+
+import model.ReadOnlyReversiModel;
+
+/**
+ * An evaluator that scores a position as a weighted sum of the scores of other evaluators, each of
+ * which measures one feature of the position, such as {@link strategy.Mobility} or
+ * {@link strategy.Corners}. The features and their weights are given when the evaluator is made,
+ * so a searching strategy can be given a different mix of features without changing the search.
+ * A feature with a weight of 0 is never computed. The evaluator keeps no state between positions,
+ * so it can be used by any number of threads at once if its features can.
+ */
+public class WeightedEvaluator implements Evaluator {
+  private final Evaluator[] features; // the features with a weight other than 0
+  private final int[] weights; // the weight of each feature
+
+  /**
+   * Creates an evaluator that adds up the scores of the given features, each multiplied by the
+   * weight at the same position.
+   * @param weights The weight of each feature.
+   * @param features The features to score positions with.
+   * @throws IllegalArgumentException if either array or any feature is null, or the arrays have
+   *                                  different lengths.
+   */
+  public WeightedEvaluator(int[] weights, Evaluator... features) {
+    if (weights == null || features == null) { // check if either array is null
+      throw new IllegalArgumentException("Weights and features cannot be null.");
+    }
+    if (weights.length != features.length) { // every feature needs a weight
+      throw new IllegalArgumentException("There must be one weight for each feature.");
+    }
+    int count = 0;
+    for (int i = 0; i < features.length; i++) {
+      if (features[i] == null) { // check if any feature is null and throw exception if it is
+        throw new IllegalArgumentException("Features cannot be null.");
+      }
+      if (weights[i] != 0) {
+        count++;
+      }
+    }
+    // keep only the features that change the score, so the others are never computed
+    this.features = new Evaluator[count];
+    this.weights = new int[count];
+    int kept = 0;
+    for (int i = 0; i < features.length; i++) {
+      if (weights[i] != 0) {
+        this.features[kept] = features[i];
+        this.weights[kept] = weights[i];
+        kept++;
+      }
+    }
+  }
+
+  /**
+   * Creates an evaluator with a mix of every feature that plays well on the hexagonal board:
+   * the disk difference with weight 1, mobility 8, frontier disks 3, corners 30, edges 3, stable
+   * disks 10, and parity 2.
+   * @return A new evaluator with the standard weights.
+   */
+  public static WeightedEvaluator standard() {
+    return new WeightedEvaluator(new int[] {1, 8, 3, 30, 3, 10, 2},
+            new DiskDifference(), new Mobility(), new Frontier(), new Corners(), new Edges(),
+            new Stability(), new Parity());
+  }
+
+  @Override
+  public int evaluate(ReadOnlyReversiModel model) {
+    int score = 0;
+    for (int i = 0; i < this.features.length; i++) {
+      score += this.weights[i] * this.features[i].evaluate(model);
+    }
+    return score;
+  }
+
+  /**
+   * Returns the weight of each feature that is computed, in the order they were given, leaving
+   * out the features with a weight of 0.
+   * @return A copy of the weights.
+   */
+  public int[] weights() {
+    return Arrays.copyOf(this.weights, this.weights.length);
+  }
+}
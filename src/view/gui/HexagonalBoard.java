@@ -25,9 +25,8 @@ import javax.swing.JComponent;
 
 
 
+import model.BoardView;
 import model.ReadOnlyReversiModel;
-import model.tile.ReversiTile;
-import util.HexReversiUtils;
 
 /**
  * A GUI representation of a HexagonalReversi game board. Can be dynamically resized and
@@ -45,6 +44,10 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
   protected final Color OUTLINE_COLOR = Color.BLACK; // the color of each tile's outline
 
   protected final ReadOnlyReversiModel model; // read-only version of the model this view represents
+  // a view of the model's board, which is read on every repaint without copying the model's tiles
+  protected final BoardView boardView;
+  // the point of each tile on the board, indexed by the tile's index in the board view
+  protected final Point[] tilePoints;
 
   protected final Map<Point, Shape> tiles; // a map of point on the board to tile shape
   protected final Map<Shape, Color> disks; // a map of disk shape to disk color
@@ -74,9 +77,14 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
     this.selectedTile = Optional.empty(); // set the selectedTile to an empty point
     this.listeners = new ArrayList<>(); // initialize the listeners list
 
-    // initialize the keySet of the tiles map using the model
-    for (Point tilePoint : this.model.getTiles().keySet()) { // iterate over all tile points
-      this.tiles.put(tilePoint, null); // put the point in the map with null as a placeholder
+    this.boardView = this.model.getBoardView(); // get the view of the board from the model
+    this.tilePoints = new Point[this.boardView.cellCount()];
+
+    // initialize the keySet of the tiles map using the board view
+    for (int index = 0; index < this.tilePoints.length; index++) { // iterate over all tiles
+      this.tilePoints[index] = new Point(this.boardView.qAt(index), this.boardView.rAt(index));
+      // put the point in the map with null as a placeholder
+      this.tiles.put(this.tilePoints[index], null);
     }
 
     // add actions for the 'm' and 'p' keys
@@ -197,10 +205,10 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
   protected void updateBoard() {
     this.disks.clear(); // clear the current disks
 
-    Map<Point, ReversiTile> board = this.model.getTiles(); // get the map of tiles from the model
+    double tileSide = this.getTileSideLength(); // get the tile side length from a helper
 
-    for (Point point : this.model.getTiles().keySet()) {  // iterate over all point on the board
-      double tileSide = this.getTileSideLength(); // get the tile side length from a helper
+    for (int index = 0; index < this.tilePoints.length; index++) { // iterate over all tiles
+      Point point = this.tilePoints[index];
 
       // calculate the coordinates of the center of the tile. this formula was adapted from the
       // "Hex to Pixel" section of the website linked in the README
@@ -213,11 +221,10 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
       // was previously in that location
       this.tiles.put(point, this.buildTile(centerX, centerY, tileSide));
 
-      ReversiTile tile = board.get(point); // get the tile from the board
-
-      if (tile.hasDisk()) { // if the tile has a disk
+      if (this.boardView.hasDiskAt(index)) { // if the tile has a disk
         // use a helper to create the disk and put it in the disks map along with the disk color
-        this.disks.put(this.buildDisk(centerX, centerY, tileSide / 2), tile.getTopColor());
+        this.disks.put(this.buildDisk(centerX, centerY, tileSide / 2),
+                this.boardView.colorAt(index));
       }
     }
   }
@@ -265,7 +272,7 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
     double minSide = Math.min(size.width, size.height); // find the smallest dimension
     // calculate and return an appropriate side length for each individual tile's side length
     return minSide /
-            (HexReversiUtils.getBoardSideLength(this.model.getTiles()) * 2 - 1) /
+            (this.boardView.sideLength() * 2 - 1) /
             Math.sqrt(3);
   }
 
@@ -287,7 +294,7 @@ public class HexagonalBoard extends JPanel implements ReversiBoard, MouseListene
 
         // only tiles without a disk can be selected, so
         // if the tile that was clicked does not have a disk
-        if (!this.model.getTileAt(tilePoint.x, tilePoint.y).hasDisk()) {
+        if (!this.boardView.hasDiskAt(this.boardView.indexOf(tilePoint.x, tilePoint.y))) {
           // if the clicked tile is the selected one
           if (this.selectedTile.isPresent() && this.selectedTile.get().equals(tilePoint)) {
             this.deselectCurrentTile(); // deselect the tile
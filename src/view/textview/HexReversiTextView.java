@@ -1,12 +1,10 @@
 package view.textview;
 
-import java.awt.Point;
 import java.awt.Color;
-import java.util.Map;
 
+import model.BoardView;
 import model.ReadOnlyReversiModel;
 import model.tile.ReversiTile;
-import util.HexReversiUtils;
 
 /**
  * A class that creates a textual view of a HexagonalReversi game.
@@ -29,11 +27,11 @@ public class HexReversiTextView implements TextView {
 
   @Override
   public String toString() {
-    // get the side length of this model's board
-    int sideLength = HexReversiUtils.getBoardSideLength(this.model.getTiles());
+    // get a view of the board, which reads the model directly instead of copying its tiles
+    BoardView board = this.model.getBoardView();
+    int sideLength = board.sideLength(); // get the side length of this model's board
     // initialize a StringBuilder that represents the hex map.
     StringBuilder mapString = new StringBuilder();
-    Map<Point, ReversiTile> board = this.model.getTiles(); // get the board map from the model
 
     // iterate over all r values that occur in the hex map
     for (int r = -sideLength + 1; r <= sideLength - 1; r++) {
@@ -42,14 +40,20 @@ public class HexReversiTextView implements TextView {
       // (this math was derived by looking at the formula to generate the HashMap)
       for (int q = Math.min(-sideLength + 1, -sideLength + 1 - r);
            q <= Math.min(sideLength - 1, sideLength - 1 - r); q++) {
-        // if the current point is not on the board
-        if (!board.containsKey(new Point(q, r))) {
+        int index = board.indexOf(q, r); // get the index of the current point
+        if (index < 0) { // if the current point is not on the board
           mapString.append(" "); // append a space
           continue; // and continue to the next point
         }
         // Now we know that the tile is on the board, get its string representation from a helper
         // and append it and a space for padding
-        mapString.append(this.tileToString(board.get(new Point(q, r)))).append(" ");
+        if (!board.hasDiskAt(index)) { // if the tile has no disk
+          mapString.append("_");
+        }
+        else {
+          mapString.append(this.colorToString(board.colorAt(index)));
+        }
+        mapString.append(" ");
       }
       mapString.append("\n"); // append a new line once the end of the row is reached
     }
@@ -59,7 +63,7 @@ public class HexReversiTextView implements TextView {
 
   //          HELPER METHODS
 
-  // create a string representation of a tile, used as a helper for toString
+  // create a string representation of a tile
   String tileToString(ReversiTile tile) {
     if (tile == null) { // if the tile is null, throw an exception
       throw new IllegalArgumentException("Cannot get string representation from null tile.");
@@ -68,7 +72,11 @@ public class HexReversiTextView implements TextView {
       return "_"; // return an underscore that represents empty tile
     }
 
-    Color tileColor = tile.getTopColor(); // get the top color of the disk on the tile
+    return this.colorToString(tile.getTopColor()); // get the string of the disk's top color
+  }
+
+  // create a string representation of a disk with the given color face up
+  private String colorToString(Color tileColor) {
     if (tileColor.equals(Color.BLACK)) { // if the color is black
       return "X";
     }
@@ -0,0 +1,256 @@
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+import java.util.Random;
+
+import model.BoardView;
+import model.HexagonalReversi;
+import model.ReversiModel;
+import strategy.CaptureMaxPieces;
+import view.gui.HexagonalBoard;
+import view.textview.HexReversiTextView;
+
+/**
+ * A benchmark of the hot paths of the model, the strategies and the views, which measures the
+ * time and the memory allocated by each call on boards of several sizes, so that a change can be
+ * compared against the numbers from before it. It is run by hand rather than as a test, because
+ * its results depend on the machine.
+ * Every path is measured on the same position for each side length: a game played with random
+ * moves from a fixed seed until a third of the tiles have disks. Each path is run in batches that
+ * are doubled until a batch takes long enough to time, then warmed up for a few batches so the
+ * JIT compiler has optimized it, then timed for a few more. Any state a call changes, such as the
+ * model a move is made on, is set up before each batch outside the timing. The bytes allocated
+ * are read from the JVM's count for the current thread, like the gc profiler of JMH, so they
+ * include everything the path allocates but not the set up.
+ * It prints one line per path and side length with the nanoseconds and bytes per call.
+ */
+public final class HotPathBenchmark {
+  // the side lengths measured when none are given
+  private static final int[] DEFAULT_SIDES = {3, 6, 10, 20};
+  private static final int WARMUP_BATCHES = 5; // the batches run before timing each path
+  private static final int MEASURED_BATCHES = 5; // the batches timed for each path
+
+  // the JVM's view of the current thread's allocations
+  private static final com.sun.management.ThreadMXBean THREADS =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  // a value every result is folded into, so that the JIT compiler cannot skip a call
+  private static volatile int sink;
+
+  private HotPathBenchmark() {
+    // only run through main, never instantiated
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args The number of milliseconds each batch should take at least, which is 50 by
+   *             default, optionally followed by the side lengths to measure, which are 3, 6, 10
+   *             and 20 by default.
+   */
+  public static void main(String[] args) {
+    long batchMillis = args.length > 0 ? Long.parseLong(args[0]) : 50;
+    int[] sides = DEFAULT_SIDES;
+    if (args.length > 1) {
+      sides = new int[args.length - 1];
+      for (int i = 1; i < args.length; i++) {
+        sides[i - 1] = Integer.parseInt(args[i]);
+      }
+    }
+    System.setProperty("java.awt.headless", "true"); // the board is only laid out, never shown
+
+    System.out.printf("%-32s %5s %14s %12s%n", "path", "side", "ns/op", "bytes/op");
+    for (int side : sides) {
+      HexagonalReversi position = midgame(side);
+      for (HotPath path : paths(position)) {
+        measure(path, side, batchMillis * 1_000_000L);
+      }
+    }
+    if (sink == 42) { // read the sink so that it is never optimized away
+      System.out.println();
+    }
+  }
+
+  // returns every path to measure on the given position
+  private static HotPath[] paths(HexagonalReversi position) {
+    BoardView board = position.getBoardView();
+    int cells = board.cellCount();
+    // the first legal move of the position, which every copy makes in the moveAt path
+    int move = position.legalMoves().nextSetBit(0);
+    CaptureMaxPieces strategy = new CaptureMaxPieces();
+    HexReversiTextView textView = new HexReversiTextView(position);
+    LaidOutBoard panel = new LaidOutBoard(position);
+
+    return new HotPath[] {
+      new HotPath("HexagonalReversi.moveAt") {
+        private ReversiModel[] copies = new ReversiModel[0];
+
+        @Override
+        void prepare(int calls) {
+          if (this.copies.length < calls) {
+            this.copies = new ReversiModel[calls];
+          }
+          for (int i = 0; i < calls; i++) {
+            this.copies[i] = new HexagonalReversi(position);
+            this.copies[i].startGame();
+          }
+        }
+
+        @Override
+        int run(int call) {
+          this.copies[call].moveAt(board.qAt(move), board.rAt(move));
+          return call;
+        }
+      },
+      new HotPath("HexagonalReversi.isMovePossible") {
+        @Override
+        int run(int call) {
+          int index = call % cells;
+          return position.isMovePossible(board.qAt(index), board.rAt(index)) ? 1 : 0;
+        }
+      },
+      new HotPath("HexagonalReversi.anyMoves") {
+        @Override
+        int run(int call) {
+          return position.anyMoves() ? 1 : 0;
+        }
+      },
+      new HotPath("HexagonalReversi.isGameOver") {
+        @Override
+        int run(int call) {
+          return position.isGameOver() ? 1 : 0;
+        }
+      },
+      new HotPath("HexagonalReversi.getTiles") {
+        @Override
+        int run(int call) {
+          return position.getTiles().size();
+        }
+      },
+      new HotPath("HexagonalReversi.copyModel") {
+        @Override
+        int run(int call) {
+          return System.identityHashCode(position.copyModel());
+        }
+      },
+      new HotPath("CaptureMaxPieces.chooseMove") {
+        @Override
+        int run(int call) {
+          return strategy.chooseMove(position).get().x;
+        }
+      },
+      new HotPath("HexReversiTextView.toString") {
+        @Override
+        int run(int call) {
+          return textView.toString().length();
+        }
+      },
+      new HotPath("HexagonalBoard.updateBoard") {
+        @Override
+        int run(int call) {
+          panel.update();
+          return call;
+        }
+      }
+    };
+  }
+
+  // times the given path in batches that take at least the given time, and prints the time and
+  // bytes allocated per call
+  private static void measure(HotPath path, int side, long batchNanos) {
+    long threadId = Thread.currentThread().getId();
+    int calls = 1;
+    while (runBatch(path, calls) < batchNanos) { // find a batch size that is long enough to time
+      calls *= 2;
+    }
+    for (int batch = 0; batch < WARMUP_BATCHES; batch++) {
+      runBatch(path, calls);
+    }
+    long nanos = 0;
+    long bytes = 0;
+    for (int batch = 0; batch < MEASURED_BATCHES; batch++) {
+      path.prepare(calls);
+      long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+      int result = 0;
+      for (int call = 0; call < calls; call++) {
+        result += path.run(call);
+      }
+      nanos += System.nanoTime() - start;
+      bytes += THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+      sink += result;
+    }
+    long total = (long) calls * MEASURED_BATCHES;
+    System.out.printf("%-32s %5d %14.1f %12.1f%n", path.name, side, (double) nanos / total,
+            (double) bytes / total);
+  }
+
+  // runs one batch of the given number of calls to the given path, returning how long it took
+  private static long runBatch(HotPath path, int calls) {
+    path.prepare(calls);
+    long start = System.nanoTime();
+    int result = 0;
+    for (int call = 0; call < calls; call++) {
+      result += path.run(call);
+    }
+    sink += result;
+    return System.nanoTime() - start;
+  }
+
+  // returns a game on a board with the given side length that has been played with random moves
+  // from a fixed seed until a third of its tiles have disks, and which is not over
+  private static HexagonalReversi midgame(int side) {
+    Random random = new Random(side);
+    HexagonalReversi model = new HexagonalReversi(side);
+    model.startGame();
+    BoardView board = model.getBoardView();
+    int target = board.cellCount() / 3;
+    while (model.getCurrentPlayerScore() + model.getOtherPlayerScore() < target
+            && !model.isGameOver()) {
+      BitSet moves = model.legalMoves();
+      if (moves.isEmpty()) {
+        model.passTurn();
+        continue;
+      }
+      int move = moves.nextSetBit(0);
+      for (int skip = random.nextInt(moves.cardinality()); skip > 0; skip--) {
+        move = moves.nextSetBit(move + 1);
+      }
+      model.moveAt(board.qAt(move), board.rAt(move));
+    }
+    if (!model.anyMoves()) { // every path needs the player to move to have a move
+      model.passTurn();
+    }
+    return model;
+  }
+
+  // a path to measure, which is called many times in a batch
+  private abstract static class HotPath {
+    private final String name; // the name printed for the path
+
+    HotPath(String name) {
+      this.name = name;
+    }
+
+    // sets up the state that the next batch of the given number of calls works on, which is not
+    // timed
+    void prepare(int calls) {
+      // most paths only read the position, so there is nothing to set up
+    }
+
+    // makes one call of the path, returning something from its result so that it is not skipped
+    abstract int run(int call);
+  }
+
+  // a board laid out at a fixed size without being shown, whose layout can be updated directly
+  private static final class LaidOutBoard extends HexagonalBoard {
+    private static final long serialVersionUID = 1L; // the board is never serialized
+
+    LaidOutBoard(ReversiModel model) {
+      super(800, 800, model);
+      this.setSize(800, 800);
+    }
+
+    // lays out every tile and disk again
+    void update() {
+      this.updateBoard();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package arena;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * A class that holds tests for the ratings and confidence intervals of EloTable.
+ */
+public class EloTableTest {
+
+  // tests for the constructor
+  @Test(expected = IllegalArgumentException.class)
+  public void testOnePlayer() {
+    new EloTable("a");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullName() {
+    new EloTable("a", null);
+  }
+
+
+
+  // tests for addResult
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddResultSamePlayer() {
+    new EloTable("a", "b").addResult(1, 1, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddResultUnknownPlayer() {
+    new EloTable("a", "b").addResult(0, 2, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddResultBadWinner() {
+    new EloTable("a", "b").addResult(0, 1, 2);
+  }
+
+  @Test
+  public void testAddResultCountsPointsAndGames() {
+    EloTable table = new EloTable("a", "b", "c");
+    table.addResult(0, 1, 1);
+    table.addResult(1, 0, 0);
+    table.addResult(2, 0, -1);
+    Assert.assertEquals(3, table.games(0));
+    Assert.assertEquals(2.5, table.points(0), 0);
+    Assert.assertEquals(0.5, table.points(1), 0);
+    Assert.assertEquals(0, table.points(2), 0);
+  }
+
+
+
+  // tests for ratings and intervals
+  @Test
+  public void testEvenResultsRateEqually() {
+    EloTable table = new EloTable("a", "b");
+    for (int i = 0; i < 10; i++) {
+      table.addResult(0, 1, 1);
+      table.addResult(0, 1, -1);
+    }
+    Assert.assertEquals(0, table.ratings()[0], 1e-6);
+    Assert.assertEquals(0, table.ratings()[1], 1e-6);
+  }
+
+  @Test
+  public void testRatingsMatchScore() {
+    // scoring 3 out of 4 is about 191 Elo better, shrunk a little by the prior draws
+    EloTable table = new EloTable("a", "b");
+    for (int i = 0; i < 1000; i++) {
+      table.addResult(0, 1, i % 4 == 0 ? -1 : 1);
+    }
+    double[] ratings = table.ratings();
+    Assert.assertEquals(0, ratings[0] + ratings[1], 1e-6);
+    Assert.assertEquals(191, ratings[0] - ratings[1], 2);
+  }
+
+  @Test
+  public void testPerfectScoreIsFinite() {
+    EloTable table = new EloTable("a", "b", "c");
+    for (int i = 0; i < 5; i++) {
+      table.addResult(0, 1, 1);
+      table.addResult(1, 2, 1);
+    }
+    double[] ratings = table.ratings();
+    Assert.assertTrue(Double.isFinite(ratings[0]));
+    Assert.assertTrue(ratings[0] > ratings[1]);
+    Assert.assertTrue(ratings[1] > ratings[2]);
+  }
+
+  @Test
+  public void testIntervalsShrinkWithGames() {
+    EloTable table = new EloTable("a", "b");
+    table.addResult(0, 1, 1);
+    table.addResult(0, 1, -1);
+    double few = table.intervals()[0];
+    for (int i = 0; i < 400; i++) {
+      table.addResult(0, 1, i % 2 == 0 ? 1 : -1);
+    }
+    double many = table.intervals()[0];
+    Assert.assertTrue(many < few / 5);
+    // a 95% interval of an even match after 402 games is about 400 / sqrt(402) Elo wide
+    Assert.assertEquals(34, many, 2);
+  }
+
+  @Test
+  public void testToStringSortsByRating() {
+    EloTable table = new EloTable("weak", "strong");
+    table.addResult(1, 0, 1);
+    String text = table.toString();
+    Assert.assertTrue(text.startsWith("Name"));
+    Assert.assertTrue(text.indexOf("strong") < text.indexOf("weak"));
+  }
+}
@@ -0,0 +1,149 @@
+package arena;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Optional;
+
+import model.BoardView;
+import model.HexagonalReversi;
+import model.ReversiModel;
+import strategy.CaptureMaxPieces;
+import strategy.ReversiStrategy;
+
+/**
+ * A class that holds tests for HeadlessGame and the records of the games it plays.
+ */
+public class HeadlessGameTest {
+
+  // tests for the constructor
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmallBoard() {
+    new HeadlessGame(2);
+  }
+
+
+
+  // tests for play
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayNullStrategy() {
+    new HeadlessGame(6).play(new CaptureMaxPieces(), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayNullOpening() {
+    new HeadlessGame(6).play(new CaptureMaxPieces(), new CaptureMaxPieces(), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayIllegalOpening() {
+    new HeadlessGame(6).play(new CaptureMaxPieces(), new CaptureMaxPieces(), new int[] {0});
+  }
+
+  @Test
+  public void testPlayOpeningPastGameOver() {
+    HeadlessGame game = new HeadlessGame(3);
+    GameRecord record = game.play(new CaptureMaxPieces(), new CaptureMaxPieces());
+    int[] opening = Arrays.copyOf(record.moves(), record.moves().length + 1);
+    opening[opening.length - 1] = GameRecord.PASS;
+    try {
+      game.play(new CaptureMaxPieces(), new CaptureMaxPieces(), opening);
+      Assert.fail("A pass after the end of the game was accepted.");
+    }
+    catch (IllegalArgumentException e) {
+      Assert.assertEquals("Move " + record.moves().length + " of the opening is not legal.",
+              e.getMessage());
+    }
+    // the game was put back to the start
+    Assert.assertArrayEquals(record.moves(),
+            game.play(new CaptureMaxPieces(), new CaptureMaxPieces()).moves());
+  }
+
+  @Test
+  public void testPlayMatchesGameOnModel() {
+    // the record is the same game as the strategies play on a model with listeners
+    GameRecord record = new HeadlessGame(5).play(new CaptureMaxPieces(), new CaptureMaxPieces());
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    BoardView board = model.getBoardView();
+    ReversiStrategy strategy = new CaptureMaxPieces();
+    for (int move : record.moves()) {
+      Optional<Point> choice = strategy.chooseMove(model);
+      if (move == GameRecord.PASS) {
+        Assert.assertTrue(choice.isEmpty());
+        model.passTurn();
+      }
+      else {
+        Assert.assertEquals(new Point(board.qAt(move), board.rAt(move)), choice.get());
+        model.moveAt(board.qAt(move), board.rAt(move));
+      }
+    }
+    Assert.assertTrue(model.isGameOver());
+    boolean firstToMove = record.moveCount() % 2 == 0;
+    Assert.assertEquals(record.firstScore(), firstToMove
+            ? model.getCurrentPlayerScore() : model.getOtherPlayerScore());
+    Assert.assertEquals(record.secondScore(), firstToMove
+            ? model.getOtherPlayerScore() : model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testPlayIsRepeatable() {
+    // the board is put back to the start after every game
+    HeadlessGame game = new HeadlessGame(6);
+    GameRecord first = game.play(new CaptureMaxPieces(), new CaptureMaxPieces());
+    GameRecord second = game.play(new CaptureMaxPieces(), new CaptureMaxPieces());
+    Assert.assertArrayEquals(first.moves(), second.moves());
+    Assert.assertEquals(first.firstScore(), second.firstScore());
+    Assert.assertEquals(first.secondScore(), second.secondScore());
+  }
+
+  @Test
+  public void testPlayFromOpening() {
+    HeadlessGame game = new HeadlessGame(6);
+    int[] opening = {game.play(new CaptureMaxPieces(), new CaptureMaxPieces()).moves()[0]};
+    GameRecord record = game.play(new CaptureMaxPieces(), new CaptureMaxPieces(), opening);
+    Assert.assertEquals(opening[0], record.moves()[0]);
+  }
+
+  @Test
+  public void testPlayIllegalMove() {
+    // a strategy that always moves next to the center, where there is a disk from the start
+    ReversiStrategy taken = model -> Optional.of(new Point(0, -1));
+    HeadlessGame game = new HeadlessGame(6);
+    try {
+      game.play(new CaptureMaxPieces(), taken);
+      Assert.fail("The illegal move was played.");
+    }
+    catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().contains("second"));
+    }
+    // the game that failed does not change the next one
+    Assert.assertEquals(new HeadlessGame(6).play(new CaptureMaxPieces(), new CaptureMaxPieces())
+            .moveCount(), game.play(new CaptureMaxPieces(), new CaptureMaxPieces()).moveCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPlayOffBoard() {
+    new HeadlessGame(6).play(model -> Optional.of(new Point(9, 9)), new CaptureMaxPieces());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPlayPassWithMoves() {
+    new HeadlessGame(6).play(model -> Optional.empty(), new CaptureMaxPieces());
+  }
+
+
+
+  // tests for GameRecord
+  @Test
+  public void testRecordIsCopied() {
+    GameRecord record = new GameRecord(6, new int[] {1, 2, 3}, 2, 40, 30);
+    Assert.assertEquals(2, record.moveCount());
+    record.moves()[0] = 5;
+    Assert.assertArrayEquals(new int[] {1, 2}, record.moves());
+    Assert.assertEquals(1, record.winner());
+    Assert.assertEquals(6, record.sideLength());
+  }
+}
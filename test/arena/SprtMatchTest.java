@@ -0,0 +1,134 @@
+package arena;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import model.BoardView;
+import model.HexagonalReversi;
+import strategy.AlphaBetaMinimax;
+import strategy.CaptureMaxPieces;
+import strategy.DiskDifference;
+import strategy.LazySmp;
+import strategy.ReversiStrategy;
+import strategy.TranspositionTable;
+import strategy.WeightedEvaluator;
+
+/**
+ * A class that holds tests for the decisions and log-likelihood ratio of SprtMatch.
+ */
+public class SprtMatchTest {
+
+  // a strategy that always plays its first legal move from the upper-left
+  private static final ReversiStrategy FIRST_MOVE = model -> {
+    BoardView board = model.getBoardView();
+    for (int index = 0; index < board.cellCount(); index++) {
+      if (model.isMovePossible(board.qAt(index), board.rAt(index))) {
+        return Optional.of(new Point(board.qAt(index), board.rAt(index)));
+      }
+    }
+    return Optional.empty();
+  };
+
+  // tests for the constructor
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoundsOutOfOrder() {
+    new SprtMatch(6, 4, 0, 5, 0, 0.05, 0.05);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAlphaOutOfRange() {
+    new SprtMatch(6, 4, 0, 0, 5, 0, 0.05);
+  }
+
+
+
+  // tests for run
+  @Test(expected = IllegalArgumentException.class)
+  public void testRunNullFactory() {
+    new SprtMatch(6, 4, 0, 0, 5, 0.05, 0.05).run(CaptureMaxPieces::new, null, 10, 1);
+  }
+
+  @Test
+  public void testRunAcceptsStronger() {
+    SprtMatch match = new SprtMatch(5, 4, 1, 0, 20, 0.05, 0.05);
+    SprtResult result = match.run(() -> new AlphaBetaMinimax(2, WeightedEvaluator.standard()),
+            () -> FIRST_MOVE, 1000, 2);
+    Assert.assertEquals(SprtResult.Decision.ACCEPT_H1, result.decision());
+    Assert.assertTrue(result.llr() >= result.upperBound());
+    Assert.assertTrue(result.games() < 200);
+    Assert.assertEquals(result.games(), result.wins() + result.draws() + result.losses());
+    Assert.assertTrue(result.wins() > result.losses());
+  }
+
+  @Test
+  public void testRunRejectsSameStrategy() {
+    // the same deterministic strategy wins one game of every pair from each side
+    SprtMatch match = new SprtMatch(5, 4, 2, 0, 20, 0.05, 0.05);
+    SprtResult result = match.run(CaptureMaxPieces::new, CaptureMaxPieces::new, 1000, 1);
+    Assert.assertEquals(SprtResult.Decision.ACCEPT_H0, result.decision());
+    Assert.assertTrue(result.llr() <= result.lowerBound());
+    Assert.assertEquals(result.wins(), result.losses());
+  }
+
+  @Test
+  public void testRunInconclusive() {
+    SprtMatch match = new SprtMatch(5, 4, 3, 0, 5, 0.05, 0.05);
+    SprtResult result = match.run(CaptureMaxPieces::new, () -> FIRST_MOVE, 2, 1);
+    Assert.assertEquals(SprtResult.Decision.INCONCLUSIVE, result.decision());
+    Assert.assertEquals(4, result.games());
+  }
+
+  @Test
+  public void testRunIsReproducibleOnAnyThreads() {
+    SprtMatch match = new SprtMatch(5, 6, 4, 0, 10, 0.05, 0.05);
+    SprtResult one = match.run(CaptureMaxPieces::new, () -> new AlphaBetaMinimax(1), 500, 1);
+    SprtResult three = match.run(CaptureMaxPieces::new, () -> new AlphaBetaMinimax(1), 500, 3);
+    Assert.assertEquals(one.decision(), three.decision());
+    Assert.assertEquals(one.games(), three.games());
+    Assert.assertEquals(one.llr(), three.llr(), 1e-12);
+  }
+
+
+
+  @Test
+  public void testRunClosesStrategies() {
+    List<LazySmp> made = Collections.synchronizedList(new ArrayList<>());
+    SprtMatch match = new SprtMatch(4, 2, 6, 0, 10, 0.05, 0.05);
+    match.run(() -> FIRST_MOVE, () -> {
+      LazySmp smp = new LazySmp(1000, 1, 2, new DiskDifference(), new TranspositionTable(16));
+      made.add(smp);
+      return smp;
+    }, 2, 2);
+    Assert.assertEquals(2, made.size()); // one strategy on each thread
+    for (LazySmp smp : made) {
+      try {
+        smp.chooseMove(new HexagonalReversi(4));
+        Assert.fail("The strategy was not closed.");
+      }
+      catch (IllegalStateException e) {
+        Assert.assertEquals("The strategy has been closed.", e.getMessage());
+      }
+    }
+  }
+
+
+
+  // tests for llr
+  @Test
+  public void testLlrSignFollowsScore() {
+    SprtMatch match = new SprtMatch(6, 4, 0, 0, 10, 0.05, 0.05);
+    Assert.assertTrue(match.llr(new int[] {1, 3, 10, 6, 4}) > 0);
+    Assert.assertTrue(match.llr(new int[] {4, 6, 10, 3, 1}) < 0);
+    // more pairs with the same scores are more evidence
+    Assert.assertTrue(match.llr(new int[] {20, 60, 200, 120, 80})
+            > 1.9 * match.llr(new int[] {10, 30, 100, 60, 40}));
+    // a single pair cannot decide the test
+    Assert.assertTrue(match.llr(new int[] {0, 0, 0, 0, 1}) < 1);
+  }
+}
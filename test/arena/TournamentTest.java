@@ -0,0 +1,142 @@
+package arena;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import model.BoardView;
+import model.HexagonalReversi;
+import strategy.AlphaBetaMinimax;
+import strategy.CaptureMaxPieces;
+import strategy.DiskDifference;
+import strategy.LazySmp;
+import strategy.ReversiStrategy;
+import strategy.TranspositionTable;
+import strategy.WeightedEvaluator;
+
+/**
+ * A class that holds tests for the scheduling, openings and results of Tournament.
+ */
+public class TournamentTest {
+
+  // a strategy that always plays its first legal move from the upper-left
+  private static final ReversiStrategy FIRST_MOVE = model -> {
+    BoardView board = model.getBoardView();
+    for (int index = 0; index < board.cellCount(); index++) {
+      if (model.isMovePossible(board.qAt(index), board.rAt(index))) {
+        return Optional.of(new Point(board.qAt(index), board.rAt(index)));
+      }
+    }
+    return Optional.empty();
+  };
+
+  // tests for the constructor and addEntrant
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeOpeningMoves() {
+    new Tournament(6, -1, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFactory() {
+    new Tournament(6, 4, 0).addEntrant("a", null);
+  }
+
+
+
+  // tests for play
+  @Test(expected = IllegalStateException.class)
+  public void testPlayOneEntrant() {
+    Tournament tournament = new Tournament(6, 4, 0);
+    tournament.addEntrant("capture", CaptureMaxPieces::new);
+    tournament.play(1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayNoThreads() {
+    Tournament tournament = new Tournament(6, 4, 0);
+    tournament.addEntrant("capture", CaptureMaxPieces::new);
+    tournament.addEntrant("first", () -> FIRST_MOVE);
+    tournament.play(1, 0);
+  }
+
+  @Test
+  public void testPlayEveryPairTwicePerRound() {
+    Tournament tournament = new Tournament(5, 4, 1);
+    tournament.addEntrant("capture", CaptureMaxPieces::new);
+    tournament.addEntrant("first", () -> FIRST_MOVE);
+    tournament.addEntrant("search", () -> new AlphaBetaMinimax(1));
+    Assert.assertEquals(30, tournament.gameCount(5));
+    EloTable table = tournament.play(5, 2);
+    double points = 0;
+    for (int player = 0; player < table.size(); player++) {
+      Assert.assertEquals(20, table.games(player));
+      points += table.points(player);
+    }
+    Assert.assertEquals(30, points, 0);
+  }
+
+  @Test
+  public void testPlayIsReproducibleOnAnyThreads() {
+    // deterministic strategies score the same from the same seed on any number of threads
+    Tournament tournament = new Tournament(5, 6, 42);
+    tournament.addEntrant("capture", CaptureMaxPieces::new);
+    tournament.addEntrant("first", () -> FIRST_MOVE);
+    tournament.addEntrant("search", () -> new AlphaBetaMinimax(1));
+    EloTable one = tournament.play(4, 1);
+    EloTable three = tournament.play(4, 3);
+    Assert.assertArrayEquals(one.ratings(), three.ratings(), 1e-9);
+    for (int player = 0; player < one.size(); player++) {
+      Assert.assertEquals(one.points(player), three.points(player), 0);
+    }
+  }
+
+  @Test
+  public void testPlayRatesStrongerHigher() {
+    Tournament tournament = new Tournament(5, 4, 7);
+    tournament.addEntrant("first", () -> FIRST_MOVE);
+    tournament.addEntrant("search", () -> new AlphaBetaMinimax(2, WeightedEvaluator.standard()));
+    EloTable table = tournament.play(10, 2);
+    Assert.assertTrue(table.ratings()[1] > table.ratings()[0]);
+  }
+
+  @Test
+  public void testPlayClosesStrategies() {
+    List<LazySmp> made = Collections.synchronizedList(new ArrayList<>());
+    Tournament tournament = new Tournament(4, 2, 5);
+    tournament.addEntrant("first", () -> FIRST_MOVE);
+    tournament.addEntrant("smp", () -> {
+      LazySmp smp = new LazySmp(1000, 1, 2, new DiskDifference(), new TranspositionTable(16));
+      made.add(smp);
+      return smp;
+    });
+    tournament.play(1, 2);
+    Assert.assertEquals(2, made.size()); // one strategy on each thread
+    for (LazySmp smp : made) {
+      try {
+        smp.chooseMove(new HexagonalReversi(4));
+        Assert.fail("The strategy was not closed.");
+      }
+      catch (IllegalStateException e) {
+        Assert.assertEquals("The strategy has been closed.", e.getMessage());
+      }
+    }
+  }
+
+
+
+  // tests for opening
+  @Test
+  public void testOpeningIsSharedByPairAndSeed() {
+    Tournament tournament = new Tournament(6, 8, 3);
+    Assert.assertArrayEquals(tournament.opening(4), tournament.opening(5));
+    Assert.assertArrayEquals(tournament.opening(4), new Tournament(6, 8, 3).opening(4));
+    Assert.assertFalse(Arrays.equals(tournament.opening(4), tournament.opening(6)));
+    Assert.assertEquals(8, tournament.opening(4).length);
+  }
+}
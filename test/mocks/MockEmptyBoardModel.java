@@ -0,0 +1,29 @@
+package mocks;
+
+import java.awt.Point;
+import java.util.Map;
+
+import model.HexagonalReversi;
+import model.tile.PointyTopHexagon;
+import model.tile.ReversiTile;
+
+/**
+ * A mock model for HexagonalReversi whose board starts with no disks on it, so that no player
+ * ever has a legal move.
+ */
+public class MockEmptyBoardModel extends HexagonalReversi {
+  /**
+   * A constructor for a mock hexagonal reversi model with an empty board.
+   * @param sideLength The side length of the HexagonalBoard.
+   */
+  public MockEmptyBoardModel(int sideLength) {
+    super(sideLength);
+  }
+
+  @Override
+  protected Map<Point, ReversiTile> makeBoard(int side) {
+    Map<Point, ReversiTile> board = super.makeBoard(side);
+    board.replaceAll((point, tile) -> new PointyTopHexagon()); // leave every tile without a disk
+    return board;
+  }
+}
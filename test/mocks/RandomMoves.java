@@ -0,0 +1,39 @@
+package mocks;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import model.BoardView;
+import model.ReversiModel;
+
+/**
+ * A helper for tests that plays random legal moves on a model, to reach positions that are hard
+ * to set up by hand.
+ */
+public final class RandomMoves {
+  // this class only has static methods and cannot be created
+  private RandomMoves() {
+  }
+
+  /**
+   * Plays a random legal move on the given model, or passes if there is none.
+   * @param model The started model to move on, whose game is not over.
+   * @param random The source of the move.
+   * @return The index of the tile moved at, as numbered by {@link model.HexBoardGeometry}, or -1
+   *     for a pass.
+   */
+  public static int play(ReversiModel model, Random random) {
+    BitSet moves = model.legalMoves();
+    if (moves.isEmpty()) {
+      model.passTurn();
+      return -1;
+    }
+    int move = moves.nextSetBit(0);
+    for (int skip = random.nextInt(moves.cardinality()); skip > 0; skip--) {
+      move = moves.nextSetBit(move + 1);
+    }
+    BoardView board = model.getBoardView();
+    model.moveAt(board.qAt(move), board.rAt(move));
+    return move;
+  }
+}
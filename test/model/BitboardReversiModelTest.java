@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * Runs all tests for the public methods of the ReversiModel interface against a BitboardReversi.
+ */
+public class BitboardReversiModelTest extends ReversiModelTest {
+
+  @Override
+  protected ReversiModel createModel(int sideLength) {
+    return new BitboardReversi(sideLength);
+  }
+}
@@ -0,0 +1,134 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import util.HexReversiUtils;
+
+/**
+ * Tests for the constructors of BitboardReversi and for playing full games on it alongside a
+ * HexagonalReversi.
+ */
+public class BitboardReversiTest {
+  BitboardReversi model;
+
+  @Before
+  public void setUp() {
+    this.model = new BitboardReversi();
+    this.model.startGame();
+  }
+
+
+  // tests for constructors
+  @Test
+  public void testEmptyConstructor() {
+    Assert.assertEquals(6, HexReversiUtils.getBoardSideLength(this.model.getTiles()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorPositiveButLessThan3SideLength() {
+    this.model = new BitboardReversi(2);
+  }
+
+  @Test
+  public void testConstructorSideLength15() {
+    this.model = new BitboardReversi(15);
+    this.model.startGame();
+    Assert.assertEquals(15, HexReversiUtils.getBoardSideLength(this.model.getTiles()));
+    Assert.assertEquals(631, this.model.getTiles().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCopyConstructorNullModel() {
+    this.model = new BitboardReversi(null);
+  }
+
+  @Test
+  public void testCopyConstructorFromHexagonalReversi() {
+    HexagonalReversi hexModel = new HexagonalReversi(5);
+    hexModel.startGame();
+    hexModel.moveAt(1, 1);
+    BitboardReversi copy = new BitboardReversi(hexModel);
+    copy.startGame();
+    Assert.assertEquals(hexModel.getTiles().keySet(), copy.getTiles().keySet());
+    Assert.assertEquals(Color.WHITE, copy.currentPlayerColor());
+    Assert.assertEquals(hexModel.getCurrentPlayerScore(), copy.getCurrentPlayerScore());
+    Assert.assertEquals(Color.BLACK, copy.getTileAt(1, 1).getTopColor());
+  }
+
+  @Test
+  public void testCopyConstructorFromBitboardOnPlayerTwo() {
+    this.model.moveAt(1, 1);
+    BitboardReversi copy = new BitboardReversi(this.model);
+    copy.startGame();
+    Assert.assertEquals(Color.WHITE, copy.currentPlayerColor());
+    Assert.assertEquals(2, copy.getCurrentPlayerScore());
+    Assert.assertEquals(5, copy.getOtherPlayerScore());
+    Assert.assertTrue(copy.isMovePossible(1, -2));
+  }
+
+
+  // tests for indexOf
+  @Test
+  public void testIndexOfUpperLeftMostTile() {
+    Assert.assertEquals(0, this.model.indexOf(0, -5));
+  }
+
+  @Test
+  public void testIndexOfLowerRightMostTile() {
+    Assert.assertEquals(90, this.model.indexOf(0, 5));
+  }
+
+  @Test
+  public void testIndexOfOffBoard() {
+    Assert.assertEquals(-1, this.model.indexOf(-1, -5));
+    Assert.assertEquals(-1, this.model.indexOf(0, 6));
+  }
+
+
+  // tests that both models agree on every move of many random games
+  @Test
+  public void testRandomGamesMatchHexagonalReversi() {
+    Random rand = new Random(42);
+    for (int game = 0; game < 30; game++) {
+      int side = 3 + game % 4;
+      ReversiModel expected = new HexagonalReversi(side);
+      ReversiModel actual = new BitboardReversi(side);
+      expected.startGame();
+      actual.startGame();
+      while (!expected.isGameOver()) {
+        Assert.assertFalse(actual.isGameOver());
+        List<Point> moves = new ArrayList<>();
+        for (Point point : expected.getTiles().keySet()) {
+          boolean possible = expected.isMovePossible(point.x, point.y);
+          Assert.assertEquals(possible, actual.isMovePossible(point.x, point.y));
+          if (possible) {
+            moves.add(point);
+          }
+        }
+        Assert.assertEquals(expected.anyMoves(), actual.anyMoves());
+        if (moves.isEmpty()) {
+          expected.passTurn();
+          actual.passTurn();
+        }
+        else {
+          Point move = moves.get(rand.nextInt(moves.size()));
+          expected.moveAt(move.x, move.y);
+          actual.moveAt(move.x, move.y);
+        }
+        Assert.assertEquals(expected.getCurrentPlayerScore(), actual.getCurrentPlayerScore());
+        Assert.assertEquals(expected.getOtherPlayerScore(), actual.getOtherPlayerScore());
+        Assert.assertEquals(expected.currentPlayerColor(), actual.currentPlayerColor());
+        Assert.assertEquals(expected.positionHash(), actual.positionHash());
+      }
+      Assert.assertTrue(actual.isGameOver());
+    }
+  }
+}
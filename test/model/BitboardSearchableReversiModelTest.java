@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * Runs all tests for the methods of the SearchableReversiModel interface against a
+ * BitboardReversi.
+ */
+public class BitboardSearchableReversiModelTest extends SearchableReversiModelTest {
+
+  @Override
+  protected SearchableReversiModel createModel(int sideLength) {
+    return new BitboardReversi(sideLength);
+  }
+}
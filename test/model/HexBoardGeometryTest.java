@@ -0,0 +1,106 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * A class that holds tests for the HexBoardGeometry class.
+ */
+public class HexBoardGeometryTest {
+
+  // tests for forSideLength
+  @Test(expected = IllegalArgumentException.class)
+  public void testForSideLength0() {
+    HexBoardGeometry.forSideLength(0);
+  }
+
+  @Test
+  public void testForSideLengthIsShared() {
+    Assert.assertSame(HexBoardGeometry.forSideLength(6), HexBoardGeometry.forSideLength(6));
+    Assert.assertNotSame(HexBoardGeometry.forSideLength(6), HexBoardGeometry.forSideLength(5));
+  }
+
+  @Test
+  public void testCellCount() {
+    Assert.assertEquals(91, HexBoardGeometry.forSideLength(6).cellCount());
+    Assert.assertEquals(37, HexBoardGeometry.forSideLength(4).cellCount());
+    Assert.assertEquals(1, HexBoardGeometry.forSideLength(1).cellCount());
+  }
+
+
+
+  // tests for indexOf, qOf and rOf
+  @Test
+  public void testIndexOfMatchesEveryTileOfHexagonalReversi() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(6);
+    ReversiModel model = new HexagonalReversi(6);
+    boolean[] seen = new boolean[geometry.cellCount()];
+    for (Point point : model.getTiles().keySet()) {
+      int index = geometry.indexOf(point.x, point.y);
+      Assert.assertFalse(seen[index]);
+      seen[index] = true;
+      Assert.assertEquals(point.x, geometry.qOf(index));
+      Assert.assertEquals(point.y, geometry.rOf(index));
+    }
+  }
+
+  @Test
+  public void testIndexOfIsRowByRow() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(3);
+    Assert.assertEquals(0, geometry.indexOf(0, -2));
+    Assert.assertEquals(2, geometry.indexOf(2, -2));
+    Assert.assertEquals(3, geometry.indexOf(-1, -1));
+    Assert.assertEquals(9, geometry.indexOf(0, 0));
+    Assert.assertEquals(18, geometry.indexOf(0, 2));
+  }
+
+  @Test
+  public void testIndexOfOffBoard() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(3);
+    Assert.assertEquals(-1, geometry.indexOf(-1, -2));
+    Assert.assertEquals(-1, geometry.indexOf(3, 0));
+    Assert.assertEquals(-1, geometry.indexOf(0, -3));
+  }
+
+
+
+  // tests for neighbor and ray
+  @Test
+  public void testNeighborMatchesDirections() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(4);
+    List<Point> directions = new HexagonalReversi(4).getDirections();
+    int center = geometry.indexOf(0, 0);
+    for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+      Point step = directions.get(dir);
+      Assert.assertEquals(geometry.indexOf(step.x, step.y), geometry.neighbor(center, dir));
+    }
+  }
+
+  @Test
+  public void testNeighborOffBoard() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(3);
+    Assert.assertEquals(-1, geometry.neighbor(geometry.indexOf(-2, 0), 0));
+  }
+
+  @Test
+  public void testRayFromCenterReachesEdge() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(4);
+    int[] ray = geometry.ray(geometry.indexOf(0, 0), 3);
+    Assert.assertArrayEquals(new int[] {geometry.indexOf(1, 0), geometry.indexOf(2, 0),
+        geometry.indexOf(3, 0)}, ray);
+  }
+
+  @Test
+  public void testRayFromCornerTowardsEdgeIsEmpty() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(4);
+    Assert.assertEquals(0, geometry.ray(geometry.indexOf(0, -3), 1).length);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRayInvalidDirection() {
+    HexBoardGeometry.forSideLength(4).ray(0, 6);
+  }
+}
@@ -0,0 +1,191 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import mocks.RandomMoves;
+
+/**
+ * A class that holds tests for the HexSymmetry class.
+ */
+public class HexSymmetryTest {
+
+  // tests for forSideLength
+  @Test(expected = IllegalArgumentException.class)
+  public void testForSideLength0() {
+    HexSymmetry.forSideLength(0);
+  }
+
+  @Test
+  public void testForSideLengthIsShared() {
+    Assert.assertSame(HexSymmetry.forSideLength(6), HexSymmetry.forSideLength(6));
+    Assert.assertNotSame(HexSymmetry.forSideLength(6), HexSymmetry.forSideLength(5));
+  }
+
+
+
+  // tests for transform and inverse
+  @Test
+  public void testTransform0IsIdentity() {
+    HexSymmetry symmetry = HexSymmetry.forSideLength(5);
+    for (int cell = 0; cell < HexBoardGeometry.forSideLength(5).cellCount(); cell++) {
+      Assert.assertEquals(cell, symmetry.transform(0, cell));
+    }
+  }
+
+  @Test
+  public void testTransformRotatesCorners() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(4);
+    HexSymmetry symmetry = HexSymmetry.forSideLength(4);
+    // the corner to the right of the center moves to the next corner clockwise
+    Assert.assertEquals(geometry.indexOf(0, 3),
+            symmetry.transform(1, geometry.indexOf(3, 0)));
+    Assert.assertEquals(geometry.indexOf(-3, 0),
+            symmetry.transform(3, geometry.indexOf(3, 0)));
+    // the reflection swaps q and r
+    Assert.assertEquals(geometry.indexOf(-3, 3),
+            symmetry.transform(6, geometry.indexOf(3, -3)));
+  }
+
+  @Test
+  public void testTransformsAreDistinctPermutationsThatKeepNeighbors() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(4);
+    HexSymmetry symmetry = HexSymmetry.forSideLength(4);
+    Set<String> images = new HashSet<>();
+    for (int transform = 0; transform < HexSymmetry.TRANSFORMS; transform++) {
+      BitSet seen = new BitSet();
+      StringBuilder image = new StringBuilder();
+      for (int cell = 0; cell < geometry.cellCount(); cell++) {
+        int moved = symmetry.transform(transform, cell);
+        Assert.assertFalse(seen.get(moved));
+        seen.set(moved);
+        image.append(moved).append(',');
+        for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) { // neighbors stay neighbors
+          int neighbor = geometry.neighbor(cell, dir);
+          if (neighbor >= 0) {
+            int movedNeighbor = symmetry.transform(transform, neighbor);
+            boolean adjacent = false;
+            for (int other = 0; other < HexBoardGeometry.DIRECTIONS; other++) {
+              adjacent |= geometry.neighbor(moved, other) == movedNeighbor;
+            }
+            Assert.assertTrue(adjacent);
+          }
+        }
+      }
+      Assert.assertEquals(geometry.cellCount(), seen.cardinality());
+      images.add(image.toString());
+    }
+    Assert.assertEquals(HexSymmetry.TRANSFORMS, images.size());
+  }
+
+  @Test
+  public void testInverseUndoesTransform() {
+    HexSymmetry symmetry = HexSymmetry.forSideLength(5);
+    for (int transform = 0; transform < HexSymmetry.TRANSFORMS; transform++) {
+      int inverse = HexSymmetry.inverse(transform);
+      for (int cell = 0; cell < HexBoardGeometry.forSideLength(5).cellCount(); cell++) {
+        Assert.assertEquals(cell, symmetry.transform(inverse, symmetry.transform(transform, cell)));
+      }
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testTransformInvalidTransform() {
+    HexSymmetry.forSideLength(4).transform(12, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testTransformInvalidIndex() {
+    HexSymmetry.forSideLength(4).transform(0, 37);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInverseInvalidTransform() {
+    HexSymmetry.inverse(-1);
+  }
+
+
+
+  // tests for key, canonicalKey and canonicalTransform
+  @Test(expected = IllegalArgumentException.class)
+  public void testKeyNullModel() {
+    HexSymmetry.forSideLength(4).key(null, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCanonicalKeyOtherSideLength() {
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    HexSymmetry.forSideLength(4).canonicalKey(model);
+  }
+
+  @Test
+  public void testKeyMatchesPositionHashOfPlayerToMove() {
+    ReversiModel model = new HexagonalReversi(6);
+    model.startGame();
+    Random random = new Random(3);
+    for (int ply = 0; ply < 10 && !model.isGameOver(); ply++) {
+      RandomMoves.play(model, random);
+      SearchableReversiModel copy = new BitboardReversi(model); // player one moves next
+      copy.startGame();
+      Assert.assertEquals(copy.positionHash(), HexSymmetry.forSideLength(6).key(model, 0));
+    }
+  }
+
+  @Test
+  public void testCanonicalKeyIsSmallestKey() {
+    HexSymmetry symmetry = HexSymmetry.forSideLength(5);
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    Random random = new Random(5);
+    for (int ply = 0; ply < 12 && !model.isGameOver(); ply++) {
+      RandomMoves.play(model, random);
+      long smallest = Long.MAX_VALUE;
+      for (int transform = 0; transform < HexSymmetry.TRANSFORMS; transform++) {
+        smallest = Math.min(smallest, symmetry.key(model, transform));
+      }
+      Assert.assertEquals(smallest, symmetry.canonicalKey(model));
+      Assert.assertEquals(smallest, symmetry.key(model, symmetry.canonicalTransform(model)));
+    }
+  }
+
+  @Test
+  public void testCanonicalKeySameForSymmetricGames() {
+    // play the same random game, moved by every symmetry that keeps the starting position, on
+    // two boards, and check that every position has the same canonical key on both
+    HexSymmetry symmetry = HexSymmetry.forSideLength(5);
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(5);
+    ReversiModel start = new HexagonalReversi(5);
+    start.startGame();
+    int symmetricTransforms = 0;
+    for (int transform = 1; transform < HexSymmetry.TRANSFORMS; transform++) {
+      if (symmetry.key(start, transform) != symmetry.key(start, 0)) {
+        continue;
+      }
+      symmetricTransforms++;
+      ReversiModel model = new HexagonalReversi(5);
+      model.startGame();
+      ReversiModel moved = new HexagonalReversi(5);
+      moved.startGame();
+      Random random = new Random(transform);
+      while (!model.isGameOver()) {
+        int move = RandomMoves.play(model, random);
+        if (move < 0) {
+          moved.passTurn();
+        }
+        else {
+          int image = symmetry.transform(transform, move);
+          moved.moveAt(geometry.qOf(image), geometry.rOf(image));
+        }
+        Assert.assertEquals(symmetry.key(model, transform), symmetry.key(moved, 0));
+        Assert.assertEquals(symmetry.canonicalKey(model), symmetry.canonicalKey(moved));
+      }
+    }
+    Assert.assertTrue(symmetricTransforms > 0);
+  }
+}
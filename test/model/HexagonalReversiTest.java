@@ -179,6 +179,35 @@ public class HexagonalReversiTest {
 
 
 
+  // test scoresMatchBoard
+  @Test
+  public void testScoresMatchBoardAtStart() {
+    Assert.assertTrue(this.model.scoresMatchBoard());
+  }
+
+  @Test
+  public void testScoresMatchBoardAfterMoves() {
+    this.model.moveAt(1, 1);
+    this.model.moveAt(1, 2);
+    this.model.moveAt(2, -1);
+    Assert.assertTrue(this.model.scoresMatchBoard());
+    Assert.assertEquals(this.model.tilesWithColor(Color.WHITE),
+            this.model.getCurrentPlayerScore());
+    Assert.assertEquals(this.model.tilesWithColor(Color.BLACK), this.model.getOtherPlayerScore());
+  }
+
+  @Test
+  public void testScoresMatchBoardOfCopy() {
+    this.model.moveAt(1, 1);
+    HexagonalReversi copy = new HexagonalReversi(this.model);
+    copy.startGame();
+    Assert.assertTrue(copy.scoresMatchBoard());
+    Assert.assertEquals(2, copy.getCurrentPlayerScore());
+    Assert.assertEquals(5, copy.getOtherPlayerScore());
+  }
+
+
+
   // test tilesToFlip
   @Test(expected = NullPointerException.class)
   public void testTilesToFlipNullStart() {
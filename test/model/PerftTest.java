@@ -0,0 +1,109 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * A class that holds tests for Perft, which checks that every model and both ways of counting
+ * find the same number of positions.
+ */
+public class PerftTest {
+
+  // tests for count
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountNullModel() {
+    Perft.count(null, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountNegativeDepth() {
+    ReversiModel model = new BitboardReversi(6);
+    model.startGame();
+    Perft.count(model, -1);
+  }
+
+  @Test
+  public void testCountFromStart() {
+    // the counts from the start of the default board, which every model must match
+    long[] expected = {1, 6, 24, 72, 234, 780, 2874};
+    for (int depth = 0; depth < expected.length; depth++) {
+      ReversiModel model = new HexagonalReversi(6);
+      model.startGame();
+      Assert.assertEquals(expected[depth], Perft.count(model, depth));
+    }
+  }
+
+  @Test
+  public void testCountMatchesAcrossModels() {
+    // side 3 boards fill up within the depth, so passes and finished games are counted too
+    for (int side = 3; side <= 4; side++) {
+      for (int depth = 0; depth <= 7; depth++) {
+        ReversiModel reference = new HexagonalReversi(side);
+        reference.startGame();
+        ReversiModel bitboard = new BitboardReversi(side);
+        bitboard.startGame();
+        long expected = Perft.countCopies(reference, depth);
+        Assert.assertEquals(expected, Perft.count(reference, depth));
+        Assert.assertEquals(expected, Perft.count(bitboard, depth));
+      }
+    }
+  }
+
+  @Test
+  public void testCountLeavesModelUnchanged() {
+    SearchableReversiModel model = new BitboardReversi(5);
+    model.startGame();
+    model.moveAt(1, -2);
+    long hash = model.positionHash();
+    Perft.count(model, 4);
+    Assert.assertEquals(hash, model.positionHash());
+    Assert.assertEquals(0, model.undoableMoves());
+  }
+
+  @Test
+  public void testCountFinishedGame() {
+    SearchableReversiModel model = new BitboardReversi(3);
+    model.startGame();
+    while (!model.isGameOver()) {
+      int move = model.nextLegalMove(0);
+      if (move < 0) {
+        model.passTurn();
+      }
+      else {
+        model.moveAt(model.getBoardView().qAt(move), model.getBoardView().rAt(move));
+      }
+    }
+    Assert.assertEquals(1, Perft.count(model, 5));
+    Assert.assertTrue(Perft.divide(model, 5).isEmpty());
+  }
+
+
+
+  // tests for divide
+  @Test(expected = IllegalArgumentException.class)
+  public void testDivideZeroDepth() {
+    ReversiModel model = new BitboardReversi(6);
+    model.startGame();
+    Perft.divide(model, 0);
+  }
+
+  @Test
+  public void testDivideAddsUpToCount() {
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    Map<Integer, Long> divided = Perft.divide(model, 5);
+    Assert.assertEquals(6, divided.size());
+    long total = 0;
+    int previous = Perft.PASS;
+    for (Map.Entry<Integer, Long> entry : divided.entrySet()) {
+      Assert.assertTrue(entry.getKey() > previous); // in order of the tiles
+      Assert.assertTrue(model.isMovePossible(model.getBoardView().qAt(entry.getKey()),
+              model.getBoardView().rAt(entry.getKey())));
+      previous = entry.getKey();
+      total += entry.getValue();
+    }
+    Assert.assertEquals(Perft.count(model, 5), total);
+  }
+}
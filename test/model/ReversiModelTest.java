@@ -6,9 +6,11 @@ import org.junit.Test;
 
 import java.awt.Point;
 import java.awt.Color;
+import java.util.BitSet;
 import java.util.Map;
 
 import mocks.MockModelListener;
+import model.tile.CellState;
 import model.tile.ReversiTile;
 
 
@@ -19,9 +21,14 @@ import model.tile.ReversiTile;
 public class ReversiModelTest {
   ReversiModel model;
 
+  // creates the model under test, subclasses override this to test other implementations
+  protected ReversiModel createModel(int sideLength) {
+    return new HexagonalReversi(sideLength);
+  }
+
   @Before
   public void setUp() {
-    this.model = new HexagonalReversi(6);
+    this.model = this.createModel(6);
     this.model.startGame();
   }
 
@@ -29,7 +36,7 @@ public class ReversiModelTest {
   // tests for moveAt
   @Test(expected = IllegalStateException.class)
   public void testMoveAtGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.moveAt(1, 1);
   }
 
@@ -117,7 +124,7 @@ public class ReversiModelTest {
   // tests for passTurn
   @Test(expected = IllegalStateException.class)
   public void testPassTurnGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.passTurn();
   }
 
@@ -141,7 +148,7 @@ public class ReversiModelTest {
   // tests for isMovePossible
   @Test(expected = IllegalStateException.class)
   public void testIsMovePossibleGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.isMovePossible(1, 1);
   }
 
@@ -188,10 +195,68 @@ public class ReversiModelTest {
 
 
 
+  // tests for legalMoves
+  @Test(expected = IllegalStateException.class)
+  public void testLegalMovesGameNotStarted() {
+    this.model = this.createModel(6);
+    this.model.legalMoves();
+  }
+
+  @Test
+  public void testLegalMovesAtStart() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(6);
+    BitSet moves = this.model.legalMoves();
+    Assert.assertEquals(6, moves.cardinality());
+    Assert.assertTrue(moves.get(geometry.indexOf(1, 1)));
+    Assert.assertTrue(moves.get(geometry.indexOf(1, -2)));
+    Assert.assertFalse(moves.get(geometry.indexOf(0, 0)));
+  }
+
+  @Test
+  public void testLegalMovesMatchesIsMovePossible() {
+    this.model.moveAt(1, 1);
+    this.model.moveAt(1, 2);
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(6);
+    BitSet moves = this.model.legalMoves();
+    for (Point point : this.model.getTiles().keySet()) {
+      Assert.assertEquals(this.model.isMovePossible(point.x, point.y),
+              moves.get(geometry.indexOf(point.x, point.y)));
+    }
+  }
+
+  @Test
+  public void testLegalMovesIsACopy() {
+    BitSet moves = this.model.legalMoves();
+    moves.clear();
+    Assert.assertEquals(6, this.model.legalMoves().cardinality());
+    Assert.assertTrue(this.model.anyMoves());
+  }
+
+  @Test
+  public void testLegalMovesUpdatesAfterPassAndMove() {
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(6);
+    this.model.passTurn();
+    Assert.assertTrue(this.model.legalMoves().get(geometry.indexOf(-1, -1)));
+    this.model.moveAt(-1, -1);
+    Assert.assertFalse(this.model.legalMoves().get(geometry.indexOf(-1, -1)));
+  }
+
+  @Test
+  public void testLegalMovesEmptyWhenGameOver() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.model.legalMoves().isEmpty());
+  }
+
+
+
   // tests for anyMoves()
   @Test(expected = IllegalStateException.class)
   public void testAnyMovesGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.anyMoves();
   }
 
@@ -209,7 +274,7 @@ public class ReversiModelTest {
 
   @Test
   public void testAnyMovesNoMovesForPlayer2ButMovesForPlayer1() {
-    this.model = new HexagonalReversi(3);
+    this.model = this.createModel(3);
     this.model.startGame();
     this.model.moveAt(1, 1);
     this.model.moveAt(-1, 2);
@@ -227,7 +292,7 @@ public class ReversiModelTest {
 
   @Test
   public void testAnyMovesNoMovesForPlayer1ButMovesForPlayer2() {
-    this.model = new HexagonalReversi(3);
+    this.model = this.createModel(3);
     this.model.startGame();
     this.model.passTurn();
     this.model.moveAt(1, 1);
@@ -262,7 +327,7 @@ public class ReversiModelTest {
   // tests for isGameOver
   @Test(expected = IllegalStateException.class)
   public void testIsGameOverGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.isGameOver();
   }
 
@@ -293,7 +358,7 @@ public class ReversiModelTest {
   // tests for getCurrentPlayerScore
   @Test(expected = IllegalStateException.class)
   public void testGetCurrentPlayerScoreGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.getCurrentPlayerScore();
   }
 
@@ -338,7 +403,7 @@ public class ReversiModelTest {
   // tests for getOtherPlayerScore
   @Test(expected = IllegalStateException.class)
   public void testGetOtherPlayerScoreGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.getOtherPlayerScore();
   }
 
@@ -380,6 +445,55 @@ public class ReversiModelTest {
 
 
 
+  // tests for positionHash
+  @Test(expected = IllegalStateException.class)
+  public void testPositionHashGameNotStarted() {
+    this.model = this.createModel(6);
+    this.model.positionHash();
+  }
+
+  @Test
+  public void testPositionHashSameForSamePosition() {
+    ReversiModel other = this.createModel(6);
+    other.startGame();
+    Assert.assertEquals(other.positionHash(), this.model.positionHash());
+    this.model.moveAt(1, 1);
+    other.moveAt(1, 1);
+    Assert.assertEquals(other.positionHash(), this.model.positionHash());
+  }
+
+  @Test
+  public void testPositionHashChangesWithPlayerToMove() {
+    long before = this.model.positionHash();
+    this.model.passTurn();
+    Assert.assertNotEquals(before, this.model.positionHash());
+    this.model.passTurn();
+    Assert.assertEquals(before, this.model.positionHash());
+  }
+
+  @Test
+  public void testPositionHashChangesAfterMove() {
+    long before = this.model.positionHash();
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    Assert.assertNotEquals(before, this.model.positionHash());
+  }
+
+  @Test
+  public void testPositionHashSameForHexagonalAndBitboard() {
+    ReversiModel hexModel = new HexagonalReversi(6);
+    ReversiModel bitModel = new BitboardReversi(6);
+    hexModel.startGame();
+    bitModel.startGame();
+    hexModel.moveAt(1, 1);
+    bitModel.moveAt(1, 1);
+    hexModel.moveAt(1, -2);
+    bitModel.moveAt(1, -2);
+    Assert.assertEquals(hexModel.positionHash(), bitModel.positionHash());
+  }
+
+
+
   // test currentPlayerColor() {
   @Test
   public void testCurrentPlayerColorBlack() {
@@ -465,7 +579,7 @@ public class ReversiModelTest {
 
   @Test
   public void testGetTilesCorrectSize2() {
-    this.model = new HexagonalReversi(4);
+    this.model = this.createModel(4);
     this.model.startGame();
     Assert.assertEquals(37, this.model.getTiles().keySet().size());
     Assert.assertEquals(37, this.model.getTiles().values().size());
@@ -474,7 +588,7 @@ public class ReversiModelTest {
   @Test
   public void testGetTilesCorrectTileLocations() {
     Map<Point, ReversiTile> tiles = this.model.getTiles();
-    this.model = new HexagonalReversi(3);
+    this.model = this.createModel(3);
     for (int q = -2; q <= 2; q++) {
       for (int r = Math.max(-2, -q - 2); r < Math.min(2, -q + 2); r++) {
         Assert.assertTrue(tiles.containsKey(new Point(q, r)));
@@ -495,6 +609,106 @@ public class ReversiModelTest {
 
 
 
+  // tests for getBoardView
+  @Test
+  public void testGetBoardViewIsTheSameEveryTime() {
+    Assert.assertSame(this.model.getBoardView(), this.model.getBoardView());
+  }
+
+  @Test
+  public void testGetBoardViewSize() {
+    BoardView board = this.model.getBoardView();
+    Assert.assertEquals(6, board.sideLength());
+    Assert.assertEquals(91, board.cellCount());
+    this.model = this.createModel(4);
+    Assert.assertEquals(4, this.model.getBoardView().sideLength());
+    Assert.assertEquals(37, this.model.getBoardView().cellCount());
+  }
+
+  @Test
+  public void testGetBoardViewMatchesGetTiles() {
+    this.model.moveAt(1, 1);
+    BoardView board = this.model.getBoardView();
+    Map<Point, ReversiTile> tiles = this.model.getTiles();
+    for (int index = 0; index < board.cellCount(); index++) {
+      Point point = new Point(board.qAt(index), board.rAt(index));
+      Assert.assertEquals(index, board.indexOf(point.x, point.y));
+      ReversiTile tile = tiles.get(point);
+      Assert.assertEquals(tile.hasDisk(), board.hasDiskAt(index));
+      if (tile.hasDisk()) {
+        Assert.assertEquals(tile.getTopColor(), board.colorAt(index));
+      }
+    }
+  }
+
+  @Test
+  public void testGetBoardViewShowsLaterMoves() {
+    BoardView board = this.model.getBoardView();
+    int index = board.indexOf(1, 1);
+    Assert.assertFalse(board.hasDiskAt(index));
+    this.model.moveAt(1, 1);
+    Assert.assertTrue(board.hasDiskAt(index));
+    Assert.assertEquals(Color.BLACK, board.colorAt(board.indexOf(0, 1)));
+  }
+
+  @Test
+  public void testGetBoardViewStateAt() {
+    BoardView board = this.model.getBoardView();
+    Assert.assertEquals(CellState.EMPTY, board.stateAt(board.indexOf(0, 0)));
+    Assert.assertEquals(CellState.PLAYER_ONE, board.stateAt(board.indexOf(0, -1)));
+    Assert.assertEquals(CellState.PLAYER_TWO, board.stateAt(board.indexOf(1, -1)));
+    this.model.moveAt(1, 1);
+    Assert.assertEquals(CellState.PLAYER_ONE, board.stateAt(board.indexOf(1, 1)));
+    Assert.assertEquals(CellState.PLAYER_ONE, board.stateAt(board.indexOf(0, 1)));
+  }
+
+  @Test
+  public void testGetBoardViewStateOf() {
+    BoardView board = this.model.getBoardView();
+    Assert.assertEquals(CellState.PLAYER_ONE, board.stateOf(Color.BLACK));
+    Assert.assertEquals(CellState.PLAYER_TWO, board.stateOf(Color.WHITE));
+    Assert.assertEquals(board.stateAt(board.indexOf(0, -1)),
+            board.stateOf(board.colorAt(board.indexOf(0, -1))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetBoardViewStateOfOtherColor() {
+    this.model.getBoardView().stateOf(Color.RED);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetBoardViewColorAtEmptyTile() {
+    BoardView board = this.model.getBoardView();
+    board.colorAt(board.indexOf(0, 0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetBoardViewHasDiskAtOffBoard() {
+    this.model.getBoardView().hasDiskAt(91);
+  }
+
+  @Test
+  public void testGetBoardViewIndexOfOffBoard() {
+    Assert.assertEquals(-1, this.model.getBoardView().indexOf(10, 10));
+  }
+
+  @Test
+  public void testGetBoardViewForEachCellVisitsEveryTileInOrder() {
+    StringBuilder visited = new StringBuilder();
+    this.model = this.createModel(3);
+    this.model.getBoardView().forEachCell((index, q, r) ->
+            visited.append(index).append(":").append(q).append(",").append(r).append(" "));
+    Assert.assertTrue(visited.toString().startsWith("0:0,-2 1:1,-2 2:2,-2 3:-1,-1 "));
+    Assert.assertTrue(visited.toString().endsWith("18:0,2 "));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetBoardViewForEachCellNullVisitor() {
+    this.model.getBoardView().forEachCell(null);
+  }
+
+
+
   // tests for addListener()
   @Test(expected = IllegalStateException.class)
   public void testAddListenerAfterGameStarted() {
@@ -503,20 +717,20 @@ public class ReversiModelTest {
 
   @Test(expected = IllegalArgumentException.class)
   public void testAddListenerNull() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.addListener(null, false);
   }
 
   @Test
   public void testAddListenerBeforeGameStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.addListener(new MockModelListener(), false);
     Assert.assertTrue(true);
   }
 
   @Test
   public void testAddListenerDoesntAddDuplicates() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     MockModelListener mockListener = new MockModelListener();
     this.model.addListener(mockListener, true);
     this.model.addListener(mockListener, true);
@@ -535,7 +749,7 @@ public class ReversiModelTest {
 
   @Test
   public void testAddReadOnlyListenerBeforeGameStart() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     MockModelListener listener = new MockModelListener();
     this.model.addReadOnlyListener(listener);
     Assert.assertTrue(true);
@@ -568,7 +782,7 @@ public class ReversiModelTest {
 
   @Test
   public void testStartGameNotStarted() {
-    this.model = new HexagonalReversi();
+    this.model = this.createModel(6);
     this.model.startGame();
     Assert.assertTrue(true);
   }
@@ -0,0 +1,254 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import mocks.MockModelListener;
+import model.tile.ReversiTile;
+
+/**
+ * Tests for the methods of the SearchableReversiModel interface
+ * and the classes that implement this interface.
+ */
+public class SearchableReversiModelTest {
+  SearchableReversiModel model;
+
+  // creates the model under test, subclasses override this to test other implementations
+  protected SearchableReversiModel createModel(int sideLength) {
+    return new HexagonalReversi(sideLength);
+  }
+
+  @Before
+  public void setUp() {
+    this.model = this.createModel(6);
+    this.model.startGame();
+  }
+
+
+  // tests for applyMove
+  @Test(expected = IllegalStateException.class)
+  public void testApplyMoveGameNotStarted() {
+    this.model = this.createModel(6);
+    this.model.applyMove(1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyMoveIllegalCoordinates() {
+    this.model.applyMove(10, 10);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testApplyMoveInvalidMove() {
+    this.model.applyMove(0, 0);
+  }
+
+  @Test
+  public void testApplyMoveMakesMoveAndChangesTurn() {
+    this.model.applyMove(1, 1);
+    Assert.assertEquals(Color.BLACK, this.model.getTileAt(1, 1).getTopColor());
+    Assert.assertEquals(Color.BLACK, this.model.getTileAt(0, 1).getTopColor());
+    Assert.assertEquals(Color.WHITE, this.model.currentPlayerColor());
+    Assert.assertEquals(2, this.model.getCurrentPlayerScore());
+    Assert.assertEquals(5, this.model.getOtherPlayerScore());
+    Assert.assertEquals(1, this.model.undoableMoves());
+  }
+
+  @Test
+  public void testApplyMoveDoesNotNotifyListeners() {
+    this.model = this.createModel(6);
+    MockModelListener playerListener = new MockModelListener();
+    MockModelListener readOnlyListener = new MockModelListener();
+    this.model.addListener(playerListener, false);
+    this.model.addReadOnlyListener(readOnlyListener);
+    this.model.startGame();
+    this.model.applyMove(1, 1);
+    this.model.applyPass();
+    this.model.undoMove();
+    Assert.assertEquals("", playerListener.log.toString());
+    Assert.assertEquals("", readOnlyListener.log.toString());
+  }
+
+
+  // tests for applyPass
+  @Test(expected = IllegalStateException.class)
+  public void testApplyPassGameNotStarted() {
+    this.model = this.createModel(6);
+    this.model.applyPass();
+  }
+
+  @Test
+  public void testApplyPassChangesTurn() {
+    this.model.applyPass();
+    Assert.assertEquals(Color.WHITE, this.model.currentPlayerColor());
+    Assert.assertEquals(1, this.model.undoableMoves());
+  }
+
+
+  // tests for undoMove
+  @Test(expected = IllegalStateException.class)
+  public void testUndoMoveNothingToUndo() {
+    this.model.undoMove();
+  }
+
+  @Test
+  public void testUndoMoveRestoresBoard() {
+    Map<Point, ReversiTile> before = this.model.getTiles();
+    this.model.applyMove(1, 1);
+    this.model.undoMove();
+    this.assertSameBoard(before, this.model.getTiles());
+    Assert.assertEquals(Color.BLACK, this.model.currentPlayerColor());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+    Assert.assertEquals(3, this.model.getOtherPlayerScore());
+    Assert.assertEquals(0, this.model.undoableMoves());
+  }
+
+  @Test
+  public void testUndoMoveRestoresPositionHash() {
+    long before = this.model.positionHash();
+    this.model.applyMove(1, 1);
+    this.model.applyMove(1, 2);
+    this.model.applyPass();
+    this.model.undoMove();
+    this.model.undoMove();
+    this.model.undoMove();
+    Assert.assertEquals(before, this.model.positionHash());
+  }
+
+  @Test
+  public void testUndoMoveRestoresLegalMoves() {
+    BitSet before = this.model.legalMoves();
+    this.model.applyMove(1, 1);
+    Assert.assertNotEquals(before, this.model.legalMoves());
+    this.model.undoMove();
+    Assert.assertEquals(before, this.model.legalMoves());
+    Assert.assertTrue(this.model.isMovePossible(1, 1));
+  }
+
+  @Test
+  public void testUndoMoveRestoresPass() {
+    this.model.applyPass();
+    this.model.undoMove();
+    Assert.assertEquals(Color.BLACK, this.model.currentPlayerColor());
+  }
+
+  @Test
+  public void testUndoMoveAfterTileIsEmptyAndPlayable() {
+    this.model.applyMove(1, 1);
+    this.model.undoMove();
+    Assert.assertFalse(this.model.getTileAt(1, 1).hasDisk());
+    this.model.moveAt(1, 1);
+    Assert.assertEquals(Color.BLACK, this.model.getTileAt(1, 1).getTopColor());
+  }
+
+  @Test
+  public void testMoveAtClearsUndoStack() {
+    this.model.applyMove(1, 1);
+    this.model.moveAt(1, 2);
+    Assert.assertEquals(0, this.model.undoableMoves());
+  }
+
+  @Test
+  public void testPassTurnClearsUndoStack() {
+    this.model.applyPass();
+    this.model.passTurn();
+    Assert.assertEquals(0, this.model.undoableMoves());
+  }
+
+  @Test
+  public void testUndoRandomGamesInReverse() {
+    Random rand = new Random(7);
+    for (int game = 0; game < 10; game++) {
+      this.model = this.createModel(3 + game % 3);
+      this.model.startGame();
+      List<Map<Point, ReversiTile>> boards = new ArrayList<>();
+      List<Color> players = new ArrayList<>();
+      while (!this.model.isGameOver()) {
+        boards.add(this.model.getTiles());
+        players.add(this.model.currentPlayerColor());
+        List<Point> moves = new ArrayList<>();
+        for (Point point : this.model.getTiles().keySet()) {
+          if (this.model.isMovePossible(point.x, point.y)) {
+            moves.add(point);
+          }
+        }
+        if (moves.isEmpty()) {
+          this.model.applyPass();
+        }
+        else {
+          Point move = moves.get(rand.nextInt(moves.size()));
+          this.model.applyMove(move.x, move.y);
+        }
+      }
+      Assert.assertEquals(boards.size(), this.model.undoableMoves());
+      for (int i = boards.size() - 1; i >= 0; i--) {
+        this.model.undoMove();
+        this.assertSameBoard(boards.get(i), this.model.getTiles());
+        Assert.assertEquals(players.get(i), this.model.currentPlayerColor());
+      }
+      Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+      Assert.assertEquals(3, this.model.getOtherPlayerScore());
+    }
+  }
+
+
+
+  // tests for nextLegalMove
+  @Test(expected = IllegalStateException.class)
+  public void testNextLegalMoveGameNotStarted() {
+    this.createModel(6).nextLegalMove(0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testNextLegalMoveNegativeIndex() {
+    this.model.nextLegalMove(-1);
+  }
+
+  @Test
+  public void testNextLegalMoveWalksLegalMoves() {
+    BitSet expected = this.model.legalMoves();
+    BitSet walked = new BitSet();
+    for (int move = this.model.nextLegalMove(0); move >= 0;
+         move = this.model.nextLegalMove(move + 1)) {
+      walked.set(move);
+    }
+    Assert.assertEquals(expected, walked);
+    Assert.assertEquals(6, walked.cardinality());
+  }
+
+  @Test
+  public void testNextLegalMovePastTheEnd() {
+    Assert.assertEquals(-1, this.model.nextLegalMove(91));
+    Assert.assertEquals(-1, this.model.nextLegalMove(1000));
+  }
+
+  @Test
+  public void testNextLegalMoveAfterApplyMove() {
+    this.model.applyMove(1, 1);
+    BitSet expected = this.model.legalMoves();
+    Assert.assertEquals(expected.nextSetBit(0), this.model.nextLegalMove(0));
+    int first = this.model.nextLegalMove(0);
+    Assert.assertEquals(expected.nextSetBit(first + 1), this.model.nextLegalMove(first + 1));
+  }
+
+  // asserts that the two boards have disks of the same color on the same tiles
+  private void assertSameBoard(Map<Point, ReversiTile> expected, Map<Point, ReversiTile> actual) {
+    Assert.assertEquals(expected.keySet(), actual.keySet());
+    for (Point point : expected.keySet()) {
+      ReversiTile expectedTile = expected.get(point);
+      ReversiTile actualTile = actual.get(point);
+      Assert.assertEquals(expectedTile.hasDisk(), actualTile.hasDisk());
+      if (expectedTile.hasDisk()) {
+        Assert.assertEquals(expectedTile.getTopColor(), actualTile.getTopColor());
+      }
+    }
+  }
+}
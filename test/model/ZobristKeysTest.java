@@ -0,0 +1,46 @@
+package model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A class that holds tests for the ZobristKeys class.
+ */
+public class ZobristKeysTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testForSideLength0() {
+    ZobristKeys.forSideLength(0);
+  }
+
+  @Test
+  public void testForSideLengthIsShared() {
+    Assert.assertSame(ZobristKeys.forSideLength(6), ZobristKeys.forSideLength(6));
+  }
+
+  @Test
+  public void testKeysAreDistinct() {
+    ZobristKeys keys = ZobristKeys.forSideLength(6);
+    Set<Long> seen = new HashSet<>();
+    for (int cell = 0; cell < 91; cell++) {
+      Assert.assertTrue(seen.add(keys.diskKey(cell, true)));
+      Assert.assertTrue(seen.add(keys.diskKey(cell, false)));
+    }
+    Assert.assertTrue(seen.add(keys.player2ToMoveKey()));
+  }
+
+  @Test
+  public void testFlipKeySwapsDiskKeys() {
+    ZobristKeys keys = ZobristKeys.forSideLength(4);
+    Assert.assertEquals(keys.diskKey(5, false), keys.diskKey(5, true) ^ keys.flipKey(5));
+  }
+
+  @Test
+  public void testKeysAreTheSameEveryRun() {
+    // the keys are generated from a fixed seed, so hashes can be stored and shared
+    Assert.assertEquals(0xC81A0D35C50EB982L, ZobristKeys.forSideLength(3).diskKey(0, true));
+  }
+}
@@ -0,0 +1,177 @@
+package model.tile;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+
+/**
+ * A class that holds tests for the CellStateBoard class.
+ */
+public class CellStateBoardTest {
+  CellStateBoard board;
+
+  @Before
+  public void setUp() {
+    this.board = new CellStateBoard(7, Color.BLACK, Color.WHITE);
+  }
+
+
+
+  // tests for the constructor
+  @Test
+  public void testConstructorStartsEmpty() {
+    Assert.assertEquals(7, this.board.size());
+    for (int index = 0; index < 7; index++) {
+      Assert.assertEquals(CellState.EMPTY, this.board.stateAt(index));
+      Assert.assertFalse(this.board.hasDisk(index));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNegativeSize() {
+    new CellStateBoard(-1, Color.BLACK, Color.WHITE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullColor() {
+    new CellStateBoard(7, Color.BLACK, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorSameColors() {
+    new CellStateBoard(7, Color.BLACK, new Color(0, 0, 0));
+  }
+
+
+
+  // tests for placeDisk, flipDisk and removeDisk
+  @Test
+  public void testPlaceDisk() {
+    this.board.placeDisk(3, CellState.PLAYER_TWO);
+    Assert.assertEquals(CellState.PLAYER_TWO, this.board.stateAt(3));
+    Assert.assertTrue(this.board.hasDisk(3));
+    Assert.assertFalse(this.board.hasDisk(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlaceDiskEmptyState() {
+    this.board.placeDisk(3, CellState.EMPTY);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlaceDiskNullState() {
+    this.board.placeDisk(3, null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPlaceDiskAlreadyHasOne() {
+    this.board.placeDisk(3, CellState.PLAYER_ONE);
+    this.board.placeDisk(3, CellState.PLAYER_TWO);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testPlaceDiskOffBoard() {
+    this.board.placeDisk(7, CellState.PLAYER_ONE);
+  }
+
+  @Test
+  public void testFlipDisk() {
+    this.board.placeDisk(0, CellState.PLAYER_ONE);
+    this.board.flipDisk(0);
+    Assert.assertEquals(CellState.PLAYER_TWO, this.board.stateAt(0));
+    this.board.flipDisk(0);
+    Assert.assertEquals(CellState.PLAYER_ONE, this.board.stateAt(0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFlipDiskNoDisk() {
+    this.board.flipDisk(0);
+  }
+
+  @Test
+  public void testRemoveDisk() {
+    this.board.placeDisk(6, CellState.PLAYER_TWO);
+    this.board.removeDisk(6);
+    Assert.assertEquals(CellState.EMPTY, this.board.stateAt(6));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRemoveDiskNoDisk() {
+    this.board.removeDisk(6);
+  }
+
+
+
+  // tests for colorOf and stateOf
+  @Test
+  public void testColorOfSharesTheGivenColors() {
+    Color one = new Color(1, 2, 3);
+    Color two = new Color(4, 5, 6);
+    CellStateBoard colored = new CellStateBoard(1, one, two);
+    Assert.assertSame(one, colored.colorOf(CellState.PLAYER_ONE));
+    Assert.assertSame(two, colored.colorOf(CellState.PLAYER_TWO));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testColorOfEmpty() {
+    this.board.colorOf(CellState.EMPTY);
+  }
+
+  @Test
+  public void testStateOf() {
+    Assert.assertEquals(CellState.PLAYER_ONE, this.board.stateOf(Color.BLACK));
+    Assert.assertEquals(CellState.PLAYER_TWO, this.board.stateOf(new Color(255, 255, 255)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStateOfOtherColor() {
+    this.board.stateOf(Color.RED);
+  }
+
+
+
+  // tests for tileAt
+  @Test
+  public void testTileAtIsTheSameEveryTime() {
+    Assert.assertSame(this.board.tileAt(2), this.board.tileAt(2));
+  }
+
+  @Test
+  public void testTileAtWritesThroughToTheBoard() {
+    ReversiTile tile = this.board.tileAt(2);
+    tile.placeDisk(Color.WHITE, Color.BLACK);
+    Assert.assertEquals(CellState.PLAYER_TWO, this.board.stateAt(2));
+    tile.flipDisk();
+    Assert.assertEquals(CellState.PLAYER_ONE, this.board.stateAt(2));
+    tile.removeDisk();
+    Assert.assertEquals(CellState.EMPTY, this.board.stateAt(2));
+  }
+
+  @Test
+  public void testTileAtReadsFromTheBoard() {
+    ReversiTile tile = this.board.tileAt(4);
+    Assert.assertFalse(tile.hasDisk());
+    this.board.placeDisk(4, CellState.PLAYER_ONE);
+    Assert.assertTrue(tile.hasDisk());
+    Assert.assertSame(Color.BLACK, tile.getTopColor());
+    this.board.flipDisk(4);
+    Assert.assertSame(Color.WHITE, tile.getTopColor());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTileAtPlaceDiskOtherColors() {
+    this.board.tileAt(4).placeDisk(Color.RED, Color.BLUE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTileAtPlaceDiskSameColorOnEachSide() {
+    this.board.tileAt(4).placeDisk(Color.BLACK, Color.BLACK);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTileAtGetTopColorNoDisk() {
+    this.board.tileAt(4).getTopColor();
+  }
+}
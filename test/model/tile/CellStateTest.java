@@ -0,0 +1,32 @@
+package model.tile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * A class that holds tests for the CellState enum.
+ */
+public class CellStateTest {
+
+  // tests for hasDisk
+  @Test
+  public void testHasDisk() {
+    Assert.assertFalse(CellState.EMPTY.hasDisk());
+    Assert.assertTrue(CellState.PLAYER_ONE.hasDisk());
+    Assert.assertTrue(CellState.PLAYER_TWO.hasDisk());
+  }
+
+
+
+  // tests for flipped
+  @Test
+  public void testFlippedSwapsPlayers() {
+    Assert.assertEquals(CellState.PLAYER_TWO, CellState.PLAYER_ONE.flipped());
+    Assert.assertEquals(CellState.PLAYER_ONE, CellState.PLAYER_TWO.flipped());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFlippedEmpty() {
+    CellState.EMPTY.flipped();
+  }
+}
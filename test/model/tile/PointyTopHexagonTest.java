@@ -152,4 +152,37 @@ public class PointyTopHexagonTest {
     this.hexTile.flipDisk();
     Assert.assertEquals(Color.BLACK, this.hexTile.getTopColor());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetTopColorSharesTheGivenColor() {
+    Color top = new Color(10, 20, 30);
+    Color bottom = new Color(40, 50, 60);
+    this.hexTile.placeDisk(top, bottom);
+    Assert.assertSame(top, this.hexTile.getTopColor());
+    this.hexTile.flipDisk();
+    Assert.assertSame(bottom, this.hexTile.getTopColor());
+  }
+
+
+
+  // tests for removeDisk
+  @Test(expected = IllegalStateException.class)
+  public void testRemoveDiskNoDisk() {
+    this.hexTile.removeDisk();
+  }
+
+  @Test
+  public void testRemoveDiskLeavesTileEmpty() {
+    this.hexTile.placeDisk(Color.BLACK, Color.WHITE);
+    this.hexTile.removeDisk();
+    Assert.assertFalse(this.hexTile.hasDisk());
+  }
+
+  @Test
+  public void testRemoveDiskThenPlaceAgain() {
+    this.hexTile.placeDisk(Color.BLACK, Color.WHITE);
+    this.hexTile.removeDisk();
+    this.hexTile.placeDisk(Color.WHITE, Color.BLACK);
+    Assert.assertEquals(Color.WHITE, this.hexTile.getTopColor());
+  }
+}
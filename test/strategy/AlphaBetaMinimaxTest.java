@@ -0,0 +1,166 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import mocks.RandomMoves;
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the AlphaBetaMinimax strategy.
+ */
+public class AlphaBetaMinimaxTest {
+  AlphaBetaMinimax minimax;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.minimax = new AlphaBetaMinimax(4);
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroDepth() {
+    new AlphaBetaMinimax(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullEvaluator() {
+    new AlphaBetaMinimax(3, null);
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.minimax.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.minimax.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+    Assert.assertEquals(3, this.model.getOtherPlayerScore());
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.minimax.chooseMove(this.model).isEmpty());
+  }
+
+  @Test
+  public void testChooseMoveBreaksTiesUpperLeft() {
+    // an evaluator that scores every position the same makes every move a tie
+    AlphaBetaMinimax noPreference = new AlphaBetaMinimax(3, model -> 0);
+    Assert.assertEquals(new Point(1, -2), noPreference.chooseMove(this.model).get());
+  }
+
+  @Test
+  public void testChooseMoveUsesEvaluator() {
+    // an evaluator that wants the current player to have as few disks as possible
+    AlphaBetaMinimax fewestDisks = new AlphaBetaMinimax(1,
+        model -> model.getOtherPlayerScore() - model.getCurrentPlayerScore());
+    this.model.moveAt(2, -1);
+    this.model.passTurn();
+    this.model.moveAt(-1, 2);
+    // (-1, 3) captures the most disks, so any other legal move is preferred
+    Point move = fewestDisks.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertNotEquals(new Point(-1, 3), move);
+  }
+
+  @Test
+  public void testChooseMoveDepthOneMatchesCaptureMaxPieces() {
+    AlphaBetaMinimax depthOne = new AlphaBetaMinimax(1);
+    CaptureMaxPieces captureMax = new CaptureMaxPieces();
+    Random rand = new Random(11);
+    for (int game = 0; game < 5; game++) {
+      this.model = new HexagonalReversi(5);
+      this.model.startGame();
+      while (!this.model.isGameOver()) {
+        Optional<Point> expected = captureMax.chooseMove(this.model);
+        Assert.assertEquals(expected, depthOne.chooseMove(this.model));
+        RandomMoves.play(this.model, rand);
+      }
+    }
+  }
+
+  @Test
+  public void testChooseMoveSearchingPastTheEndOfTheGame() {
+    // on a side 3 board a depth of 20 searches every game to its end
+    Random rand = new Random(3);
+    AlphaBetaMinimax deep = new AlphaBetaMinimax(20);
+    for (int game = 0; game < 20; game++) {
+      this.model = new HexagonalReversi(3);
+      this.model.startGame();
+      while (!this.model.isGameOver()) {
+        Optional<Point> move = deep.chooseMove(this.model);
+        Assert.assertEquals(this.model.anyMoves(), move.isPresent());
+        if (move.isPresent()) {
+          Assert.assertTrue(this.model.isMovePossible(move.get().x, move.get().y));
+        }
+        RandomMoves.play(this.model, rand);
+      }
+    }
+  }
+
+
+
+  @Test
+  public void testChooseMoveWithTranspositionTable() {
+    TranspositionTable table = new TranspositionTable(1 << 16);
+    AlphaBetaMinimax withTable = new AlphaBetaMinimax(6, new DiskDifference(), table);
+    Point move = withTable.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(table.hits() > 0);
+    // the table lets the search skip positions that it reaches by a second order of moves
+    AlphaBetaMinimax withoutTable = new AlphaBetaMinimax(6);
+    withoutTable.chooseMove(this.model);
+    Assert.assertTrue(withTable.nodesSearched() < withoutTable.nodesSearched());
+  }
+
+
+
+  // tests for nodesSearched and nodesPerSecond
+  @Test
+  public void testNodesBeforeSearching() {
+    Assert.assertEquals(0, this.minimax.nodesSearched());
+    Assert.assertEquals(0, this.minimax.nodesPerSecond(), 0);
+  }
+
+  @Test
+  public void testNodesAfterSearching() {
+    this.minimax.chooseMove(this.model);
+    long nodes = this.minimax.nodesSearched();
+    Assert.assertTrue(nodes > 6);
+    Assert.assertTrue(this.minimax.nodesPerSecond() > 0);
+    this.minimax.chooseMove(this.model);
+    Assert.assertEquals(nodes, this.minimax.nodesSearched());
+  }
+
+  @Test
+  public void testDeeperSearchVisitsMoreNodes() {
+    AlphaBetaMinimax shallow = new AlphaBetaMinimax(2);
+    shallow.chooseMove(this.model);
+    this.minimax.chooseMove(this.model);
+    Assert.assertTrue(this.minimax.nodesSearched() > shallow.nodesSearched());
+  }
+}
@@ -0,0 +1,149 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import mocks.MockEmptyBoardModel;
+import mocks.RandomMoves;
+import model.BitboardReversi;
+import model.BoardView;
+import model.HexBoardGeometry;
+import model.HexagonalReversi;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+import model.tile.CellState;
+
+/**
+ * A class that holds tests for the board scans of BoardFeatures, which are checked against
+ * simple counts made straight from the model on random positions.
+ */
+public class BoardFeaturesTest {
+
+  // tests for forSideLength
+  @Test
+  public void testForSideLengthIsShared() {
+    Assert.assertSame(BoardFeatures.forSideLength(6), BoardFeatures.forSideLength(6));
+    Assert.assertEquals(91, BoardFeatures.forSideLength(6).cellCount());
+  }
+
+
+
+  // tests for moverState
+  @Test
+  public void testMoverStateFollowsTurn() {
+    ReversiModel model = new HexagonalReversi(6);
+    model.startGame();
+    BoardFeatures features = BoardFeatures.of(model);
+    Assert.assertEquals(CellState.PLAYER_ONE, features.moverState(model));
+    model.passTurn();
+    Assert.assertEquals(CellState.PLAYER_TWO, features.moverState(model));
+  }
+
+  @Test
+  public void testMoverStateOnEmptyBoard() {
+    ReversiModel model = new MockEmptyBoardModel(4);
+    model.startGame();
+    BoardFeatures features = BoardFeatures.of(model);
+    Assert.assertEquals(CellState.PLAYER_ONE, features.moverState(model));
+    model.passTurn();
+    Assert.assertEquals(CellState.PLAYER_TWO, features.moverState(model));
+  }
+
+
+
+  // tests for the scans
+  @Test
+  public void testMobilityMatchesLegalMoves() {
+    Random random = new Random(1);
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new HexagonalReversi(5);
+      model.startGame();
+      while (!model.isGameOver()) {
+        SearchableReversiModel other = new BitboardReversi(model);
+        other.startGame();
+        other.applyPass(); // the other player's turn in the same position
+        int expected = model.legalMoves().cardinality() - other.legalMoves().cardinality();
+        BoardFeatures features = BoardFeatures.of(model);
+        Assert.assertEquals(expected,
+                features.mobility(model.getBoardView(), features.moverState(model)));
+        RandomMoves.play(model, random);
+      }
+    }
+  }
+
+  @Test
+  public void testFrontierCornersAndEdgesMatchBoard() {
+    Random random = new Random(2);
+    HexBoardGeometry geometry = HexBoardGeometry.forSideLength(5);
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new HexagonalReversi(5);
+      model.startGame();
+      while (!model.isGameOver()) {
+        BoardView board = model.getBoardView();
+        BoardFeatures features = BoardFeatures.of(model);
+        CellState mover = features.moverState(model);
+        int frontier = 0;
+        int corners = 0;
+        int edges = 0;
+        for (int cell = 0; cell < geometry.cellCount(); cell++) {
+          if (!board.hasDiskAt(cell)) {
+            continue;
+          }
+          int sign = board.stateAt(cell) == mover ? 1 : -1;
+          int offBoard = 0;
+          boolean nextToEmpty = false;
+          for (int dir = 0; dir < HexBoardGeometry.DIRECTIONS; dir++) {
+            int neighbor = geometry.neighbor(cell, dir);
+            offBoard += neighbor < 0 ? 1 : 0;
+            nextToEmpty |= neighbor >= 0 && !board.hasDiskAt(neighbor);
+          }
+          frontier += nextToEmpty ? sign : 0;
+          corners += offBoard == 3 ? sign : 0; // only a corner has three neighbors off the board
+          edges += offBoard == 2 ? sign : 0;
+        }
+        Assert.assertEquals(frontier, features.frontier(board, mover));
+        Assert.assertEquals(corners, features.corners(board, mover));
+        Assert.assertEquals(edges, features.edges(board, mover));
+        RandomMoves.play(model, random);
+      }
+    }
+  }
+
+  @Test
+  public void testStableDisksAreNeverFlipped() {
+    // every disk found stable keeps its color for the rest of the game
+    Random random = new Random(3);
+    int stableSeen = 0;
+    for (int game = 0; game < 40; game++) {
+      ReversiModel model = new HexagonalReversi(4);
+      model.startGame();
+      BoardView board = model.getBoardView();
+      BoardFeatures features = BoardFeatures.of(model);
+      CellState[] stable = new CellState[board.cellCount()];
+      while (!model.isGameOver()) {
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+          if (stable[cell] != null) {
+            Assert.assertEquals(stable[cell], board.stateAt(cell));
+          }
+          else if (board.hasDiskAt(cell) && features.isStable(board, cell)) {
+            stable[cell] = board.stateAt(cell);
+            stableSeen++;
+          }
+        }
+        RandomMoves.play(model, random);
+      }
+    }
+    Assert.assertTrue(stableSeen > 0);
+  }
+
+  @Test
+  public void testStabilityAtStartIsZero() {
+    // none of the disks in the middle of the board at the start are stable
+    ReversiModel model = new HexagonalReversi(3);
+    model.startGame();
+    BoardFeatures features = BoardFeatures.of(model);
+    Assert.assertEquals(0, features.stability(model.getBoardView(), features.moverState(model)));
+  }
+}
@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.awt.Point;
 
+import mocks.MockEmptyBoardModel;
 import mocks.MockHexReversiModel;
 import mocks.MockWithLog;
 import model.HexagonalReversi;
@@ -44,6 +45,13 @@ public class CaptureMaxPiecesTest {
     Assert.assertEquals(new Point(-1, 2), this.captureMax.chooseMove(this.mockModel).get());
   }
 
+  @Test(timeout = 10000)
+  public void testChooseMoveOnEmptyBoard() {
+    ReversiModel empty = new MockEmptyBoardModel(6);
+    empty.startGame();
+    Assert.assertTrue(this.captureMax.chooseMove(empty).isEmpty());
+  }
+
   @Test
   public void testChooseMoveTriesEveryMove() {
     this.captureMax.chooseMove(this.mockWithLog);
@@ -100,6 +108,13 @@ public class CaptureMaxPiecesTest {
     this.captureMax.numCapturedPieces(new Point(0, 0), this.model);
   }
 
+  @Test(timeout = 10000, expected = IllegalStateException.class)
+  public void testNumCapturedPiecesOnEmptyBoard() {
+    ReversiModel empty = new MockEmptyBoardModel(6);
+    empty.startGame();
+    this.captureMax.numCapturedPieces(new Point(1, -2), empty);
+  }
+
   @Test
   public void testNumCapturedPiecesOnePiece() {
     Assert.assertEquals(1,
@@ -0,0 +1,31 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the DiskDifference evaluator.
+ */
+public class DiskDifferenceTest {
+
+  // tests for evaluate
+  @Test
+  public void testEvaluateEvenPosition() {
+    ReversiModel model = new HexagonalReversi(6);
+    model.startGame();
+    Assert.assertEquals(0, new DiskDifference().evaluate(model));
+  }
+
+  @Test
+  public void testEvaluateIsFromTheCurrentPlayer() {
+    ReversiModel model = new HexagonalReversi(6);
+    model.startGame();
+    model.moveAt(1, 1); // black now has 5 disks and white has 2, and it is white's turn
+    Assert.assertEquals(-3, new DiskDifference().evaluate(model));
+    model.passTurn();
+    Assert.assertEquals(3, new DiskDifference().evaluate(model));
+  }
+}
@@ -0,0 +1,179 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import mocks.RandomMoves;
+import model.BitboardReversi;
+import model.BoardView;
+import model.HexagonalReversi;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A class that holds tests for the EndgameSolver strategy.
+ */
+public class EndgameSolverTest {
+  EndgameSolver solver;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.solver = new EndgameSolver();
+    this.model = new HexagonalReversi(3);
+    this.model.startGame();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullFallback() {
+    new EndgameSolver(null, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroThreshold() {
+    new EndgameSolver(new CaptureMaxPieces(), 0);
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.solver.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.solver.chooseMove(this.model).isEmpty());
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.solver.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testChooseMovePlaysPerfectly() {
+    // compare every move of random games on small boards with a search of every line of play,
+    // which must agree on the best score and break ties by the uppermost-leftmost tile
+    Random rand = new Random(16);
+    for (int game = 0; game < 6; game++) {
+      this.model = new HexagonalReversi(game % 2 == 0 ? 3 : 4);
+      this.model.startGame();
+      if (game % 2 == 1) { // a side 4 board is too big to search from the start of the game
+        for (int i = 0; i < 12 && !this.model.isGameOver(); i++) {
+          RandomMoves.play(this.model, rand);
+        }
+      }
+      while (!this.model.isGameOver()) {
+        SearchableReversiModel copy = new BitboardReversi(this.model);
+        copy.startGame();
+        Assert.assertEquals(perfectScore(copy), this.solver.solve(this.model));
+        Assert.assertEquals(perfectMove(copy), this.solver.chooseMove(this.model));
+        RandomMoves.play(this.model, rand);
+      }
+    }
+  }
+
+  @Test
+  public void testChooseMoveUsesFallbackWithManyEmptyTiles() {
+    Point fallbackMove = new Point(1, -2);
+    EndgameSolver switching = new EndgameSolver(model -> Optional.of(fallbackMove), 5);
+    // the start of a side 3 game has 13 empty tiles, so it is only solved with a threshold of 13
+    Assert.assertEquals(fallbackMove, switching.chooseMove(this.model).get());
+    Assert.assertEquals(0, switching.nodesSearched());
+    SearchableReversiModel copy = new BitboardReversi(this.model);
+    copy.startGame();
+    Assert.assertEquals(perfectMove(copy),
+            new EndgameSolver(model -> Optional.of(fallbackMove), 13).chooseMove(this.model));
+  }
+
+
+
+  // tests for solve
+  @Test(expected = IllegalArgumentException.class)
+  public void testSolveNullModel() {
+    this.solver.solve(null);
+  }
+
+  @Test
+  public void testSolveFinishedGame() {
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    // the other player has no disks left, so the game is over and they have lost by 9
+    Assert.assertEquals(-9, this.solver.solve(this.model));
+  }
+
+  @Test
+  public void testNodesSearched() {
+    Assert.assertEquals(0, this.solver.nodesSearched());
+    this.solver.solve(this.model);
+    Assert.assertTrue(this.solver.nodesSearched() > 1);
+  }
+
+
+
+  // returns the final disk difference for the current player with perfect play, found by
+  // searching every line of play without pruning
+  private static int perfectScore(SearchableReversiModel model) {
+    if (model.isGameOver()) {
+      return model.getCurrentPlayerScore() - model.getOtherPlayerScore();
+    }
+    if (!model.anyMoves()) {
+      model.applyPass();
+      int score = -perfectScore(model);
+      model.undoMove();
+      return score;
+    }
+    BoardView board = model.getBoardView();
+    int best = Integer.MIN_VALUE;
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      model.applyMove(board.qAt(move), board.rAt(move));
+      best = Math.max(best, -perfectScore(model));
+      model.undoMove();
+    }
+    return best;
+  }
+
+  // returns the uppermost-leftmost move with the best final disk difference, or an empty
+  // optional if the current player must pass
+  private static Optional<Point> perfectMove(SearchableReversiModel model) {
+    if (!model.isGameOver() && !model.anyMoves()) {
+      return Optional.empty();
+    }
+    int best = perfectScore(model);
+    BoardView board = model.getBoardView();
+    for (int move = model.nextLegalMove(0); move >= 0; move = model.nextLegalMove(move + 1)) {
+      model.applyMove(board.qAt(move), board.rAt(move));
+      int score = -perfectScore(model);
+      model.undoMove();
+      if (score == best) {
+        return Optional.of(new Point(board.qAt(move), board.rAt(move)));
+      }
+    }
+    return Optional.empty();
+  }
+}
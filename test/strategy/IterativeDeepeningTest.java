@@ -0,0 +1,146 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the IterativeDeepening strategy.
+ */
+public class IterativeDeepeningTest {
+  IterativeDeepening deepening;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.deepening = new IterativeDeepening(1000, 4, new DiskDifference());
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroTimeLimit() {
+    new IterativeDeepening(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroDepth() {
+    new IterativeDeepening(100, 0, new DiskDifference());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullEvaluator() {
+    new IterativeDeepening(100, 3, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullTable() {
+    new IterativeDeepening(100, 3, new DiskDifference(), null);
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.deepening.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.deepening.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.deepening.chooseMove(this.model).isEmpty());
+    Assert.assertEquals(0, this.deepening.completedDepth());
+  }
+
+  @Test
+  public void testChooseMoveStopsAtMaxDepth() {
+    this.deepening.chooseMove(this.model);
+    Assert.assertEquals(4, this.deepening.completedDepth());
+  }
+
+  @Test
+  public void testChooseMoveDepthOneMatchesFixedDepthSearch() {
+    // a single search has no earlier line to try first, so it tries moves in the same order
+    IterativeDeepening depthOne = new IterativeDeepening(1000, 1, new DiskDifference());
+    this.model.moveAt(2, -1);
+    this.model.passTurn();
+    this.model.moveAt(-1, 2);
+    Assert.assertEquals(new AlphaBetaMinimax(1).chooseMove(this.model),
+            depthOne.chooseMove(this.model));
+  }
+
+  @Test
+  public void testChooseMoveStopsAtTheEndOfTheGame() {
+    // a side 3 board is searched to the end of the game long before the maximum depth
+    IterativeDeepening unlimited = new IterativeDeepening(10000);
+    this.model = new HexagonalReversi(3);
+    this.model.startGame();
+    Assert.assertTrue(unlimited.chooseMove(this.model).isPresent());
+    Assert.assertTrue(unlimited.completedDepth() < 30);
+  }
+
+  @Test
+  public void testChooseMoveRespectsTimeLimit() {
+    IterativeDeepening quick = new IterativeDeepening(50);
+    this.model.moveAt(2, -1);
+    this.model.passTurn();
+    this.model.moveAt(-1, 2);
+    long start = System.nanoTime();
+    Point move = quick.chooseMove(this.model).get();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(quick.completedDepth() >= 1);
+    // leave plenty of room for a slow machine, but an unlimited search would take far longer
+    Assert.assertTrue(elapsedMillis < 1000);
+  }
+
+
+
+  @Test
+  public void testChooseMoveReusesTranspositions() {
+    TranspositionTable table = new TranspositionTable(1 << 16);
+    IterativeDeepening withTable = new IterativeDeepening(10000, 6, new DiskDifference(), table);
+    Point move = withTable.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(table.probes() > 0);
+    Assert.assertTrue(table.hits() > 0);
+  }
+
+
+
+  // tests for nodesSearched and nodesPerSecond
+  @Test
+  public void testNodesBeforeSearching() {
+    Assert.assertEquals(0, this.deepening.nodesSearched());
+    Assert.assertEquals(0, this.deepening.nodesPerSecond(), 0);
+    Assert.assertEquals(0, this.deepening.completedDepth());
+  }
+
+  @Test
+  public void testNodesAfterSearching() {
+    this.deepening.chooseMove(this.model);
+    Assert.assertTrue(this.deepening.nodesSearched() > 6);
+    Assert.assertTrue(this.deepening.nodesPerSecond() > 0);
+  }
+}
@@ -0,0 +1,170 @@
+package strategy;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the LazySmp strategy.
+ */
+public class LazySmpTest {
+  LazySmp smp;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.smp = new LazySmp(1000, 4, 3, new DiskDifference(), new TranspositionTable(1 << 16));
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+  @After
+  public void tearDown() {
+    this.smp.close();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroTimeLimit() {
+    new LazySmp(0, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroThreads() {
+    new LazySmp(100, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroDepth() {
+    new LazySmp(100, 0, 2, new DiskDifference(), new TranspositionTable(16));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullEvaluator() {
+    new LazySmp(100, 3, 2, null, new TranspositionTable(16));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullTable() {
+    new LazySmp(100, 3, 2, new DiskDifference(), null);
+  }
+
+  @Test
+  public void testThreads() {
+    Assert.assertEquals(3, this.smp.threads());
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.smp.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.smp.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.smp.chooseMove(this.model).isEmpty());
+    Assert.assertEquals(0, this.smp.completedDepth());
+  }
+
+  @Test
+  public void testChooseMoveStopsAtMaxDepth() {
+    this.smp.chooseMove(this.model);
+    Assert.assertEquals(4, this.smp.completedDepth());
+  }
+
+  @Test
+  public void testChooseMoveOneThread() {
+    LazySmp single = new LazySmp(1000, 4, 1, new DiskDifference(), new TranspositionTable(16));
+    Point move = single.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertEquals(4, single.completedDepth());
+  }
+
+  @Test
+  public void testChooseMoveRepeatedly() {
+    // the helper threads are reused, so every move must stop and wait for them
+    for (int i = 0; i < 4 && !this.model.isGameOver(); i++) {
+      Point move = this.smp.chooseMove(this.model).get();
+      Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+      this.model.moveAt(move.x, move.y);
+    }
+  }
+
+  @Test
+  public void testChooseMoveRespectsTimeLimit() {
+    LazySmp quick = new LazySmp(50, 4);
+    this.model.moveAt(2, -1);
+    this.model.passTurn();
+    this.model.moveAt(-1, 2);
+    long start = System.nanoTime();
+    Point move = quick.chooseMove(this.model).get();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(quick.completedDepth() >= 1);
+    // leave plenty of room for a slow machine, but an unlimited search would take far longer
+    Assert.assertTrue(elapsedMillis < 1000);
+  }
+
+
+
+  // tests for nodesSearched and nodesPerSecond
+  @Test
+  public void testNodesBeforeSearching() {
+    Assert.assertEquals(0, this.smp.nodesSearched());
+    Assert.assertEquals(0, this.smp.nodesPerSecond(), 0);
+    Assert.assertEquals(0, this.smp.completedDepth());
+  }
+
+  @Test
+  public void testNodesAfterSearching() {
+    this.smp.chooseMove(this.model);
+    Assert.assertTrue(this.smp.nodesSearched() > 6);
+    Assert.assertTrue(this.smp.nodesPerSecond() > 0);
+  }
+
+
+
+  // tests for close
+  @Test(expected = IllegalStateException.class)
+  public void testChooseMoveAfterClose() {
+    this.smp.close();
+    this.smp.chooseMove(this.model);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testChooseMoveAfterCloseOneThread() {
+    LazySmp single = new LazySmp(1000, 4, 1, new DiskDifference(), new TranspositionTable(16));
+    single.close();
+    single.chooseMove(this.model);
+  }
+
+  @Test
+  public void testCloseTwice() {
+    this.smp.chooseMove(this.model);
+    this.smp.close();
+    this.smp.close();
+  }
+}
@@ -0,0 +1,48 @@
+package strategy;
+
+import java.util.Random;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A benchmark that measures how the number of playouts per second of
+ * {@link strategy.ParallelMonteCarloTreeSearch} grows with the number of threads, on the opening
+ * position of the default board. It is run by hand rather than as a test, because its results
+ * depend on the machine. For each number of threads it prints the playouts per second and the
+ * speedup over a single thread, which is close to the number of threads when the search scales
+ * well, as long as the machine has that many processors.
+ */
+public final class MctsScalingBenchmark {
+  private MctsScalingBenchmark() {
+    // only run through main, never instantiated
+  }
+
+  /**
+   * Runs the benchmark.
+   * @param args The number of milliseconds to search for at each number of threads, optionally
+   *             followed by the largest number of threads to try, which is 16 by default.
+   */
+  public static void main(String[] args) {
+    long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+    int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    ReversiModel model = new HexagonalReversi();
+    model.startGame();
+
+    System.out.println("processors: " + Runtime.getRuntime().availableProcessors());
+    System.out.println("threads  playouts/s  speedup");
+    double single = 0;
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      ParallelMonteCarloTreeSearch search = new ParallelMonteCarloTreeSearch(millis,
+              Integer.MAX_VALUE, threads, 1 << 22, new Random(threads));
+      search.chooseMove(model); // warm up the JIT compiler and the helper threads
+      search.chooseMove(model);
+      double rate = search.playoutsPerSecond();
+      search.close(); // stop its helper threads before timing more threads
+      if (threads == 1) {
+        single = rate;
+      }
+      System.out.printf("%7d  %10.0f  %7.2f%n", threads, rate, rate / single);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the MonteCarloTreeSearch strategy.
+ */
+public class MonteCarloTreeSearchTest {
+  MonteCarloTreeSearch mcts;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.mcts = new MonteCarloTreeSearch(10000, 500, 1 << 16, new Random(14));
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroTimeLimit() {
+    new MonteCarloTreeSearch(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroPlayouts() {
+    new MonteCarloTreeSearch(100, 0, 1 << 10, new Random());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTreeTooSmall() {
+    new MonteCarloTreeSearch(100, 10, 1, new Random());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullRandom() {
+    new MonteCarloTreeSearch(100, 10, 1 << 10, null);
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.mcts.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.mcts.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.mcts.chooseMove(this.model).isEmpty());
+    Assert.assertEquals(0, this.mcts.playouts());
+  }
+
+  @Test
+  public void testChooseMoveStopsAtPlayoutBudget() {
+    this.mcts.chooseMove(this.model);
+    Assert.assertEquals(500, this.mcts.playouts());
+    Assert.assertTrue(this.mcts.treeSize() > 1);
+  }
+
+  @Test
+  public void testChooseMoveOnlyMove() {
+    // the only move is played without running any playouts
+    this.model = new HexagonalReversi(3);
+    this.model.startGame();
+    this.model.moveAt(-1, 2);
+    this.model.moveAt(-1, -1);
+    Assert.assertEquals(new Point(1, -2), this.mcts.chooseMove(this.model).get());
+    Assert.assertEquals(0, this.mcts.playouts());
+  }
+
+  @Test
+  public void testChooseMoveRespectsTimeLimit() {
+    MonteCarloTreeSearch quick = new MonteCarloTreeSearch(50);
+    long start = System.nanoTime();
+    Point move = quick.chooseMove(this.model).get();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(quick.playouts() > 0);
+    // leave plenty of room for a slow machine
+    Assert.assertTrue(elapsedMillis < 1000);
+  }
+
+  @Test
+  public void testChooseMoveSameSeedSameMove() {
+    MonteCarloTreeSearch other = new MonteCarloTreeSearch(10000, 500, 1 << 16, new Random(14));
+    Assert.assertEquals(this.mcts.chooseMove(this.model), other.chooseMove(this.model));
+    Assert.assertEquals(this.mcts.treeSize(), other.treeSize());
+  }
+
+  @Test
+  public void testChooseMoveFullTree() {
+    // once the tree is full the playouts keep running from its leaves
+    MonteCarloTreeSearch small = new MonteCarloTreeSearch(10000, 500, 20, new Random(1));
+    Point move = small.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertEquals(500, small.playouts());
+    Assert.assertTrue(small.treeSize() <= 20);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testChooseMoveTreeTooSmallForMoves() {
+    new MonteCarloTreeSearch(100, 10, 3, new Random()).chooseMove(this.model);
+  }
+
+  @Test
+  public void testChooseMoveBeatsCaptureMax() {
+    // play a few games on a small board, taking turns going first
+    int wins = 0;
+    for (int game = 0; game < 4; game++) {
+      MonteCarloTreeSearch search = new MonteCarloTreeSearch(10000, 200, 1 << 16,
+              new Random(game));
+      ReversiStrategy captureMax = new CaptureMaxPieces();
+      ReversiModel board = new HexagonalReversi(4);
+      board.startGame();
+      boolean searchToMove = game % 2 == 0;
+      while (!board.isGameOver()) {
+        Optional<Point> move = (searchToMove ? search : captureMax).chooseMove(board);
+        if (move.isEmpty()) {
+          board.passTurn();
+        }
+        else {
+          board.moveAt(move.get().x, move.get().y);
+        }
+        searchToMove = !searchToMove;
+      }
+      int searchScore = searchToMove ? board.getCurrentPlayerScore() : board.getOtherPlayerScore();
+      int otherScore = searchToMove ? board.getOtherPlayerScore() : board.getCurrentPlayerScore();
+      if (searchScore > otherScore) {
+        wins++;
+      }
+    }
+    Assert.assertTrue(wins >= 3);
+  }
+
+
+
+  // tests for playoutsPerSecond
+  @Test
+  public void testPlayoutsBeforeSearching() {
+    Assert.assertEquals(0, this.mcts.playouts());
+    Assert.assertEquals(0, this.mcts.playoutsPerSecond(), 0);
+  }
+
+  @Test
+  public void testPlayoutsAfterSearching() {
+    this.mcts.chooseMove(this.model);
+    Assert.assertTrue(this.mcts.playoutsPerSecond() > 0);
+  }
+}
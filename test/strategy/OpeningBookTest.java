@@ -0,0 +1,282 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import model.BitboardReversi;
+import model.HexSymmetry;
+import model.HexagonalReversi;
+import model.ReversiModel;
+import model.SearchableReversiModel;
+
+/**
+ * A class that holds tests for the OpeningBook, its builder, and the OpeningBookStrategy.
+ */
+public class OpeningBookTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  Path file;
+  OpeningBook book;
+  ReversiModel model;
+
+  @Before
+  public void setUp() throws IOException {
+    this.file = this.folder.getRoot().toPath().resolve("book.bin");
+    new OpeningBookBuilder(4, 3, 4, new DiskDifference()).build(this.file);
+    this.book = new OpeningBook(this.file);
+    this.model = new HexagonalReversi(4);
+    this.model.startGame();
+  }
+
+
+
+  // tests for the builder
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuilderSmallBoard() {
+    new OpeningBookBuilder(2, 3, 4, new DiskDifference());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuilderNegativePlies() {
+    new OpeningBookBuilder(4, -1, 4, new DiskDifference());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuilderZeroDepth() {
+    new OpeningBookBuilder(4, 3, 0, new DiskDifference());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuilderNullEvaluator() {
+    new OpeningBookBuilder(4, 3, 4, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuildNullFile() throws IOException {
+    new OpeningBookBuilder(4, 3, 4, new DiskDifference()).build(null);
+  }
+
+  @Test
+  public void testBuildEmptyBook() throws IOException {
+    Assert.assertEquals(0, new OpeningBookBuilder(4, 0, 4, new DiskDifference()).build(this.file));
+    Assert.assertEquals(0, new OpeningBook(this.file).size());
+    Assert.assertFalse(new OpeningBook(this.file).move(this.model).isPresent());
+  }
+
+
+
+  // tests for opening a book
+  @Test(expected = IllegalArgumentException.class)
+  public void testOpenNullFile() throws IOException {
+    new OpeningBook(null);
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenMissingFile() throws IOException {
+    new OpeningBook(this.folder.getRoot().toPath().resolve("missing.bin"));
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenNotABook() throws IOException {
+    Path other = this.folder.newFile("other.bin").toPath();
+    Files.write(other, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+    new OpeningBook(other);
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenTruncatedBook() throws IOException {
+    byte[] bytes = Files.readAllBytes(this.file);
+    Path other = this.folder.newFile("truncated.bin").toPath();
+    Files.write(other, Arrays.copyOf(bytes, bytes.length - 1));
+    new OpeningBook(other);
+  }
+
+  @Test
+  public void testOpenHeader() {
+    Assert.assertEquals(4, this.book.sideLength());
+    Assert.assertTrue(this.book.size() > 1);
+  }
+
+
+
+  // tests for looking up moves
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveNullModel() {
+    this.book.move(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testScoreNullModel() {
+    this.book.score(null);
+  }
+
+  @Test
+  public void testMoveStartIsLegal() {
+    Optional<Point> move = this.book.move(this.model);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(this.model.isMovePossible(move.get().x, move.get().y));
+  }
+
+  @Test
+  public void testMoveMatchesSearch() {
+    // the book holds the result of the same search run now
+    SearchableReversiModel copy = new BitboardReversi(this.model);
+    copy.startGame();
+    NegamaxSearch search = new NegamaxSearch(new DiskDifference(), new TranspositionTable(1024));
+    search.search(copy, 4, 0, false);
+    Optional<Point> move = this.book.move(this.model);
+    Assert.assertEquals(copy.getBoardView().qAt(search.bestMove()), move.get().x);
+    Assert.assertEquals(copy.getBoardView().rAt(search.bestMove()), move.get().y);
+    Assert.assertEquals(OptionalInt.of(search.bestScore()), this.book.score(this.model));
+  }
+
+  @Test
+  public void testMoveEveryPositionInBook() {
+    // every position two moves in is in the book, and its move is legal
+    int found = 0;
+    for (Point first : this.legalMoves(this.model)) {
+      for (Point second : this.legalMoves(this.replay(first, null))) {
+        ReversiModel position = this.replay(first, second);
+        Optional<Point> move = this.book.move(position);
+        Assert.assertTrue(move.isPresent());
+        Assert.assertTrue(position.isMovePossible(move.get().x, move.get().y));
+        found++;
+      }
+    }
+    Assert.assertTrue(found > 0);
+  }
+
+  @Test
+  public void testMoveOutOfBook() {
+    // three moves in is past the end of the book
+    for (int i = 0; i < 3; i++) {
+      Point move = this.legalMoves(this.model)[0];
+      this.model.moveAt(move.x, move.y);
+    }
+    Assert.assertFalse(this.book.move(this.model).isPresent());
+    Assert.assertFalse(this.book.score(this.model).isPresent());
+  }
+
+  @Test
+  public void testMoveOtherSideLength() {
+    ReversiModel other = new HexagonalReversi(5);
+    other.startGame();
+    Assert.assertFalse(this.book.move(other).isPresent());
+  }
+
+  @Test
+  public void testMoveSameForEveryModel() {
+    this.model.moveAt(this.legalMoves(this.model)[0].x, this.legalMoves(this.model)[0].y);
+    SearchableReversiModel copy = new BitboardReversi(this.model);
+    copy.startGame();
+    Assert.assertEquals(OpeningBook.keyOf(this.model), OpeningBook.keyOf(copy));
+    Assert.assertEquals(this.book.move(this.model), this.book.move(copy));
+  }
+
+  @Test
+  public void testMoveSameForSymmetricPositions() {
+    // a first move and its rotation by 120 degrees, which keeps the starting position, lead to
+    // the same book record, whose move is rotated with them
+    HexSymmetry symmetry = HexSymmetry.forSideLength(4);
+    Point first = this.legalMoves(this.model)[0];
+    int index = this.model.getBoardView().indexOf(first.x, first.y);
+    int rotated = symmetry.transform(2, index);
+    ReversiModel other = new HexagonalReversi(4);
+    other.startGame();
+    other.moveAt(other.getBoardView().qAt(rotated), other.getBoardView().rAt(rotated));
+    this.model.moveAt(first.x, first.y);
+
+    Point move = this.book.move(this.model).get();
+    Point otherMove = this.book.move(other).get();
+    int moveIndex = this.model.getBoardView().indexOf(move.x, move.y);
+    Assert.assertEquals(other.getBoardView().indexOf(otherMove.x, otherMove.y),
+            symmetry.transform(2, moveIndex));
+    Assert.assertEquals(this.book.score(this.model), this.book.score(other));
+  }
+
+  @Test
+  public void testMoveSharedBetweenBooks() throws IOException {
+    // two books mapping the same file see the same records
+    OpeningBook other = new OpeningBook(this.file);
+    Assert.assertEquals(this.book.size(), other.size());
+    Assert.assertEquals(this.book.move(this.model), other.move(this.model));
+  }
+
+
+
+  // tests for the strategy
+  @Test(expected = IllegalArgumentException.class)
+  public void testStrategyNullBook() {
+    new OpeningBookStrategy(null, new CaptureMaxPieces());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStrategyNullFallback() {
+    new OpeningBookStrategy(this.book, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStrategyNullModel() {
+    new OpeningBookStrategy(this.book, new CaptureMaxPieces()).chooseMove(null);
+  }
+
+  @Test
+  public void testStrategyInBook() {
+    ReversiStrategy strategy = new OpeningBookStrategy(this.book, model -> {
+      throw new IllegalStateException("The fallback should not be used in the book.");
+    });
+    Assert.assertEquals(this.book.move(this.model), strategy.chooseMove(this.model));
+  }
+
+  @Test
+  public void testStrategyOutOfBook() {
+    for (int i = 0; i < 3; i++) {
+      Point move = this.legalMoves(this.model)[0];
+      this.model.moveAt(move.x, move.y);
+    }
+    ReversiStrategy strategy = new OpeningBookStrategy(this.book, new CaptureMaxPieces());
+    Assert.assertEquals(new CaptureMaxPieces().chooseMove(this.model),
+            strategy.chooseMove(this.model));
+  }
+
+  // returns the legal moves of the current player of the given model
+  private Point[] legalMoves(ReversiModel model) {
+    SearchableReversiModel copy = new BitboardReversi(model);
+    copy.startGame();
+    int count = 0;
+    for (int move = copy.nextLegalMove(0); move >= 0; move = copy.nextLegalMove(move + 1)) {
+      count++;
+    }
+    Point[] moves = new Point[count];
+    int i = 0;
+    for (int move = copy.nextLegalMove(0); move >= 0; move = copy.nextLegalMove(move + 1)) {
+      moves[i++] = new Point(copy.getBoardView().qAt(move), copy.getBoardView().rAt(move));
+    }
+    return moves;
+  }
+
+  // returns a new started model with the given moves played, skipping a null move
+  private ReversiModel replay(Point first, Point second) {
+    ReversiModel replayed = new HexagonalReversi(4);
+    replayed.startGame();
+    if (first != null) {
+      replayed.moveAt(first.x, first.y);
+    }
+    if (second != null) {
+      replayed.moveAt(second.x, second.y);
+    }
+    return replayed;
+  }
+}
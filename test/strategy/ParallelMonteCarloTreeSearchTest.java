@@ -0,0 +1,205 @@
+package strategy;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the ParallelMonteCarloTreeSearch strategy.
+ */
+public class ParallelMonteCarloTreeSearchTest {
+  ParallelMonteCarloTreeSearch mcts;
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.mcts = new ParallelMonteCarloTreeSearch(10000, 500, 4, 1 << 16, new Random(15));
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+  @After
+  public void tearDown() {
+    this.mcts.close();
+  }
+
+
+
+  // tests for constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroTimeLimit() {
+    new ParallelMonteCarloTreeSearch(0, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroThreads() {
+    new ParallelMonteCarloTreeSearch(100, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorZeroPlayouts() {
+    new ParallelMonteCarloTreeSearch(100, 0, 2, 1 << 10, new Random());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTreeTooSmall() {
+    new ParallelMonteCarloTreeSearch(100, 10, 2, 1, new Random());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullRandom() {
+    new ParallelMonteCarloTreeSearch(100, 10, 2, 1 << 10, null);
+  }
+
+  @Test
+  public void testThreads() {
+    Assert.assertEquals(4, this.mcts.threads());
+  }
+
+
+
+  // tests for chooseMove
+  @Test(expected = IllegalArgumentException.class)
+  public void testChooseMoveNullModel() {
+    this.mcts.chooseMove(null);
+  }
+
+  @Test
+  public void testChooseMoveDoesntModifyModel() {
+    Point move = this.mcts.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertFalse(this.model.getTileAt(move.x, move.y).hasDisk());
+    Assert.assertEquals(3, this.model.getCurrentPlayerScore());
+  }
+
+  @Test
+  public void testChooseMoveNoMovesLeft() {
+    this.model.moveAt(1, 1);
+    this.model.passTurn();
+    this.model.moveAt(1, -2);
+    this.model.passTurn();
+    this.model.moveAt(-2, 1);
+    Assert.assertTrue(this.mcts.chooseMove(this.model).isEmpty());
+    Assert.assertEquals(0, this.mcts.playouts());
+  }
+
+  @Test
+  public void testChooseMoveOnlyMove() {
+    this.model = new HexagonalReversi(3);
+    this.model.startGame();
+    this.model.moveAt(-1, 2);
+    this.model.moveAt(-1, -1);
+    Assert.assertEquals(new Point(1, -2), this.mcts.chooseMove(this.model).get());
+    Assert.assertEquals(0, this.mcts.playouts());
+  }
+
+  @Test
+  public void testChooseMoveStopsAtPlayoutBudget() {
+    // the budget is shared by every thread, so exactly that many playouts are run in total
+    this.mcts.chooseMove(this.model);
+    Assert.assertEquals(500, this.mcts.playouts());
+    Assert.assertTrue(this.mcts.treeSize() > 1);
+  }
+
+  @Test
+  public void testChooseMoveRepeatedly() {
+    // the helper threads are reused, so every move must wait for them to finish
+    for (int i = 0; i < 4 && !this.model.isGameOver(); i++) {
+      Point move = this.mcts.chooseMove(this.model).get();
+      Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+      this.model.moveAt(move.x, move.y);
+    }
+  }
+
+  @Test
+  public void testChooseMoveFullTree() {
+    // once the tree is full the playouts keep running from its leaves
+    ParallelMonteCarloTreeSearch small =
+            new ParallelMonteCarloTreeSearch(10000, 500, 3, 20, new Random(1));
+    Point move = small.chooseMove(this.model).get();
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertEquals(500, small.playouts());
+    Assert.assertTrue(small.treeSize() <= 20);
+  }
+
+  @Test
+  public void testChooseMoveRespectsTimeLimit() {
+    ParallelMonteCarloTreeSearch quick = new ParallelMonteCarloTreeSearch(50, 4);
+    long start = System.nanoTime();
+    Point move = quick.chooseMove(this.model).get();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    Assert.assertTrue(this.model.isMovePossible(move.x, move.y));
+    Assert.assertTrue(quick.playouts() > 0);
+    // leave plenty of room for a slow machine
+    Assert.assertTrue(elapsedMillis < 1000);
+  }
+
+  @Test
+  public void testChooseMoveBeatsCaptureMax() {
+    // play a few games on a small board, taking turns going first
+    int wins = 0;
+    for (int game = 0; game < 4; game++) {
+      ParallelMonteCarloTreeSearch search =
+              new ParallelMonteCarloTreeSearch(10000, 200, 2, 1 << 16, new Random(game));
+      ReversiStrategy captureMax = new CaptureMaxPieces();
+      ReversiModel board = new HexagonalReversi(4);
+      board.startGame();
+      boolean searchToMove = game % 2 == 0;
+      while (!board.isGameOver()) {
+        Optional<Point> move = (searchToMove ? search : captureMax).chooseMove(board);
+        if (move.isEmpty()) {
+          board.passTurn();
+        }
+        else {
+          board.moveAt(move.get().x, move.get().y);
+        }
+        searchToMove = !searchToMove;
+      }
+      int searchScore = searchToMove ? board.getCurrentPlayerScore() : board.getOtherPlayerScore();
+      int otherScore = searchToMove ? board.getOtherPlayerScore() : board.getCurrentPlayerScore();
+      if (searchScore > otherScore) {
+        wins++;
+      }
+    }
+    Assert.assertTrue(wins >= 3);
+  }
+
+
+
+  // tests for playoutsPerSecond
+  @Test
+  public void testPlayoutsBeforeSearching() {
+    Assert.assertEquals(0, this.mcts.playouts());
+    Assert.assertEquals(0, this.mcts.playoutsPerSecond(), 0);
+  }
+
+  @Test
+  public void testPlayoutsAfterSearching() {
+    this.mcts.chooseMove(this.model);
+    Assert.assertTrue(this.mcts.playoutsPerSecond() > 0);
+  }
+
+
+
+  // tests for close
+  @Test(expected = IllegalStateException.class)
+  public void testChooseMoveAfterClose() {
+    this.mcts.close();
+    this.mcts.chooseMove(this.model);
+  }
+
+  @Test
+  public void testCloseTwice() {
+    this.mcts.chooseMove(this.model);
+    this.mcts.close();
+    this.mcts.close();
+  }
+}
@@ -0,0 +1,182 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import model.BoardView;
+import model.HexSymmetry;
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the PatternEvaluator.
+ */
+public class PatternEvaluatorTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+
+  // tests for the constructors
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorSmallBoard() {
+    new PatternEvaluator(2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorLargeBoard() {
+    new PatternEvaluator(8);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullWeights() {
+    new PatternEvaluator(4, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWrongNumberOfWeights() {
+    new PatternEvaluator(4, new short[10]);
+  }
+
+  @Test
+  public void testConstructorCopiesWeights() {
+    short[] weights = new short[PatternLines.forSideLength(3).weightCount()];
+    PatternEvaluator evaluator = new PatternEvaluator(3, weights);
+    weights[0] = 5;
+    Assert.assertEquals(0, evaluator.weights()[0]);
+  }
+
+  @Test
+  public void testWeightCount() {
+    // the lines at each distance from the center of a side 3 board have 5, 4 and 3 tiles
+    Assert.assertEquals(243 + 81 + 27, PatternLines.forSideLength(3).weightCount());
+    Assert.assertEquals(18, PatternLines.forSideLength(3).lineCount());
+  }
+
+
+
+  // tests for evaluate
+  @Test
+  public void testEvaluateZeroWeights() {
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    Assert.assertEquals(0, new PatternEvaluator(5).evaluate(model));
+  }
+
+  @Test
+  public void testEvaluateAddsOneWeightPerLine() {
+    short[] weights = new short[PatternLines.forSideLength(4).weightCount()];
+    Arrays.fill(weights, (short) 3);
+    ReversiModel model = new HexagonalReversi(4);
+    model.startGame();
+    Assert.assertEquals(3 * 24, new PatternEvaluator(4, weights).evaluate(model));
+  }
+
+  @Test
+  public void testEvaluateReadsLineAsBase3() {
+    // at the start, each line through the center of a side 3 board is empty, a disk of one
+    // player, the empty center, a disk of the other player, and empty, which is pattern
+    // 3 + 2 * 27 = 57 read one way and 2 * 3 + 27 = 33 read the other way. The table of the
+    // lines through the center comes first, and each of them is read both ways
+    short[] weights = new short[PatternLines.forSideLength(3).weightCount()];
+    weights[57] = 100;
+    weights[33] = 10;
+    ReversiModel model = new HexagonalReversi(3);
+    model.startGame();
+    Assert.assertEquals(3 * (100 + 10), new PatternEvaluator(3, weights).evaluate(model));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvaluateOtherSideLength() {
+    ReversiModel model = new HexagonalReversi(5);
+    model.startGame();
+    new PatternEvaluator(4).evaluate(model);
+  }
+
+  @Test
+  public void testEvaluateSameAfterRotation() {
+    // a game and the same game rotated by 120 or 240 degrees, which keep the starting position,
+    // are scored the same in every position
+    Random random = new Random(4);
+    short[] weights = new short[PatternLines.forSideLength(5).weightCount()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = (short) (random.nextInt(201) - 100);
+    }
+    PatternEvaluator evaluator = new PatternEvaluator(5, weights);
+    HexSymmetry symmetry = HexSymmetry.forSideLength(5);
+    for (int rotation = 2; rotation <= 4; rotation += 2) {
+      ReversiModel model = new HexagonalReversi(5);
+      model.startGame();
+      ReversiModel rotated = new HexagonalReversi(5);
+      rotated.startGame();
+      while (!model.isGameOver()) {
+        Assert.assertEquals(evaluator.evaluate(model), evaluator.evaluate(rotated));
+        BitSet moves = model.legalMoves();
+        if (moves.isEmpty()) {
+          model.passTurn();
+          rotated.passTurn();
+          continue;
+        }
+        int move = moves.nextSetBit(0);
+        for (int skip = random.nextInt(moves.cardinality()); skip > 0; skip--) {
+          move = moves.nextSetBit(move + 1);
+        }
+        BoardView board = model.getBoardView();
+        model.moveAt(board.qAt(move), board.rAt(move));
+        int image = symmetry.transform(rotation, move);
+        rotated.moveAt(board.qAt(image), board.rAt(image));
+      }
+    }
+  }
+
+
+
+  // tests for save and load
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    short[] weights = new short[PatternLines.forSideLength(3).weightCount()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = (short) (i * 37 - 5000);
+    }
+    Path file = this.folder.getRoot().toPath().resolve("weights.bin");
+    new PatternEvaluator(3, weights).save(file);
+    PatternEvaluator loaded = PatternEvaluator.load(file);
+    Assert.assertEquals(3, loaded.sideLength());
+    Assert.assertArrayEquals(weights, loaded.weights());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadNullFile() throws IOException {
+    PatternEvaluator.load(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveNullFile() throws IOException {
+    new PatternEvaluator(3).save(null);
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadNotWeights() throws IOException {
+    Path file = this.folder.newFile("other.bin").toPath();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+    PatternEvaluator.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadTruncated() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("weights.bin");
+    new PatternEvaluator(3).save(file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+    PatternEvaluator.load(file);
+  }
+}
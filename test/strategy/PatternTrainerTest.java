@@ -0,0 +1,114 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * A class that holds tests for the PatternTrainer.
+ */
+public class PatternTrainerTest {
+  PatternTrainer trainer;
+  int[] game;
+
+  @Before
+  public void setUp() {
+    this.trainer = new PatternTrainer(3);
+    this.game = PatternTrainer.playGame(3, new CaptureMaxPieces(), 0.5, new Random(1));
+  }
+
+
+
+  // tests for the constructor
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorSmallBoard() {
+    new PatternTrainer(2);
+  }
+
+
+
+  // tests for addGame
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddGameNull() {
+    this.trainer.addGame(null);
+  }
+
+  @Test
+  public void testAddGameAddsEveryPosition() {
+    this.trainer.addGame(this.game);
+    Assert.assertEquals(this.game.length, this.trainer.positions());
+    this.trainer.addGame(this.game);
+    Assert.assertEquals(2 * this.game.length, this.trainer.positions());
+  }
+
+  @Test
+  public void testAddGameIllegalMove() {
+    this.trainer.addGame(this.game);
+    try {
+      this.trainer.addGame(new int[] {0}); // the corner is not a legal first move
+      Assert.fail("An illegal move should not be added.");
+    }
+    catch (IllegalArgumentException e) {
+      Assert.assertEquals(this.game.length, this.trainer.positions());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddGameNotOver() {
+    this.trainer.addGame(new int[] {this.game[0]});
+  }
+
+
+
+  // tests for train and error
+  @Test(expected = IllegalStateException.class)
+  public void testTrainWithoutGames() {
+    this.trainer.train(10, 0.1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTrainNegativePasses() {
+    this.trainer.addGame(this.game);
+    this.trainer.train(-1, 0.1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTrainZeroLearningRate() {
+    this.trainer.addGame(this.game);
+    this.trainer.train(10, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testErrorOtherSideLength() {
+    this.trainer.addGame(this.game);
+    this.trainer.error(new PatternEvaluator(4));
+  }
+
+  @Test
+  public void testTrainZeroPassesIsZero() {
+    this.trainer.addGame(this.game);
+    PatternEvaluator evaluator = this.trainer.train(0, 0.1);
+    Assert.assertArrayEquals(new PatternEvaluator(3).weights(), evaluator.weights());
+  }
+
+  @Test
+  public void testTrainReducesError() {
+    Random random = new Random(2);
+    for (int i = 0; i < 200; i++) {
+      this.trainer.addGame(PatternTrainer.playGame(3, new CaptureMaxPieces(), 0.5, random));
+    }
+    double untrained = this.trainer.error(new PatternEvaluator(3));
+    PatternEvaluator evaluator = this.trainer.train(50, 1.0 / 18);
+    Assert.assertTrue(this.trainer.error(evaluator) < 0.8 * untrained);
+  }
+
+  @Test
+  public void testTrainFitsOneGame() {
+    // every position of a single game can be fit almost exactly
+    this.trainer.addGame(this.game);
+    PatternEvaluator evaluator = this.trainer.train(200, 1.0 / 18);
+    Assert.assertTrue(this.trainer.error(evaluator) < 0.5);
+  }
+}
@@ -0,0 +1,149 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A class that holds tests for the TranspositionTable class.
+ */
+public class TranspositionTableTest {
+  TranspositionTable table;
+
+  @Before
+  public void setUp() {
+    // a table with a single bucket, so that every position competes for the same two entries
+    this.table = new TranspositionTable(2);
+  }
+
+
+
+  // tests for the constructor
+  @Test
+  public void testConstructorCapacity() {
+    Assert.assertEquals(1024, new TranspositionTable(1024).capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNotPowerOfTwo() {
+    new TranspositionTable(1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTooSmall() {
+    new TranspositionTable(1);
+  }
+
+
+
+  // tests for store and probe
+  @Test
+  public void testProbeEmptyTable() {
+    Assert.assertEquals(0, this.table.probe(12345L));
+  }
+
+  @Test
+  public void testStoreThenProbe() {
+    this.table.store(42L, 7, TranspositionTable.LOWER_BOUND, -1_000_013, 90);
+    long entry = this.table.probe(42L);
+    Assert.assertNotEquals(0, entry);
+    Assert.assertEquals(7, TranspositionTable.depthOf(entry));
+    Assert.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.boundOf(entry));
+    Assert.assertEquals(-1_000_013, TranspositionTable.scoreOf(entry));
+    Assert.assertEquals(90, TranspositionTable.moveOf(entry));
+  }
+
+  @Test
+  public void testStorePassAndNoMove() {
+    TranspositionTable large = new TranspositionTable(64);
+    large.store(1L, 1, TranspositionTable.EXACT, 0, -1);
+    large.store(2L, 0, TranspositionTable.UPPER_BOUND, Integer.MAX_VALUE,
+            TranspositionTable.NO_MOVE);
+    Assert.assertEquals(-1, TranspositionTable.moveOf(large.probe(1L)));
+    Assert.assertEquals(TranspositionTable.NO_MOVE, TranspositionTable.moveOf(large.probe(2L)));
+    Assert.assertEquals(Integer.MAX_VALUE, TranspositionTable.scoreOf(large.probe(2L)));
+  }
+
+  @Test
+  public void testStoreDepthIsCapped() {
+    this.table.store(42L, 1000, TranspositionTable.EXACT, 5, 3);
+    Assert.assertEquals(255, TranspositionTable.depthOf(this.table.probe(42L)));
+  }
+
+  @Test
+  public void testProbeOtherKeyMisses() {
+    this.table.store(42L, 3, TranspositionTable.EXACT, 5, 3);
+    Assert.assertEquals(0, this.table.probe(43L));
+  }
+
+  @Test
+  public void testStoreSamePositionReplacesIt() {
+    this.table.store(42L, 6, TranspositionTable.EXACT, 5, 3);
+    this.table.store(42L, 2, TranspositionTable.UPPER_BOUND, 1, 4);
+    long entry = this.table.probe(42L);
+    Assert.assertEquals(2, TranspositionTable.depthOf(entry));
+    Assert.assertEquals(4, TranspositionTable.moveOf(entry));
+    Assert.assertEquals(0, this.table.collisions());
+  }
+
+  @Test
+  public void testStoreKeepsTheDeepestEntry() {
+    this.table.store(1L, 8, TranspositionTable.EXACT, 10, 0);
+    this.table.store(2L, 3, TranspositionTable.EXACT, 20, 1);
+    this.table.store(3L, 4, TranspositionTable.EXACT, 30, 2);
+    // the deep entry stays, and the shallower entries replace each other
+    Assert.assertEquals(10, TranspositionTable.scoreOf(this.table.probe(1L)));
+    Assert.assertEquals(0, this.table.probe(2L));
+    Assert.assertEquals(30, TranspositionTable.scoreOf(this.table.probe(3L)));
+    Assert.assertEquals(1, this.table.collisions());
+  }
+
+  @Test
+  public void testStoreDeeperEntryReplacesTheDeepest() {
+    this.table.store(1L, 3, TranspositionTable.EXACT, 10, 0);
+    this.table.store(2L, 5, TranspositionTable.EXACT, 20, 1);
+    Assert.assertEquals(0, this.table.probe(1L));
+    Assert.assertEquals(20, TranspositionTable.scoreOf(this.table.probe(2L)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStoreNegativeDepth() {
+    this.table.store(1L, -1, TranspositionTable.EXACT, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStoreInvalidBound() {
+    this.table.store(1L, 1, 0, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStoreInvalidMove() {
+    this.table.store(1L, 1, TranspositionTable.EXACT, 0, -3);
+  }
+
+
+
+  // tests for the counters and clear
+  @Test
+  public void testCounters() {
+    this.table.probe(1L);
+    this.table.store(1L, 1, TranspositionTable.EXACT, 0, 0);
+    this.table.probe(1L);
+    this.table.probe(2L);
+    Assert.assertEquals(3, this.table.probes());
+    Assert.assertEquals(1, this.table.hits());
+  }
+
+  @Test
+  public void testClear() {
+    this.table.store(1L, 1, TranspositionTable.EXACT, 0, 0);
+    this.table.store(2L, 1, TranspositionTable.EXACT, 0, 0);
+    this.table.store(3L, 1, TranspositionTable.EXACT, 0, 0);
+    this.table.probe(1L);
+    this.table.clear();
+    Assert.assertEquals(0, this.table.probe(1L));
+    Assert.assertEquals(1, this.table.probes());
+    Assert.assertEquals(0, this.table.hits());
+    Assert.assertEquals(0, this.table.collisions());
+  }
+}
@@ -0,0 +1,136 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import model.HexagonalReversi;
+import model.ReversiModel;
+
+/**
+ * A class that holds tests for the WeightedEvaluator and the feature evaluators it combines.
+ */
+public class WeightedEvaluatorTest {
+  ReversiModel model;
+
+  @Before
+  public void setUp() {
+    this.model = new HexagonalReversi(6);
+    this.model.startGame();
+  }
+
+
+
+  // tests for the constructor
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullWeights() {
+    new WeightedEvaluator(null, new Mobility());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorNullFeature() {
+    new WeightedEvaluator(new int[] {1, 2}, new Mobility(), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorMismatchedLengths() {
+    new WeightedEvaluator(new int[] {1}, new Mobility(), new Parity());
+  }
+
+  @Test
+  public void testConstructorDropsZeroWeights() {
+    WeightedEvaluator evaluator = new WeightedEvaluator(new int[] {3, 0, 5},
+            new Mobility(), new Frontier(), new Parity());
+    Assert.assertArrayEquals(new int[] {3, 5}, evaluator.weights());
+  }
+
+
+
+  // tests for evaluate
+  @Test
+  public void testEvaluateIsWeightedSum() {
+    this.model.moveAt(1, 1);
+    int expected = 2 * new DiskDifference().evaluate(this.model)
+            - 3 * new Mobility().evaluate(this.model) + 7 * new Frontier().evaluate(this.model);
+    WeightedEvaluator evaluator = new WeightedEvaluator(new int[] {2, -3, 7},
+            new DiskDifference(), new Mobility(), new Frontier());
+    Assert.assertEquals(expected, evaluator.evaluate(this.model));
+  }
+
+  @Test
+  public void testEvaluateNoFeatures() {
+    Assert.assertEquals(0, new WeightedEvaluator(new int[0]).evaluate(this.model));
+  }
+
+  @Test
+  public void testEvaluateStartIsEven() {
+    // the starting position looks the same to both players, apart from who moves last
+    Assert.assertEquals(0, new Mobility().evaluate(this.model));
+    Assert.assertEquals(0, new Frontier().evaluate(this.model));
+    Assert.assertEquals(0, new Corners().evaluate(this.model));
+    Assert.assertEquals(0, new Edges().evaluate(this.model));
+    Assert.assertEquals(0, new Stability().evaluate(this.model));
+    Assert.assertEquals(1, new Parity().evaluate(this.model)); // 85 empty tiles
+  }
+
+  @Test
+  public void testEvaluateIsFromTheCurrentPlayer() {
+    // every feature but parity, which counts the same empty tiles for either player, changes
+    // sign when the turn passes
+    this.model.moveAt(1, 1);
+    Evaluator[] features = {new Mobility(), new Frontier(), new Corners(), new Edges(),
+        new Stability()};
+    int[] scores = new int[features.length];
+    for (int i = 0; i < features.length; i++) {
+      scores[i] = features[i].evaluate(this.model);
+    }
+    this.model.passTurn();
+    for (int i = 0; i < features.length; i++) {
+      Assert.assertEquals(-scores[i], features[i].evaluate(this.model));
+    }
+  }
+
+  @Test
+  public void testEvaluateFrontierPrefersFewerFrontierDisks() {
+    // after the first move the mover's opponent has more disks, all of them next to empty tiles
+    this.model.moveAt(1, 1);
+    Assert.assertTrue(new Frontier().evaluate(this.model) > 0);
+  }
+
+
+
+  // tests for standard
+  @Test
+  public void testStandardBeatsDiskDifference() {
+    // at the same depth, the standard mix of features wins more games than the disk count
+    int wins = 0;
+    for (int game = 0; game < 4; game++) {
+      ReversiModel position = new HexagonalReversi(4);
+      position.startGame();
+      ReversiStrategy weighted = new AlphaBetaMinimax(2, WeightedEvaluator.standard());
+      ReversiStrategy disks = new AlphaBetaMinimax(2, new DiskDifference());
+      boolean weightedFirst = game % 2 == 0;
+      boolean weightedTurn = weightedFirst;
+      while (!position.isGameOver()) {
+        ReversiStrategy strategy = weightedTurn ? weighted : disks;
+        Optional<Point> move = strategy.chooseMove(position);
+        if (move.isPresent()) {
+          position.moveAt(move.get().x, move.get().y);
+        }
+        else {
+          position.passTurn();
+        }
+        weightedTurn = !weightedTurn;
+      }
+      // after the last move it is the turn of whoever did not move last
+      int difference = position.getCurrentPlayerScore() - position.getOtherPlayerScore();
+      if ((weightedTurn && difference > 0) || (!weightedTurn && difference < 0)) {
+        wins++;
+      }
+    }
+    Assert.assertTrue(wins >= 2);
+  }
+}